@@ -0,0 +1,568 @@
+package edu.neu.coe.info6205;
+
+import edu.neu.coe.info6205.util.Benchmark_Timer;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+
+/**
+ * Table-driven Huffman codec for symbols 0..n-1 (for example, bytes), using canonical, length-limited codes.
+ * <p>
+ * Unlike HuffmanCoding, which walks a tree of Nodes one bit at a time, this codec is defined entirely by the
+ * code length of each symbol: the codes themselves are canonical (shorter codes precede longer codes, and codes of
+ * the same length are in symbol order), so that only the lengths need be transmitted with the encoded data.
+ * Because the lengths are limited to at most MAX_LENGTH bits, the decoder can resolve a complete code with a single
+ * probe into a table of 2^maxLength entries (4K entries for the default limit of 12 bits),
+ * indexed by the next maxLength bits of input.
+ * <p>
+ * Bits are packed most significant first, into long[] or (big-endian) into a ByteBuffer, exactly as in HuffmanCoding.
+ * The encoded form does not include the number of symbols: the caller must record it.
+ */
+public class CanonicalHuffman {
+
+    /**
+     * The longest code length supported.
+     */
+    public static final int MAX_LENGTH = 15;
+
+    /**
+     * The code length limit used by create(long[]), for which the decoding table has 4K entries.
+     */
+    public static final int DEFAULT_MAX_LENGTH = 12;
+
+    /**
+     * Constructor which creates the canonical codes for the given code lengths.
+     *
+     * @param lengths the code length of each symbol, between 0 (the symbol does not occur) and MAX_LENGTH.
+     * @throws IllegalArgumentException if the lengths are out of range or do not describe a prefix code.
+     */
+    public CanonicalHuffman(int[] lengths) {
+        this.lengths = lengths.clone();
+        this.codes = new int[lengths.length];
+        int[] count = new int[MAX_LENGTH + 1];
+        int max = 0;
+        for (int s = 0; s < lengths.length; s++) {
+            int length = lengths[s];
+            if (length < 0 || length > MAX_LENGTH)
+                throw new IllegalArgumentException("code length out of range for symbol " + s + ": " + length);
+            if (length > 0) {
+                count[length]++;
+                max = Math.max(max, length);
+            }
+        }
+        long kraft = 0;
+        for (int length = 1; length <= MAX_LENGTH; length++) kraft += (long) count[length] << (MAX_LENGTH - length);
+        if (kraft > 1L << MAX_LENGTH) throw new IllegalArgumentException("code lengths do not describe a prefix code");
+        // Assign the canonical codes: see RFC 1951, section 3.2.2.
+        int[] next = new int[MAX_LENGTH + 2];
+        for (int length = 1, code = 0; length <= MAX_LENGTH; length++) {
+            code = (code + count[length - 1]) << 1;
+            next[length] = code;
+        }
+        for (int s = 0; s < lengths.length; s++)
+            if (lengths[s] > 0) codes[s] = next[lengths[s]]++;
+        this.tableBits = Math.max(max, 1);
+        this.table = new int[1 << tableBits];
+        Arrays.fill(table, -1);
+        for (int s = 0; s < lengths.length; s++) {
+            int length = lengths[s];
+            if (length == 0) continue;
+            int first = codes[s] << (tableBits - length);
+            Arrays.fill(table, first, first + (1 << (tableBits - length)), s << 4 | length);
+        }
+    }
+
+    /**
+     * Create a codec for symbols with the given frequencies, with codes of at most DEFAULT_MAX_LENGTH bits.
+     *
+     * @param frequencies the frequency of each symbol (symbols with frequency zero get no code).
+     * @return a CanonicalHuffman.
+     */
+    public static CanonicalHuffman create(long[] frequencies) {
+        return create(frequencies, DEFAULT_MAX_LENGTH);
+    }
+
+    /**
+     * Create a codec for symbols with the given frequencies.
+     *
+     * @param frequencies the frequency of each symbol (symbols with frequency zero get no code).
+     * @param maxLength   the maximum code length (at most MAX_LENGTH).
+     * @return a CanonicalHuffman.
+     */
+    public static CanonicalHuffman create(long[] frequencies, int maxLength) {
+        return new CanonicalHuffman(codeLengths(frequencies, maxLength));
+    }
+
+    /**
+     * Create a codec for the bytes of data.
+     *
+     * @param data the sample data.
+     * @return a CanonicalHuffman for symbols 0..255.
+     */
+    public static CanonicalHuffman forBytes(byte[] data) {
+        return create(frequencies(data, 0, data.length));
+    }
+
+    /**
+     * @param data the data.
+     * @param from the index of the first byte.
+     * @param to   the index following the last byte.
+     * @return the frequency of each byte value (as an unsigned symbol 0..255).
+     */
+    public static long[] frequencies(byte[] data, int from, int to) {
+        long[] result = new long[256];
+        for (int i = from; i < to; i++) result[data[i] & 0xFF]++;
+        return result;
+    }
+
+    /**
+     * Calculate Huffman code lengths for the given frequencies, limited to maxLength bits.
+     * <p>
+     * The unlimited lengths are those of a Huffman tree (built with two queues, since the leaves are sorted).
+     * Any lengths exceeding maxLength are then reduced as in the JPEG standard (Annex K.3):
+     * each pair of leaves which is too deep is replaced by a single leaf one level up,
+     * and its sibling moves down to become the sibling of the shallowest leaf which can be split.
+     * Finally the lengths are reassigned so that the most frequent symbols get the shortest codes.
+     *
+     * @param frequencies the frequency of each symbol.
+     * @param maxLength   the maximum code length.
+     * @return the code length of each symbol (zero for a symbol which does not occur).
+     * @throws IllegalArgumentException if there are too many symbols for maxLength.
+     */
+    public static int[] codeLengths(long[] frequencies, int maxLength) {
+        if (maxLength < 1 || maxLength > MAX_LENGTH) throw new IllegalArgumentException("maxLength out of range: " + maxLength);
+        int[] result = new int[frequencies.length];
+        Integer[] leaves = new Integer[frequencies.length];
+        int n = 0;
+        for (int s = 0; s < frequencies.length; s++) {
+            if (frequencies[s] < 0) throw new IllegalArgumentException("negative frequency for symbol " + s);
+            if (frequencies[s] > 0) leaves[n++] = s;
+        }
+        if (n == 0) return result;
+        if (n > 1 << maxLength) throw new IllegalArgumentException(n + " symbols cannot be coded in " + maxLength + " bits");
+        if (n == 1) {
+            result[leaves[0]] = 1;
+            return result;
+        }
+        Arrays.sort(leaves, 0, n, Comparator.comparingLong((Integer s) -> frequencies[s]).thenComparing(s -> s));
+        // Nodes 0..n-1 are the leaves (in ascending order of weight); nodes n..2n-2 are created in ascending order of weight.
+        long[] weight = new long[2 * n - 1];
+        int[] parent = new int[2 * n - 1];
+        for (int i = 0; i < n; i++) weight[i] = frequencies[leaves[i]];
+        int leaf = 0, internal = n;
+        for (int k = n; k < 2 * n - 1; k++) {
+            for (int j = 0; j < 2; j++) {
+                int x = leaf < n && (internal == k || weight[leaf] <= weight[internal]) ? leaf++ : internal++;
+                weight[k] += weight[x];
+                parent[x] = k;
+            }
+        }
+        int[] depth = new int[2 * n - 1];
+        int maxDepth = 0;
+        for (int k = 2 * n - 3; k >= 0; k--) {
+            depth[k] = depth[parent[k]] + 1;
+            maxDepth = Math.max(maxDepth, depth[k]);
+        }
+        int[] count = new int[Math.max(maxDepth, maxLength) + 1];
+        for (int i = 0; i < n; i++) count[depth[i]]++;
+        for (int i = maxDepth; i > maxLength; i--)
+            while (count[i] > 0) {
+                int j = i - 2;
+                while (count[j] == 0) j--;
+                count[i] -= 2;
+                count[i - 1]++;
+                count[j + 1] += 2;
+                count[j]--;
+            }
+        // The most frequent symbol is leaves[n-1].
+        for (int length = 1, i = n - 1; length <= maxLength; length++)
+            for (int c = 0; c < count[length]; c++) result[leaves[i--]] = length;
+        return result;
+    }
+
+    /**
+     * @return the number of symbols (including those without a code).
+     */
+    public int symbols() {
+        return lengths.length;
+    }
+
+    /**
+     * @return a copy of the code lengths, from which an identical codec can be constructed.
+     */
+    public int[] lengths() {
+        return lengths.clone();
+    }
+
+    /**
+     * @param symbol a symbol.
+     * @return the length of the code for symbol (zero if it has no code).
+     */
+    public int length(int symbol) {
+        return lengths[symbol];
+    }
+
+    /**
+     * @param symbol a symbol.
+     * @return the code for symbol (its low length(symbol) bits).
+     */
+    public int code(int symbol) {
+        return codes[symbol];
+    }
+
+    /**
+     * @return the length of the longest code, which is also the number of bits resolved by each table probe.
+     */
+    public int maxLength() {
+        return tableBits;
+    }
+
+    /**
+     * @param symbols the symbols.
+     * @param from    the index of the first symbol.
+     * @param to      the index following the last symbol.
+     * @return the number of bits required to encode the given symbols.
+     */
+    public long bits(int[] symbols, int from, int to) {
+        long result = 0;
+        for (int i = from; i < to; i++) result += lengths[symbols[i]];
+        return result;
+    }
+
+    /**
+     * @param data the data.
+     * @param from the index of the first byte.
+     * @param to   the index following the last byte.
+     * @return the number of bits required to encode the given bytes.
+     */
+    public long bits(byte[] data, int from, int to) {
+        long result = 0;
+        for (int i = from; i < to; i++) result += lengths[data[i] & 0xFF];
+        return result;
+    }
+
+    /**
+     * Encode symbols into 64-bit words.
+     *
+     * @param symbols the symbols.
+     * @param from    the index of the first symbol.
+     * @param to      the index following the last symbol.
+     * @return the words (the last of which is padded with zero bits).
+     * @throws IllegalArgumentException if a symbol has no code.
+     */
+    public long[] encode(int[] symbols, int from, int to) {
+        WordSink sink = new WordSink((int) ((bits(symbols, from, to) + 63) >>> 6));
+        encode(symbols, from, to, sink);
+        return sink.words;
+    }
+
+    /**
+     * Encode symbols into a ByteBuffer (big-endian, whatever the order of out), starting at its position,
+     * which is advanced past the last (partial) byte written.
+     *
+     * @param symbols the symbols.
+     * @param from    the index of the first symbol.
+     * @param to      the index following the last symbol.
+     * @param out     the buffer, which must have at least (bits(symbols, from, to) + 7) / 8 bytes remaining.
+     * @return the number of bits written.
+     */
+    public long encode(int[] symbols, int from, int to, ByteBuffer out) {
+        return encode(symbols, from, to, new BufferSink(out));
+    }
+
+    /**
+     * Encode bytes into 64-bit words.
+     *
+     * @param data the data.
+     * @param from the index of the first byte.
+     * @param to   the index following the last byte.
+     * @return the words (the last of which is padded with zero bits).
+     */
+    public long[] encode(byte[] data, int from, int to) {
+        WordSink sink = new WordSink((int) ((bits(data, from, to) + 63) >>> 6));
+        encode(data, from, to, sink);
+        return sink.words;
+    }
+
+    /**
+     * Encode bytes into a ByteBuffer (see encode(int[], int, int, ByteBuffer)).
+     *
+     * @param data the data.
+     * @param from the index of the first byte.
+     * @param to   the index following the last byte.
+     * @param out  the buffer, which must have at least (bits(data, from, to) + 7) / 8 bytes remaining.
+     * @return the number of bits written.
+     */
+    public long encode(byte[] data, int from, int to, ByteBuffer out) {
+        return encode(data, from, to, new BufferSink(out));
+    }
+
+    /**
+     * Decode to - from symbols from words.
+     *
+     * @param words   the encoded symbols.
+     * @param symbols the array into which the symbols are decoded.
+     * @param from    the index of the first symbol.
+     * @param to      the index following the last symbol.
+     * @return the number of bits consumed.
+     * @throws IllegalStateException if the input contains a bit sequence which is not a code.
+     */
+    public long decode(long[] words, int[] symbols, int from, int to) {
+        return decode(new WordSource(words), symbols, from, to);
+    }
+
+    /**
+     * Decode to - from symbols from in, starting at its position, which is advanced past the last (partial) byte consumed.
+     *
+     * @param in      the encoded symbols (big-endian, whatever the order of in).
+     * @param symbols the array into which the symbols are decoded.
+     * @param from    the index of the first symbol.
+     * @param to      the index following the last symbol.
+     * @return the number of bits consumed.
+     */
+    public long decode(ByteBuffer in, int[] symbols, int from, int to) {
+        long result = decode(new BufferSource(in), symbols, from, to);
+        // position is set through Buffer, since ByteBuffer.position(int) (Java 9+) does not exist on Java 8.
+        ((Buffer) in).position(in.position() + (int) ((result + 7) >>> 3));
+        return result;
+    }
+
+    /**
+     * Decode to - from bytes from words.
+     *
+     * @param words the encoded bytes.
+     * @param data  the array into which the bytes are decoded.
+     * @param from  the index of the first byte.
+     * @param to    the index following the last byte.
+     * @return the number of bits consumed.
+     */
+    public long decode(long[] words, byte[] data, int from, int to) {
+        return decode(new WordSource(words), data, from, to);
+    }
+
+    /**
+     * Decode to - from bytes from in (see decode(ByteBuffer, int[], int, int)).
+     *
+     * @param in   the encoded bytes.
+     * @param data the array into which the bytes are decoded.
+     * @param from the index of the first byte.
+     * @param to   the index following the last byte.
+     * @return the number of bits consumed.
+     */
+    public long decode(ByteBuffer in, byte[] data, int from, int to) {
+        long result = decode(new BufferSource(in), data, from, to);
+        ((Buffer) in).position(in.position() + (int) ((result + 7) >>> 3));
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "CanonicalHuffman{symbols=" + lengths.length + ", maxLength=" + tableBits + '}';
+    }
+
+    /**
+     * Benchmark the encoding and decoding of skewed random bytes.
+     */
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 10000000;
+        Random random = new Random(0L);
+        byte[] data = new byte[n];
+        for (int i = 0; i < n; i++) data[i] = (byte) Math.min(255, (int) Math.abs(random.nextGaussian() * 24));
+        CanonicalHuffman codec = forBytes(data);
+        long[] words = codec.encode(data, 0, n);
+        System.out.println(codec + ": " + n + " bytes encoded in " + words.length * 8 + " bytes");
+        byte[] decoded = new byte[n];
+        double encode = new Benchmark_Timer<byte[]>("encode", x -> codec.encode(x, 0, n)).run(data, 10);
+        double decode = new Benchmark_Timer<long[]>("decode", x -> codec.decode(x, decoded, 0, n)).run(words, 10);
+        System.out.println("encode: " + n / encode / 1000 + " MB/sec; decode: " + n / decode / 1000 + " MB/sec");
+    }
+
+    private long encode(int[] symbols, int from, int to, BitSink sink) {
+        long acc = 0;
+        int n = 0; // the number of bits (right-aligned) in acc
+        long result = 0;
+        for (int i = from; i < to; i++) {
+            int symbol = symbols[i], length = lengths[symbol];
+            if (length == 0) throw new IllegalArgumentException("symbol has no code: " + symbol);
+            result += length;
+            int code = codes[symbol];
+            if (n + length < 64) {
+                acc = acc << length | code;
+                n += length;
+            } else {
+                int rest = n + length - 64;
+                sink.word(acc << (length - rest) | code >>> rest);
+                acc = code & ((1L << rest) - 1);
+                n = rest;
+            }
+        }
+        if (n > 0) sink.last(acc << (64 - n), n);
+        return result;
+    }
+
+    private long encode(byte[] data, int from, int to, BitSink sink) {
+        long acc = 0;
+        int n = 0; // the number of bits (right-aligned) in acc
+        long result = 0;
+        for (int i = from; i < to; i++) {
+            int symbol = data[i] & 0xFF, length = lengths[symbol];
+            if (length == 0) throw new IllegalArgumentException("symbol has no code: " + symbol);
+            result += length;
+            int code = codes[symbol];
+            if (n + length < 64) {
+                acc = acc << length | code;
+                n += length;
+            } else {
+                int rest = n + length - 64;
+                sink.word(acc << (length - rest) | code >>> rest);
+                acc = code & ((1L << rest) - 1);
+                n = rest;
+            }
+        }
+        if (n > 0) sink.last(acc << (64 - n), n);
+        return result;
+    }
+
+    /**
+     * Each window of 64 bits yields as many symbols as are certain to be complete within it,
+     * i.e. while at least tableBits bits of the window remain unused.
+     */
+    private long decode(BitSource source, int[] symbols, int from, int to) {
+        long position = 0;
+        int i = from;
+        while (i < to) {
+            long window = source.window(position);
+            int used = 0;
+            while (used <= 64 - tableBits && i < to) {
+                int entry = table[(int) ((window << used) >>> (64 - tableBits))];
+                if (entry < 0) throw new IllegalStateException("invalid code at bit " + (position + used));
+                symbols[i++] = entry >>> 4;
+                used += entry & 0xF;
+            }
+            position += used;
+        }
+        return position;
+    }
+
+    private long decode(BitSource source, byte[] data, int from, int to) {
+        long position = 0;
+        int i = from;
+        while (i < to) {
+            long window = source.window(position);
+            int used = 0;
+            while (used <= 64 - tableBits && i < to) {
+                int entry = table[(int) ((window << used) >>> (64 - tableBits))];
+                if (entry < 0) throw new IllegalStateException("invalid code at bit " + (position + used));
+                data[i++] = (byte) (entry >>> 4);
+                used += entry & 0xF;
+            }
+            position += used;
+        }
+        return position;
+    }
+
+    private interface BitSink {
+        void word(long word);
+
+        /**
+         * @param word the final (left-aligned) bits.
+         * @param bits the number of bits in word (1..63).
+         */
+        void last(long word, int bits);
+    }
+
+    private static class WordSink implements BitSink {
+        WordSink(int size) {
+            words = new long[size];
+        }
+
+        public void word(long word) {
+            words[n++] = word;
+        }
+
+        public void last(long word, int bits) {
+            words[n++] = word;
+        }
+
+        final long[] words;
+        private int n = 0;
+    }
+
+    private static class BufferSink implements BitSink {
+        BufferSink(ByteBuffer out) {
+            this.out = out;
+            this.bigEndian = out.order() == ByteOrder.BIG_ENDIAN;
+        }
+
+        public void word(long word) {
+            out.putLong(bigEndian ? word : Long.reverseBytes(word));
+        }
+
+        public void last(long word, int bits) {
+            for (int shift = 56; bits > 0; shift -= 8, bits -= 8) out.put((byte) (word >>> shift));
+        }
+
+        private final ByteBuffer out;
+        private final boolean bigEndian;
+    }
+
+    private interface BitSource {
+        /**
+         * @param position a bit position.
+         * @return the 64 bits starting at position (with zero bits beyond the end of the input).
+         */
+        long window(long position);
+    }
+
+    private static class WordSource implements BitSource {
+        WordSource(long[] words) {
+            this.words = words;
+        }
+
+        public long window(long position) {
+            int i = (int) (position >>> 6), offset = (int) (position & 63);
+            long hi = i < words.length ? words[i] : 0;
+            if (offset == 0) return hi;
+            long lo = i + 1 < words.length ? words[i + 1] : 0;
+            return hi << offset | lo >>> (64 - offset);
+        }
+
+        private final long[] words;
+    }
+
+    private static class BufferSource implements BitSource {
+        BufferSource(ByteBuffer in) {
+            this.in = in;
+            this.base = in.position();
+            this.limit = in.limit();
+            this.bigEndian = in.order() == ByteOrder.BIG_ENDIAN;
+        }
+
+        public long window(long position) {
+            int b = base + (int) (position >>> 3), offset = (int) (position & 7);
+            if (b + 9 <= limit) {
+                long x = in.getLong(b);
+                if (!bigEndian) x = Long.reverseBytes(x);
+                return x << offset | (long) (in.get(b + 8) & 0xFF) >>> (8 - offset);
+            }
+            // Near the end of the input: assemble the window from the first byte and the (zero-padded) next eight.
+            long first = b < limit ? in.get(b) & 0xFF : 0, next = 0;
+            for (int k = 1; k <= 8; k++) next = next << 8 | (b + k < limit ? in.get(b + k) & 0xFF : 0);
+            return first << (56 + offset) | next >>> (8 - offset);
+        }
+
+        private final ByteBuffer in;
+        private final int base;
+        private final int limit;
+        private final boolean bigEndian;
+    }
+
+    private final int[] lengths;
+    private final int[] codes;
+    private final int tableBits;
+    private final int[] table; // indexed by the next tableBits bits: (symbol << 4 | length), or -1 if not a code
+}
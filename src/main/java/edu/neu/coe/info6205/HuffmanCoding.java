@@ -49,7 +49,7 @@ public class HuffmanCoding {
             int len = code.length;
             if (available < len) {
                 int shiftVal = 64 - len + available;
-                result = new Code(val << shiftVal >> shiftVal, len - available);
+                result = new Code(val << shiftVal >>> shiftVal, len - available);
                 val = val >> (len - available);
                 len = available;
             }
@@ -76,9 +76,12 @@ public class HuffmanCoding {
             this.length = length;
         }
 
+        /**
+         * @param x the bit (0 or 1) to append.
+         * @return a Code which is this Code followed by x.
+         */
         public Code add(int x) {
-            // TO BE IMPLEMENTED
-            throw new UnsupportedOperationException();
+            return new Code(value << 1 | x, length + 1);
         }
 
         @Override
@@ -108,7 +111,7 @@ public class HuffmanCoding {
                 if (result != null) {
                     values.add(current);
                     current = new Value(0L);
-                    current.encode(code);
+                    current.encode(result);
                 }
             }
             current.close();
@@ -135,7 +138,11 @@ public class HuffmanCoding {
 
         private Map<String, Code> getEncoder(Node node) {
             Map<String, Code> result = new HashMap<>();
-            // TO BE IMPLEMENTED
+            node.dfs((code, branch) -> branch == null ? code : ((Code) code).add(branch),
+                    (n, code) -> {
+                        if (n.isLeaf()) result.put(n.symbol, (Code) code);
+                    },
+                    new Code(0L, 0), null);
             return result;
         }
 
@@ -157,8 +164,20 @@ public class HuffmanCoding {
             return stringBuilder.toString();
         }
 
+        /**
+         * Decode the 64 bits of x (most significant first), starting in the given state.
+         *
+         * @return the state after the last bit, or null if the end-of-message symbol (null) was decoded.
+         */
         private Node decode(StringBuilder stringBuilder, Node state, long x) {
-            // TO BE IMPLEMENTED
+            for (int i = 63; i >= 0; i--) {
+                state = (x >>> i & 1) == 0 ? state.zero : state.one;
+                if (state.isLeaf()) {
+                    if (state.symbol == null) return null;
+                    stringBuilder.append(state.symbol);
+                    state = node;
+                }
+            }
             return state;
         }
 
@@ -189,8 +208,19 @@ public class HuffmanCoding {
             return one == null & zero == null;
         }
 
+        /**
+         * Depth-first (pre-order) traversal of the tree whose root is this Node.
+         *
+         * @param depthFunction  a function which yields the indicator of a node from that of its parent and its branch (0 or 1).
+         * @param consumer       a function which is invoked on each node and its indicator.
+         * @param depthIndicator the indicator of this Node's parent.
+         * @param branch         the branch (0 or 1) from the parent to this Node (null for the root).
+         */
         public void dfs(BiFunction<Object, Integer, Object> depthFunction, BiConsumer<Node, Object> consumer, Object depthIndicator, Integer branch) {
-            // TO BE IMPLEMENTED
+            Object indicator = depthFunction.apply(depthIndicator, branch);
+            consumer.accept(this, indicator);
+            if (zero != null) zero.dfs(depthFunction, consumer, indicator, 0);
+            if (one != null) one.dfs(depthFunction, consumer, indicator, 1);
         }
 
 
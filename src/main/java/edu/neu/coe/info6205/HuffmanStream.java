@@ -0,0 +1,297 @@
+package edu.neu.coe.info6205;
+
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Streaming Huffman compression of bytes, from a ReadableByteChannel to a WritableByteChannel, in constant memory.
+ * <p>
+ * The input is divided into blocks of (at most) blockSize bytes, each of which is coded with a CanonicalHuffman
+ * built from its own byte frequencies, unless the code of the previous block would cost no more than the
+ * new code together with its table (in which case the table is not repeated),
+ * or unless coding would not make the block smaller (in which case the block is stored).
+ * <p>
+ * The compressed stream is a header (MAGIC, blockSize) followed by framed blocks, each of which is:
+ * <ul>
+ *     <li>the number of bytes in the block (an int, zero marking the end of the stream);</li>
+ *     <li>the number of bytes of payload (an int);</li>
+ *     <li>the kind of block (a byte: TABLE, REUSE or STORED);</li>
+ *     <li>for TABLE only, the 256 code lengths, as 128 bytes of two four-bit lengths;</li>
+ *     <li>the payload.</li>
+ * </ul>
+ * Since a frame gives the length of its payload, and a table is only ever reused from the previous frame,
+ * the frames can be read sequentially and their payloads decoded in parallel.
+ */
+public class HuffmanStream {
+
+    public static final int MAGIC = 0x48554646; // "HUFF"
+
+    public static final int DEFAULT_BLOCK_SIZE = 1 << 20;
+
+    /**
+     * Constructor.
+     *
+     * @param blockSize the (maximum) number of bytes in each block.
+     */
+    public HuffmanStream(int blockSize) {
+        if (blockSize < 1 || blockSize > MAX_BLOCK_SIZE) throw new IllegalArgumentException("blockSize out of range: " + blockSize);
+        this.blockSize = blockSize;
+    }
+
+    public HuffmanStream() {
+        this(DEFAULT_BLOCK_SIZE);
+    }
+
+    /**
+     * Compress the whole of in to out.
+     *
+     * @param in  the uncompressed input.
+     * @param out the compressed output.
+     * @return the number of bytes written to out.
+     * @throws IOException if in or out throws it.
+     */
+    public long compress(ReadableByteChannel in, WritableByteChannel out) throws IOException {
+        byte[] block = new byte[blockSize];
+        ByteBuffer input = ByteBuffer.wrap(block);
+        ByteBuffer output = ByteBuffer.allocate(HEADER + TABLE_BYTES + blockSize);
+        // flip and clear are called on Buffer, since the ByteBuffer overrides (Java 9+) do not exist on Java 8.
+        ((Buffer) output.putInt(MAGIC).putInt(blockSize)).flip();
+        long result = writeFully(out, output);
+        CanonicalHuffman previous = null;
+        while (true) {
+            ((Buffer) input).clear();
+            int n = readFully(in, input);
+            ((Buffer) output).clear();
+            if (n == 0) {
+                ((Buffer) output.putInt(0).putInt(0).put(STORED)).flip();
+                return result + writeFully(out, output);
+            }
+            long[] frequencies = CanonicalHuffman.frequencies(block, 0, n);
+            CanonicalHuffman codec = CanonicalHuffman.create(frequencies);
+            long bits = codec.bits(block, 0, n) + 8 * TABLE_BYTES;
+            byte kind = TABLE;
+            if (previous != null && covers(previous, frequencies)) {
+                long reused = previous.bits(block, 0, n);
+                if (reused <= bits) {
+                    codec = previous;
+                    bits = reused;
+                    kind = REUSE;
+                }
+            }
+            long payload = (bits - (kind == TABLE ? 8 * TABLE_BYTES : 0) + 7) >>> 3;
+            if (payload + (kind == TABLE ? TABLE_BYTES : 0) >= n) {
+                output.putInt(n).putInt(n).put(STORED).put(block, 0, n);
+            } else {
+                output.putInt(n).putInt((int) payload).put(kind);
+                if (kind == TABLE) {
+                    writeTable(output, codec);
+                    previous = codec;
+                }
+                codec.encode(block, 0, n, output);
+            }
+            ((Buffer) output).flip();
+            result += writeFully(out, output);
+        }
+    }
+
+    /**
+     * Decompress the whole of in to out, decoding one block at a time.
+     *
+     * @param in  the compressed input.
+     * @param out the uncompressed output.
+     * @return the number of bytes written to out.
+     * @throws IOException if in or out throws it, or if in is not a valid compressed stream.
+     */
+    public static long decompress(ReadableByteChannel in, WritableByteChannel out) throws IOException {
+        Reader reader = new Reader(in);
+        long result = 0;
+        for (Frame frame = reader.next(); frame != null; frame = reader.next())
+            result += writeFully(out, ByteBuffer.wrap(frame.decode()));
+        return result;
+    }
+
+    /**
+     * Decompress the whole of in to out, decoding up to parallelism blocks at a time using executor.
+     * Frames are read, and blocks written, by the calling thread, in order;
+     * at most 2 * parallelism blocks are held in memory at once.
+     *
+     * @param in          the compressed input.
+     * @param out         the uncompressed output.
+     * @param executor    the executor which decodes the blocks.
+     * @param parallelism the number of blocks to decode concurrently.
+     * @return the number of bytes written to out.
+     * @throws IOException if in or out throws it, or if in is not a valid compressed stream.
+     */
+    public static long decompress(ReadableByteChannel in, WritableByteChannel out, ExecutorService executor, int parallelism) throws IOException {
+        if (parallelism < 1) throw new IllegalArgumentException("parallelism must be positive: " + parallelism);
+        Reader reader = new Reader(in);
+        Deque<Future<byte[]>> pending = new ArrayDeque<>();
+        long result = 0;
+        try {
+            for (Frame frame = reader.next(); frame != null; frame = reader.next()) {
+                if (pending.size() >= 2 * parallelism) result += writeFully(out, ByteBuffer.wrap(await(pending.poll())));
+                pending.add(executor.submit(frame::decode));
+            }
+            while (!pending.isEmpty()) result += writeFully(out, ByteBuffer.wrap(await(pending.poll())));
+            return result;
+        } finally {
+            for (Future<byte[]> future : pending) future.cancel(true);
+        }
+    }
+
+    private static byte[] await(Future<byte[]> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("interrupted while decoding", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) throw (IOException) cause;
+            throw new IOException("cannot decode block", cause);
+        }
+    }
+
+    /**
+     * A compressed block, whose payload has been read (and copied) from the stream.
+     */
+    private static class Frame {
+        Frame(int n, byte kind, CanonicalHuffman codec, byte[] payload) {
+            this.n = n;
+            this.kind = kind;
+            this.codec = codec;
+            this.payload = payload;
+        }
+
+        byte[] decode() throws IOException {
+            if (kind == STORED) return payload;
+            byte[] result = new byte[n];
+            ByteBuffer buffer = ByteBuffer.wrap(payload);
+            try {
+                codec.decode(buffer, result, 0, n);
+            } catch (IllegalStateException | IllegalArgumentException e) {
+                // an invalid code, or a payload too short for the codes decoded
+                throw new IOException("corrupt block", e);
+            }
+            if (buffer.hasRemaining()) throw new IOException("corrupt block: " + buffer.remaining() + " bytes of payload unused");
+            return result;
+        }
+
+        private final int n;
+        private final byte kind;
+        private final CanonicalHuffman codec;
+        private final byte[] payload;
+    }
+
+    /**
+     * Reader of the frames of a compressed stream, which keeps track of the current table.
+     */
+    private static class Reader {
+        Reader(ReadableByteChannel in) throws IOException {
+            this.in = in;
+            ByteBuffer buffer = read(8);
+            if (buffer.getInt() != MAGIC) throw new IOException("not a compressed stream");
+            blockSize = buffer.getInt();
+            if (blockSize < 1 || blockSize > MAX_BLOCK_SIZE) throw new IOException("corrupt stream: blockSize=" + blockSize);
+        }
+
+        /**
+         * @return the next Frame, or null at the end of the stream.
+         */
+        Frame next() throws IOException {
+            ByteBuffer header = read(HEADER);
+            int n = header.getInt(), length = header.getInt();
+            byte kind = header.get();
+            if (n == 0) return null;
+            if (n < 0 || n > blockSize || length < 0 || length > n)
+                throw new IOException("corrupt stream: block of " + n + " bytes with payload of " + length + " bytes");
+            switch (kind) {
+                case STORED:
+                    if (length != n) throw new IOException("corrupt stream: stored block of " + n + " bytes with payload of " + length + " bytes");
+                    break;
+                case TABLE:
+                    codec = readTable(read(TABLE_BYTES));
+                    break;
+                case REUSE:
+                    if (codec == null) throw new IOException("corrupt stream: no table to reuse");
+                    break;
+                default:
+                    throw new IOException("corrupt stream: unknown kind of block: " + kind);
+            }
+            return new Frame(n, kind, codec, read(length).array());
+        }
+
+        private ByteBuffer read(int n) throws IOException {
+            ByteBuffer result = ByteBuffer.allocate(n);
+            if (readFully(in, result) < n) throw new IOException("unexpected end of compressed stream");
+            ((Buffer) result).flip();
+            return result;
+        }
+
+        private final ReadableByteChannel in;
+        private final int blockSize;
+        private CanonicalHuffman codec = null;
+    }
+
+    private static boolean covers(CanonicalHuffman codec, long[] frequencies) {
+        for (int s = 0; s < frequencies.length; s++)
+            if (frequencies[s] > 0 && codec.length(s) == 0) return false;
+        return true;
+    }
+
+    private static void writeTable(ByteBuffer buffer, CanonicalHuffman codec) {
+        for (int s = 0; s < 256; s += 2) buffer.put((byte) (codec.length(s) << 4 | codec.length(s + 1)));
+    }
+
+    private static CanonicalHuffman readTable(ByteBuffer buffer) throws IOException {
+        int[] lengths = new int[256];
+        for (int s = 0; s < 256; s += 2) {
+            int x = buffer.get() & 0xFF;
+            lengths[s] = x >>> 4;
+            lengths[s + 1] = x & 0xF;
+        }
+        try {
+            return new CanonicalHuffman(lengths);
+        } catch (IllegalArgumentException e) {
+            throw new IOException("corrupt stream: invalid table", e);
+        }
+    }
+
+    /**
+     * Read from in until buffer is full or in is exhausted.
+     *
+     * @return the number of bytes read.
+     */
+    private static int readFully(ReadableByteChannel in, ByteBuffer buffer) throws IOException {
+        int result = 0;
+        while (buffer.hasRemaining()) {
+            int n = in.read(buffer);
+            if (n < 0) break;
+            result += n;
+        }
+        return result;
+    }
+
+    private static int writeFully(WritableByteChannel out, ByteBuffer buffer) throws IOException {
+        int result = 0;
+        while (buffer.hasRemaining()) result += out.write(buffer);
+        return result;
+    }
+
+    private static final byte TABLE = 0;
+    private static final byte REUSE = 1;
+    private static final byte STORED = 2;
+    private static final int HEADER = 9; // the size of a frame header (excluding any table)
+    private static final int TABLE_BYTES = 128;
+    private static final int MAX_BLOCK_SIZE = 1 << 28;
+
+    private final int blockSize;
+}
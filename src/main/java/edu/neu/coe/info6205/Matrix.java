@@ -5,33 +5,165 @@
 package edu.neu.coe.info6205;
 
 import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
 
+/**
+ * Dense matrix of doubles, stored flat in row-major order (so that a row is contiguous in memory).
+ * <p>
+ * Multiplication uses the i-k-j loop order, so that the innermost loop runs along a row of the other matrix
+ * and a row of the result (rather than striding down a column), and is tiled so that the tile of the other matrix
+ * which is being used fits in the L2 cache while the slice of the result row fits in L1.
+ * The rows of the result may be divided between the tasks of a ForkJoinPool; and large square matrices may be
+ * multiplied by Strassen's method, which recurses (in parallel) until the quadrants are small enough for the tiled kernel.
+ */
 public class Matrix {
 
     private final int rows;
     private final int columns;
-    private final double[][] values;
+    private final double[] values; // row-major: element (i, j) is values[i * columns + j]
 
     public Matrix(final int rows, final int columns, final double[][] values) {
+        this(rows, columns, flatten(rows, columns, values));
+    }
+
+    private Matrix(final int rows, final int columns, final double[] values) {
         super();
         this.rows = rows;
         this.columns = columns;
         this.values = values;
     }
 
+    /**
+     * Method to create a Matrix from values in row-major order.
+     *
+     * @param rows    the number of rows.
+     * @param columns the number of columns.
+     * @param values  the rows * columns values (which are not copied).
+     * @return a new Matrix.
+     */
+    public static Matrix fromRowMajor(final int rows, final int columns, final double[] values) {
+        if (rows < 0 || columns < 0 || values.length != (long) rows * columns)
+            throw new IllegalArgumentException("values must have rows * columns elements: " + rows + ", " + columns + ", " + values.length);
+        return new Matrix(rows, columns, values);
+    }
+
+    /**
+     * Method to create a Matrix of random values in [0, 1).
+     *
+     * @param rows    the number of rows.
+     * @param columns the number of columns.
+     * @param random  the source of randomness.
+     * @return a new Matrix.
+     */
+    public static Matrix random(final int rows, final int columns, final Random random) {
+        double[] values = new double[rows * columns];
+        for (int i = 0; i < values.length; i++) values[i] = random.nextDouble();
+        return new Matrix(rows, columns, values);
+    }
+
+    public int rows() {
+        return rows;
+    }
+
+    public int columns() {
+        return columns;
+    }
+
+    public double get(final int i, final int j) {
+        return values[i * columns + j];
+    }
+
+    /**
+     * @return a copy of the values, as an array of rows.
+     */
+    public double[][] toArray() {
+        double[][] result = new double[rows][];
+        for (int i = 0; i < rows; i++) result[i] = Arrays.copyOfRange(values, i * columns, (i + 1) * columns);
+        return result;
+    }
+
+    /**
+     * Multiply this by other, with the tiled kernel, in the calling thread.
+     *
+     * @param other the other matrix.
+     * @return the product.
+     */
     public Matrix multiply(final Matrix other) {
-        if (this.columns == other.rows) {
-            double[][] result = new double[rows][other.columns];
-            for (int i = 0; i < this.rows; i++) {
-                for (int j = 0; j < other.columns; j++) {
-                    double x = 0;
-                    for (int k = 0; k < this.columns; k++) x += this.values[i][k] * other.values[k][j];
-                    result[i][j] = x;
-                }
+        checkCompatible(other);
+        double[] result = new double[rows * other.columns];
+        multiplyRows(values, other.values, result, columns, other.columns, 0, rows);
+        return new Matrix(rows, other.columns, result);
+    }
+
+    /**
+     * Multiply this by other, with the tiled kernel, dividing the rows of the result between the tasks of pool.
+     *
+     * @param other the other matrix.
+     * @param pool  the pool.
+     * @return the product.
+     */
+    public Matrix multiply(final Matrix other, final ForkJoinPool pool) {
+        checkCompatible(other);
+        double[] result = new double[rows * other.columns];
+        pool.invoke(new RowsTask(values, other.values, result, columns, other.columns, 0, rows));
+        return new Matrix(rows, other.columns, result);
+    }
+
+    /**
+     * Multiply this by other with the naive i-j-k loops (for comparison only).
+     *
+     * @param other the other matrix.
+     * @return the product.
+     */
+    public Matrix multiplyNaive(final Matrix other) {
+        checkCompatible(other);
+        double[] result = new double[rows * other.columns];
+        for (int i = 0; i < rows; i++)
+            for (int j = 0; j < other.columns; j++) {
+                double x = 0;
+                for (int k = 0; k < columns; k++) x += values[i * columns + k] * other.values[k * other.columns + j];
+                result[i * other.columns + j] = x;
             }
-            return new Matrix(this.rows, other.columns, result);
-        } else
-            throw new RuntimeException("incompatible matrices");
+        return new Matrix(rows, other.columns, result);
+    }
+
+    /**
+     * Multiply this by other, both of which must be square (n by n), by Strassen's method,
+     * using the tasks of pool for the seven sub-products at each level.
+     * The matrices are padded with zeros (if necessary) to a size which can be halved until it is at most STRASSEN_CUTOFF.
+     * Note that, since the sums are formed differently, the result may differ slightly (by rounding) from that of multiply.
+     *
+     * @param other the other matrix.
+     * @param pool  the pool.
+     * @return the product.
+     */
+    public Matrix multiplyStrassen(final Matrix other, final ForkJoinPool pool) {
+        if (rows != columns || other.rows != other.columns) throw new IllegalArgumentException("matrices must be square");
+        checkCompatible(other);
+        int n = rows, size = n, levels = 0;
+        while (size > STRASSEN_CUTOFF) {
+            size = (size + 1) / 2;
+            levels++;
+        }
+        int padded = size << levels;
+        double[] result = pool.invoke(new StrassenTask(pad(values, n, padded), pad(other.values, n, padded), padded));
+        return new Matrix(n, n, padded == n ? result : unpad(result, padded, n));
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Matrix matrix = (Matrix) o;
+        return rows == matrix.rows && columns == matrix.columns && Arrays.equals(values, matrix.values);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * rows + columns) + Arrays.hashCode(values);
     }
 
     public static void main(String[] args) {
@@ -54,9 +186,179 @@ public class Matrix {
         System.out.println(c.columns);
         for (int i = 0; i < c.rows; i++) {
             for (int j = 0; j < c.columns; j++) {
-                System.out.println(c.values[i][j]);
+                System.out.println(c.get(i, j));
+            }
+        }
+    }
+
+    /**
+     * Add the product of rows from..to-1 of a (which has n columns) and b (which has p columns) to those rows of c.
+     * The k and j loops are tiled by K_TILE and J_TILE.
+     */
+    private static void multiplyRows(final double[] a, final double[] b, final double[] c, final int n, final int p, final int from, final int to) {
+        for (int kk = 0; kk < n; kk += K_TILE) {
+            int kTo = Math.min(kk + K_TILE, n);
+            for (int jj = 0; jj < p; jj += J_TILE) {
+                int jTo = Math.min(jj + J_TILE, p);
+                for (int i = from; i < to; i++) {
+                    int ci = i * p, ai = i * n;
+                    for (int k = kk; k < kTo; k++) {
+                        double x = a[ai + k];
+                        int bk = k * p;
+                        for (int j = jj; j < jTo; j++) c[ci + j] += x * b[bk + j];
+                    }
+                }
+            }
+        }
+    }
+
+    private void checkCompatible(final Matrix other) {
+        if (columns != other.rows) throw new RuntimeException("incompatible matrices");
+    }
+
+    private static double[] flatten(final int rows, final int columns, final double[][] values) {
+        if (values.length != rows) throw new IllegalArgumentException("values must have " + rows + " rows");
+        double[] result = new double[rows * columns];
+        for (int i = 0; i < rows; i++) {
+            if (values[i].length != columns) throw new IllegalArgumentException("row " + i + " must have " + columns + " columns");
+            System.arraycopy(values[i], 0, result, i * columns, columns);
+        }
+        return result;
+    }
+
+    private static double[] pad(final double[] x, final int n, final int padded) {
+        if (padded == n) return x;
+        double[] result = new double[padded * padded];
+        for (int i = 0; i < n; i++) System.arraycopy(x, i * n, result, i * padded, n);
+        return result;
+    }
+
+    private static double[] unpad(final double[] x, final int padded, final int n) {
+        double[] result = new double[n * n];
+        for (int i = 0; i < n; i++) System.arraycopy(x, i * padded, result, i * n, n);
+        return result;
+    }
+
+    /**
+     * Task which computes the rows from..to-1 of the product.
+     */
+    private static class RowsTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        RowsTask(double[] a, double[] b, double[] c, int n, int p, int from, int to) {
+            this.a = a;
+            this.b = b;
+            this.c = c;
+            this.n = n;
+            this.p = p;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > ROW_THRESHOLD) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new RowsTask(a, b, c, n, p, from, mid), new RowsTask(a, b, c, n, p, mid, to));
+            } else multiplyRows(a, b, c, n, p, from, to);
+        }
+
+        private final double[] a;
+        private final double[] b;
+        private final double[] c;
+        private final int n;
+        private final int p;
+        private final int from;
+        private final int to;
+    }
+
+    /**
+     * Task which yields the product of two n by n matrices (in row-major order).
+     */
+    private static class StrassenTask extends RecursiveTask<double[]> {
+        private static final long serialVersionUID = 1L;
+
+        StrassenTask(double[] a, double[] b, int n) {
+            this.a = a;
+            this.b = b;
+            this.n = n;
+        }
+
+        @Override
+        protected double[] compute() {
+            if (n <= STRASSEN_CUTOFF) {
+                double[] result = new double[n * n];
+                multiplyRows(a, b, result, n, n, 0, n);
+                return result;
             }
+            int h = n / 2;
+            double[] a11 = quadrant(a, n, 0, 0), a12 = quadrant(a, n, 0, h), a21 = quadrant(a, n, h, 0), a22 = quadrant(a, n, h, h);
+            double[] b11 = quadrant(b, n, 0, 0), b12 = quadrant(b, n, 0, h), b21 = quadrant(b, n, h, 0), b22 = quadrant(b, n, h, h);
+            StrassenTask[] tasks = new StrassenTask[]{
+                    new StrassenTask(add(a11, a22), add(b11, b22), h),
+                    new StrassenTask(add(a21, a22), b11, h),
+                    new StrassenTask(a11, subtract(b12, b22), h),
+                    new StrassenTask(a22, subtract(b21, b11), h),
+                    new StrassenTask(add(a11, a12), b22, h),
+                    new StrassenTask(subtract(a21, a11), add(b11, b12), h),
+                    new StrassenTask(subtract(a12, a22), add(b21, b22), h)
+            };
+            invokeAll(tasks);
+            double[] m1 = tasks[0].join(), m2 = tasks[1].join(), m3 = tasks[2].join(), m4 = tasks[3].join();
+            double[] m5 = tasks[4].join(), m6 = tasks[5].join(), m7 = tasks[6].join();
+            double[] result = new double[n * n];
+            for (int i = 0; i < h; i++)
+                for (int j = 0; j < h; j++) {
+                    int x = i * h + j, top = i * n + j, bottom = (i + h) * n + j;
+                    result[top] = m1[x] + m4[x] - m5[x] + m7[x];
+                    result[top + h] = m3[x] + m5[x];
+                    result[bottom] = m2[x] + m4[x];
+                    result[bottom + h] = m1[x] - m2[x] + m3[x] + m6[x];
+                }
+            return result;
+        }
+
+        private static double[] quadrant(double[] x, int n, int row, int column) {
+            int h = n / 2;
+            double[] result = new double[h * h];
+            for (int i = 0; i < h; i++) System.arraycopy(x, (row + i) * n + column, result, i * h, h);
+            return result;
         }
+
+        private static double[] add(double[] x, double[] y) {
+            double[] result = new double[x.length];
+            for (int i = 0; i < x.length; i++) result[i] = x[i] + y[i];
+            return result;
+        }
+
+        private static double[] subtract(double[] x, double[] y) {
+            double[] result = new double[x.length];
+            for (int i = 0; i < x.length; i++) result[i] = x[i] - y[i];
+            return result;
+        }
+
+        private final double[] a;
+        private final double[] b;
+        private final int n;
     }
 
+    /**
+     * The number of values of a row of the other matrix (and of the result) in a tile: 8 KB, within L1.
+     */
+    private static final int J_TILE = 1024;
+
+    /**
+     * The number of rows of the other matrix in a tile: so that a tile is 256 KB, within L2.
+     */
+    private static final int K_TILE = 32;
+
+    /**
+     * The number of rows of the result below which a task computes them itself.
+     */
+    private static final int ROW_THRESHOLD = 32;
+
+    /**
+     * The size below which Strassen's method gives way to the tiled kernel.
+     */
+    static final int STRASSEN_CUTOFF = 256;
 }
@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2017. Phasmid Software
+ */
+
+package edu.neu.coe.info6205;
+
+import edu.neu.coe.info6205.util.Benchmark_Timer;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+
+/**
+ * Benchmark which compares the naive multiplication of two n by n matrices with the tiled kernel
+ * (sequential and parallel) and with Strassen's method.
+ * The naive multiplication is skipped for n greater than NAIVE_LIMIT, since it is so slow.
+ */
+public class MatrixBenchmark {
+
+    public MatrixBenchmark(int runs, int n) {
+        this.runs = runs;
+        this.n = n;
+    }
+
+    public void runBenchmarks() {
+        System.out.println("MatrixBenchmark: N=" + n + ", parallelism=" + ForkJoinPool.commonPool().getParallelism());
+        Random random = new Random(0L);
+        Matrix a = Matrix.random(n, n, random), b = Matrix.random(n, n, random);
+        if (n <= NAIVE_LIMIT) benchmark("naive", () -> a.multiplyNaive(b));
+        benchmark("tiled", () -> a.multiply(b));
+        benchmark("tiled (parallel)", () -> a.multiply(b, ForkJoinPool.commonPool()));
+        benchmark("Strassen (parallel)", () -> a.multiplyStrassen(b, ForkJoinPool.commonPool()));
+    }
+
+    public static void main(String[] args) {
+        int runs = args.length > 0 ? Integer.parseInt(args[0]) : 5;
+        if (args.length > 1) for (int i = 1; i < args.length; i++) new MatrixBenchmark(runs, Integer.parseInt(args[i])).runBenchmarks();
+        else for (int n = 250; n <= 2000; n *= 2) new MatrixBenchmark(runs, n).runBenchmarks();
+    }
+
+    private void benchmark(String description, Supplier<Matrix> supplier) {
+        double time = new Benchmark_Timer<Supplier<Matrix>>(description, Supplier::get).run(supplier, runs);
+        System.out.println(description + ": " + time + " mSec per run; " + (2.0 * n * n * n / time / 1E6) + " GFLOPS");
+    }
+
+    private static final int NAIVE_LIMIT = 1000;
+
+    private final int runs;
+    private final int n;
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2017. Phasmid Software
+ */
+
+package edu.neu.coe.info6205.balsearchtree;
+
+import edu.neu.coe.info6205.symbolTable.BST;
+import edu.neu.coe.info6205.symbolTable.BSTRedBlack;
+import edu.neu.coe.info6205.symbolTable.BSTSimple;
+import edu.neu.coe.info6205.util.Benchmark_Timer;
+
+import java.util.Random;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Benchmark which compares TwoFourTree (of various orders) with the binary trees BSTRedBlack and BSTSimple
+ * for the same workload: n puts of random Integer keys followed by n gets (half of which are misses).
+ * <p>
+ * Run with an argument (for example 10000000) to benchmark a single, larger, value of n.
+ */
+public class TreeBenchmark {
+
+    public TreeBenchmark(int runs, int n) {
+        this.runs = runs;
+        this.n = n;
+        Random random = new Random(0L);
+        this.keys = new Integer[2 * n];
+        for (int i = 0; i < keys.length; i++) keys[i] = random.nextInt();
+    }
+
+    public void runBenchmarks() {
+        System.out.println("TreeBenchmark: N=" + n);
+        benchmark("BSTSimple", BSTSimple::new);
+        benchmark("BSTRedBlack", BSTRedBlack::new);
+        benchmark("TwoFourTree(4)", () -> new TwoFourTree<>(4));
+        benchmark("TwoFourTree(16)", () -> new TwoFourTree<>(16));
+        benchmark("TwoFourTree(64)", () -> new TwoFourTree<>(64));
+    }
+
+    public static void main(String[] args) {
+        if (args.length > 0) new TreeBenchmark(3, Integer.parseInt(args[0])).runBenchmarks();
+        else {
+            new TreeBenchmark(50, 10000).runBenchmarks();
+            new TreeBenchmark(20, 100000).runBenchmarks();
+            new TreeBenchmark(5, 1000000).runBenchmarks();
+        }
+    }
+
+    private void benchmark(String description, Supplier<BST<Integer, Integer>> supplier) {
+        Consumer<Integer[]> function = ks -> exercise(supplier.get(), ks);
+        double time = new Benchmark_Timer<>(description, function).runFromSupplier(() -> keys, runs);
+        System.out.println(description + ": " + time + " mSec per run; " + (time * 1e6 / n / 2) + " nSec per operation");
+    }
+
+    private void exercise(BST<Integer, Integer> bst, Integer[] ks) {
+        for (int i = 0; i < n; i++) bst.put(ks[i], i);
+        int found = 0;
+        for (int i = n / 2; i < n + n / 2; i++) if (bst.get(ks[i]) != null) found++;
+        if (found < n - n / 2) throw new RuntimeException("logic error: found " + found);
+    }
+
+    private final int runs;
+    private final int n;
+    private final Integer[] keys;
+}
@@ -4,39 +4,527 @@
 
 package edu.neu.coe.info6205.balsearchtree;
 
-public class TwoFourTree<Key extends Comparable<Key>, Value> {
+import edu.neu.coe.info6205.symbolTable.BST;
 
-    private Node root;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
 
-    private class Node {
-        private final Value value;
-        private final Key key1;
-        private final Key key2;
-        private final Key key3;
-        private Node left, middle, right;
+/**
+ * B-tree symbol table (strictly, a B+ tree) of configurable order: with order 4 (the default) it is a 2-3-4 tree.
+ * <p>
+ * Each node holds its keys (and, for an internal node, its children; for a leaf, its values) in arrays,
+ * so that a search examines a few contiguous arrays rather than chasing one pointer per comparison,
+ * as it would in a binary tree.
+ * With a larger order (say 32 to 128) the tree is only a few levels deep even for millions of keys.
+ * <p>
+ * All of the key/value pairs are in the leaves, which are linked in key order:
+ * an internal node holds, for each of its children but the first, the smallest key in that child's subtree.
+ * A range scan therefore descends once and then follows the leaf links (see {@link #range}).
+ * An empty tree may be bulk-loaded from sorted input in linear time (see {@link #load}).
+ *
+ * @param <Key>   the key type.
+ * @param <Value> the value type.
+ */
+public class TwoFourTree<Key extends Comparable<Key>, Value> implements BST<Key, Value> {
 
-        public Node(Value value, Key key1, Key key2, Key key3) {
-            this.value = value;
-            this.key1 = key1;
-            this.key2 = key2;
-            this.key3 = key3;
-        }
+    /**
+     * Constructor.
+     *
+     * @param order the maximum number of children of a node (at least 3).
+     */
+    public TwoFourTree(int order) {
+        if (order < 3) throw new IllegalArgumentException("order must be at least 3: " + order);
+        this.maxKeys = order - 1;
+        this.minKeys = maxKeys / 2;
+        this.root = new Leaf();
     }
 
+    public TwoFourTree() {
+        this(4);
+    }
+
+    /**
+     * @return the number of key/value pairs in this tree.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return the number of levels in this tree (a lone leaf has height 1).
+     */
+    public int height() {
+        return height;
+    }
+
+    /**
+     * @param key the key.
+     * @return the value associated with key, or null.
+     */
     public Value get(Key key) {
+        Node node = root;
+        while (node instanceof TwoFourTree.Internal) node = ((Internal) node).children[node.childIndex(key)];
+        Leaf leaf = (Leaf) node;
+        int i = leaf.search(key);
+        @SuppressWarnings("unchecked") Value result = i >= 0 ? (Value) leaf.values[i] : null;
+        return result;
+    }
+
+    /**
+     * @param key the key.
+     * @return true if key is present.
+     */
+    public boolean contains(Key key) {
+        Node node = root;
+        while (node instanceof TwoFourTree.Internal) node = ((Internal) node).children[node.childIndex(key)];
+        return node.search(key) >= 0;
+    }
+
+    /**
+     * Insert a key/value pair.
+     *
+     * @param key   the key (may not be null).
+     * @param value the value.
+     * @return the previous value associated with key, or null.
+     */
+    public Value put(Key key, Value value) {
+        if (key == null) throw new IllegalArgumentException("key may not be null");
+        Leaf leaf = descend(key);
+        int i = leaf.search(key);
+        if (i >= 0) {
+            @SuppressWarnings("unchecked") Value result = (Value) leaf.values[i];
+            leaf.values[i] = value;
+            return result;
+        }
+        leaf.insert(-i - 1, key, value);
+        size++;
+        // Split any overflowing nodes, from the leaf upwards.
+        Node node = leaf;
+        for (int d = height - 2; node.n > maxKeys; d--) {
+            Node sibling = node.split();
+            Object separator;
+            if (node instanceof TwoFourTree.Leaf) separator = sibling.keys[0];
+            else {
+                separator = node.keys[node.n];
+                node.keys[node.n] = null;
+            }
+            if (d < 0) {
+                Internal newRoot = new Internal();
+                newRoot.keys[0] = separator;
+                newRoot.children[0] = node;
+                newRoot.children[1] = sibling;
+                newRoot.n = 1;
+                root = newRoot;
+                height++;
+                break;
+            }
+            Internal parent = path[d];
+            parent.insert(pathIndex[d], separator, sibling);
+            node = parent;
+        }
         return null;
-//        return get(key, root);
     }
 
-    private Node cf(Key key, Node node, Key k, Node n) {
-        if (key.compareTo(k) == 0) return node;
-        else if (key.compareTo(k) < 0) return n;
-        else return null;
+    /**
+     * Remove a key (and its value) from this tree, if present.
+     *
+     * @param key the key.
+     */
+    public void delete(Key key) {
+        if (key == null) return;
+        Leaf leaf = descend(key);
+        int i = leaf.search(key);
+        if (i < 0) return;
+        leaf.remove(i);
+        size--;
+        // Repair any underflowing nodes, from the leaf upwards.
+        Node node = leaf;
+        for (int d = height - 2; d >= 0 && node.n < minKeys; d--) {
+            Internal parent = path[d];
+            int j = pathIndex[d];
+            Node left = j > 0 ? parent.children[j - 1] : null;
+            Node right = j < parent.n ? parent.children[j + 1] : null;
+            if (left != null && left.n > minKeys) borrowFromLeft(parent, j);
+            else if (right != null && right.n > minKeys) borrowFromRight(parent, j);
+            else if (left != null) merge(parent, j - 1);
+            else merge(parent, j);
+            node = parent;
+        }
+        if (root instanceof TwoFourTree.Internal && root.n == 0) {
+            root = ((Internal) root).children[0];
+            height--;
+        }
+    }
+
+    /**
+     * @return the keys of this tree, in order.
+     */
+    public Set<Key> keySet() {
+        Set<Key> result = new LinkedHashSet<>();
+        for (Map.Entry<Key, Value> entry : range(null, null)) result.add(entry.getKey());
+        return result;
+    }
+
+    /**
+     * Method to scan the key/value pairs between lo and hi, in key order.
+     * The iterator follows the leaf links, and is not fail-fast: the tree must not be modified during the scan.
+     *
+     * @param lo the lower bound (inclusive), or null for no lower bound.
+     * @param hi the upper bound (inclusive), or null for no upper bound.
+     * @return an Iterable of key/value pairs.
+     */
+    public Iterable<Map.Entry<Key, Value>> range(Key lo, Key hi) {
+        return () -> new RangeIterator(lo, hi);
+    }
+
+    /**
+     * Bulk-load this (empty) tree with key/value pairs which are in strictly ascending order of key.
+     * The leaves are filled (evenly) to capacity and the internal levels are then built bottom-up, so this takes linear time.
+     *
+     * @param entries the key/value pairs, in strictly ascending order of key.
+     * @throws IllegalStateException    if this tree is not empty.
+     * @throws IllegalArgumentException if the keys are not strictly ascending.
+     */
+    public void load(Iterable<? extends Map.Entry<Key, Value>> entries) {
+        if (size > 0) throw new IllegalStateException("tree is not empty");
+        List<Key> ks = new ArrayList<>();
+        List<Value> vs = new ArrayList<>();
+        Key previous = null;
+        for (Map.Entry<Key, Value> entry : entries) {
+            Key key = entry.getKey();
+            if (key == null || previous != null && previous.compareTo(key) >= 0)
+                throw new IllegalArgumentException("keys must be strictly ascending: " + previous + ", " + key);
+            ks.add(key);
+            vs.add(entry.getValue());
+            previous = key;
+        }
+        if (ks.isEmpty()) return;
+        // Build the leaves.
+        List<Node> level = new ArrayList<>();
+        List<Object> lows = new ArrayList<>(); // lows.get(i) is the smallest key in the subtree of level.get(i)
+        int groups = (ks.size() + maxKeys - 1) / maxKeys;
+        Leaf previousLeaf = null;
+        for (int g = 0, from = 0; g < groups; g++) {
+            int to = (int) ((long) ks.size() * (g + 1) / groups);
+            Leaf leaf = new Leaf();
+            for (int i = from; i < to; i++) {
+                leaf.keys[i - from] = ks.get(i);
+                leaf.values[i - from] = vs.get(i);
+            }
+            leaf.n = to - from;
+            if (previousLeaf != null) previousLeaf.next = leaf;
+            previousLeaf = leaf;
+            level.add(leaf);
+            lows.add(ks.get(from));
+            from = to;
+        }
+        int h = 1;
+        // Build the internal levels.
+        while (level.size() > 1) {
+            List<Node> parents = new ArrayList<>();
+            List<Object> parentLows = new ArrayList<>();
+            int fanout = maxKeys + 1;
+            groups = (level.size() + fanout - 1) / fanout;
+            for (int g = 0, from = 0; g < groups; g++) {
+                int to = (int) ((long) level.size() * (g + 1) / groups);
+                Internal parent = new Internal();
+                for (int i = from; i < to; i++) {
+                    parent.children[i - from] = level.get(i);
+                    if (i > from) parent.keys[i - from - 1] = lows.get(i);
+                }
+                parent.n = to - from - 1;
+                parents.add(parent);
+                parentLows.add(lows.get(from));
+                from = to;
+            }
+            level = parents;
+            lows = parentLows;
+            h++;
+        }
+        root = level.get(0);
+        height = h;
+        size = ks.size();
+    }
+
+    @Override
+    public String toString() {
+        return "TwoFourTree{order=" + (maxKeys + 1) + ", size=" + size + ", height=" + height + "}";
+    }
+
+    /**
+     * Descend to the leaf where key belongs, recording the path in path and pathIndex.
+     */
+    private Leaf descend(Key key) {
+        if (path.length < height) {
+            @SuppressWarnings({"unchecked", "rawtypes"}) Internal[] array = (Internal[]) new TwoFourTree.Internal[2 * height];
+            path = array;
+            pathIndex = new int[2 * height];
+        }
+        Node node = root;
+        for (int d = 0; node instanceof TwoFourTree.Internal; d++) {
+            Internal internal = (Internal) node;
+            int i = internal.childIndex(key);
+            path[d] = internal;
+            pathIndex[d] = i;
+            node = internal.children[i];
+        }
+        return (Leaf) node;
+    }
+
+    /**
+     * Move the last entry of child j-1 of parent to the front of child j.
+     */
+    private void borrowFromLeft(Internal parent, int j) {
+        Node node = parent.children[j];
+        Node left = parent.children[j - 1];
+        if (node instanceof TwoFourTree.Leaf) {
+            Leaf leaf = (Leaf) node, from = (Leaf) left;
+            leaf.insert(0, from.keys[from.n - 1], from.values[from.n - 1]);
+            from.remove(from.n - 1);
+            parent.keys[j - 1] = leaf.keys[0];
+        } else {
+            Internal internal = (Internal) node, from = (Internal) left;
+            System.arraycopy(internal.keys, 0, internal.keys, 1, internal.n);
+            System.arraycopy(internal.children, 0, internal.children, 1, internal.n + 1);
+            internal.keys[0] = parent.keys[j - 1];
+            internal.children[0] = from.children[from.n];
+            internal.n++;
+            parent.keys[j - 1] = from.keys[from.n - 1];
+            from.keys[from.n - 1] = null;
+            from.children[from.n] = null;
+            from.n--;
+        }
+    }
+
+    /**
+     * Move the first entry of child j+1 of parent to the end of child j.
+     */
+    private void borrowFromRight(Internal parent, int j) {
+        Node node = parent.children[j];
+        Node right = parent.children[j + 1];
+        if (node instanceof TwoFourTree.Leaf) {
+            Leaf leaf = (Leaf) node, from = (Leaf) right;
+            leaf.insert(leaf.n, from.keys[0], from.values[0]);
+            from.remove(0);
+            parent.keys[j] = from.keys[0];
+        } else {
+            Internal internal = (Internal) node, from = (Internal) right;
+            internal.keys[internal.n] = parent.keys[j];
+            internal.children[internal.n + 1] = from.children[0];
+            internal.n++;
+            parent.keys[j] = from.keys[0];
+            System.arraycopy(from.keys, 1, from.keys, 0, from.n - 1);
+            System.arraycopy(from.children, 1, from.children, 0, from.n);
+            from.keys[from.n - 1] = null;
+            from.children[from.n] = null;
+            from.n--;
+        }
+    }
+
+    /**
+     * Merge child j+1 of parent into child j, and remove it (and its separator) from parent.
+     */
+    private void merge(Internal parent, int j) {
+        Node left = parent.children[j];
+        Node right = parent.children[j + 1];
+        if (left instanceof TwoFourTree.Leaf) {
+            Leaf l = (Leaf) left, r = (Leaf) right;
+            System.arraycopy(r.keys, 0, l.keys, l.n, r.n);
+            System.arraycopy(r.values, 0, l.values, l.n, r.n);
+            l.n += r.n;
+            l.next = r.next;
+        } else {
+            Internal l = (Internal) left, r = (Internal) right;
+            l.keys[l.n] = parent.keys[j];
+            System.arraycopy(r.keys, 0, l.keys, l.n + 1, r.n);
+            System.arraycopy(r.children, 0, l.children, l.n + 1, r.n + 1);
+            l.n += 1 + r.n;
+        }
+        parent.remove(j);
     }
 
-//    private Value get(Key key, Node node) {
-//        if (node == null) return null;
-//        Node n = cf(key, node, node.key1, node.left);
-//        if (n)
-//    }
+    private abstract class Node {
+        Node(int capacity) {
+            keys = new Object[capacity];
+        }
+
+        /**
+         * Binary search for key.
+         *
+         * @return the index of key, if present, else (-(insertion point) - 1).
+         */
+        int search(Key key) {
+            int lo = 0, hi = n - 1;
+            while (lo <= hi) {
+                int mid = (lo + hi) >>> 1;
+                @SuppressWarnings("unchecked") int cf = key.compareTo((Key) keys[mid]);
+                if (cf > 0) lo = mid + 1;
+                else if (cf < 0) hi = mid - 1;
+                else return mid;
+            }
+            return -(lo + 1);
+        }
+
+        /**
+         * @return the index of the child whose subtree would contain key (the number of keys which are not greater than key).
+         */
+        int childIndex(Key key) {
+            int i = search(key);
+            return i >= 0 ? i + 1 : -i - 1;
+        }
+
+        /**
+         * Split this (overflowing) node, moving its upper entries into a new sibling.
+         * For an internal node, the separator which must be promoted is left at keys[n].
+         *
+         * @return the new sibling.
+         */
+        abstract Node split();
+
+        final Object[] keys; // one spare element, to allow a node to overflow before it is split
+        int n; // the number of keys
+    }
+
+    private class Leaf extends Node {
+        Leaf() {
+            super(maxKeys + 1);
+            values = new Object[maxKeys + 1];
+        }
+
+        void insert(int i, Object key, Object value) {
+            System.arraycopy(keys, i, keys, i + 1, n - i);
+            System.arraycopy(values, i, values, i + 1, n - i);
+            keys[i] = key;
+            values[i] = value;
+            n++;
+        }
+
+        void remove(int i) {
+            System.arraycopy(keys, i + 1, keys, i, n - i - 1);
+            System.arraycopy(values, i + 1, values, i, n - i - 1);
+            n--;
+            keys[n] = null;
+            values[n] = null;
+        }
+
+        Node split() {
+            Leaf sibling = new Leaf();
+            int mid = n / 2;
+            sibling.n = n - mid;
+            System.arraycopy(keys, mid, sibling.keys, 0, sibling.n);
+            System.arraycopy(values, mid, sibling.values, 0, sibling.n);
+            for (int i = mid; i < n; i++) keys[i] = values[i] = null;
+            n = mid;
+            sibling.next = next;
+            next = sibling;
+            return sibling;
+        }
+
+        final Object[] values;
+        Leaf next; // the next leaf in key order
+    }
+
+    private class Internal extends Node {
+        Internal() {
+            super(maxKeys + 1);
+            @SuppressWarnings({"unchecked", "rawtypes"}) Node[] array = new TwoFourTree.Node[maxKeys + 2];
+            children = array;
+        }
+
+        /**
+         * Insert key at index i, and child (whose keys are all at least key) at index i+1.
+         */
+        void insert(int i, Object key, Node child) {
+            System.arraycopy(keys, i, keys, i + 1, n - i);
+            System.arraycopy(children, i + 1, children, i + 2, n - i);
+            keys[i] = key;
+            children[i + 1] = child;
+            n++;
+        }
+
+        /**
+         * Remove the key at index i and the child at index i+1.
+         */
+        void remove(int i) {
+            System.arraycopy(keys, i + 1, keys, i, n - i - 1);
+            System.arraycopy(children, i + 2, children, i + 1, n - i - 1);
+            n--;
+            keys[n] = null;
+            children[n + 1] = null;
+        }
+
+        Node split() {
+            Internal sibling = new Internal();
+            int mid = n / 2;
+            sibling.n = n - mid - 1;
+            System.arraycopy(keys, mid + 1, sibling.keys, 0, sibling.n);
+            System.arraycopy(children, mid + 1, sibling.children, 0, sibling.n + 1);
+            for (int i = mid + 1; i < n; i++) keys[i] = null;
+            for (int i = mid + 1; i <= n; i++) children[i] = null;
+            n = mid; // keys[mid] is left in place for the caller to promote
+            return sibling;
+        }
+
+        final Node[] children;
+    }
+
+    private class RangeIterator implements Iterator<Map.Entry<Key, Value>> {
+        RangeIterator(Key lo, Key hi) {
+            this.hi = hi;
+            Node node = root;
+            if (lo == null) {
+                while (node instanceof TwoFourTree.Internal) node = ((Internal) node).children[0];
+                index = 0;
+            } else {
+                while (node instanceof TwoFourTree.Internal) node = ((Internal) node).children[node.childIndex(lo)];
+                int i = node.search(lo);
+                index = i >= 0 ? i : -i - 1;
+            }
+            leaf = (Leaf) node;
+            advance();
+        }
+
+        public boolean hasNext() {
+            return leaf != null;
+        }
+
+        public Map.Entry<Key, Value> next() {
+            if (leaf == null) throw new NoSuchElementException();
+            @SuppressWarnings("unchecked") Map.Entry<Key, Value> result = new AbstractMap.SimpleImmutableEntry<>((Key) leaf.keys[index], (Value) leaf.values[index]);
+            index++;
+            advance();
+            return result;
+        }
+
+        /**
+         * Move to the next entry (possibly in a following leaf); set leaf to null if there is no such entry within range.
+         */
+        @SuppressWarnings("unchecked")
+        private void advance() {
+            while (leaf != null && index >= leaf.n) {
+                leaf = leaf.next;
+                index = 0;
+            }
+            if (leaf != null && hi != null && hi.compareTo((Key) leaf.keys[index]) < 0) leaf = null;
+        }
+
+        private final Key hi;
+        private Leaf leaf;
+        private int index;
+    }
+
+    private final int maxKeys; // order - 1
+    private final int minKeys; // the minimum number of keys in a node other than the root
+    private Node root;
+    private int height = 1;
+    private int size;
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Internal[] path = (Internal[]) new TwoFourTree.Internal[8]; // path[d] is the internal node at depth d on the last descent
+    private int[] pathIndex = new int[8]; // pathIndex[d] is the index of the child of path[d] on the last descent
 }
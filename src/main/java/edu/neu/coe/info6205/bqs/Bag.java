@@ -16,6 +16,15 @@ public interface Bag<Item> extends SizedIterable<Item> {
      */
     void add(Item item);
 
+    /**
+     * Update this Bag by adding all of the given items.
+     *
+     * @param items the items to add
+     */
+    default void addAll(Iterable<? extends Item> items) {
+        for (Item item : items) add(item);
+    }
+
     /**
      * @return true if this bag is empty
      */
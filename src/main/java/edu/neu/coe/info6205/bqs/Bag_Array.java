@@ -4,21 +4,92 @@
 
 package edu.neu.coe.info6205.bqs;
 
+import edu.neu.coe.info6205.hashtable.ObjectIntMap;
+
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
 import java.util.Iterator;
-
+import java.util.NoSuchElementException;
+
+/**
+ * Bag based on a growable array.
+ * <p>
+ * No array is allocated until the first item is added, and then only a small one (which doubles as required),
+ * so that the many (small) adjacency bags of a large, sparse graph do not waste memory.
+ * <p>
+ * An indexed Bag additionally maintains a multiset index (from item to its multiplicity),
+ * so that contains and multiplicity take constant time rather than linear time,
+ * at the cost of a hash table entry per distinct item. An indexed Bag may not contain null.
+ *
+ * @param <Item> the type of the items.
+ */
 public class Bag_Array<Item> implements Bag<Item> {
 
+    /**
+     * Constructor.
+     *
+     * @param capacity the expected number of items (the array is allocated when the first item is added).
+     * @param indexed  true if contains and multiplicity should be supported by an index.
+     */
+    public Bag_Array(int capacity, boolean indexed) {
+        this.initialCapacity = Math.max(capacity, 1);
+        this.index = indexed ? new ObjectIntMap<>() : null;
+    }
+
+    public Bag_Array(int capacity) {
+        this(capacity, false);
+    }
+
     public Bag_Array() {
-        //noinspection unchecked
-        grow((Item[]) new Object[0], 32);
+        this(INITIAL_CAPACITY);
     }
 
     public void add(Item item) {
-        assert items != null;
+        if (index != null) {
+            if (item == null) throw new IllegalArgumentException(NULL_ITEM);
+            index.addTo(item, 1);
+        }
         if (full())
-            grow(items, 2 * capacity());
+            grow(items, Math.max(initialCapacity, 2 * capacity()));
         items[count++] = item;
+        modCount++;
+    }
+
+    /**
+     * Add all of the given items to this Bag.
+     * If items is a Collection or a Bag_Array, the items are copied in bulk
+     * (and, if this Bag is indexed and there is a null among them, none is added).
+     *
+     * @param items the items to add.
+     * @throws IllegalArgumentException if this Bag is indexed and an item is null.
+     */
+    public void addAll(Iterable<? extends Item> items) {
+        Object[] source;
+        int n;
+        if (items instanceof Bag_Array) {
+            Bag_Array<?> bag = (Bag_Array<?>) items;
+            source = bag.items;
+            n = bag.count;
+        } else if (items instanceof Collection) {
+            source = ((Collection<?>) items).toArray();
+            n = source.length;
+        } else {
+            for (Item item : items) add(item);
+            return;
+        }
+        if (index != null)
+            for (int i = 0; i < n; i++) if (source[i] == null) throw new IllegalArgumentException(NULL_ITEM);
+        if (count + n > capacity()) {
+            int length = Math.max(initialCapacity, capacity());
+            while (length < count + n) length <<= 1;
+            grow(this.items, length);
+        }
+        System.arraycopy(source, 0, this.items, count, n);
+        if (index != null)
+            for (int i = count; i < count + n; i++) index.addTo(this.items[i], 1);
+        count += n;
+        modCount++;
     }
 
     public boolean isEmpty() {
@@ -30,32 +101,50 @@ public class Bag_Array<Item> implements Bag<Item> {
     }
 
     public void clear() {
+        Arrays.fill(items, 0, count, null); // prevent loitering
         count = 0;
+        modCount++;
+        if (index != null) index = new ObjectIntMap<>();
     }
 
     public boolean contains(Item item) {
-        for (Item i : items) {
-            if (i != null && i.equals(item))
-                return true;
-        }
+        if (index != null) return index.containsKey(item);
+        for (int i = 0; i < count; i++)
+            if (equal(items[i], item)) return true;
         return false;
     }
 
     @Override
     public int multiplicity(Item item) {
+        if (index != null) return index.getInt(item);
         int result = 0;
-        if (isEmpty()) return 0;
-        for (Item i : items) {
-            if (i != null && i.equals(item))
-                result++;
-        }
+        for (int i = 0; i < count; i++)
+            if (equal(items[i], item)) result++;
         return result;
     }
 
+    /**
+     * Method to yield an iterator over the items of this Bag (in the order in which they were added).
+     * The iterator reads the array directly and is fail-fast:
+     * it throws ConcurrentModificationException if this Bag is modified during the iteration.
+     *
+     * @return an iterator.
+     */
     public Iterator<Item> iterator() {
-        assert items != null; // Should be not-null any time after construction.
-        // NOTE: there is no Java-defined array iterator.
-        return Arrays.asList(asArray()).iterator();
+        return new Iterator<Item>() {
+            public boolean hasNext() {
+                return i < count;
+            }
+
+            public Item next() {
+                if (expectedModCount != modCount) throw new ConcurrentModificationException();
+                if (i >= count) throw new NoSuchElementException();
+                return items[i++];
+            }
+
+            private int i = 0;
+            private final int expectedModCount = modCount;
+        };
     }
 
     public Item[] asArray() {
@@ -75,7 +164,6 @@ public class Bag_Array<Item> implements Bag<Item> {
     }
 
     private int capacity() {
-        assert items != null; // Should be not-null any time after construction.
         return items.length;
     }
 
@@ -83,6 +171,10 @@ public class Bag_Array<Item> implements Bag<Item> {
         return size() == capacity();
     }
 
+    private static boolean equal(Object x, Object y) {
+        return x == null ? y == null : x.equals(y);
+    }
+
     /**
      * This fairly primitive grow method takes a T array called "from",
      * instantiates a new array of the given size,
@@ -93,10 +185,21 @@ public class Bag_Array<Item> implements Bag<Item> {
      * @param size the size of the new array
      */
     private static <T> T[] growFrom(T[] from, int size) {
-        // TO BE IMPLEMENTED
-        throw new UnsupportedOperationException();
+        //noinspection unchecked
+        T[] result = (T[]) new Object[size];
+        System.arraycopy(from, 0, result, 0, Math.min(from.length, size));
+        return result;
     }
 
-    private Item[] items = null;
+    private static final int INITIAL_CAPACITY = 4;
+    private static final String NULL_ITEM = "an indexed Bag may not contain null";
+
+    //noinspection unchecked
+    private Item[] items = (Item[]) EMPTY;
     private int count = 0;
+    private int modCount = 0; // the number of modifications (for fail-fast iteration)
+    private final int initialCapacity; // the length of the array when the first item is added
+    private ObjectIntMap<Item> index; // the multiplicity of each item, if this Bag is indexed
+
+    private static final Object[] EMPTY = new Object[0]; // shared by all Bags to which nothing has yet been added
 }
@@ -0,0 +1,226 @@
+/*
+ * Copyright (c) 2017. Phasmid Software
+ */
+
+package edu.neu.coe.info6205.bqs;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.ToIntBiFunction;
+
+/**
+ * Bounded cache which combines a hash index (from key to entry) with a replacement policy, built on DList,
+ * which decides which entry to evict when the total weight of the entries exceeds the capacity.
+ * Every operation takes constant (expected) time.
+ * <p>
+ * By default, every entry weighs 1, so that the capacity is the maximum number of entries.
+ * A Cache is not thread-safe.
+ *
+ * @param <K> the key type.
+ * @param <V> the value type.
+ */
+public abstract class Cache<K, V> {
+
+    /**
+     * Constructor.
+     *
+     * @param capacity the maximum total weight of the entries.
+     * @param weigher  a function which yields the (non-negative) weight of an entry.
+     */
+    protected Cache(long capacity, ToIntBiFunction<? super K, ? super V> weigher) {
+        if (capacity < 1) throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        this.capacity = capacity;
+        this.weigher = weigher;
+    }
+
+    /**
+     * Constructor for a Cache of at most capacity entries.
+     *
+     * @param capacity the maximum number of entries.
+     */
+    protected Cache(long capacity) {
+        this(capacity, (k, v) -> 1);
+    }
+
+    /**
+     * Get the value for key, counting a hit (and recording the access with the replacement policy) or a miss.
+     *
+     * @param key the key.
+     * @return the value, or null if key is not in this Cache.
+     */
+    public V get(K key) {
+        Entry<K, V> entry = index.get(key);
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        accessed(entry);
+        return entry.value;
+    }
+
+    /**
+     * Put a key/value pair into this Cache, evicting other entries as required.
+     * An entry which on its own weighs more than the capacity is not cached (and removes any previous entry for key).
+     *
+     * @param key   the key.
+     * @param value the value.
+     * @return the previous value for key, or null.
+     */
+    public V put(K key, V value) {
+        int w = weigher.applyAsInt(key, value);
+        if (w < 0) throw new IllegalArgumentException("negative weight for key: " + key);
+        if (w > capacity) return remove(key);
+        Entry<K, V> entry = index.get(key);
+        V result = null;
+        if (entry != null) {
+            result = entry.value;
+            entry.value = value;
+            weight += w - entry.weight;
+            entry.weight = w;
+            accessed(entry);
+        } else {
+            entry = newEntry(key, value, w);
+            index.put(key, entry);
+            weight += w;
+            inserted(entry);
+        }
+        while (weight > capacity) {
+            Entry<K, V> victim = victim(entry);
+            removeEntry(victim);
+            evictions++;
+        }
+        return result;
+    }
+
+    /**
+     * Remove the entry for key (if any).
+     *
+     * @param key the key.
+     * @return the value for key, or null.
+     */
+    public V remove(K key) {
+        Entry<K, V> entry = index.get(key);
+        if (entry == null) return null;
+        removeEntry(entry);
+        return entry.value;
+    }
+
+    /**
+     * @param key the key.
+     * @return true if key is in this Cache (which counts neither as a hit nor a miss, nor as an access).
+     */
+    public boolean containsKey(K key) {
+        return index.containsKey(key);
+    }
+
+    /**
+     * Remove all of the entries (but leave the counters unchanged).
+     */
+    public void clear() {
+        while (!index.isEmpty()) removeEntry(victim(null));
+    }
+
+    public int size() {
+        return index.size();
+    }
+
+    /**
+     * @return the total weight of the entries.
+     */
+    public long weight() {
+        return weight;
+    }
+
+    public long capacity() {
+        return capacity;
+    }
+
+    public long hits() {
+        return hits;
+    }
+
+    public long misses() {
+        return misses;
+    }
+
+    public long evictions() {
+        return evictions;
+    }
+
+    /**
+     * @return the proportion of gets which were hits (or zero if there have been none).
+     */
+    public double hitRate() {
+        long gets = hits + misses;
+        return gets == 0 ? 0 : (double) hits / gets;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "{size=" + size() + ", weight=" + weight + ", capacity=" + capacity +
+                ", hits=" + hits + ", misses=" + misses + ", evictions=" + evictions + '}';
+    }
+
+    /**
+     * An entry of a Cache, which knows its element in the DList of the replacement policy.
+     */
+    static class Entry<K, V> {
+        Entry(K key, V value, int weight) {
+            this.key = key;
+            this.value = value;
+            this.weight = weight;
+        }
+
+        final K key;
+        V value;
+        int weight;
+        DList<Entry<K, V>>.D_Element element;
+    }
+
+    /**
+     * @return the entry for key (without recording an access), or null.
+     */
+    Entry<K, V> entry(K key) {
+        return index.get(key);
+    }
+
+    Entry<K, V> newEntry(K key, V value, int weight) {
+        return new Entry<>(key, value, weight);
+    }
+
+    /**
+     * Link a new entry into the replacement policy.
+     */
+    abstract void inserted(Entry<K, V> entry);
+
+    /**
+     * Record an access (a get or a put) of an existing entry.
+     */
+    abstract void accessed(Entry<K, V> entry);
+
+    /**
+     * Unlink an entry from the replacement policy.
+     */
+    abstract void removed(Entry<K, V> entry);
+
+    /**
+     * @param protect an entry which must not be evicted (the one just put), or null.
+     * @return the entry (other than protect) which should be evicted next.
+     */
+    abstract Entry<K, V> victim(Entry<K, V> protect);
+
+    private void removeEntry(Entry<K, V> entry) {
+        index.remove(entry.key);
+        weight -= entry.weight;
+        removed(entry);
+    }
+
+    private final Map<K, Entry<K, V>> index = new HashMap<>();
+    private final long capacity;
+    private final ToIntBiFunction<? super K, ? super V> weigher;
+    private long weight = 0;
+    private long hits = 0;
+    private long misses = 0;
+    private long evictions = 0;
+}
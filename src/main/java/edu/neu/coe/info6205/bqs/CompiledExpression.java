@@ -0,0 +1,486 @@
+package edu.neu.coe.info6205.bqs;
+
+import java.util.Arrays;
+
+/**
+ * An infix arithmetic expression, compiled once (by Dijkstra's shunting-yard algorithm) into postfix code,
+ * which may then be evaluated many times, with different values of its variables, in either long or double arithmetic.
+ * <p>
+ * Expressions are made of numbers, variables (identifiers), the binary operators + - * / % ^ (with the usual precedence,
+ * ^ being exponentiation, which associates to the right), unary minus, and parentheses. Unlike DijkstraTwoStack,
+ * tokens need not be separated by spaces, and expressions need not be fully parenthesized.
+ * Any operation whose operands are constants is evaluated during compilation (constant folding).
+ * <p>
+ * Each instruction of the code is an int: the opcode in the low four bits and the operand
+ * (the index of a constant or of a variable) in the remaining bits.
+ * The evaluator runs the code on a primitive array stack, whose depth is known from compilation,
+ * so that evaluation allocates nothing.
+ * For this reason, a CompiledExpression is not thread-safe: each thread should compile its own.
+ * <p>
+ * The batch methods evaluate the expression for many bindings of the variables in one pass through the code:
+ * each instruction operates on a whole column of values.
+ */
+public class CompiledExpression {
+
+    /**
+     * Compile an infix expression.
+     *
+     * @param infix     the expression.
+     * @param variables the names of the variables which may appear in infix, in the order in which their values are given.
+     * @return a CompiledExpression.
+     * @throws BQSException if infix is not a well-formed expression.
+     */
+    public static CompiledExpression compile(String infix, String... variables) throws BQSException {
+        return new Compiler(infix, variables).compile();
+    }
+
+    /**
+     * @return the number of variables.
+     */
+    public int variables() {
+        return variables.length;
+    }
+
+    /**
+     * @return true if all of the constants of this expression are integers, so that it may be evaluated as a long.
+     */
+    public boolean isIntegral() {
+        return integral;
+    }
+
+    /**
+     * Evaluate this expression in long arithmetic (in which / and % truncate).
+     *
+     * @param values the value of each variable.
+     * @return the value of the expression.
+     * @throws ArithmeticException   on division by zero, or exponentiation by a negative power.
+     * @throws IllegalStateException if this expression is not integral.
+     */
+    public long evaluateLong(long... values) {
+        checkIntegral();
+        checkVariables(values.length);
+        long[] s = longStack;
+        int sp = 0;
+        for (int instruction : code) {
+            switch (instruction & 0xF) {
+                case CONST:
+                    s[sp++] = longs[instruction >>> 4];
+                    break;
+                case VAR:
+                    s[sp++] = values[instruction >>> 4];
+                    break;
+                case ADD:
+                    sp--;
+                    s[sp - 1] += s[sp];
+                    break;
+                case SUB:
+                    sp--;
+                    s[sp - 1] -= s[sp];
+                    break;
+                case MUL:
+                    sp--;
+                    s[sp - 1] *= s[sp];
+                    break;
+                case DIV:
+                    sp--;
+                    s[sp - 1] /= s[sp];
+                    break;
+                case MOD:
+                    sp--;
+                    s[sp - 1] %= s[sp];
+                    break;
+                case POW:
+                    sp--;
+                    s[sp - 1] = pow(s[sp - 1], s[sp]);
+                    break;
+                default: // NEG
+                    s[sp - 1] = -s[sp - 1];
+            }
+        }
+        return s[0];
+    }
+
+    /**
+     * Evaluate this expression in double arithmetic.
+     *
+     * @param values the value of each variable.
+     * @return the value of the expression.
+     */
+    public double evaluateDouble(double... values) {
+        checkVariables(values.length);
+        double[] s = doubleStack;
+        int sp = 0;
+        for (int instruction : code) {
+            switch (instruction & 0xF) {
+                case CONST:
+                    s[sp++] = doubles[instruction >>> 4];
+                    break;
+                case VAR:
+                    s[sp++] = values[instruction >>> 4];
+                    break;
+                case ADD:
+                    sp--;
+                    s[sp - 1] += s[sp];
+                    break;
+                case SUB:
+                    sp--;
+                    s[sp - 1] -= s[sp];
+                    break;
+                case MUL:
+                    sp--;
+                    s[sp - 1] *= s[sp];
+                    break;
+                case DIV:
+                    sp--;
+                    s[sp - 1] /= s[sp];
+                    break;
+                case MOD:
+                    sp--;
+                    s[sp - 1] %= s[sp];
+                    break;
+                case POW:
+                    sp--;
+                    s[sp - 1] = Math.pow(s[sp - 1], s[sp]);
+                    break;
+                default: // NEG
+                    s[sp - 1] = -s[sp - 1];
+            }
+        }
+        return s[0];
+    }
+
+    /**
+     * Evaluate this expression in long arithmetic for results.length bindings of the variables.
+     *
+     * @param columns the values of the variables: columns[v][i] is the value of variable v in binding i.
+     * @param results the array into which the value of the expression for each binding is stored.
+     */
+    public void evaluateLong(long[][] columns, long[] results) {
+        checkIntegral();
+        checkVariables(columns.length);
+        int n = results.length;
+        long[][] s = new long[depth][];
+        for (int k = 1; k < depth; k++) s[k] = new long[n];
+        s[0] = results;
+        int sp = 0;
+        for (int instruction : code) {
+            int op = instruction & 0xF;
+            if (op == CONST) Arrays.fill(s[sp++], 0, n, longs[instruction >>> 4]);
+            else if (op == VAR) System.arraycopy(columns[instruction >>> 4], 0, s[sp++], 0, n);
+            else if (op == NEG) {
+                long[] x = s[sp - 1];
+                for (int i = 0; i < n; i++) x[i] = -x[i];
+            } else {
+                long[] x = s[sp - 2], y = s[--sp];
+                switch (op) {
+                    case ADD:
+                        for (int i = 0; i < n; i++) x[i] += y[i];
+                        break;
+                    case SUB:
+                        for (int i = 0; i < n; i++) x[i] -= y[i];
+                        break;
+                    case MUL:
+                        for (int i = 0; i < n; i++) x[i] *= y[i];
+                        break;
+                    case DIV:
+                        for (int i = 0; i < n; i++) x[i] /= y[i];
+                        break;
+                    case MOD:
+                        for (int i = 0; i < n; i++) x[i] %= y[i];
+                        break;
+                    default: // POW
+                        for (int i = 0; i < n; i++) x[i] = pow(x[i], y[i]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Evaluate this expression in double arithmetic for results.length bindings of the variables.
+     *
+     * @param columns the values of the variables: columns[v][i] is the value of variable v in binding i.
+     * @param results the array into which the value of the expression for each binding is stored.
+     */
+    public void evaluateDouble(double[][] columns, double[] results) {
+        checkVariables(columns.length);
+        int n = results.length;
+        double[][] s = new double[depth][];
+        for (int k = 1; k < depth; k++) s[k] = new double[n];
+        s[0] = results;
+        int sp = 0;
+        for (int instruction : code) {
+            int op = instruction & 0xF;
+            if (op == CONST) Arrays.fill(s[sp++], 0, n, doubles[instruction >>> 4]);
+            else if (op == VAR) System.arraycopy(columns[instruction >>> 4], 0, s[sp++], 0, n);
+            else if (op == NEG) {
+                double[] x = s[sp - 1];
+                for (int i = 0; i < n; i++) x[i] = -x[i];
+            } else {
+                double[] x = s[sp - 2], y = s[--sp];
+                switch (op) {
+                    case ADD:
+                        for (int i = 0; i < n; i++) x[i] += y[i];
+                        break;
+                    case SUB:
+                        for (int i = 0; i < n; i++) x[i] -= y[i];
+                        break;
+                    case MUL:
+                        for (int i = 0; i < n; i++) x[i] *= y[i];
+                        break;
+                    case DIV:
+                        for (int i = 0; i < n; i++) x[i] /= y[i];
+                        break;
+                    case MOD:
+                        for (int i = 0; i < n; i++) x[i] %= y[i];
+                        break;
+                    default: // POW
+                        for (int i = 0; i < n; i++) x[i] = Math.pow(x[i], y[i]);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the code of this expression, in postfix notation.
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (int instruction : code) {
+            if (sb.length() > 0) sb.append(' ');
+            int op = instruction & 0xF;
+            if (op == CONST) sb.append(integral ? Long.toString(longs[instruction >>> 4]) : Double.toString(doubles[instruction >>> 4]));
+            else if (op == VAR) sb.append(variables[instruction >>> 4]);
+            else sb.append(SYMBOLS.charAt(op));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * @param x the base.
+     * @param y the exponent (non-negative).
+     * @return x to the power y (by repeated squaring), in long arithmetic.
+     */
+    static long pow(long x, long y) {
+        if (y < 0) throw new ArithmeticException("negative exponent: " + y);
+        long result = 1;
+        while (y > 0) {
+            if ((y & 1) == 1) result *= x;
+            x *= x;
+            y >>= 1;
+        }
+        return result;
+    }
+
+    private CompiledExpression(String[] variables, int[] code, long[] longs, double[] doubles, boolean integral, int depth) {
+        this.variables = variables;
+        this.code = code;
+        this.longs = longs;
+        this.doubles = doubles;
+        this.integral = integral;
+        this.depth = depth;
+        this.longStack = new long[depth];
+        this.doubleStack = new double[depth];
+    }
+
+    private void checkIntegral() {
+        if (!integral) throw new IllegalStateException("expression has non-integral constants: " + this);
+    }
+
+    private void checkVariables(int n) {
+        if (n != variables.length)
+            throw new IllegalArgumentException("expected values for " + variables.length + " variables but got " + n);
+    }
+
+    /**
+     * The shunting-yard algorithm: operands are emitted as they are read,
+     * while operators wait on a stack until an operator of lower precedence (or a closing parenthesis) arrives.
+     */
+    private static class Compiler {
+        Compiler(String infix, String[] variables) {
+            this.infix = infix;
+            this.variables = variables.clone();
+        }
+
+        CompiledExpression compile() throws BQSException {
+            boolean operand = true; // true if the next token must be an operand (or a prefix operator)
+            while (true) {
+                skipSpaces();
+                if (i == infix.length()) break;
+                char c = infix.charAt(i);
+                if (operand) {
+                    if (c == '(') {
+                        i++;
+                        ops.push(LEFT);
+                    } else if (c == '-') {
+                        i++;
+                        ops.push(NEG);
+                    } else if (Character.isDigit(c) || c == '.') {
+                        number();
+                        operand = false;
+                    } else if (Character.isJavaIdentifierStart(c)) {
+                        variable();
+                        operand = false;
+                    } else throw new BQSException("expected an operand at position " + i + " of: " + infix);
+                } else {
+                    i++;
+                    if (c == ')') {
+                        while (!ops.isEmpty() && ops.peek() != LEFT) emit(ops.pop());
+                        if (ops.isEmpty()) throw new BQSException("unmatched ) at position " + (i - 1) + " of: " + infix);
+                        ops.pop();
+                    } else {
+                        int op = SYMBOLS.indexOf(c);
+                        if (op < ADD || op > POW) throw new BQSException("expected an operator at position " + (i - 1) + " of: " + infix);
+                        // ^ associates to the right: all other operators to the left.
+                        while (!ops.isEmpty() && ops.peek() != LEFT &&
+                                (PRECEDENCE[ops.peek()] > PRECEDENCE[op] || PRECEDENCE[ops.peek()] == PRECEDENCE[op] && op != POW))
+                            emit(ops.pop());
+                        ops.push(op);
+                        operand = true;
+                    }
+                }
+            }
+            if (operand) throw new BQSException("expression is incomplete: " + infix);
+            while (!ops.isEmpty()) {
+                int op = ops.pop();
+                if (op == LEFT) throw new BQSException("unmatched ( in: " + infix);
+                emit(op);
+            }
+            return new CompiledExpression(variables, Arrays.copyOf(code, n), Arrays.copyOf(longs, constants),
+                    Arrays.copyOf(doubles, constants), integral, maxDepth);
+        }
+
+        private void number() throws BQSException {
+            int start = i;
+            while (i < infix.length() && (Character.isLetterOrDigit(infix.charAt(i)) || infix.charAt(i) == '.' ||
+                    (infix.charAt(i) == '-' || infix.charAt(i) == '+') && (infix.charAt(i - 1) == 'e' || infix.charAt(i - 1) == 'E')))
+                i++;
+            String s = infix.substring(start, i);
+            try {
+                long x = Long.parseLong(s);
+                emitConstant(x, x);
+            } catch (NumberFormatException e) {
+                try {
+                    double x = Double.parseDouble(s);
+                    integral = false;
+                    emitConstant((long) x, x);
+                } catch (NumberFormatException e2) {
+                    throw new BQSException("malformed number at position " + start + " of: " + infix);
+                }
+            }
+        }
+
+        private void variable() throws BQSException {
+            int start = i;
+            while (i < infix.length() && Character.isJavaIdentifierPart(infix.charAt(i))) i++;
+            String name = infix.substring(start, i);
+            for (int v = 0; v < variables.length; v++)
+                if (variables[v].equals(name)) {
+                    emitInstruction(v << 4 | VAR, 1);
+                    return;
+                }
+            throw new BQSException("unknown variable " + name + " in: " + infix);
+        }
+
+        /**
+         * Emit an operator, folding it into a single constant if its operands are constants.
+         * Division (or remainder) by a constant zero is not folded, so that it fails when evaluated in long arithmetic.
+         */
+        private void emit(int op) {
+            if (op == NEG && n >= 1 && (code[n - 1] & 0xF) == CONST) {
+                int k = code[--n] >>> 4;
+                constants--;
+                depth--;
+                emitConstant(-longs[k], -doubles[k]);
+                return;
+            }
+            if (op != NEG && n >= 2 && (code[n - 1] & 0xF) == CONST && (code[n - 2] & 0xF) == CONST) {
+                int kx = code[n - 2] >>> 4, ky = code[n - 1] >>> 4;
+                long x = longs[kx], y = longs[ky];
+                if (!((op == DIV || op == MOD) && y == 0) && !(op == POW && y < 0)) {
+                    double dx = doubles[kx], dy = doubles[ky];
+                    n -= 2;
+                    constants -= 2;
+                    depth -= 2;
+                    switch (op) {
+                        case ADD:
+                            emitConstant(x + y, dx + dy);
+                            break;
+                        case SUB:
+                            emitConstant(x - y, dx - dy);
+                            break;
+                        case MUL:
+                            emitConstant(x * y, dx * dy);
+                            break;
+                        case DIV:
+                            emitConstant(x / y, dx / dy);
+                            break;
+                        case MOD:
+                            emitConstant(x % y, dx % dy);
+                            break;
+                        default: // POW
+                            emitConstant(pow(x, y), Math.pow(dx, dy));
+                    }
+                    return;
+                }
+            }
+            emitInstruction(op, op == NEG ? 0 : -1);
+        }
+
+        private void emitConstant(long x, double dx) {
+            if (constants == longs.length) {
+                longs = Arrays.copyOf(longs, 2 * constants);
+                doubles = Arrays.copyOf(doubles, 2 * constants);
+            }
+            longs[constants] = x;
+            doubles[constants] = dx;
+            emitInstruction(constants++ << 4 | CONST, 1);
+        }
+
+        private void emitInstruction(int instruction, int delta) {
+            if (n == code.length) code = Arrays.copyOf(code, 2 * n);
+            code[n++] = instruction;
+            depth += delta;
+            maxDepth = Math.max(maxDepth, depth);
+        }
+
+        private void skipSpaces() {
+            while (i < infix.length() && Character.isWhitespace(infix.charAt(i))) i++;
+        }
+
+        private final String infix;
+        private final String[] variables;
+        private final Stack<Integer> ops = new Stack_Array<>();
+        private int i = 0; // the position in infix
+        private int[] code = new int[16];
+        private int n = 0; // the number of instructions
+        private long[] longs = new long[4];
+        private double[] doubles = new double[4];
+        private int constants = 0;
+        private boolean integral = true;
+        private int depth = 0; // the depth of the stack after the instructions so far
+        private int maxDepth = 0;
+    }
+
+    private static final int CONST = 0;
+    private static final int VAR = 1;
+    private static final int ADD = 2;
+    private static final int SUB = 3;
+    private static final int MUL = 4;
+    private static final int DIV = 5;
+    private static final int MOD = 6;
+    private static final int POW = 7;
+    private static final int NEG = 8;
+    private static final int LEFT = 9; // a left parenthesis (on the operator stack only)
+    private static final String SYMBOLS = "CV+-*/%^~(";
+    private static final int[] PRECEDENCE = {0, 0, 1, 1, 2, 2, 2, 4, 3, 0};
+
+    private final String[] variables;
+    private final int[] code;
+    private final long[] longs;
+    private final double[] doubles;
+    private final boolean integral;
+    private final int depth;
+    private final long[] longStack;
+    private final double[] doubleStack;
+}
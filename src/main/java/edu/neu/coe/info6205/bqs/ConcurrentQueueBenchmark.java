@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2017. Phasmid Software
+ */
+
+package edu.neu.coe.info6205.bqs;
+
+import edu.neu.coe.info6205.util.Benchmark_Timer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Benchmark which measures the throughput of Queue_SPSC and Queue_MPMC, compared with java.util.concurrent.ArrayBlockingQueue,
+ * when n items are passed from the producer thread(s) to the consumer thread(s).
+ * Each producer offers its items (retrying while the queue is full) and each consumer drains the queue in batches.
+ */
+public class ConcurrentQueueBenchmark {
+
+    public ConcurrentQueueBenchmark(int runs, int n, int capacity) {
+        this.runs = runs;
+        this.n = n;
+        this.capacity = capacity;
+    }
+
+    public void runBenchmarks() {
+        System.out.println("ConcurrentQueueBenchmark: N=" + n + ", capacity=" + capacity);
+        benchmark("ArrayBlockingQueue 1P/1C", 1, 1, () -> {
+            ArrayBlockingQueue<Integer> queue = new ArrayBlockingQueue<>(capacity);
+            return new Channel(queue::offer, queue::drainTo);
+        });
+        benchmark("Queue_SPSC 1P/1C", 1, 1, () -> {
+            Queue_SPSC<Integer> queue = new Queue_SPSC<>(capacity);
+            return new Channel(queue::offer, queue::drainTo);
+        });
+        benchmark("Queue_MPMC 1P/1C", 1, 1, () -> {
+            Queue_MPMC<Integer> queue = new Queue_MPMC<>(capacity);
+            return new Channel(queue::offer, queue::drainTo);
+        });
+        benchmark("ArrayBlockingQueue 2P/2C", 2, 2, () -> {
+            ArrayBlockingQueue<Integer> queue = new ArrayBlockingQueue<>(capacity);
+            return new Channel(queue::offer, queue::drainTo);
+        });
+        benchmark("Queue_MPMC 2P/2C", 2, 2, () -> {
+            Queue_MPMC<Integer> queue = new Queue_MPMC<>(capacity);
+            return new Channel(queue::offer, queue::drainTo);
+        });
+    }
+
+    public static void main(String[] args) {
+        new ConcurrentQueueBenchmark(10, 1000000, 1024).runBenchmarks();
+        new ConcurrentQueueBenchmark(5, 10000000, 1024).runBenchmarks();
+    }
+
+    private void benchmark(String description, int producers, int consumers, Supplier<Channel> supplier) {
+        double time = new Benchmark_Timer<Channel>(description, channel -> transfer(channel, producers, consumers)).runFromSupplier(supplier, runs);
+        System.out.println(description + ": " + time + " mSec per run; " + (n / time / 1000) + " million items per second");
+    }
+
+    private void transfer(Channel channel, int producers, int consumers) {
+        AtomicLong consumed = new AtomicLong();
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            int from = (int) ((long) n * p / producers), to = (int) ((long) n * (p + 1) / producers);
+            threads.add(new Thread(() -> {
+                for (int i = from; i < to; i++) while (!channel.offer.test(i)) Thread.yield();
+            }));
+        }
+        for (int c = 0; c < consumers; c++)
+            threads.add(new Thread(() -> {
+                List<Integer> batch = new ArrayList<>(BATCH);
+                while (consumed.get() < n) {
+                    batch.clear();
+                    int k = channel.drainTo.drain(batch, BATCH);
+                    if (k > 0) consumed.addAndGet(k);
+                    else Thread.yield();
+                }
+            }));
+        for (Thread thread : threads) thread.start();
+        try {
+            for (Thread thread : threads) thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        }
+    }
+
+    private interface Drain {
+        int drain(List<Integer> list, int max);
+    }
+
+    private static class Channel {
+        Channel(Predicate<Integer> offer, Drain drainTo) {
+            this.offer = offer;
+            this.drainTo = drainTo;
+        }
+
+        private final Predicate<Integer> offer;
+        private final Drain drainTo;
+    }
+
+    private static final int BATCH = 256;
+
+    private final int runs;
+    private final int n;
+    private final int capacity;
+}
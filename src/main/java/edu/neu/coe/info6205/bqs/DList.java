@@ -4,15 +4,18 @@
 
 package edu.neu.coe.info6205.bqs;
 
-import java.util.ArrayList;
-import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
+import java.util.NoSuchElementException;
 
 /**
  * Implementation of a doubly-linked list
+ * <p>
+ * The methods which add an item return its element (a handle), with which the item can later be removed,
+ * or moved to either end of the list, in constant time.
+ * The methods which take an Item (rather than an element) must first search for it, which takes linear time.
  *
- * @param <Item>
+ * @param <Item> the type of the items.
  */
 public class DList<Item> implements Iterable<Item> {
 
@@ -51,7 +54,7 @@ public class DList<Item> implements Iterable<Item> {
     }
 
     /**
-     * Add an item immediately before the given element
+     * Add an item immediately after the given element
      *
      * @param item the item to be added.
      * @param prev may NOT be null
@@ -72,9 +75,9 @@ public class DList<Item> implements Iterable<Item> {
      * @param item the item to be removed.
      */
     public void remove(Item item) throws BQSException {
-        D_Element last = findLast(item);
-        if (last != null)
-            remove(last);
+        D_Element first = findFirst(item);
+        if (first != null)
+            remove(first);
         else
             throw new BQSException("item not found: " + item);
     }
@@ -83,39 +86,135 @@ public class DList<Item> implements Iterable<Item> {
      * Add an item immediately before the given element
      *
      * @param item the item to be added.
-     * @param next may be null, in which case the item will be the only item on the list
+     * @param next may be null, in which case the item will be added at the end of the list
+     *             (and so will be the only item on the list if it was empty)
+     * @return the element of the new item.
      */
-    public void addBeforeElement(Item item, D_Element next) {
-        // TO BE IMPLEMENTED
+    public D_Element addBeforeElement(Item item, D_Element next) {
+        if (next == null) return addLast(item);
+        checkElement(next);
+        D_Element result = new D_Element(item, next.prev, next);
+        if (next.prev != null) next.prev.next = result;
+        else head = result;
+        next.prev = result;
+        count++;
+        return result;
     }
 
     /**
-     * Add an item immediately before the given element
+     * Add an item immediately after the given element
      *
      * @param item the item to be added.
      * @param prev may NOT be null
+     * @return the element of the new item.
+     */
+    public D_Element addAfterElement(Item item, D_Element prev) {
+        checkElement(prev);
+        D_Element result = new D_Element(item, prev, prev.next);
+        if (prev.next != null) prev.next.prev = result;
+        else tail = result;
+        prev.next = result;
+        count++;
+        return result;
+    }
+
+    /**
+     * Add an item at the start of this DList
+     *
+     * @param item the item to be added.
+     * @return the element of the new item.
+     */
+    public D_Element addFirst(Item item) {
+        if (head != null) return addBeforeElement(item, head);
+        head = tail = new D_Element(item);
+        count++;
+        return head;
+    }
+
+    /**
+     * Add an item at the end of this DList
+     *
+     * @param item the item to be added.
+     * @return the element of the new item.
      */
-    public void addAfterElement(Item item, D_Element prev) {
-        // TO BE IMPLEMENTED
+    public D_Element addLast(Item item) {
+        if (tail != null) return addAfterElement(item, tail);
+        return addFirst(item);
     }
 
     /**
      * Remove the element given from this DList
      *
      * @param element the element to be removed.
+     * @throws IllegalArgumentException if element is not (or is no longer) in this DList.
      */
     public void remove(D_Element element) {
-        // TO BE IMPLEMENTED
+        checkElement(element);
+        unlink(element);
+        element.removed = true;
+        count--;
     }
 
+    /**
+     * Move the element given to the start of this DList
+     *
+     * @param element an element of this DList.
+     */
+    public void moveToFront(D_Element element) {
+        checkElement(element);
+        if (element == head) return;
+        unlink(element);
+        element.next = head;
+        head.prev = element;
+        head = element;
+    }
+
+    /**
+     * Move the element given to the end of this DList
+     *
+     * @param element an element of this DList.
+     */
+    public void moveToBack(D_Element element) {
+        checkElement(element);
+        if (element == tail) return;
+        unlink(element);
+        element.prev = tail;
+        tail.next = element;
+        tail = element;
+    }
+
+    /**
+     * @return the first element of this DList, or null if it is empty.
+     */
+    public D_Element first() {
+        return head;
+    }
+
+    /**
+     * @return the last element of this DList, or null if it is empty.
+     */
+    public D_Element last() {
+        return tail;
+    }
+
+    /**
+     * @param item the item to find.
+     * @return the first element whose item equals item, or null if there is none.
+     */
     public D_Element findFirst(Item item) {
-        // TO BE IMPLEMENTED
-        throw new UnsupportedOperationException();
+        for (D_Element x = head; x != null; x = x.next)
+            if (equal(x.item, item)) return x;
+        return null;
     }
 
+    /**
+     * @param item the item to find.
+     * @return the last element whose item equals item, or null if there is none.
+     */
     public D_Element findLast(Item item) {
-        // TO BE IMPLEMENTED
-        throw new UnsupportedOperationException();
+        for (D_Element x = tail; x != null; x = x.prev)
+            if (equal(x.item, item)) return x;
+        return null;
     }
 
     public boolean isEmpty() {
@@ -138,7 +237,7 @@ public class DList<Item> implements Iterable<Item> {
         return head != null ? head.iterator() : Collections.emptyIterator();
     }
 
-    class D_Element implements Iterable<Item> {
+    public class D_Element implements Iterable<Item> {
         D_Element(Item x, D_Element p, D_Element n) {
             item = x;
             prev = p;
@@ -149,20 +248,76 @@ public class DList<Item> implements Iterable<Item> {
             this(x, null, null);
         }
 
-        final Item item;
-        D_Element prev;
-        D_Element next;
+        /**
+         * @return the item of this element.
+         */
+        public Item getItem() {
+            return item;
+        }
+
+        /**
+         * @return the next element, or null if this is the last element (or has been removed).
+         */
+        public D_Element getNext() {
+            return next;
+        }
 
+        /**
+         * @return the previous element, or null if this is the first element (or has been removed).
+         */
+        public D_Element getPrev() {
+            return prev;
+        }
+
+        /**
+         * @return an iterator over the items from this element to the end of the list.
+         */
         @Override
         public Iterator<Item> iterator() {
-            Collection<Item> result = new ArrayList<>();
-            D_Element cursor = this;
-            while (cursor != null) {
-                result.add(cursor.item);
-                cursor = cursor.next;
-            }
-            return result.iterator();
+            return new Iterator<Item>() {
+                public boolean hasNext() {
+                    return cursor != null;
+                }
+
+                public Item next() {
+                    if (cursor == null) throw new NoSuchElementException();
+                    Item result = cursor.item;
+                    cursor = cursor.next;
+                    return result;
+                }
+
+                private D_Element cursor = D_Element.this;
+            };
+        }
+
+        private DList<Item> list() {
+            return DList.this;
         }
+
+        final Item item;
+        D_Element prev;
+        D_Element next;
+        private boolean removed = false;
+    }
+
+    private void checkElement(D_Element element) {
+        if (element.list() != this || element.removed)
+            throw new IllegalArgumentException("element is not in this DList: " + element.item);
+    }
+
+    /**
+     * Unlink element from its neighbors (or from head/tail), leaving count unchanged.
+     */
+    private void unlink(D_Element element) {
+        if (element.prev != null) element.prev.next = element.next;
+        else head = element.next;
+        if (element.next != null) element.next.prev = element.prev;
+        else tail = element.prev;
+        element.prev = element.next = null;
+    }
+
+    private static boolean equal(Object x, Object y) {
+        return x == null ? y == null : x.equals(y);
     }
 
 
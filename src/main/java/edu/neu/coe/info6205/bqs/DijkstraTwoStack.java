@@ -6,13 +6,27 @@ public class DijkstraTwoStack {
 
     private final StringTokenizer tokenizer;
     private int parentheses = 0;
-    private final Stack<String> opStack = new Stack_LinkedList<>();
-    private final Stack<Number> valStack = new Stack_LinkedList<>();
+    private final Stack<String> opStack = new Stack_Array<>();
+    private final Stack<Number> valStack = new Stack_Array<>();
 
     public DijkstraTwoStack(String infix) {
         tokenizer = new StringTokenizer(infix);
     }
 
+    /**
+     * Compile an infix expression (which may contain variables) once, for evaluation many times.
+     * Unlike the constructor, which evaluates its expression only once, this does not require spaces between tokens,
+     * nor full parenthesization.
+     *
+     * @param infix     the expression.
+     * @param variables the names of the variables.
+     * @return a CompiledExpression.
+     * @throws BQSException if infix is not a well-formed expression.
+     */
+    public static CompiledExpression compile(String infix, String... variables) throws BQSException {
+        return CompiledExpression.compile(infix, variables);
+    }
+
     public Number evaluate() throws BQSException {
         while (tokenizer.hasMoreTokens())
             processToken(tokenizer.nextToken());
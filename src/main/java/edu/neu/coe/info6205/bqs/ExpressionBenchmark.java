@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2017. Phasmid Software
+ */
+
+package edu.neu.coe.info6205.bqs;
+
+import edu.neu.coe.info6205.util.Benchmark_Timer;
+
+import java.util.Random;
+
+/**
+ * Benchmark which compares the evaluation of an expression n times by DijkstraTwoStack (which parses it every time)
+ * with CompiledExpression (which parses it once), one binding at a time and in a single batch.
+ */
+public class ExpressionBenchmark {
+
+    public ExpressionBenchmark(int runs, int n) {
+        this.runs = runs;
+        this.n = n;
+    }
+
+    public void runBenchmarks() throws BQSException {
+        System.out.println("ExpressionBenchmark: N=" + n);
+        CompiledExpression expression = DijkstraTwoStack.compile("1 + ( ( x + 3 ) * ( 4 * y ) )", "x", "y");
+        Random random = new Random(0L);
+        long[][] columns = new long[2][n];
+        for (long[] column : columns) for (int i = 0; i < n; i++) column[i] = random.nextInt(1000);
+        long[] results = new long[n];
+        benchmark("DijkstraTwoStack", () -> {
+            for (int i = 0; i < n; i++)
+                try {
+                    new DijkstraTwoStack("1 + ( ( " + columns[0][i] + " + 3 ) * ( 4 * " + columns[1][i] + " ) )").evaluate();
+                } catch (BQSException e) {
+                    throw new RuntimeException(e);
+                }
+        });
+        benchmark("CompiledExpression", () -> {
+            for (int i = 0; i < n; i++) results[i] = expression.evaluateLong(columns[0][i], columns[1][i]);
+        });
+        benchmark("CompiledExpression (batch)", () -> expression.evaluateLong(columns, results));
+    }
+
+    public static void main(String[] args) throws BQSException {
+        new ExpressionBenchmark(10, 100000).runBenchmarks();
+        new ExpressionBenchmark(10, 1000000).runBenchmarks();
+    }
+
+    private void benchmark(String description, Runnable runnable) {
+        double time = new Benchmark_Timer<Runnable>(description, Runnable::run).run(runnable, runs);
+        System.out.println(description + ": " + time + " mSec per run; " + (n / time / 1000) + " million evaluations per second");
+    }
+
+    private final int runs;
+    private final int n;
+}
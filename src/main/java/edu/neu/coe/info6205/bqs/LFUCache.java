@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2017. Phasmid Software
+ */
+
+package edu.neu.coe.info6205.bqs;
+
+import java.util.function.ToIntBiFunction;
+
+/**
+ * Cache which evicts the least frequently used entry (and, of those, the least recently used).
+ * <p>
+ * A newly cached entry is never itself evicted to make room for it.
+ * <p>
+ * The entries are kept in buckets, one for each frequency of use, on a DList in ascending order of frequency;
+ * each bucket keeps its entries on a DList in order of use, the least recently used first.
+ * An access moves an entry from its bucket to the bucket for the next frequency (creating it if necessary),
+ * so that all operations take constant time.
+ *
+ * @param <K> the key type.
+ * @param <V> the value type.
+ */
+public class LFUCache<K, V> extends Cache<K, V> {
+
+    public LFUCache(long capacity, ToIntBiFunction<? super K, ? super V> weigher) {
+        super(capacity, weigher);
+    }
+
+    public LFUCache(long capacity) {
+        super(capacity);
+    }
+
+    /**
+     * @param key a key.
+     * @return the number of times key has been used (put or got) since it was cached, or zero if it is not cached.
+     */
+    public long frequency(K key) {
+        Entry<K, V> entry = entry(key);
+        return entry == null ? 0 : ((LFUEntry<K, V>) entry).bucket.getItem().frequency;
+    }
+
+    Entry<K, V> newEntry(K key, V value, int weight) {
+        return new LFUEntry<>(key, value, weight);
+    }
+
+    void inserted(Entry<K, V> entry) {
+        DList<Bucket<K, V>>.D_Element first = buckets.first();
+        if (first == null || first.getItem().frequency != 1) first = buckets.addFirst(new Bucket<>(1));
+        add((LFUEntry<K, V>) entry, first);
+    }
+
+    void accessed(Entry<K, V> entry) {
+        LFUEntry<K, V> e = (LFUEntry<K, V>) entry;
+        DList<Bucket<K, V>>.D_Element bucket = e.bucket, next = bucket.getNext();
+        long frequency = bucket.getItem().frequency + 1;
+        if (next == null || next.getItem().frequency != frequency)
+            next = buckets.addAfterElement(new Bucket<>(frequency), bucket);
+        removed(e);
+        add(e, next);
+    }
+
+    void removed(Entry<K, V> entry) {
+        LFUEntry<K, V> e = (LFUEntry<K, V>) entry;
+        DList<Entry<K, V>> entries = e.bucket.getItem().entries;
+        entries.remove(e.element);
+        if (entries.isEmpty()) buckets.remove(e.bucket);
+    }
+
+    Entry<K, V> victim(Entry<K, V> protect) {
+        DList<Bucket<K, V>>.D_Element bucket = buckets.first();
+        DList<Entry<K, V>>.D_Element first = bucket.getItem().entries.first();
+        if (first.getItem() != protect) return first.getItem();
+        if (first.getNext() != null) return first.getNext().getItem();
+        return bucket.getNext().getItem().entries.first().getItem();
+    }
+
+    private void add(LFUEntry<K, V> entry, DList<Bucket<K, V>>.D_Element bucket) {
+        entry.bucket = bucket;
+        entry.element = bucket.getItem().entries.addLast(entry);
+    }
+
+    private static class LFUEntry<K, V> extends Entry<K, V> {
+        LFUEntry(K key, V value, int weight) {
+            super(key, value, weight);
+        }
+
+        DList<Bucket<K, V>>.D_Element bucket;
+    }
+
+    private static class Bucket<K, V> {
+        Bucket(long frequency) {
+            this.frequency = frequency;
+        }
+
+        final long frequency;
+        final DList<Entry<K, V>> entries = new DList<>();
+    }
+
+    private final DList<Bucket<K, V>> buckets = new DList<>();
+}
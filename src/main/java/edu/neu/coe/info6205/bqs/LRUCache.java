@@ -0,0 +1,44 @@
+/*
+ * Copyright (c) 2017. Phasmid Software
+ */
+
+package edu.neu.coe.info6205.bqs;
+
+import java.util.function.ToIntBiFunction;
+
+/**
+ * Cache which evicts the least recently used entry.
+ * The entries are kept on a DList in order of use, the most recently used first.
+ *
+ * @param <K> the key type.
+ * @param <V> the value type.
+ */
+public class LRUCache<K, V> extends Cache<K, V> {
+
+    public LRUCache(long capacity, ToIntBiFunction<? super K, ? super V> weigher) {
+        super(capacity, weigher);
+    }
+
+    public LRUCache(long capacity) {
+        super(capacity);
+    }
+
+    void inserted(Entry<K, V> entry) {
+        entry.element = entries.addFirst(entry);
+    }
+
+    void accessed(Entry<K, V> entry) {
+        entries.moveToFront(entry.element);
+    }
+
+    void removed(Entry<K, V> entry) {
+        entries.remove(entry.element);
+    }
+
+    Entry<K, V> victim(Entry<K, V> protect) {
+        DList<Entry<K, V>>.D_Element last = entries.last();
+        return (last.getItem() == protect ? last.getPrev() : last).getItem();
+    }
+
+    private final DList<Entry<K, V>> entries = new DList<>();
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2017. Phasmid Software
+ */
+
+package edu.neu.coe.info6205.bqs;
+
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+/**
+ * The head and tail indices of the concurrent queues (Queue_SPSC and Queue_MPMC), each padded onto its own cache line.
+ * <p>
+ * The consumers write head and the producers write tail: if the two shared a cache line then every enqueue would
+ * invalidate the consumers' copy of the line, and vice versa ("false sharing").
+ * HotSpot lays out the fields of a superclass before those of its subclasses, so the padding is done by inheritance:
+ * 64 bytes of padding, then the head fields, 64 bytes of padding, the tail fields, and 64 bytes of padding.
+ * Each side also has a cache of the other side's index (for the use of Queue_SPSC), which it keeps on its own line.
+ * <p>
+ * The indices are updated by AtomicLongFieldUpdaters: lazySet is a release store (cheaper than a volatile store)
+ * and compareAndSet is used by Queue_MPMC.
+ */
+final class PaddedIndices {
+
+    private PaddedIndices() {
+    }
+
+    @SuppressWarnings("unused")
+    abstract static class Pad0 {
+        long p00, p01, p02, p03, p04, p05, p06, p07;
+    }
+
+    abstract static class Head extends Pad0 {
+        volatile long head; // the index of the next item to be dequeued
+        long tailCache; // the consumer's (possibly stale) copy of tail
+
+        final void lazySetHead(long value) {
+            HEAD.lazySet(this, value);
+        }
+
+        final boolean casHead(long expected, long value) {
+            return HEAD.compareAndSet(this, expected, value);
+        }
+
+        private static final AtomicLongFieldUpdater<Head> HEAD = AtomicLongFieldUpdater.newUpdater(Head.class, "head");
+    }
+
+    @SuppressWarnings("unused")
+    abstract static class Pad1 extends Head {
+        long p10, p11, p12, p13, p14, p15, p16, p17;
+    }
+
+    abstract static class Tail extends Pad1 {
+        volatile long tail; // the index of the next item to be enqueued
+        long headCache; // the producer's (possibly stale) copy of head
+
+        final void lazySetTail(long value) {
+            TAIL.lazySet(this, value);
+        }
+
+        final boolean casTail(long expected, long value) {
+            return TAIL.compareAndSet(this, expected, value);
+        }
+
+        private static final AtomicLongFieldUpdater<Tail> TAIL = AtomicLongFieldUpdater.newUpdater(Tail.class, "tail");
+    }
+
+    @SuppressWarnings("unused")
+    abstract static class Indices extends Tail {
+        long p20, p21, p22, p23, p24, p25, p26, p27;
+    }
+}
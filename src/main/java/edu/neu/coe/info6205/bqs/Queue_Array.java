@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2017. Phasmid Software
+ */
+
+package edu.neu.coe.info6205.bqs;
+
+import edu.neu.coe.info6205.SizedIterable;
+
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Queue based on a ring buffer whose length is always a power of two, so that an index is wrapped by masking
+ * rather than by a remainder operation.
+ * The buffer doubles when it is full and halves when it is one-quarter full (but never below its initial capacity),
+ * so that enqueue and dequeue take amortized constant time and allocate nothing (other than when resizing).
+ *
+ * @param <Item> the type of the items.
+ */
+public class Queue_Array<Item> implements SizedIterable<Item>, Queue<Item> {
+
+    /**
+     * Construct a new (empty) queue.
+     *
+     * @param capacity the expected maximum number of items.
+     */
+    public Queue_Array(int capacity) {
+        int length = MIN_CAPACITY;
+        while (length < capacity) length <<= 1;
+        //noinspection unchecked
+        items = (Item[]) new Object[length];
+        minLength = length;
+    }
+
+    /**
+     * Construct a new (empty) queue.
+     */
+    public Queue_Array() {
+        this(MIN_CAPACITY);
+    }
+
+    /**
+     * Update this Queue by adding an item on the "newest" end.
+     *
+     * @param item the item to add
+     */
+    public void enqueue(Item item) {
+        if (count == items.length) resize(items.length << 1);
+        items[(head + count) & (items.length - 1)] = item;
+        count++;
+        modCount++;
+    }
+
+    /**
+     * Update this Queue by taking the oldest item off the queue.
+     *
+     * @return the item or null if there is no such item.
+     */
+    public Item dequeue() {
+        if (count == 0) return null;
+        Item result = items[head];
+        items[head] = null; // prevent loitering
+        head = (head + 1) & (items.length - 1);
+        count--;
+        modCount++;
+        if (items.length > minLength && count <= items.length >> 2) resize(items.length >> 1);
+        return result;
+    }
+
+    /**
+     * @return the oldest item, without removing it, or null if this Queue is empty.
+     */
+    public Item peek() {
+        return count == 0 ? null : items[head];
+    }
+
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    @Override
+    public int size() {
+        return count;
+    }
+
+    public void clear() {
+        for (int i = 0; i < count; i++) items[(head + i) & (items.length - 1)] = null;
+        head = 0;
+        count = 0;
+        modCount++;
+    }
+
+    /**
+     * Method to yield an iterator over the items of this Queue, from oldest to newest.
+     * The iterator is fail-fast: it throws ConcurrentModificationException if this Queue is modified during the iteration.
+     *
+     * @return an iterator.
+     */
+    @Override
+    public Iterator<Item> iterator() {
+        return new Iterator<Item>() {
+            public boolean hasNext() {
+                return i < count;
+            }
+
+            public Item next() {
+                if (expectedModCount != modCount) throw new ConcurrentModificationException();
+                if (i >= count) throw new NoSuchElementException();
+                return items[(head + i++) & (items.length - 1)];
+            }
+
+            private int i = 0;
+            private final int expectedModCount = modCount;
+        };
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("Queue_Array{");
+        for (int i = 0; i < count; i++) {
+            if (i > 0) sb.append(", ");
+            sb.append(items[(head + i) & (items.length - 1)]);
+        }
+        return sb.append("}").toString();
+    }
+
+    private void resize(int length) {
+        //noinspection unchecked
+        Item[] result = (Item[]) new Object[length];
+        int first = Math.min(count, items.length - head);
+        System.arraycopy(items, head, result, 0, first);
+        System.arraycopy(items, 0, result, first, count - first);
+        items = result;
+        head = 0;
+    }
+
+    private static final int MIN_CAPACITY = 16;
+
+    private Item[] items; // the ring buffer: its length is a power of two
+    private final int minLength; // the length below which the buffer never shrinks
+    private int head; // the index of the oldest item
+    private int count; // the number of items
+    private int modCount; // the number of modifications (for fail-fast iteration)
+}
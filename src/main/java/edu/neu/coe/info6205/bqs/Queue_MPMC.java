@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2017. Phasmid Software
+ */
+
+package edu.neu.coe.info6205.bqs;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded, lock-free queue for any number of producer and consumer threads (after Dmitry Vyukov).
+ * <p>
+ * Each slot of the ring buffer has a sequence number which says whose turn it is:
+ * the slot at index i is ready for the producer of the item with (ticket) number t if its sequence is t,
+ * and it is ready for the consumer of that item when its sequence is t + 1.
+ * A producer claims a ticket by a compare-and-set on tail, writes its item and then publishes the slot
+ * by a release store of its sequence; a consumer claims a ticket by a compare-and-set on head, takes the item
+ * and then hands the slot to the producer of item t + capacity.
+ * Producers and consumers therefore contend only with each other, on their own (padded) index.
+ * <p>
+ * The queue may not contain null, since dequeue returns null when the queue is empty.
+ * Iteration is weakly consistent: see iterator.
+ *
+ * @param <Item> the type of the items.
+ */
+public class Queue_MPMC<Item> extends PaddedIndices.Indices implements Queue<Item> {
+
+    /**
+     * Constructor.
+     *
+     * @param capacity the maximum number of items (which will be rounded up to a power of two, and is at least two).
+     */
+    public Queue_MPMC(int capacity) {
+        if (capacity < 1) throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        int length = 2;
+        while (length < capacity) length <<= 1;
+        //noinspection unchecked
+        items = (Item[]) new Object[length];
+        sequences = new AtomicLongArray(length);
+        for (int i = 0; i < length; i++) sequences.lazySet(i, i);
+        mask = length - 1;
+    }
+
+    /**
+     * Add an item, if there is room.
+     *
+     * @param item the item to add (may not be null).
+     * @return true if item was added; false if this queue is full.
+     */
+    public boolean offer(Item item) {
+        if (item == null) throw new IllegalArgumentException("item may not be null");
+        long t = tail;
+        while (true) {
+            int index = (int) t & mask;
+            long difference = sequences.get(index) - t;
+            if (difference == 0) {
+                if (casTail(t, t + 1)) {
+                    items[index] = item;
+                    sequences.lazySet(index, t + 1);
+                    return true;
+                }
+            } else if (difference < 0) return false;
+            t = tail;
+        }
+    }
+
+    /**
+     * Add an item, waiting (by spinning) while this queue is full.
+     *
+     * @param item the item to add (may not be null).
+     */
+    public void enqueue(Item item) {
+        while (!offer(item)) Thread.yield();
+    }
+
+    /**
+     * Take the oldest item.
+     *
+     * @return the item or null if there is no such item.
+     */
+    public Item dequeue() {
+        long h = head;
+        while (true) {
+            int index = (int) h & mask;
+            long difference = sequences.get(index) - (h + 1);
+            if (difference == 0) {
+                if (casHead(h, h + 1)) {
+                    Item result = items[index];
+                    items[index] = null;
+                    sequences.lazySet(index, h + mask + 1);
+                    return result;
+                }
+            } else if (difference < 0) return null;
+            h = head;
+        }
+    }
+
+    /**
+     * Take up to max items, and add them to collection.
+     * If there are other consumers, the items taken need not be consecutive.
+     *
+     * @param collection the collection to which the items will be added.
+     * @param max        the maximum number of items to take.
+     * @return the number of items taken.
+     */
+    public int drainTo(Collection<? super Item> collection, int max) {
+        int n = 0;
+        Item item;
+        while (n < max && (item = dequeue()) != null) {
+            collection.add(item);
+            n++;
+        }
+        return n;
+    }
+
+    public boolean isEmpty() {
+        return head == tail;
+    }
+
+    /**
+     * @return the number of items in this queue (which, if other threads are active, is only a snapshot).
+     */
+    public int size() {
+        while (true) {
+            long t = tail;
+            long h = head;
+            if (t == tail) return (int) Math.max(0, Math.min(t - h, mask + 1));
+        }
+    }
+
+    /**
+     * @return the maximum number of items in this queue.
+     */
+    public int capacity() {
+        return mask + 1;
+    }
+
+    /**
+     * Method to yield an iterator over a snapshot of the items of this Queue, from oldest to newest.
+     * The iterator is weakly consistent: every item which it yields was in this queue during the call,
+     * but items dequeued or enqueued meanwhile may or may not be included.
+     * An item is taken only if the sequence of its slot shows that it was published (and not yet handed on)
+     * both before and after it is read.
+     *
+     * @return an iterator.
+     */
+    @Override
+    public Iterator<Item> iterator() {
+        long h = head;
+        long t = tail;
+        List<Item> result = new ArrayList<>((int) Math.max(0, Math.min(t - h, mask + 1)));
+        for (long i = h; i < t; i++) {
+            int index = (int) i & mask;
+            if (sequences.get(index) != i + 1) continue;
+            Item item = items[index];
+            if (item != null && sequences.get(index) == i + 1) result.add(item);
+        }
+        return result.iterator();
+    }
+
+    @Override
+    public String toString() {
+        return "Queue_MPMC{capacity=" + capacity() + ", size=" + size() + "}";
+    }
+
+    private final Item[] items;
+    private final AtomicLongArray sequences; // sequences.get(i) says whose turn it is to use items[i]
+    private final int mask;
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2017. Phasmid Software
+ */
+
+package edu.neu.coe.info6205.bqs;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Bounded, lock-free queue for exactly one producer thread and one consumer thread.
+ * <p>
+ * The items are held in a ring buffer whose length is a power of two.
+ * Only the producer writes tail and only the consumer writes head, each with a release store (lazySet),
+ * so that no compare-and-set is ever needed.
+ * Each side caches the other side's index and re-reads it (a volatile read, which may miss in the cache)
+ * only when the cached value suggests that the queue is full (for the producer) or empty (for the consumer).
+ * <p>
+ * The queue may not contain null, since dequeue returns null when the queue is empty.
+ * Iteration is weakly consistent: see iterator.
+ *
+ * @param <Item> the type of the items.
+ */
+public class Queue_SPSC<Item> extends PaddedIndices.Indices implements Queue<Item> {
+
+    /**
+     * Constructor.
+     *
+     * @param capacity the maximum number of items (which will be rounded up to a power of two).
+     */
+    public Queue_SPSC(int capacity) {
+        if (capacity < 1) throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        int length = 1;
+        while (length < capacity) length <<= 1;
+        //noinspection unchecked
+        items = (Item[]) new Object[length];
+        mask = length - 1;
+    }
+
+    /**
+     * Add an item, if there is room (to be called only by the producer).
+     *
+     * @param item the item to add (may not be null).
+     * @return true if item was added; false if this queue is full.
+     */
+    public boolean offer(Item item) {
+        if (item == null) throw new IllegalArgumentException("item may not be null");
+        long t = tail;
+        if (t - headCache > mask) {
+            headCache = head;
+            if (t - headCache > mask) return false;
+        }
+        items[(int) t & mask] = item;
+        lazySetTail(t + 1);
+        return true;
+    }
+
+    /**
+     * Add an item, waiting (by spinning) while this queue is full (to be called only by the producer).
+     *
+     * @param item the item to add (may not be null).
+     */
+    public void enqueue(Item item) {
+        while (!offer(item)) Thread.yield();
+    }
+
+    /**
+     * Take the oldest item (to be called only by the consumer).
+     *
+     * @return the item or null if there is no such item.
+     */
+    public Item dequeue() {
+        long h = head;
+        if (h >= tailCache) {
+            tailCache = tail;
+            if (h >= tailCache) return null;
+        }
+        int index = (int) h & mask;
+        Item result = items[index];
+        items[index] = null;
+        lazySetHead(h + 1);
+        return result;
+    }
+
+    /**
+     * Take up to max items, oldest first, and add them to collection (to be called only by the consumer).
+     * The head index is published once, for the whole batch.
+     *
+     * @param collection the collection to which the items will be added.
+     * @param max        the maximum number of items to take.
+     * @return the number of items taken.
+     */
+    public int drainTo(Collection<? super Item> collection, int max) {
+        long h = head;
+        long available = tailCache - h;
+        if (available < max) {
+            tailCache = tail;
+            available = tailCache - h;
+        }
+        int n = (int) Math.min(available, max);
+        for (int i = 0; i < n; i++) {
+            int index = (int) (h + i) & mask;
+            collection.add(items[index]);
+            items[index] = null;
+        }
+        if (n > 0) lazySetHead(h + n);
+        return n;
+    }
+
+    public boolean isEmpty() {
+        return head == tail;
+    }
+
+    /**
+     * @return the number of items in this queue (which, if the other thread is active, is only a snapshot).
+     */
+    public int size() {
+        long h = head;
+        return (int) (tail - h);
+    }
+
+    /**
+     * @return the maximum number of items in this queue.
+     */
+    public int capacity() {
+        return mask + 1;
+    }
+
+    /**
+     * Method to yield an iterator over a snapshot of the items of this Queue, from oldest to newest.
+     * It may be called from any thread, and it never disturbs the producer or the consumer.
+     * The iterator is weakly consistent: every item which it yields was in this queue during the call,
+     * but items dequeued or enqueued meanwhile may or may not be included.
+     *
+     * @return an iterator.
+     */
+    @Override
+    public Iterator<Item> iterator() {
+        long h = head;
+        long t = tail;
+        List<Item> snapshot = new ArrayList<>((int) (t - h));
+        for (long i = h; i < t; i++) snapshot.add(items[(int) i & mask]);
+        // Any slot before the current head may since have been dequeued (null) or reused by the producer.
+        int stale = (int) Math.min(head - h, snapshot.size());
+        List<Item> result = snapshot.subList(stale, snapshot.size());
+        result.removeIf(Objects::isNull);
+        return result.iterator();
+    }
+
+    @Override
+    public String toString() {
+        return "Queue_SPSC{capacity=" + capacity() + ", size=" + size() + "}";
+    }
+
+    private final Item[] items;
+    private final int mask;
+}
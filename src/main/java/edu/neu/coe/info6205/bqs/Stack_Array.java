@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2017. Phasmid Software
+ */
+
+package edu.neu.coe.info6205.bqs;
+
+import edu.neu.coe.info6205.SizedIterable;
+
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Stack based on an array whose length is always a power of two.
+ * The array doubles when it is full and halves when it is one-quarter full (but never below its initial capacity),
+ * so that push and pop take amortized constant time and allocate nothing (other than when resizing).
+ *
+ * @param <Item> the type of the items.
+ */
+public class Stack_Array<Item> implements SizedIterable<Item>, Stack<Item> {
+
+    /**
+     * Construct a new (empty) stack.
+     *
+     * @param capacity the expected maximum number of items.
+     */
+    public Stack_Array(int capacity) {
+        int length = MIN_CAPACITY;
+        while (length < capacity) length <<= 1;
+        //noinspection unchecked
+        items = (Item[]) new Object[length];
+        minLength = length;
+    }
+
+    /**
+     * Construct a new (empty) stack.
+     */
+    public Stack_Array() {
+        this(MIN_CAPACITY);
+    }
+
+    /**
+     * Update this Stack by adding an item on the top.
+     *
+     * @param item the item to add
+     */
+    public void push(Item item) {
+        if (count == items.length) resize(items.length << 1);
+        items[count++] = item;
+        modCount++;
+    }
+
+    /**
+     * Update this Stack by taking the top item of this Stack.
+     *
+     * @return the item.
+     * @throws BQSException if this Stack is empty.
+     */
+    public Item pop() throws BQSException {
+        if (count == 0) throw new BQSException("stack is empty");
+        Item result = items[--count];
+        items[count] = null; // prevent loitering
+        modCount++;
+        if (items.length > minLength && count <= items.length >> 2) resize(items.length >> 1);
+        return result;
+    }
+
+    /**
+     * Take a peek at the item on top of this Stack.
+     *
+     * @return the item, or null if this Stack is empty.
+     */
+    public Item peek() {
+        return count == 0 ? null : items[count - 1];
+    }
+
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    @Override
+    public int size() {
+        return count;
+    }
+
+    public void clear() {
+        for (int i = 0; i < count; i++) items[i] = null;
+        count = 0;
+        modCount++;
+    }
+
+    /**
+     * Method to yield an iterator over the items of this Stack, from top to bottom.
+     * The iterator is fail-fast: it throws ConcurrentModificationException if this Stack is modified during the iteration.
+     *
+     * @return an iterator.
+     */
+    @Override
+    public Iterator<Item> iterator() {
+        return new Iterator<Item>() {
+            public boolean hasNext() {
+                return i > 0;
+            }
+
+            public Item next() {
+                if (expectedModCount != modCount) throw new ConcurrentModificationException();
+                if (i <= 0) throw new NoSuchElementException();
+                return items[--i];
+            }
+
+            private int i = count;
+            private final int expectedModCount = modCount;
+        };
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("Stack_Array{");
+        for (int i = count - 1; i >= 0; i--) {
+            sb.append(items[i]);
+            if (i > 0) sb.append(", ");
+        }
+        return sb.append("}").toString();
+    }
+
+    private void resize(int length) {
+        //noinspection unchecked
+        Item[] result = (Item[]) new Object[length];
+        System.arraycopy(items, 0, result, 0, count);
+        items = result;
+    }
+
+    private static final int MIN_CAPACITY = 16;
+
+    private Item[] items; // its length is a power of two
+    private final int minLength; // the length below which the array never shrinks
+    private int count; // the number of items
+    private int modCount; // the number of modifications (for fail-fast iteration)
+}
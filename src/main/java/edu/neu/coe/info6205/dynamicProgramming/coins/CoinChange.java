@@ -1,98 +1,197 @@
 package edu.neu.coe.info6205.dynamicProgramming.coins;
 
-import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.List;
-import java.util.function.Consumer;
 import java.util.stream.Stream;
 
+/**
+ * Dynamic-programming solver for the change-making problem, with an unlimited supply of coins of each denomination.
+ * <p>
+ * The minimum number of coins for each amount is kept in a bottom-up table,
+ * together with the last coin of an optimal solution (from which the coins can be reconstructed).
+ * The table is memoized: it is extended (by doubling) only when an amount beyond it is requested,
+ * so that many queries against the same coins are answered from the one table.
+ * The number of ways to make each amount is kept in a separate table, built coin by coin over a single (rolling) row.
+ * For an amount too large to tabulate, minimumCoinsRolling needs only a ring of (largest coin + 1) entries.
+ */
 public class CoinChange {
 
+    /**
+     * The result of solveForAmount when an amount cannot be made from the coins.
+     */
+    public static final int IMPOSSIBLE = -1;
+
     public static void main(String[] args) {
         int amount = Stream.of(args).map(Integer::valueOf).limit(1).mapToInt(x1 -> x1).toArray()[0];
         CoinChange coinChange = new CoinChange(Stream.of(args).map(Integer::valueOf).skip(1).mapToInt(x -> x).toArray());
-        coinChange.solveForAmount(amount);
+        System.out.println("minimum coins: " + coinChange.solveForAmount(amount) + ": " + Arrays.toString(coinChange.change(amount)));
+        System.out.println("ways: " + coinChange.ways(amount));
     }
 
+    /**
+     * Constructor.
+     *
+     * @param coins the (positive) denominations of the coins (which are not changed).
+     */
     public CoinChange(int[] coins) {
-        this.coins = coins;
-        Arrays.sort(coins);
+        this.coins = Arrays.stream(coins).sorted().distinct().toArray();
+        if (this.coins.length > 0 && this.coins[0] <= 0)
+            throw new IllegalArgumentException("coins must be positive: " + Arrays.toString(coins));
     }
 
     /**
      * Method to return the smallest number of coins which can make up the amount.
      *
      * @param amount the amount for which we need change.
-     * @return the number of coins required.
+     * @return the number of coins required, or IMPOSSIBLE.
      */
     public int solveForAmount(int amount) {
-        Node root = new Node(amount);
-        boolean satisfied = root.expand();
-        if (satisfied)
-            root.traverse(System.out::println);
-        return 0;
+        checkAmount(amount);
+        extendTo(amount);
+        return minimum[amount] == UNREACHABLE ? IMPOSSIBLE : minimum[amount];
     }
 
-    class Node {
-
-        public int getRequired() {
-            return required;
-        }
+    /**
+     * Method to return the smallest number of coins for each of many amounts, from one table.
+     *
+     * @param amounts the amounts.
+     * @return the number of coins required for each amount (or IMPOSSIBLE).
+     */
+    public int[] solveForAmounts(int[] amounts) {
+        extendTo(max(amounts));
+        int[] result = new int[amounts.length];
+        for (int i = 0; i < amounts.length; i++) result[i] = solveForAmount(amounts[i]);
+        return result;
+    }
 
-        public boolean expand() {
-            System.out.println("Expand: " + this);
-            if (required > 0) {
-                for (int i = coins.length; i > 0; i--) {
-                    if (coins[i - 1] <= required) {
-                        Node node = new Node(coins[i - 1], this);
-                        if (node.expand()) {
-                            add(node);
-                            break;
-                        }
-                    }
-                }
-                return children.size() > 0;
-            } else
-                return true;
+    /**
+     * Method to return the coins of a solution which uses the smallest number of coins.
+     *
+     * @param amount the amount for which we need change.
+     * @return the coins (in ascending order), or null if the amount cannot be made.
+     */
+    public int[] change(int amount) {
+        int n = solveForAmount(amount);
+        if (n == IMPOSSIBLE) return null;
+        int[] result = new int[n];
+        for (int i = n - 1; amount > 0; i--) {
+            result[i] = coins[last[amount]];
+            amount -= result[i];
         }
+        Arrays.sort(result);
+        return result;
+    }
 
-        public Node(int coin, int required, Node parent) {
-            this.coin = coin;
-            this.required = required;
-            this.parent = parent;
-            children = new ArrayList<>();
-            if (coin > 0 && parent != null) nCoins = parent.nCoins + 1;
+    /**
+     * Method to return the smallest number of coins which can make up the amount, without tabulating every amount.
+     * Since an optimal solution for a is one coin more than an optimal solution for a - c (for some coin c),
+     * only the most recent (largest coin + 1) entries are needed, in a ring buffer.
+     * Nothing is memoized, and the coins cannot be reconstructed.
+     *
+     * @param amount the amount for which we need change.
+     * @return the number of coins required, or IMPOSSIBLE.
+     */
+    public int minimumCoinsRolling(long amount) {
+        if (amount < 0) throw new IllegalArgumentException("amount may not be negative: " + amount);
+        if (coins.length == 0) return amount == 0 ? 0 : IMPOSSIBLE;
+        int size = Integer.highestOneBit(coins[coins.length - 1]) << 1, mask = size - 1;
+        int[] ring = new int[size];
+        for (long a = 1; a <= amount; a++) {
+            int best = UNREACHABLE;
+            for (int c : coins) {
+                if (c > a) break;
+                int x = ring[(int) (a - c) & mask];
+                if (x < best - 1) best = x + 1;
+            }
+            ring[(int) a & mask] = best;
         }
+        return ring[(int) amount & mask] == UNREACHABLE ? IMPOSSIBLE : ring[(int) amount & mask];
+    }
 
-        public Node(int coin, Node parent) {
-            this(coin, parent.getRequired() - coin, parent);
-        }
+    /**
+     * Method to return the number of ways (ignoring order) in which the amount can be made from the coins.
+     *
+     * @param amount the amount.
+     * @return the number of ways.
+     * @throws ArithmeticException if the number of ways to make amount overflows a long.
+     */
+    public long ways(int amount) {
+        checkAmount(amount);
+        if (ways == null || amount >= ways.length) buildWays(Math.max(amount + 1, ways == null ? 0 : 2 * ways.length));
+        if (ways[amount] == OVERFLOW) throw new ArithmeticException("the number of ways to make " + amount + " overflows a long");
+        return ways[amount];
+    }
 
-        public Node(int amount) {
-            this(0, amount, null);
-        }
+    /**
+     * Method to return the number of ways of making each of many amounts, from one table.
+     *
+     * @param amounts the amounts.
+     * @return the number of ways for each amount.
+     * @throws ArithmeticException if the number of ways to make any of the amounts overflows a long.
+     */
+    public long[] ways(int[] amounts) {
+        int max = max(amounts);
+        if (max >= 0) ways(max);
+        long[] result = new long[amounts.length];
+        for (int i = 0; i < amounts.length; i++) result[i] = ways(amounts[i]);
+        return result;
+    }
 
-        public void traverse(Consumer<String> consumer) {
-            consumer.accept(toString());
-            children.forEach(n -> n.traverse(consumer));
+    /**
+     * Extend the minimum (and last) tables to include amount.
+     */
+    private void extendTo(int amount) {
+        if (amount < minimum.length) return;
+        int from = minimum.length, length = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(amount + 1L, 2L * from));
+        minimum = Arrays.copyOf(minimum, length);
+        last = Arrays.copyOf(last, length);
+        for (int a = from; a < length; a++) {
+            int best = UNREACHABLE, coin = -1;
+            for (int i = 0; i < coins.length && coins[i] <= a; i++) {
+                int x = minimum[a - coins[i]];
+                if (x < best - 1) {
+                    best = x + 1;
+                    coin = i;
+                }
+            }
+            minimum[a] = best;
+            last[a] = coin;
         }
+    }
 
-        @Override
-        public String toString() {
-            return "Node: " + "nCoins: " + nCoins + ", " + "coin: " + coin + ", " + "required: " + required;
-        }
+    /**
+     * Build the ways table for amounts less than length: for each coin in turn,
+     * the ways to make a using coins up to c are the ways using the coins before c plus the ways to make a - c using coins up to c.
+     * Since the counts only increase, a count which overflows is marked OVERFLOW (and stays so);
+     * only a query for such an amount fails.
+     */
+    private void buildWays(int length) {
+        ways = new long[length];
+        ways[0] = 1;
+        for (int c : coins)
+            for (int a = c; a < length; a++) {
+                long x = ways[a], y = ways[a - c];
+                ways[a] = x == OVERFLOW || y == OVERFLOW || x > Long.MAX_VALUE - y ? OVERFLOW : x + y;
+            }
+    }
 
-        private final int required;
-        private final Node parent;
-        private final int coin;
-        private int nCoins = 0;
+    private static void checkAmount(int amount) {
+        if (amount < 0) throw new IllegalArgumentException("amount may not be negative: " + amount);
+    }
 
-        public boolean add(Node node) {
-            return children.add(node);
+    private static int max(int[] amounts) {
+        int result = -1;
+        for (int amount : amounts) {
+            checkAmount(amount);
+            result = Math.max(result, amount);
         }
-
-        private List<Node> children;
+        return result;
     }
 
+    private static final int UNREACHABLE = Integer.MAX_VALUE;
+    private static final long OVERFLOW = -1; // a number of ways which does not fit in a long
+
     private final int[] coins;
+    private int[] minimum = new int[]{0}; // the minimum number of coins for each amount (or UNREACHABLE)
+    private int[] last = new int[]{-1}; // the index of the last coin of an optimal solution for each amount
+    private long[] ways = null;
 }
@@ -5,7 +5,7 @@ import edu.neu.coe.info6205.SizedIterableImpl;
 import edu.neu.coe.info6205.bqs.Bag;
 import edu.neu.coe.info6205.bqs.Bag_Array;
 import edu.neu.coe.info6205.bqs.Stack;
-import edu.neu.coe.info6205.bqs.Stack_LinkedList;
+import edu.neu.coe.info6205.bqs.Stack_Array;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -37,7 +37,7 @@ public class DAG_Impl<V extends Comparable<V>, E> implements DAG<V, E> {
 
     @Override
     public Iterable<V> sorted() {
-        Stack<V> postOrderStack = new Stack_LinkedList<>();
+        Stack<V> postOrderStack = new Stack_Array<>();
         Consumer<V> pre = (v) -> {
         };
         Consumer<V> post = postOrderStack::push;
@@ -2,12 +2,13 @@ package edu.neu.coe.info6205.graphs.gis;
 
 import edu.neu.coe.info6205.SizedIterable;
 import edu.neu.coe.info6205.bqs.Queue;
-import edu.neu.coe.info6205.bqs.Queue_Elements;
+import edu.neu.coe.info6205.bqs.Queue_Array;
 import edu.neu.coe.info6205.graphs.undirected.Edge;
 import edu.neu.coe.info6205.graphs.undirected.EdgeGraph;
 import edu.neu.coe.info6205.graphs.undirected.Graph_Edges;
+import edu.neu.coe.info6205.pq.DAryHeap;
+import edu.neu.coe.info6205.pq.PQ;
 import edu.neu.coe.info6205.pq.PQException;
-import edu.neu.coe.info6205.pq.PriorityQueue;
 import edu.neu.coe.info6205.union_find.TypedUF;
 import edu.neu.coe.info6205.union_find.TypedUF_HWQUPC;
 import edu.neu.coe.info6205.union_find.UFException;
@@ -25,7 +26,7 @@ public class Kruskal<V, X extends Comparable<X> & Sequenced> implements Iterable
 
     // CONSIDER having a simpler constructor which just sets up the necessary structures, then having a run method which takes a graph and outputs an Iterable.
     public Kruskal(EdgeGraph<V, X> graph) {
-        this.queue = new Queue_Elements<>();
+        this.queue = new Queue_Array<>();
 //        showEdgesInSequence(graph);
         this.pq = createPQ(graph.edges());
         this.uf = createUF(graph.vertices());
@@ -65,15 +66,17 @@ public class Kruskal<V, X extends Comparable<X> & Sequenced> implements Iterable
         return new TypedUF_HWQUPC<>(vertices);
     }
 
-    private PriorityQueue<Edge<V, X>> createPQ(SizedIterable<Edge<V, X>> edges) {
-        PriorityQueue<Edge<V, X>> result = new PriorityQueue<>(edges.size(), false, Comparator.comparing(Edge::getAttribute));
-        for (Edge<V, X> e : edges) result.give(e);
-        return result;
+    private PQ<Edge<V, X>> createPQ(SizedIterable<Edge<V, X>> edges) {
+        // NOTE that we build the heap bottom-up in linear time rather than giving each edge in turn.
+        @SuppressWarnings({"unchecked", "rawtypes"}) Edge<V, X>[] array = new Edge[edges.size()];
+        int i = 0;
+        for (Edge<V, X> e : edges) array[i++] = e;
+        return DAryHeap.heapify(array, false, Comparator.comparing(Edge::getAttribute));
     }
 
     private void showEdgesInSequence(EdgeGraph<V, X> graph) {
         // TODO remove this debugging code
-        PriorityQueue<Edge<V, X>> tempPQ = createPQ(graph.edges());
+        PQ<Edge<V, X>> tempPQ = createPQ(graph.edges());
         while (!tempPQ.isEmpty()) {
             try {
                 System.out.println(tempPQ.take());
@@ -84,7 +87,7 @@ public class Kruskal<V, X extends Comparable<X> & Sequenced> implements Iterable
     }
 
     private final Queue<Edge<V, X>> queue;
-    private final PriorityQueue<Edge<V, X>> pq;
+    private final PQ<Edge<V, X>> pq;
     private final TypedUF<V> uf;
     private final int size;
     private Iterable<Edge<V, X>> mst;
@@ -1,10 +1,23 @@
 package edu.neu.coe.info6205.greedy;
 
+import java.math.BigInteger;
+import java.util.Arrays;
+
 /**
  * This performs memoization for Fibonacci numbers.
+ * <p>
+ * An instance holds the sequence 1, 1, 2, 3, 5, ... in an array which is extended (by doubling) as required,
+ * but never beyond the largest Fibonacci number which fits in a long.
+ * The static methods use the standard indexing (F(0) = 0, F(1) = 1): every F(n) which fits in a long
+ * is precomputed in a table, and larger ones are calculated as BigIntegers by fast doubling in O(log n) steps.
  */
 public class Fibonacci {
 
+    /**
+     * The index of the largest Fibonacci number which fits in a long: F(92) = 7540113804746346429.
+     */
+    public static final int MAX_INDEX = 92;
+
     /**
      * Constructor which creates a Fibonacci array of length 2.
      */
@@ -15,15 +28,15 @@ public class Fibonacci {
     }
 
     /**
-     * Get the largest Fibonacci number which is smaller than x.
+     * Get the largest Fibonacci number which is no larger than x.
      *
-     * @param x the value x.
-     * @return the largest Fibonacci number smaller than x.
+     * @param x the value x (which must be positive and within the array: see ensure).
+     * @return the largest Fibonacci number which is no larger than x.
      */
     public long getLargest(long x) {
-        int index = fibonacci.length - 1;
-        while (fibonacci[index] > x) index--;
-        return fibonacci[index];
+        if (x < 1) throw new IllegalArgumentException("x must be positive: " + x);
+        int index = Arrays.binarySearch(fibonacci, x);
+        return fibonacci[index >= 0 ? index : -index - 2];
     }
 
     /**
@@ -32,13 +45,67 @@ public class Fibonacci {
      * @param x a number
      */
     public void ensure(long x) {
-        while (fibonacci[fibonacci.length - 1] < x) extend();
+        while (fibonacci[fibonacci.length - 1] < x && fibonacci.length < MAX_INDEX) extend();
+    }
+
+    /**
+     * Method to get F(n), from the table.
+     *
+     * @param n the index (0 to MAX_INDEX).
+     * @return F(n).
+     * @throws ArithmeticException if F(n) does not fit in a long.
+     */
+    public static long get(int n) {
+        if (n < 0) throw new IllegalArgumentException("n may not be negative: " + n);
+        if (n > MAX_INDEX) throw new ArithmeticException("F(" + n + ") overflows a long");
+        return TABLE[n];
+    }
+
+    /**
+     * Method to get F(n), of any size, by fast doubling:
+     * F(2k) = F(k) * (2F(k+1) - F(k)) and F(2k+1) = F(k)^2 + F(k+1)^2.
+     * The leading bits of n are taken from the table, so that only the remaining bits need BigInteger arithmetic.
+     *
+     * @param n the index (non-negative).
+     * @return F(n).
+     */
+    public static BigInteger getBig(int n) {
+        if (n < 0) throw new IllegalArgumentException("n may not be negative: " + n);
+        if (n <= MAX_INDEX) return BigInteger.valueOf(TABLE[n]);
+        int shift = 0;
+        while (n >>> shift >= MAX_INDEX) shift++;
+        int k = n >>> shift;
+        BigInteger a = BigInteger.valueOf(TABLE[k]), b = BigInteger.valueOf(TABLE[k + 1]);
+        for (int i = shift - 1; i >= 0; i--) {
+            BigInteger c = a.multiply(b.shiftLeft(1).subtract(a));
+            BigInteger d = a.multiply(a).add(b.multiply(b));
+            if ((n >>> i & 1) == 0) {
+                a = c;
+                b = d;
+            } else {
+                a = d;
+                b = c.add(d);
+            }
+        }
+        return a;
     }
 
-    // Extend the size of the Fibonacci array by doubling it.
+    /**
+     * Method to get the index of the largest Fibonacci number which is no larger than x, by binary search of the table.
+     *
+     * @param x a positive number.
+     * @return the largest n (at least 2) such that F(n) &lt;= x.
+     */
+    public static int largestIndex(long x) {
+        if (x < 1) throw new IllegalArgumentException("x must be positive: " + x);
+        int index = Arrays.binarySearch(TABLE, 2, MAX_INDEX + 1, x);
+        return index >= 0 ? index : -index - 2;
+    }
+
+    // Extend the size of the Fibonacci array by doubling it (but not beyond MAX_INDEX).
     private void extend() {
         int length = fibonacci.length;
-        long[] temp = new long[length * 2];
+        long[] temp = new long[Math.min(length * 2, MAX_INDEX)];
         System.arraycopy(fibonacci, 0, temp, 0, length);
         fibonacci = temp;
         for (int i = length; i < temp.length; i++)
@@ -48,7 +115,7 @@ public class Fibonacci {
     // This is the definition of the Fibonacci series.
     // NOTE: caller must ensure that 2 <= i <= fibonacci.length
     private long calculate(int i) {
-        return 0; // TO BE IMPLEMENTED
+        return fibonacci[i - 1] + fibonacci[i - 2];
     }
 
     // for testing only
@@ -61,5 +128,12 @@ public class Fibonacci {
         return fibonacci[x];
     }
 
+    private static final long[] TABLE = new long[MAX_INDEX + 1];
+
+    static {
+        TABLE[1] = 1;
+        for (int i = 2; i <= MAX_INDEX; i++) TABLE[i] = TABLE[i - 1] + TABLE[i - 2];
+    }
+
     private long[] fibonacci;
 }
@@ -8,6 +8,12 @@ import java.util.Collection;
  * It is an example of a greedy algorithm.
  * This class does all its work directly (without using the Greedy class);
  * for an example of Zeckendorf which does use Greedy, please see GreedyTest.java
+ * <p>
+ * The static methods use the Zeckendorf representation as a universal code for positive longs (Fibonacci coding):
+ * the code of x has one bit for each of F(2), F(3), ..., F(k) (where F(k) is the largest Fibonacci number no larger than x),
+ * set if that Fibonacci number is in the representation, followed by a 1.
+ * Since the representation has no consecutive Fibonacci numbers, "11" occurs only at the end of a code.
+ * Codes are packed, first bit first, into the bits of a long[] (most significant bit first), without boxing.
  */
 public class Zeckendorf {
 
@@ -38,6 +44,160 @@ public class Zeckendorf {
         return result;
     }
 
+    /**
+     * Method to get the length of the Fibonacci code of x.
+     *
+     * @param x a positive number.
+     * @return the number of bits in the code of x (2 to 92).
+     */
+    public static int length(long x) {
+        return Fibonacci.largestIndex(x);
+    }
+
+    /**
+     * Method to get the total length of the Fibonacci codes of values.
+     *
+     * @param values the (positive) values.
+     * @return the number of bits.
+     */
+    public static long bits(long[] values) {
+        long result = 0;
+        for (long x : values) result += length(x);
+        return result;
+    }
+
+    /**
+     * Method to encode values as Fibonacci codes, packed into a new long[].
+     *
+     * @param values the (positive) values.
+     * @return the codes (with any unused bits of the last long zero).
+     */
+    public static long[] encode(long[] values) {
+        long[] result = new long[(int) ((bits(values) + 63) >>> 6)];
+        encode(values, 0, values.length, result, 0);
+        return result;
+    }
+
+    /**
+     * Method to encode values[from..to-1] as Fibonacci codes, packed into codes starting at bit position.
+     * The bits of codes from position onwards must be zero.
+     *
+     * @param values   the (positive) values.
+     * @param from     the index of the first value.
+     * @param to       the index after the last value.
+     * @param codes    the array into which the codes are packed.
+     * @param position the position (in bits) of the first code.
+     * @return the position after the last code.
+     */
+    public static long encode(long[] values, int from, int to, long[] codes, long position) {
+        for (int i = from; i < to; i++) {
+            long x = values[i];
+            int k = Fibonacci.largestIndex(x);
+            if (position + k > 64L * codes.length) throw new IllegalArgumentException("codes is too small");
+            // bit j of low (or bit j - 64 of high) is the j-th bit of the code: F(j + 2), or the final 1 for j = k - 1.
+            long low = 0, high = 0;
+            for (int n = k; x > 0; n--)
+                if (Fibonacci.get(n) <= x) {
+                    x -= Fibonacci.get(n);
+                    if (n - 2 < 64) low |= 1L << (n - 2);
+                    else high |= 1L << (n - 66);
+                    n--;
+                }
+            if (k - 1 < 64) low |= 1L << (k - 1);
+            else high |= 1L << (k - 65);
+            if (k <= 64) put(codes, position, Long.reverse(low) >>> (64 - k), k);
+            else {
+                put(codes, position, Long.reverse(low), 64);
+                put(codes, position + 64, Long.reverse(high) >>> (128 - k), k - 64);
+            }
+            position += k;
+        }
+        return position;
+    }
+
+    /**
+     * Method to decode values.length values from the Fibonacci codes packed into codes.
+     *
+     * @param codes  the codes.
+     * @param values the array into which the values are decoded.
+     * @return the number of bits decoded.
+     */
+    public static long decode(long[] codes, long[] values) {
+        return decode(codes, 0, values, 0, values.length);
+    }
+
+    /**
+     * Method to decode values[from..to-1] from the Fibonacci codes packed into codes starting at bit position.
+     * <p>
+     * Each code is found in a 64-bit window by looking for the first "11" (as the leading zeros of w &amp; (w &lt;&lt; 1)),
+     * and its value is the sum of the Fibonacci numbers for its set bits.
+     * Only codes which are longer than 63 bits (values of at least F(65), about 1.7E13) are decoded one bit at a time.
+     *
+     * @param codes    the codes.
+     * @param position the position (in bits) of the first code.
+     * @param values   the array into which the values are decoded.
+     * @param from     the index of the first value.
+     * @param to       the index after the last value.
+     * @return the position after the last code.
+     * @throws IllegalArgumentException if the codes are truncated or invalid.
+     */
+    public static long decode(long[] codes, long position, long[] values, int from, int to) {
+        long limit = 64L * codes.length;
+        for (int i = from; i < to; i++) {
+            long w = get(codes, position);
+            long pairs = w & (w << 1);
+            if (pairs != 0) {
+                int k = Long.numberOfLeadingZeros(pairs) + 2;
+                if (position + k > limit) throw new IllegalArgumentException("truncated code at bit " + position);
+                long x = 0;
+                // bit b of digits is the (k - 2 - b)-th bit of the code: F(k - b).
+                for (long digits = w >>> (65 - k); digits != 0; digits &= digits - 1)
+                    x += Fibonacci.get(k - Long.numberOfTrailingZeros(digits));
+                values[i] = x;
+                position += k;
+            } else position = decodeSlowly(codes, position, limit, values, i);
+        }
+        return position;
+    }
+
+    // Decode one code, one bit at a time.
+    private static long decodeSlowly(long[] codes, long position, long limit, long[] values, int i) {
+        long x = 0;
+        boolean previous = false;
+        for (int n = 2; ; n++, position++) {
+            if (position >= limit) throw new IllegalArgumentException("truncated code at bit " + position);
+            boolean bit = (codes[(int) (position >>> 6)] << position & Long.MIN_VALUE) != 0;
+            if (bit && previous) {
+                values[i] = x;
+                return position + 1;
+            }
+            if (bit) {
+                if (n > Fibonacci.MAX_INDEX) throw new IllegalArgumentException("invalid code: value overflows a long");
+                x += Fibonacci.get(n);
+            }
+            previous = bit;
+        }
+    }
+
+    // OR the low length bits of value into codes at position (most significant bit first).
+    private static void put(long[] codes, long position, long value, int length) {
+        int word = (int) (position >>> 6), free = 64 - (int) (position & 63);
+        if (length <= free) codes[word] |= value << (free - length);
+        else {
+            codes[word] |= value >>> (length - free);
+            codes[word + 1] |= value << (64 - length + free);
+        }
+    }
+
+    // Get the 64 bits of codes from position (with zeros beyond the end).
+    private static long get(long[] codes, long position) {
+        int word = (int) (position >>> 6), offset = (int) (position & 63);
+        if (word >= codes.length) return 0;
+        long result = codes[word] << offset;
+        if (offset > 0 && word + 1 < codes.length) result |= codes[word + 1] >>> (64 - offset);
+        return result;
+    }
+
     private final Fibonacci fibonacci;
 
 }
@@ -0,0 +1,277 @@
+/*
+ * Copyright (c) 2017. Phasmid Software
+ */
+
+package edu.neu.coe.info6205.hashtable;
+
+import edu.neu.coe.info6205.pq.DAryHeap;
+import edu.neu.coe.info6205.pq.PQException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * This class is a thread-safe version of FrequencyCounter.
+ * <p>
+ * Each count is a LongAdder in a ConcurrentHashMap, so that many threads can increment the same (popular) key
+ * without contending for a single memory location.
+ * For bulk work, however, it is better for each thread to count locally into an ObjectIntMap (which is not thread-safe)
+ * and then to merge its counts here: that is what {@link #ingest} does for a text file,
+ * splitting the file into chunks (on line boundaries) which are counted in parallel by a ForkJoinPool.
+ *
+ * @param <Key> the key type.
+ */
+public class ConcurrentFrequencyCounter<Key> implements ImmutableSymbolTable<Key, Long> {
+
+    public ConcurrentFrequencyCounter() {
+        this.map = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * @param key the key.
+     * @return the number of times key has been counted (zero if never).
+     */
+    public Long get(Key key) {
+        return count(key);
+    }
+
+    /**
+     * @param key the key.
+     * @return the number of times key has been counted (zero if never).
+     */
+    public long count(Key key) {
+        LongAdder adder = map.get(key);
+        return adder != null ? adder.sum() : 0L;
+    }
+
+    public double relativeFrequency(Key key) {
+        return 1.0 * count(key) / total();
+    }
+
+    /**
+     * Get the set of keys in this symbol table.
+     *
+     * @return the Set of keys (a live, unmodifiable view).
+     */
+    public Set<Key> keys() {
+        return Collections.unmodifiableSet(map.keySet());
+    }
+
+    public void increment(Key key) {
+        add(key, 1L);
+    }
+
+    /**
+     * Add delta to the count for key.
+     *
+     * @param key   the key.
+     * @param delta the amount to add.
+     */
+    public void add(Key key, long delta) {
+        LongAdder adder = map.get(key);
+        if (adder == null) adder = map.computeIfAbsent(key, k -> new LongAdder());
+        adder.add(delta);
+        total.add(delta);
+    }
+
+    /**
+     * Merge all of the counts from a (thread-local) ObjectIntMap into this counter.
+     *
+     * @param counts the counts to be merged.
+     */
+    public void merge(ObjectIntMap<Key> counts) {
+        for (Key key : counts.keys()) add(key, counts.getInt(key));
+    }
+
+    /**
+     * Method to get the total number of increments over all existing keys.
+     * NOTE that, while other threads are counting, this value is only a snapshot.
+     *
+     * @return the total of all counts.
+     */
+    public long total() {
+        return total.sum();
+    }
+
+    /**
+     * Method to get the k most frequent keys, in descending order of count.
+     * A min-heap of size k is used, so this takes O(n log k) time for n keys.
+     *
+     * @param k the number of keys required.
+     * @return a list of at most k (key, count) pairs.
+     */
+    public List<Map.Entry<Key, Long>> topK(int k) {
+        List<Map.Entry<Key, Long>> result = new ArrayList<>(k);
+        if (k <= 0) return result;
+        DAryHeap<Map.Entry<Key, Long>> heap = new DAryHeap<>(k + 1, false, Map.Entry.comparingByValue());
+        for (Map.Entry<Key, LongAdder> e : map.entrySet()) {
+            heap.give(new AbstractMap.SimpleImmutableEntry<>(e.getKey(), e.getValue().sum()));
+            if (heap.size() > k) take(heap);
+        }
+        while (!heap.isEmpty()) result.add(take(heap));
+        Collections.reverse(result);
+        return result;
+    }
+
+    /**
+     * Count the keys in a text file, in parallel.
+     * The file is split into chunks of (roughly) chunkSize bytes, aligned on line boundaries.
+     * Each chunk is read and tokenized by a task in pool, counted locally, and then merged into this counter.
+     *
+     * @param path      the path of a UTF-8 text file.
+     * @param tokenizer a function which yields the keys to be counted in a line.
+     * @param pool      the ForkJoinPool in which to run the tasks.
+     * @param chunkSize the approximate number of bytes to be counted by each task.
+     * @throws IOException if the file cannot be read.
+     */
+    public void ingest(Path path, Function<String, ? extends Collection<Key>> tokenizer, ForkJoinPool pool, int chunkSize) throws IOException {
+        long length;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            length = channel.size();
+        }
+        try {
+            pool.invoke(new IngestTask(path, tokenizer, 0, length, chunkSize));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Count the keys in a text file, in parallel, using the common pool and 8MB chunks.
+     *
+     * @param path      the path of a UTF-8 text file.
+     * @param tokenizer a function which yields the keys to be counted in a line.
+     * @throws IOException if the file cannot be read.
+     */
+    public void ingest(Path path, Function<String, ? extends Collection<Key>> tokenizer) throws IOException {
+        ingest(path, tokenizer, ForkJoinPool.commonPool(), 8 * 1024 * 1024);
+    }
+
+    public String toString() {
+        return map.toString();
+    }
+
+    private class IngestTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        IngestTask(Path path, Function<String, ? extends Collection<Key>> tokenizer, long start, long end, int chunkSize) {
+            this.path = path;
+            this.tokenizer = tokenizer;
+            this.start = start;
+            this.end = end;
+            this.chunkSize = chunkSize;
+        }
+
+        @Override
+        protected void compute() {
+            if (end - start > chunkSize) {
+                long mid = start + (end - start) / 2;
+                invokeAll(new IngestTask(path, tokenizer, start, mid, chunkSize), new IngestTask(path, tokenizer, mid, end, chunkSize));
+            } else try {
+                merge(countChunk());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        /**
+         * Count every line which begins in [start, end).
+         * Unless start is zero, the (partial) line which contains position start belongs to the previous chunk;
+         * and the last line which begins before end is read to its end, even beyond end.
+         * The chunk is read in bulk into a byte array, the line boundaries are found in the bytes,
+         * and the whole range of complete lines is decoded once, as a single String.
+         */
+        private ObjectIntMap<Key> countChunk() throws IOException {
+            ObjectIntMap<Key> counts = new ObjectIntMap<>();
+            long from = start > 0 ? start - 1 : 0;
+            int length = (int) (end - from);
+            byte[] bytes = new byte[length + TAIL];
+            int begin, stop;
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                stop = read(channel, from, bytes, 0, length);
+                begin = start > 0 ? indexOfNewline(bytes, 0, stop) + 1 : 0;
+                if (begin == 0 && start > 0 || begin >= stop) return counts;
+                if (stop == length && bytes[stop - 1] != '\n')
+                    // the last line continues beyond end.
+                    while (true) {
+                        if (stop + TAIL > bytes.length) bytes = Arrays.copyOf(bytes, Math.max(2 * bytes.length, stop + TAIL));
+                        int n = read(channel, from + stop, bytes, stop, TAIL);
+                        int newline = indexOfNewline(bytes, stop, stop + n);
+                        if (newline >= 0) {
+                            stop = newline + 1;
+                            break;
+                        }
+                        stop += n;
+                        if (n < TAIL) break;
+                    }
+            }
+            String text = new String(bytes, begin, stop - begin, StandardCharsets.UTF_8);
+            for (int i = 0; i < text.length(); ) {
+                int j = text.indexOf('\n', i);
+                if (j < 0) j = text.length();
+                int k = j > i && text.charAt(j - 1) == '\r' ? j - 1 : j;
+                for (Key key : tokenizer.apply(text.substring(i, k))) counts.addTo(key, 1);
+                i = j + 1;
+            }
+            return counts;
+        }
+
+        private final Path path;
+        private final Function<String, ? extends Collection<Key>> tokenizer;
+        private final long start;
+        private final long end;
+        private final int chunkSize;
+    }
+
+    /**
+     * Read up to length bytes of channel, from position, into bytes (from offset).
+     *
+     * @return the number of bytes read (less than length only at the end of the file).
+     */
+    private static int read(FileChannel channel, long position, byte[] bytes, int offset, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes, offset, length);
+        while (buffer.hasRemaining())
+            if (channel.read(buffer, position + buffer.position() - offset) < 0) break;
+        return buffer.position() - offset;
+    }
+
+    /**
+     * @return the index of the first newline in bytes[from..to-1], or -1 if there is none.
+     */
+    private static int indexOfNewline(byte[] bytes, int from, int to) {
+        for (int i = from; i < to; i++) if (bytes[i] == '\n') return i;
+        return -1;
+    }
+
+    private static <K> K take(DAryHeap<K> heap) {
+        try {
+            return heap.take();
+        } catch (PQException e) {
+            throw new RuntimeException("logic error: heap should not be empty", e);
+        }
+    }
+
+    // The number of bytes read at a time beyond the end of a chunk, to complete its last line.
+    private static final int TAIL = 4096;
+
+    private final ConcurrentHashMap<Key, LongAdder> map;
+    private final LongAdder total = new LongAdder();
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2017. Phasmid Software
+ */
+
+package edu.neu.coe.info6205.hashtable;
+
+/**
+ * Count-Min sketch: an approximate FrequencyCounter which uses a fixed amount of memory regardless of the number of keys.
+ * <p>
+ * There are depth rows of width counters; each key is hashed to one counter in each row.
+ * The estimated count for a key is the minimum of its counters, which is never less than the true count,
+ * and exceeds it by more than (e/width) * total with probability at most exp(-depth).
+ * <p>
+ * Increments use conservative update: only those counters which would otherwise fall below the new estimate are raised,
+ * which considerably reduces the over-estimation for skewed streams.
+ * <p>
+ * A sketch is not thread-safe: each thread (or partition) should build its own and then {@link #merge} them.
+ * Since a sketch does not retain its keys, it cannot enumerate them (and so it is not an ImmutableSymbolTable):
+ * to find the heavy hitters of a stream, use SpaceSaving.
+ *
+ * @param <Key> the key type.
+ */
+public class CountMinSketch<Key> {
+
+    /**
+     * Constructor.
+     *
+     * @param width the number of counters in each row (rounded up to a power of two).
+     * @param depth the number of rows.
+     * @param seed  the hash seed (sketches can only be merged if they have the same dimensions and seed).
+     */
+    public CountMinSketch(int width, int depth, long seed) {
+        if (width < 1 || depth < 1) throw new IllegalArgumentException("width and depth must be positive");
+        int w = 1;
+        while (w < width) w <<= 1;
+        this.width = w;
+        this.depth = depth;
+        this.seed = seed;
+        this.table = new long[w * depth];
+    }
+
+    /**
+     * Constructor which chooses the dimensions from the required accuracy.
+     *
+     * @param epsilon the relative error (as a fraction of the total count).
+     * @param delta   the probability of exceeding that error.
+     * @param seed    the hash seed.
+     * @param <Key>   the key type.
+     * @return a new CountMinSketch.
+     */
+    public static <Key> CountMinSketch<Key> create(double epsilon, double delta, long seed) {
+        return new CountMinSketch<>((int) Math.ceil(Math.E / epsilon), (int) Math.ceil(Math.log(1 / delta)), seed);
+    }
+
+    public void increment(Key key) {
+        add(key, 1L);
+    }
+
+    /**
+     * Add delta to the count for key, using conservative update.
+     *
+     * @param key   the key (may not be null).
+     * @param delta the (non-negative) amount to add.
+     */
+    public void add(Key key, long delta) {
+        if (delta < 0) throw new IllegalArgumentException("delta may not be negative: " + delta);
+        long hash = Mixer.hash64(key, seed);
+        long target = estimate(hash) + delta;
+        int h1 = (int) hash, h2 = (int) (hash >>> 32) | 1;
+        for (int i = 0; i < depth; i++) {
+            int index = i * width + ((h1 + i * h2) & (width - 1));
+            if (table[index] < target) table[index] = target;
+        }
+        total += delta;
+    }
+
+    /**
+     * @param key the key.
+     * @return an upper bound on the number of times key has been counted.
+     */
+    public Long get(Key key) {
+        return count(key);
+    }
+
+    /**
+     * @param key the key.
+     * @return an upper bound on the number of times key has been counted.
+     */
+    public long count(Key key) {
+        return key == null ? 0L : estimate(Mixer.hash64(key, seed));
+    }
+
+    /**
+     * @return the total of all counts.
+     */
+    public long total() {
+        return total;
+    }
+
+    /**
+     * Merge another sketch into this one (the counters are added).
+     *
+     * @param other a sketch with the same width, depth and seed.
+     */
+    public void merge(CountMinSketch<Key> other) {
+        if (other.width != width || other.depth != depth || other.seed != seed)
+            throw new IllegalArgumentException("sketches are not compatible");
+        for (int i = 0; i < table.length; i++) table[i] += other.table[i];
+        total += other.total;
+    }
+
+    @Override
+    public String toString() {
+        return "CountMinSketch{width=" + width + ", depth=" + depth + ", total=" + total + "}";
+    }
+
+    private long estimate(long hash) {
+        int h1 = (int) hash, h2 = (int) (hash >>> 32) | 1;
+        long result = Long.MAX_VALUE;
+        for (int i = 0; i < depth; i++) result = Math.min(result, table[i * width + ((h1 + i * h2) & (width - 1))]);
+        return result;
+    }
+
+    private final int width;
+    private final int depth;
+    private final long seed;
+    private final long[] table; // row i occupies table[i * width] through table[(i + 1) * width - 1]
+    private long total;
+}
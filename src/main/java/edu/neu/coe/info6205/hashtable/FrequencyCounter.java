@@ -16,16 +16,31 @@ public class FrequencyCounter<Key> implements ImmutableSymbolTable<Key, Integer>
 
     public FrequencyCounter(ST<Key, Integer> map) {
         this.map = map;
+        //noinspection unchecked
+        this.counts = map instanceof ObjectIntMap ? (ObjectIntMap<Key>) map : null;
     }
 
+    /**
+     * Constructor which uses an ObjectIntMap, so that counting never boxes.
+     */
     public FrequencyCounter() {
-        this(new STMap<>());
+        this(new ObjectIntMap<>());
     }
 
     public Integer get(Key key) {
+        return count(key);
+    }
+
+    /**
+     * Method to get the count for key without boxing (when this counter is backed by an ObjectIntMap).
+     *
+     * @param key the key.
+     * @return the number of times increment has been called for key.
+     */
+    public int count(Key key) {
+        if (counts != null) return counts.getInt(key);
         Integer value = map.get(key);
-        if (value == null) value = 0;
-        return value;
+        return value != null ? value : 0;
     }
 
     public double relativeFrequency(Key key) {
@@ -46,7 +61,9 @@ public class FrequencyCounter<Key> implements ImmutableSymbolTable<Key, Integer>
     }
 
     public void increment(Key s) {
-        // TO BE IMPLEMENTED
+        if (counts != null) counts.addTo(s, 1);
+        else map.put(s, count(s) + 1);
+        total++;
     }
 
     /**
@@ -63,7 +80,7 @@ public class FrequencyCounter<Key> implements ImmutableSymbolTable<Key, Integer>
     }
 
     private final ST<Key, Integer> map;
-    @SuppressWarnings("CanBeFinal")
+    private final ObjectIntMap<Key> counts; // the same as map if map is an ObjectIntMap, otherwise null
     private long total = 0L;
 
     public static void main(String[] args) {
@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2017. Phasmid Software
+ */
+
+package edu.neu.coe.info6205.hashtable;
+
+import edu.neu.coe.info6205.util.Benchmark_Timer;
+
+import java.util.HashMap;
+import java.util.Random;
+import java.util.function.Consumer;
+
+/**
+ * Benchmark which compares OpenHashTable with java.util.HashMap (via STMap) for the same workload:
+ * n puts of random String keys followed by n gets (half of which are misses).
+ */
+public class HashTableBenchmark {
+
+    public HashTableBenchmark(int runs, int n) {
+        this.runs = runs;
+        this.n = n;
+        Random random = new Random(0L);
+        this.keys = new String[2 * n];
+        for (int i = 0; i < keys.length; i++) keys[i] = Long.toHexString(random.nextLong());
+    }
+
+    public void runBenchmarks() {
+        System.out.println("HashTableBenchmark: N=" + n);
+        benchmark("STMap(HashMap)", ks -> exercise(new STMap<>(new HashMap<>()), ks));
+        benchmark("OpenHashTable", ks -> exercise(new OpenHashTable<>(), ks));
+    }
+
+    public static void main(String[] args) {
+        new HashTableBenchmark(100, 1000).runBenchmarks();
+        new HashTableBenchmark(50, 10000).runBenchmarks();
+        new HashTableBenchmark(20, 100000).runBenchmarks();
+        new HashTableBenchmark(10, 1000000).runBenchmarks();
+    }
+
+    private void benchmark(String description, Consumer<String[]> function) {
+        double time = new Benchmark_Timer<>(description, function).runFromSupplier(() -> keys, runs);
+        System.out.println(description + ": " + time + " mSec per run; " + (time * 1e6 / n / 2) + " nSec per operation");
+    }
+
+    private void exercise(ST<String, Integer> st, String[] ks) {
+        for (int i = 0; i < n; i++) st.put(ks[i], i);
+        int found = 0;
+        for (int i = n / 2; i < n + n / 2; i++) if (st.get(ks[i]) != null) found++;
+        if (found != n - n / 2) throw new RuntimeException("logic error: found " + found);
+    }
+
+    private final int runs;
+    private final int n;
+    private final String[] keys;
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2017. Phasmid Software
+ */
+
+package edu.neu.coe.info6205.hashtable;
+
+/**
+ * HyperLogLog: an estimator of the number of distinct keys in a stream, using 2^p one-byte registers.
+ * <p>
+ * The standard error of the estimate is about 1.04 / sqrt(2^p): for example, with p = 14 (16KB) it is less than 1%.
+ * For small cardinalities, linear counting is used instead.
+ * <p>
+ * NOTE that keys are hashed from their hashCode, so keys with equal hash codes are indistinguishable.
+ * For cardinalities approaching 2^32, use {@link #addHash(long)} with a 64-bit hash of your own.
+ * <p>
+ * An estimator is not thread-safe: each thread (or partition) should build its own and then {@link #merge} them.
+ */
+public class HyperLogLog {
+
+    /**
+     * Constructor.
+     *
+     * @param p the number of index bits (between 4 and 18).
+     */
+    public HyperLogLog(int p) {
+        if (p < 4 || p > 18) throw new IllegalArgumentException("p must be between 4 and 18: " + p);
+        this.p = p;
+        this.registers = new byte[1 << p];
+    }
+
+    public HyperLogLog() {
+        this(14);
+    }
+
+    /**
+     * @param key a key (may not be null).
+     */
+    public void add(Object key) {
+        addHash(Mixer.hash64(key, 0L));
+    }
+
+    /**
+     * @param x a long value, which will be mixed before use.
+     */
+    public void add(long x) {
+        addHash(Mixer.mix64(x));
+    }
+
+    /**
+     * @param hash a well-mixed 64-bit hash.
+     */
+    public void addHash(long hash) {
+        int index = (int) (hash >>> (64 - p));
+        // NOTE the sentinel bit guarantees that rank is at most 64 - p + 1.
+        int rank = Long.numberOfLeadingZeros((hash << p) | (1L << (p - 1))) + 1;
+        if (rank > registers[index]) registers[index] = (byte) rank;
+    }
+
+    /**
+     * @return the estimated number of distinct keys.
+     */
+    public long cardinality() {
+        int m = registers.length;
+        double sum = 0;
+        int zeros = 0;
+        for (byte r : registers) {
+            sum += 1.0 / (1L << r);
+            if (r == 0) zeros++;
+        }
+        double estimate = alpha(m) * m * m / sum;
+        if (estimate <= 2.5 * m && zeros > 0) estimate = m * Math.log((double) m / zeros);
+        return Math.round(estimate);
+    }
+
+    /**
+     * Merge another estimator into this one (the registers are maximized).
+     *
+     * @param other an estimator with the same p.
+     */
+    public void merge(HyperLogLog other) {
+        if (other.p != p) throw new IllegalArgumentException("estimators are not compatible");
+        for (int i = 0; i < registers.length; i++)
+            if (other.registers[i] > registers[i]) registers[i] = other.registers[i];
+    }
+
+    @Override
+    public String toString() {
+        return "HyperLogLog{p=" + p + ", cardinality=" + cardinality() + "}";
+    }
+
+    private static double alpha(int m) {
+        switch (m) {
+            case 16:
+                return 0.673;
+            case 32:
+                return 0.697;
+            case 64:
+                return 0.709;
+            default:
+                return 0.7213 / (1 + 1.079 / m);
+        }
+    }
+
+    private final int p;
+    private final byte[] registers;
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2017. Phasmid Software
+ */
+
+package edu.neu.coe.info6205.hashtable;
+
+/**
+ * The shared machinery of the linear-probing tables (OpenHashTable, ObjectIntMap, IntIntMap, LongIntMap and LongLongMap),
+ * each of which holds its entries in parallel arrays whose length is a power of two.
+ * <p>
+ * Lookups depend on one invariant: every key lies in the unbroken run of occupied slots which starts at its home slot.
+ * This class is responsible for the probe sequence, the load factor (and resizing), and backward-shift deletion,
+ * which are what maintain that invariant; a subclass provides only access to its slots
+ * (isFree, hashAt, move, clear) and the copying of its entries when it is resized.
+ * <p>
+ * A hash is a 32-bit value whose high-order bits are well mixed (see OpenHashTable.spread):
+ * the home slot of a key is given by the top lg(length) bits of its hash.
+ */
+abstract class LinearProbing {
+
+    /**
+     * Constructor: set up the geometry for capacity keys.
+     * A subclass must then allocate its arrays (of length()).
+     *
+     * @param capacity   the expected number of keys.
+     * @param loadFactor the maximum ratio of occupied slots to length before the table is doubled (between 0 and 1, exclusive).
+     */
+    LinearProbing(int capacity, double loadFactor) {
+        if (loadFactor <= 0 || loadFactor >= 1)
+            throw new IllegalArgumentException("loadFactor must be between 0 and 1: " + loadFactor);
+        this.loadFactor = loadFactor;
+        int length = 2;
+        while (length * loadFactor < capacity) length <<= 1;
+        setLength(length);
+    }
+
+    /**
+     * @param index the index of an occupied slot.
+     * @return the hash of the key in that slot.
+     */
+    abstract int hashAt(int index);
+
+    /**
+     * @param index the index of a slot.
+     * @return true if the slot is free.
+     */
+    abstract boolean isFree(int index);
+
+    /**
+     * Copy the entry in slot from into slot to.
+     */
+    abstract void move(int from, int to);
+
+    /**
+     * Make slot index free (and release any references which it holds).
+     */
+    abstract void clear(int index);
+
+    /**
+     * Replace the arrays by arrays of the given length (calling setLength) and re-insert every entry,
+     * each in the slot given by freeSlot.
+     *
+     * @param length the new length (a power of two).
+     */
+    abstract void resize(int length);
+
+    /**
+     * @return the number of occupied slots.
+     */
+    final int occupied() {
+        return occupied;
+    }
+
+    /**
+     * @return the length of the arrays.
+     */
+    final int length() {
+        return mask + 1;
+    }
+
+    /**
+     * Set the geometry for arrays of the given length.
+     *
+     * @param length a power of two.
+     */
+    final void setLength(int length) {
+        mask = length - 1;
+        shift = 32 - Integer.numberOfTrailingZeros(length);
+        threshold = (int) (length * loadFactor);
+    }
+
+    /**
+     * @param hash the hash of a key.
+     * @return the home slot of the key.
+     */
+    final int home(int hash) {
+        return hash >>> shift;
+    }
+
+    /**
+     * @param index the index of a slot.
+     * @return the next slot in the probe sequence.
+     */
+    final int next(int index) {
+        return (index + 1) & mask;
+    }
+
+    /**
+     * @param hash the hash of a key which is not present.
+     * @return the first free slot in the probe sequence from the home of hash.
+     */
+    final int freeSlot(int hash) {
+        int index = home(hash);
+        while (!isFree(index)) index = next(index);
+        return index;
+    }
+
+    /**
+     * Record that a formerly free slot has been occupied, doubling the table if the load factor is exceeded.
+     * NOTE that any index into the arrays is invalid after this call.
+     */
+    final void inserted() {
+        if (++occupied > threshold) resize(2 * length());
+    }
+
+    /**
+     * Backward-shift deletion of the entry in slot hole: later members of the probe sequence are moved back into the hole,
+     * unless their home slot lies (cyclically) after the hole, so that no tombstones are ever left behind.
+     *
+     * @param hole the index of an occupied slot.
+     */
+    final void removeAt(int hole) {
+        int j = hole;
+        while (true) {
+            j = next(j);
+            if (isFree(j)) break;
+            int home = home(hashAt(j));
+            if (((j - home) & mask) >= ((j - hole) & mask)) {
+                move(j, hole);
+                hole = j;
+            }
+        }
+        clear(hole);
+        occupied--;
+    }
+
+    private final double loadFactor;
+    private int mask; // length - 1
+    private int shift; // 32 - lg(length)
+    private int threshold; // the number of occupied slots beyond which we must resize
+    private int occupied; // the number of occupied slots
+}
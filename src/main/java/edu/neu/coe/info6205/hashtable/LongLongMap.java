@@ -0,0 +1,206 @@
+/*
+ * Copyright (c) 2017. Phasmid Software
+ */
+
+package edu.neu.coe.info6205.hashtable;
+
+/**
+ * Map from primitive long keys to primitive long values.
+ * <p>
+ * The keys and values are held in parallel arrays which are probed linearly (see OpenHashTable and LinearProbing),
+ * so that there are no per-entry objects and no boxing.
+ * A key of zero marks a free slot in the arrays, so the entry for key zero (if any) is held separately.
+ * The value of an absent key is zero, which makes this map a natural counter: see {@link #addTo(long, long)}.
+ */
+public class LongLongMap extends LinearProbing {
+
+    /**
+     * Constructor.
+     *
+     * @param capacity the expected number of keys.
+     */
+    public LongLongMap(int capacity) {
+        super(capacity, LOAD_FACTOR);
+        allocate(length());
+    }
+
+    public LongLongMap() {
+        this(16);
+    }
+
+    /**
+     * @return the number of keys in this map.
+     */
+    public int size() {
+        return occupied() + (hasFreeKey ? 1 : 0);
+    }
+
+    /**
+     * @param key the key.
+     * @return true if key is present.
+     */
+    public boolean containsKey(long key) {
+        return key == FREE ? hasFreeKey : keys[findIndex(key)] != FREE;
+    }
+
+    /**
+     * @param key the key.
+     * @return the value associated with key, or zero if key is absent.
+     */
+    public long get(long key) {
+        return getOrDefault(key, 0);
+    }
+
+    /**
+     * @param key          the key.
+     * @param defaultValue the value to return if key is absent.
+     * @return the value associated with key, or defaultValue if key is absent.
+     */
+    public long getOrDefault(long key, long defaultValue) {
+        if (key == FREE) return hasFreeKey ? freeValue : defaultValue;
+        int index = findIndex(key);
+        return keys[index] != FREE ? values[index] : defaultValue;
+    }
+
+    /**
+     * Insert a key/value pair.
+     *
+     * @param key   the key.
+     * @param value the value.
+     * @return the previous value associated with key, or zero.
+     */
+    public long put(long key, long value) {
+        if (key == FREE) {
+            long result = freeValue;
+            hasFreeKey = true;
+            freeValue = value;
+            return result;
+        }
+        int index = findIndex(key);
+        long result = values[index];
+        values[index] = value;
+        if (keys[index] == FREE) insertedAt(index, key);
+        return result;
+    }
+
+    /**
+     * Add delta to the value associated with key (an absent key is treated as having the value zero).
+     *
+     * @param key   the key.
+     * @param delta the amount to add.
+     * @return the new value associated with key.
+     */
+    public long addTo(long key, long delta) {
+        if (key == FREE) {
+            hasFreeKey = true;
+            return freeValue += delta;
+        }
+        int index = findIndex(key);
+        long result = values[index] += delta;
+        if (keys[index] == FREE) insertedAt(index, key);
+        return result;
+    }
+
+    /**
+     * Remove a key.
+     *
+     * @param key the key.
+     * @return the value which was associated with key, or zero.
+     */
+    public long remove(long key) {
+        if (key == FREE) {
+            long result = freeValue;
+            hasFreeKey = false;
+            freeValue = 0;
+            return result;
+        }
+        int index = findIndex(key);
+        if (keys[index] == FREE) return 0;
+        long result = values[index];
+        removeAt(index);
+        return result;
+    }
+
+    /**
+     * @return a new array of the keys in this map (in no particular order).
+     */
+    public long[] keys() {
+        long[] result = new long[size()];
+        int k = 0;
+        if (hasFreeKey) result[k++] = FREE;
+        for (long key : keys) if (key != FREE) result[k++] = key;
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("{");
+        for (long key : keys()) {
+            if (sb.length() > 1) sb.append(", ");
+            sb.append(key).append("=").append(get(key));
+        }
+        return sb.append("}").toString();
+    }
+
+    int hashAt(int index) {
+        return hash(keys[index]);
+    }
+
+    boolean isFree(int index) {
+        return keys[index] == FREE;
+    }
+
+    void move(int from, int to) {
+        keys[to] = keys[from];
+        values[to] = values[from];
+    }
+
+    void clear(int index) {
+        keys[index] = FREE;
+        values[index] = 0;
+    }
+
+    void resize(int length) {
+        long[] oldKeys = keys;
+        long[] oldValues = values;
+        allocate(length);
+        for (int i = 0; i < oldKeys.length; i++)
+            if (oldKeys[i] != FREE) {
+                int index = freeSlot(hash(oldKeys[i]));
+                keys[index] = oldKeys[i];
+                values[index] = oldValues[i];
+            }
+    }
+
+    private void insertedAt(int index, long key) {
+        keys[index] = key;
+        inserted();
+    }
+
+    /**
+     * @return the index of the slot which holds key, or (if key is absent) the free slot where it belongs.
+     */
+    private int findIndex(long key) {
+        int index = home(hash(key));
+        while (keys[index] != FREE && keys[index] != key) index = next(index);
+        return index;
+    }
+
+    private static int hash(long key) {
+        return LongIntMap.hash(key);
+    }
+
+    private void allocate(int length) {
+        keys = new long[length];
+        values = new long[length];
+        setLength(length);
+    }
+
+    private static final long FREE = 0L;
+    private static final double LOAD_FACTOR = 0.7;
+
+    private long[] keys;
+    private long[] values;
+    private boolean hasFreeKey; // true if key FREE is present
+    private long freeValue; // the value associated with key FREE
+}
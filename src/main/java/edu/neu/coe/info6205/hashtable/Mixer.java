@@ -0,0 +1,38 @@
+/*
+ * Copyright (c) 2017. Phasmid Software
+ */
+
+package edu.neu.coe.info6205.hashtable;
+
+/**
+ * Hash mixing functions shared by the sketches in this package.
+ */
+final class Mixer {
+
+    /**
+     * The finalization step of MurmurHash3 (64-bit): every bit of z affects every bit of the result.
+     *
+     * @param z the value to be mixed.
+     * @return the mixed value.
+     */
+    static long mix64(long z) {
+        z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+        z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return z ^ (z >>> 33);
+    }
+
+    /**
+     * Method to yield a 64-bit hash of an object, based on its hashCode and a seed.
+     * NOTE that there can be no more than 2^32 distinct results for a given seed.
+     *
+     * @param key  the object (may not be null).
+     * @param seed the seed.
+     * @return a well-mixed 64-bit hash.
+     */
+    static long hash64(Object key, long seed) {
+        return mix64(key.hashCode() + seed * 0x9E3779B97F4A7C15L);
+    }
+
+    private Mixer() {
+    }
+}
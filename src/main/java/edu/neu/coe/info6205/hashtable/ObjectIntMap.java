@@ -0,0 +1,230 @@
+/*
+ * Copyright (c) 2017. Phasmid Software
+ */
+
+package edu.neu.coe.info6205.hashtable;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Map from (non-null) keys to primitive int values.
+ * <p>
+ * The keys, their spread hashes and the values are held in parallel arrays which are probed linearly (see OpenHashTable and LinearProbing),
+ * so that there are no per-entry objects and the values are never boxed by the primitive methods
+ * ({@link #getInt}, {@link #putInt}, {@link #addTo}, {@link #removeKey}).
+ * It also implements ST&lt;Key, Integer&gt;, for compatibility with the other symbol tables, in which case the values are boxed.
+ * The value of an absent key is zero (or null when accessed as an ST).
+ *
+ * @param <Key> key type.
+ */
+public class ObjectIntMap<Key> extends LinearProbing implements ST<Key, Integer> {
+
+    /**
+     * Constructor.
+     *
+     * @param capacity the expected number of keys.
+     */
+    public ObjectIntMap(int capacity) {
+        super(capacity, LOAD_FACTOR);
+        allocate(length());
+    }
+
+    public ObjectIntMap() {
+        this(16);
+    }
+
+    /**
+     * @return the number of keys in this map.
+     */
+    public int size() {
+        return occupied();
+    }
+
+    /**
+     * @param key the key.
+     * @return true if key is present.
+     */
+    public boolean containsKey(Key key) {
+        return key != null && keys[findIndex(key, spread(key))] != null;
+    }
+
+    /**
+     * @param key the key.
+     * @return the value associated with key, or zero if key is absent.
+     */
+    public int getInt(Key key) {
+        return getOrDefault(key, 0);
+    }
+
+    /**
+     * @param key          the key.
+     * @param defaultValue the value to return if key is absent.
+     * @return the value associated with key, or defaultValue if key is absent.
+     */
+    public int getOrDefault(Key key, int defaultValue) {
+        if (key == null) return defaultValue;
+        int index = findIndex(key, spread(key));
+        return keys[index] != null ? values[index] : defaultValue;
+    }
+
+    /**
+     * Retrieve the value for a given key.
+     *
+     * @param key the key.
+     * @return the (boxed) value, if key is present, else null.
+     */
+    public Integer get(Key key) {
+        if (key == null) return null;
+        int index = findIndex(key, spread(key));
+        return keys[index] != null ? values[index] : null;
+    }
+
+    /**
+     * Insert a key/value pair.
+     *
+     * @param key   the key (may not be null).
+     * @param value the value.
+     * @return the previous value associated with key, or zero.
+     */
+    public int putInt(Key key, int value) {
+        int hash = spread(key);
+        int index = findIndex(key, hash);
+        int result = values[index];
+        values[index] = value;
+        if (keys[index] == null) insertedAt(index, key, hash);
+        return result;
+    }
+
+    /**
+     * Insert a key/value pair.
+     * If the key already exists, then its value will simply be overwritten.
+     *
+     * @param key the key (may not be null).
+     * @param val the value (may not be null).
+     */
+    public void put(Key key, Integer val) {
+        putInt(key, val);
+    }
+
+    /**
+     * Add delta to the value associated with key (an absent key is treated as having the value zero).
+     *
+     * @param key   the key (may not be null).
+     * @param delta the amount to add.
+     * @return the new value associated with key.
+     */
+    public int addTo(Key key, int delta) {
+        int hash = spread(key);
+        int index = findIndex(key, hash);
+        int result = values[index] += delta;
+        if (keys[index] == null) insertedAt(index, key, hash);
+        return result;
+    }
+
+    /**
+     * Remove a key.
+     *
+     * @param key the key.
+     * @return the value which was associated with key, or zero.
+     */
+    public int removeKey(Key key) {
+        if (key == null) return 0;
+        int index = findIndex(key, spread(key));
+        if (keys[index] == null) return 0;
+        int result = values[index];
+        removeAt(index);
+        return result;
+    }
+
+    /**
+     * Get the set of keys in this symbol table.
+     * NOTE that this is a copy: it is not backed by the map.
+     *
+     * @return the Set of keys.
+     */
+    public Set<Key> keys() {
+        Set<Key> result = new HashSet<>(size() * 2);
+        //noinspection unchecked
+        for (Object key : keys) if (key != null) result.add((Key) key);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("{");
+        for (int i = 0; i < keys.length; i++)
+            if (keys[i] != null) {
+                if (sb.length() > 1) sb.append(", ");
+                sb.append(keys[i]).append("=").append(values[i]);
+            }
+        return sb.append("}").toString();
+    }
+
+    int hashAt(int index) {
+        return hashes[index];
+    }
+
+    boolean isFree(int index) {
+        return keys[index] == null;
+    }
+
+    void move(int from, int to) {
+        hashes[to] = hashes[from];
+        keys[to] = keys[from];
+        values[to] = values[from];
+    }
+
+    void clear(int index) {
+        hashes[index] = 0;
+        keys[index] = null;
+        values[index] = 0;
+    }
+
+    void resize(int length) {
+        int[] oldHashes = hashes;
+        Object[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(length);
+        for (int i = 0; i < oldKeys.length; i++)
+            if (oldKeys[i] != null) {
+                int index = freeSlot(oldHashes[i]);
+                hashes[index] = oldHashes[i];
+                keys[index] = oldKeys[i];
+                values[index] = oldValues[i];
+            }
+    }
+
+    private static int spread(Object key) {
+        if (key == null) throw new IllegalArgumentException("key may not be null");
+        return OpenHashTable.spread(key.hashCode());
+    }
+
+    private void insertedAt(int index, Key key, int hash) {
+        hashes[index] = hash;
+        keys[index] = key;
+        inserted();
+    }
+
+    /**
+     * @return the index of the slot which holds key, or (if key is absent) the free slot where it belongs.
+     */
+    private int findIndex(Object key, int hash) {
+        int index = home(hash);
+        while (keys[index] != null && !(hashes[index] == hash && key.equals(keys[index]))) index = next(index);
+        return index;
+    }
+
+    private void allocate(int length) {
+        hashes = new int[length];
+        keys = new Object[length];
+        values = new int[length];
+        setLength(length);
+    }
+
+    private static final double LOAD_FACTOR = 0.7;
+
+    private int[] hashes; // hashes[i] is the spread hash of keys[i] (undefined if keys[i] is null)
+    private Object[] keys;
+    private int[] values;
+}
@@ -0,0 +1,204 @@
+/*
+ * Copyright (c) 2017. Phasmid Software
+ */
+
+package edu.neu.coe.info6205.hashtable;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Symbol table based on open addressing (linear probing), intended as a lower-overhead alternative to STMap.
+ * <p>
+ * This is a more complete version of HashTable:
+ * <ul>
+ *     <li>the hash code of each key is spread by Fibonacci hashing so that the high-order bits select the slot;</li>
+ *     <li>keys are matched by equals (after comparing the cached spread hashes);</li>
+ *     <li>occupancy is determined by the key slot (not by the hash, which may legitimately be zero), so null keys are not allowed;</li>
+ *     <li>the table doubles in size whenever the load factor is exceeded;</li>
+ *     <li>remove uses backward-shift deletion so that no tombstones are ever left behind.</li>
+ * </ul>
+ * The probing, resizing and deletion are shared with the primitive maps (see LinearProbing).
+ *
+ * @param <Key>   key type.
+ * @param <Value> value type.
+ */
+public class OpenHashTable<Key, Value> extends LinearProbing implements ST<Key, Value> {
+
+    /**
+     * Constructor.
+     *
+     * @param capacity   the expected number of keys.
+     * @param loadFactor the maximum ratio of size to length before the table is doubled (between 0 and 1, exclusive).
+     */
+    public OpenHashTable(int capacity, double loadFactor) {
+        super(capacity, loadFactor);
+        allocate(length());
+    }
+
+    /**
+     * Constructor with load factor 0.7.
+     *
+     * @param capacity the expected number of keys.
+     */
+    public OpenHashTable(int capacity) {
+        this(capacity, 0.7);
+    }
+
+    public OpenHashTable() {
+        this(16);
+    }
+
+    /**
+     * Retrieve the value for a given key.
+     *
+     * @param key the key.
+     * @return the value, if key is present, else null.
+     */
+    public Value get(Key key) {
+        int index = findIndex(key);
+        //noinspection unchecked
+        return index >= 0 ? (Value) values[index] : null;
+    }
+
+    /**
+     * @param key the key.
+     * @return true if key is present.
+     */
+    public boolean containsKey(Key key) {
+        return findIndex(key) >= 0;
+    }
+
+    /**
+     * Insert a key/value pair.
+     * If the key already exists, then its value will simply be overwritten.
+     *
+     * @param key the key (may not be null).
+     * @param val the value.
+     */
+    public void put(Key key, Value val) {
+        if (key == null) throw new IllegalArgumentException("key may not be null");
+        int hash = spread(key.hashCode());
+        int index = home(hash);
+        while (keys[index] != null) {
+            if (hashes[index] == hash && key.equals(keys[index])) {
+                values[index] = val;
+                return;
+            }
+            index = next(index);
+        }
+        hashes[index] = hash;
+        keys[index] = key;
+        values[index] = val;
+        inserted();
+    }
+
+    /**
+     * Remove a key (and its value).
+     *
+     * @param key the key.
+     * @return the value which was associated with key, if any, else null.
+     */
+    public Value remove(Key key) {
+        int index = findIndex(key);
+        if (index < 0) return null;
+        //noinspection unchecked
+        Value result = (Value) values[index];
+        removeAt(index);
+        return result;
+    }
+
+    /**
+     * Get the set of keys in this symbol table.
+     * NOTE that this is a copy: it is not backed by the table.
+     *
+     * @return the Set of keys.
+     */
+    public Set<Key> keys() {
+        Set<Key> result = new HashSet<>(size() * 2);
+        //noinspection unchecked
+        for (Object key : keys) if (key != null) result.add((Key) key);
+        return result;
+    }
+
+    /**
+     * @return the number of keys in this symbol table.
+     */
+    public int size() {
+        return occupied();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("{");
+        for (int i = 0; i < keys.length; i++)
+            if (keys[i] != null) {
+                if (sb.length() > 1) sb.append(", ");
+                sb.append(keys[i]).append("=").append(values[i]);
+            }
+        return sb.append("}").toString();
+    }
+
+    /**
+     * Fibonacci hashing: multiply by 2^32 divided by the golden ratio, so that all bits of h influence the high-order bits.
+     */
+    static int spread(int h) {
+        return h * 0x9E3779B9;
+    }
+
+    int hashAt(int index) {
+        return hashes[index];
+    }
+
+    boolean isFree(int index) {
+        return keys[index] == null;
+    }
+
+    void move(int from, int to) {
+        hashes[to] = hashes[from];
+        keys[to] = keys[from];
+        values[to] = values[from];
+    }
+
+    void clear(int index) {
+        hashes[index] = 0;
+        keys[index] = null;
+        values[index] = null;
+    }
+
+    void resize(int length) {
+        int[] oldHashes = hashes;
+        Object[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(length);
+        for (int i = 0; i < oldKeys.length; i++)
+            if (oldKeys[i] != null) {
+                int index = freeSlot(oldHashes[i]);
+                hashes[index] = oldHashes[i];
+                keys[index] = oldKeys[i];
+                values[index] = oldValues[i];
+            }
+    }
+
+    private int findIndex(Object key) {
+        if (key == null) return -1;
+        int hash = spread(key.hashCode());
+        int index = home(hash);
+        while (keys[index] != null) {
+            if (hashes[index] == hash && key.equals(keys[index])) return index;
+            index = next(index);
+        }
+        return -1;
+    }
+
+    private void allocate(int length) {
+        hashes = new int[length];
+        keys = new Object[length];
+        values = new Object[length];
+        setLength(length);
+    }
+
+    private int[] hashes; // hashes[i] is the spread hash of keys[i] (undefined if keys[i] is null)
+    private Object[] keys;
+    private Object[] values;
+}
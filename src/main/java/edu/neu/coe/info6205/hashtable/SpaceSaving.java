@@ -0,0 +1,230 @@
+/*
+ * Copyright (c) 2017. Phasmid Software
+ */
+
+package edu.neu.coe.info6205.hashtable;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Space-Saving: an approximate FrequencyCounter which monitors at most k keys and so finds the heavy hitters of a stream.
+ * <p>
+ * When an unmonitored key arrives and all k counters are in use, the key with the smallest count is evicted
+ * and the new key inherits its count (which is recorded as the error of the new key's count).
+ * Every key whose true count exceeds total/k is guaranteed to be monitored,
+ * and the count of a monitored key exceeds its true count by at most its error.
+ * <p>
+ * The counters are kept in an indexed binary min-heap of primitive longs (rather than in an IndexedPriorityQueue&lt;Long&gt;),
+ * so that each increment takes O(log k) time and never boxes.
+ * A summary is not thread-safe: each thread (or partition) should build its own and then {@link #merge} them.
+ *
+ * @param <Key> the key type.
+ */
+public class SpaceSaving<Key> implements ImmutableSymbolTable<Key, Long> {
+
+    /**
+     * Constructor.
+     *
+     * @param k the number of counters.
+     */
+    public SpaceSaving(int k) {
+        if (k < 1) throw new IllegalArgumentException("k must be positive: " + k);
+        this.k = k;
+        this.counts = new long[k];
+        this.heap = new int[k];
+        this.position = new int[k];
+        this.slots = new ObjectIntMap<>(k);
+        //noinspection unchecked
+        this.keys = (Key[]) new Object[k];
+        this.errors = new long[k];
+    }
+
+    public void increment(Key key) {
+        add(key, 1L);
+    }
+
+    /**
+     * Add delta to the count for key.
+     *
+     * @param key   the key (may not be null).
+     * @param delta the (non-negative) amount to add.
+     */
+    public void add(Key key, long delta) {
+        if (delta < 0) throw new IllegalArgumentException("delta may not be negative: " + delta);
+        total += delta;
+        int slot = slots.getOrDefault(key, -1);
+        if (slot >= 0) {
+            counts[slot] += delta;
+            sink(position[slot]);
+        } else if (used < k) monitor(used++, key, 0L, delta);
+        else {
+            // replace the key with the smallest count (at the root of the heap).
+            slot = heap[0];
+            long min = counts[slot];
+            slots.removeKey(keys[slot]);
+            keys[slot] = key;
+            errors[slot] = min;
+            slots.putInt(key, slot);
+            counts[slot] = min + delta;
+            sink(0);
+        }
+    }
+
+    /**
+     * @param key the key.
+     * @return an upper bound on the number of times key has been counted, if it is monitored, else zero.
+     */
+    public Long get(Key key) {
+        return count(key);
+    }
+
+    /**
+     * @param key the key.
+     * @return an upper bound on the number of times key has been counted, if it is monitored, else zero.
+     */
+    public long count(Key key) {
+        int slot = slots.getOrDefault(key, -1);
+        return slot >= 0 ? counts[slot] : 0L;
+    }
+
+    /**
+     * @param key the key.
+     * @return the maximum over-estimate of the count of key (if it is monitored), else zero.
+     */
+    public long error(Key key) {
+        int slot = slots.getOrDefault(key, -1);
+        return slot >= 0 ? errors[slot] : 0L;
+    }
+
+    /**
+     * @return the set of monitored keys.
+     */
+    public Set<Key> keys() {
+        Set<Key> result = new HashSet<>();
+        for (int i = 0; i < used; i++) result.add(keys[i]);
+        return result;
+    }
+
+    /**
+     * @return the total of all counts.
+     */
+    public long total() {
+        return total;
+    }
+
+    /**
+     * Method to get the monitored keys, in descending order of count.
+     *
+     * @return a list of at most k (key, count) pairs.
+     */
+    public List<Map.Entry<Key, Long>> topK() {
+        List<Map.Entry<Key, Long>> result = new ArrayList<>(used);
+        for (int i = 0; i < used; i++) result.add(new AbstractMap.SimpleImmutableEntry<>(keys[i], counts[i]));
+        result.sort(Map.Entry.<Key, Long>comparingByValue().reversed());
+        return result;
+    }
+
+    /**
+     * Merge another summary into this one.
+     * A key which is not monitored by one of the summaries is assumed to have the minimum count of that summary
+     * (or zero if it is not full) so that the merged counts remain upper bounds.
+     * The k keys with the greatest merged counts are retained.
+     *
+     * @param other another summary (with any number of counters).
+     */
+    public void merge(SpaceSaving<Key> other) {
+        long min1 = used == k ? counts[heap[0]] : 0L;
+        long min2 = other.used == other.k ? other.counts[other.heap[0]] : 0L;
+        List<Key> merged = new ArrayList<>(keys());
+        for (Key key : other.keys()) if (!slots.containsKey(key)) merged.add(key);
+        List<Map.Entry<Key, long[]>> entries = new ArrayList<>(merged.size());
+        for (Key key : merged) {
+            int s1 = slots.getOrDefault(key, -1), s2 = other.slots.getOrDefault(key, -1);
+            long count = (s1 >= 0 ? counts[s1] : min1) + (s2 >= 0 ? other.counts[s2] : min2);
+            long error = (s1 >= 0 ? errors[s1] : min1) + (s2 >= 0 ? other.errors[s2] : min2);
+            entries.add(new AbstractMap.SimpleImmutableEntry<>(key, new long[]{count, error}));
+        }
+        entries.sort((e1, e2) -> Long.compare(e2.getValue()[0], e1.getValue()[0]));
+        for (int i = 0; i < used; i++) {
+            slots.removeKey(keys[i]);
+            keys[i] = null;
+        }
+        used = 0;
+        for (Map.Entry<Key, long[]> e : entries.subList(0, Math.min(k, entries.size()))) {
+            long[] ce = e.getValue();
+            monitor(used++, e.getKey(), ce[1], ce[0]);
+        }
+        total += other.total;
+    }
+
+    @Override
+    public String toString() {
+        return "SpaceSaving{k=" + k + ", total=" + total + ", top=" + topK() + "}";
+    }
+
+    /**
+     * Monitor key in slot (which must be the next unused slot) with the given error and count,
+     * adding it at the bottom of the heap.
+     */
+    private void monitor(int slot, Key key, long error, long count) {
+        keys[slot] = key;
+        errors[slot] = error;
+        slots.putInt(key, slot);
+        counts[slot] = count;
+        heap[slot] = slot;
+        position[slot] = slot;
+        swim(slot);
+    }
+
+    /**
+     * Move the slot at heap position i up towards the root until its parent's count is no greater.
+     */
+    private void swim(int i) {
+        int slot = heap[i];
+        long count = counts[slot];
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (counts[heap[parent]] <= count) break;
+            place(heap[parent], i);
+            i = parent;
+        }
+        place(slot, i);
+    }
+
+    /**
+     * Move the slot at heap position i down (after its count has increased) until neither child's count is smaller.
+     */
+    private void sink(int i) {
+        int slot = heap[i];
+        long count = counts[slot];
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= used) break;
+            if (child + 1 < used && counts[heap[child + 1]] < counts[heap[child]]) child++;
+            if (counts[heap[child]] >= count) break;
+            place(heap[child], i);
+            i = child;
+        }
+        place(slot, i);
+    }
+
+    private void place(int slot, int i) {
+        heap[i] = slot;
+        position[slot] = i;
+    }
+
+    private final int k;
+    private final long[] counts; // counts[i] is the count for keys[i]
+    private final int[] heap; // a binary min-heap of slots (ordered by count) in heap[0..used-1]
+    private final int[] position; // position[i] is the index of slot i in heap
+    private final ObjectIntMap<Key> slots; // the inverse of keys
+    private final Key[] keys;
+    private final long[] errors; // errors[i] is the maximum over-estimate of the count for keys[i]
+    private int used; // the number of counters in use
+    private long total;
+}
@@ -0,0 +1,247 @@
+/*
+ * Copyright (c) 2017. Phasmid Software
+ */
+
+package edu.neu.coe.info6205.pq;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Priority Queue Data Structure which uses a d-ary heap (by default, d = 4).
+ * <p>
+ * Compared with the binary heap of PriorityQueue, a 4-ary heap is half as deep,
+ * and the children of a node are adjacent in memory, so that take (which compares all the children at each level)
+ * touches far fewer cache lines.
+ * <p>
+ * Unlike PriorityQueue, the heap starts at index 0 (no element is reserved)
+ * and the capacity grows (and shrinks) automatically.
+ * A heap may be built from an existing array in linear time by bottom-up heapify: see {@link #heapify}.
+ * <p>
+ * Like PriorityQueue, it can serve as a minPQ or a maxPQ (define "max" as either false or true, respectively).
+ *
+ * @param <K> the type of the keys.
+ */
+public class DAryHeap<K> implements PQ<K> {
+
+    /**
+     * Basic constructor.
+     *
+     * @param d          the arity of the heap (at least 2).
+     * @param n          the initial capacity.
+     * @param max        whether or not this is a Maximum Priority Queue as opposed to a Minimum PQ.
+     * @param comparator a comparator for the type K
+     */
+    public DAryHeap(int d, int n, boolean max, Comparator<K> comparator) {
+        this(d, max, new Object[Math.max(n, MIN_CAPACITY)], 0, comparator);
+    }
+
+    /**
+     * Constructor for a 4-ary heap.
+     *
+     * @param n          the initial capacity.
+     * @param max        whether or not this is a Maximum Priority Queue as opposed to a Minimum PQ.
+     * @param comparator a comparator for the type K
+     */
+    public DAryHeap(int n, boolean max, Comparator<K> comparator) {
+        this(4, n, max, comparator);
+    }
+
+    /**
+     * Method to build a d-ary heap from the given keys in linear time (bottom-up heapify).
+     * The keys are copied so that the array is not altered.
+     *
+     * @param d          the arity of the heap (at least 2).
+     * @param keys       the keys.
+     * @param max        whether or not this is a Maximum Priority Queue as opposed to a Minimum PQ.
+     * @param comparator a comparator for the type K
+     * @param <K>        the type of the keys.
+     * @return a new DAryHeap containing all of the keys.
+     */
+    public static <K> DAryHeap<K> heapify(int d, K[] keys, boolean max, Comparator<K> comparator) {
+        Object[] heap = Arrays.copyOf(keys, Math.max(keys.length, MIN_CAPACITY), Object[].class);
+        DAryHeap<K> result = new DAryHeap<>(d, max, heap, keys.length, comparator);
+        for (int i = result.parent(keys.length - 1); i >= 0; i--) result.sink(i);
+        return result;
+    }
+
+    /**
+     * Method to build a 4-ary heap from the given keys in linear time (bottom-up heapify).
+     *
+     * @param keys       the keys.
+     * @param max        whether or not this is a Maximum Priority Queue as opposed to a Minimum PQ.
+     * @param comparator a comparator for the type K
+     * @param <K>        the type of the keys.
+     * @return a new DAryHeap containing all of the keys.
+     */
+    public static <K> DAryHeap<K> heapify(K[] keys, boolean max, Comparator<K> comparator) {
+        return heapify(4, keys, max, comparator);
+    }
+
+    /**
+     * @return true if the current size is zero.
+     */
+    public boolean isEmpty() {
+        return n == 0;
+    }
+
+    /**
+     * @return the number of elements actually stored in this Priority Queue
+     */
+    public int size() {
+        return n;
+    }
+
+    /**
+     * Insert an element with the given key into this Priority Queue.
+     * If the heap is full, its capacity is doubled.
+     *
+     * @param key the value of the key to give
+     */
+    public void give(K key) {
+        if (n == heap.length) resize(2 * heap.length);
+        modCount++;
+        swimUp(n++, key);
+    }
+
+    /**
+     * Remove the root element from this Priority Queue and adjust the heap accordingly.
+     * If max is true, then the result will be the maximum element, else the minimum element.
+     * If the heap becomes one quarter full, its capacity is halved.
+     *
+     * @return If max is true, then the maximum element, otherwise the minimum element.
+     * @throws PQException if this priority queue is empty
+     */
+    public K take() throws PQException {
+        K result = peek();
+        modCount++;
+        K x = heap[--n];
+        heap[n] = null; // prevent loitering
+        if (n > 0) sink(0, x);
+        if (n > MIN_CAPACITY && n == heap.length / 4) resize(heap.length / 2);
+        return result;
+    }
+
+    /**
+     * Yield (but don't remove) the root element.
+     *
+     * @return If max is true, then the maximum element, otherwise the minimum element.
+     * @throws PQException if this priority queue is empty
+     */
+    public K peek() throws PQException {
+        if (isEmpty()) throw new PQException("Priority queue is empty");
+        return heap[0];
+    }
+
+    /**
+     * Method to yield an iterator over the elements of this heap in heap order (not in priority order).
+     *
+     * @return an iterator which fails fast if the heap is modified during iteration.
+     */
+    @Override
+    public Iterator<K> iterator() {
+        return new Iterator<K>() {
+            public boolean hasNext() {
+                return i < n;
+            }
+
+            public K next() {
+                if (modCount != expectedModCount) throw new ConcurrentModificationException();
+                if (!hasNext()) throw new NoSuchElementException();
+                return heap[i++];
+            }
+
+            private int i = 0;
+            private final int expectedModCount = modCount;
+        };
+    }
+
+    private DAryHeap(int d, boolean max, Object[] heap, int n, Comparator<K> comparator) {
+        if (d < 2) throw new IllegalArgumentException("arity must be at least 2: " + d);
+        this.d = d;
+        this.max = max;
+        this.comparator = comparator;
+        this.n = n;
+        //noinspection unchecked
+        this.heap = (K[]) heap;
+    }
+
+    /**
+     * Sink the element at index k down (used by heapify).
+     */
+    private void sink(int k) {
+        sink(k, heap[k]);
+    }
+
+    /**
+     * Sink the key x down from the hole at index k.
+     * Rather than swapping at each level, we move the best child up into the hole and write x once at the end.
+     */
+    private void sink(int k, K x) {
+        int i = k;
+        while (true) {
+            int j = firstChild(i);
+            if (j >= n) break;
+            int best = j;
+            int limit = Math.min(j + d, n);
+            for (int c = j + 1; c < limit; c++) if (higher(heap[c], heap[best])) best = c;
+            if (!higher(heap[best], x)) break;
+            heap[i] = heap[best];
+            i = best;
+        }
+        heap[i] = x;
+    }
+
+    /**
+     * Swim the key x up from the hole at index k.
+     */
+    private void swimUp(int k, K x) {
+        int i = k;
+        while (i > 0) {
+            int p = parent(i);
+            if (!higher(x, heap[p])) break;
+            heap[i] = heap[p];
+            i = p;
+        }
+        heap[i] = x;
+    }
+
+    /**
+     * @return true if x is strictly more eligible than y (greater for a maxPQ, smaller for a minPQ).
+     */
+    private boolean higher(K x, K y) {
+        int cf = comparator.compare(x, y);
+        return max ? cf > 0 : cf < 0;
+    }
+
+    private void resize(int capacity) {
+        heap = Arrays.copyOf(heap, capacity);
+    }
+
+    /**
+     * Get the index of the parent of the element at index k
+     */
+    private int parent(int k) {
+        return (k - 1) / d;
+    }
+
+    /**
+     * Get the index of the first child of the element at index k.
+     * The other children follow it immediately.
+     */
+    private int firstChild(int k) {
+        return d * k + 1;
+    }
+
+    private static final int MIN_CAPACITY = 16;
+
+    private final int d;
+    private final boolean max;
+    private final Comparator<K> comparator;
+    private K[] heap; // heap[i] is ith element of the d-ary heap
+    private int n; // number of elements in the heap
+    private int modCount; // number of structural modifications, for fail-fast iteration
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2017. Phasmid Software
+ */
+
+package edu.neu.coe.info6205.pq;
+
+import java.util.Arrays;
+
+/**
+ * Priority Queue which is keyed by primitive double priorities, each of which carries an int value
+ * (typically a vertex number, a job id or a handle into some other array).
+ * <p>
+ * The priorities and values are held in parallel primitive arrays which form a 4-ary heap (see DAryHeap),
+ * so that no operation allocates (other than when the arrays grow) and no Comparator is required.
+ * <p>
+ * Like PriorityQueue, it can serve as a minPQ or a maxPQ (define "max" as either false or true, respectively).
+ * NOTE that priorities are compared with the primitive comparison operators, so a NaN priority will not be ordered.
+ */
+public class DoublePriorityQueue {
+
+    /**
+     * Constructor.
+     *
+     * @param n   the initial capacity (the capacity grows automatically).
+     * @param max whether or not this is a Maximum Priority Queue as opposed to a Minimum PQ.
+     */
+    public DoublePriorityQueue(int n, boolean max) {
+        int capacity = Math.max(n, 16);
+        priorities = new double[capacity];
+        values = new int[capacity];
+        this.max = max;
+    }
+
+    /**
+     * @return true if the current size is zero.
+     */
+    public boolean isEmpty() {
+        return n == 0;
+    }
+
+    /**
+     * @return the number of elements actually stored in this Priority Queue
+     */
+    public int size() {
+        return n;
+    }
+
+    /**
+     * Remove all elements.
+     */
+    public void clear() {
+        n = 0;
+    }
+
+    /**
+     * Insert a value with the given priority into this Priority Queue.
+     *
+     * @param priority the priority.
+     * @param value    the value.
+     */
+    public void give(double priority, int value) {
+        if (n == priorities.length) {
+            priorities = Arrays.copyOf(priorities, 2 * n);
+            values = Arrays.copyOf(values, 2 * n);
+        }
+        int i = n++;
+        while (i > 0) {
+            int p = (i - 1) >>> 2;
+            if (!higher(priority, priorities[p])) break;
+            priorities[i] = priorities[p];
+            values[i] = values[p];
+            i = p;
+        }
+        priorities[i] = priority;
+        values[i] = value;
+    }
+
+    /**
+     * Remove the root element from this Priority Queue.
+     * If you need its priority, call {@link #peekPriority()} first.
+     *
+     * @return the value of the element with the maximum priority (if max is true), otherwise the minimum priority.
+     * @throws PQException if this priority queue is empty
+     */
+    public int take() throws PQException {
+        int result = peekValue();
+        double priority = priorities[--n];
+        int value = values[n];
+        int i = 0;
+        while (true) {
+            int j = (i << 2) + 1;
+            if (j >= n) break;
+            int best = j;
+            int limit = Math.min(j + 4, n);
+            for (int c = j + 1; c < limit; c++) if (higher(priorities[c], priorities[best])) best = c;
+            if (!higher(priorities[best], priority)) break;
+            priorities[i] = priorities[best];
+            values[i] = values[best];
+            i = best;
+        }
+        priorities[i] = priority;
+        values[i] = value;
+        return result;
+    }
+
+    /**
+     * @return the value of the root element.
+     * @throws PQException if this priority queue is empty
+     */
+    public int peekValue() throws PQException {
+        if (isEmpty()) throw new PQException("Priority queue is empty");
+        return values[0];
+    }
+
+    /**
+     * @return the priority of the root element.
+     * @throws PQException if this priority queue is empty
+     */
+    public double peekPriority() throws PQException {
+        if (isEmpty()) throw new PQException("Priority queue is empty");
+        return priorities[0];
+    }
+
+    private boolean higher(double x, double y) {
+        return max ? x > y : x < y;
+    }
+
+    private final boolean max;
+    private double[] priorities; // priorities[i] is the priority of the ith element of the 4-ary heap
+    private int[] values; // values[i] is the value of the ith element of the 4-ary heap
+    private int n; // number of elements in the heap
+}
@@ -0,0 +1,348 @@
+/*
+ * Copyright (c) 2017. Phasmid Software
+ */
+
+package edu.neu.coe.info6205.pq;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Indexed Priority Queue which uses a binary heap of handles (non-negative integers).
+ * <p>
+ * Each key in the queue is associated with a handle, either chosen by the caller (see {@link #insert(int, Object)})
+ * or allocated by the queue (see {@link #add(Object)}).
+ * Given its handle, a key can be changed (see {@link #decreaseKey}, {@link #increaseKey}, {@link #changeKey})
+ * or removed (see {@link #delete(int)}) in logarithmic time.
+ * This is what Dijkstra's and Prim's algorithms require.
+ * <p>
+ * It follows the code for IndexMinPQ from Sedgewick and Wayne more or less,
+ * but, like PriorityQueue, it can serve as a minPQ or a maxPQ (define "max" as either false or true, respectively),
+ * and the range of handles grows automatically.
+ * <p>
+ * A handle which is released (by {@link #take}, {@link #takeHandle} or {@link #delete}) is kept on a free list,
+ * from which {@link #add(Object)} allocates before it extends the range of handles:
+ * the range therefore grows with the largest number of keys held at once, not with the total number of insertions.
+ * A handle is thus unique only while its key is in the queue.
+ * <p>
+ * An invalid handle (negative, or not/already in the queue as appropriate) results in an IllegalArgumentException.
+ *
+ * @param <K> the type of the keys.
+ */
+public class IndexedPriorityQueue<K> implements PQ<K> {
+
+    /**
+     * Basic constructor.
+     *
+     * @param n          the initial range of handles (0 through n-1).
+     * @param max        whether or not this is a Maximum Priority Queue as opposed to a Minimum PQ.
+     * @param comparator a comparator for the type K
+     */
+    public IndexedPriorityQueue(int n, boolean max, Comparator<K> comparator) {
+        this.max = max;
+        this.comparator = comparator;
+        int capacity = Math.max(n, 1);
+        //noinspection unchecked
+        keys = (K[]) new Object[capacity];
+        pq = new int[capacity + 1];
+        qp = new int[capacity];
+        Arrays.fill(qp, -1);
+        free = new int[capacity];
+    }
+
+    /**
+     * @return true if the current size is zero.
+     */
+    public boolean isEmpty() {
+        return last == 0;
+    }
+
+    /**
+     * @return the number of elements actually stored in this Priority Queue
+     */
+    public int size() {
+        return last;
+    }
+
+    /**
+     * @param i a handle.
+     * @return true if i is the handle of a key in this Priority Queue.
+     */
+    public boolean contains(int i) {
+        return i >= 0 && i < qp.length && qp[i] > 0;
+    }
+
+    /**
+     * Insert a key with the given handle into this Priority Queue.
+     *
+     * @param i   the handle (which must not currently be in use).
+     * @param key the value of the key to insert.
+     * @throws IllegalArgumentException if i is negative or is already in this Priority Queue.
+     */
+    public void insert(int i, K key) {
+        if (i < 0) throw new IllegalArgumentException("handle must not be negative: " + i);
+        if (contains(i)) throw new IllegalArgumentException("handle " + i + " is already in the priority queue");
+        if (i >= qp.length) resize(Math.max(i + 1, 2 * qp.length));
+        if (qp[i] == FREE) unlist(i);
+        qp[i] = ++last;
+        pq[last] = i;
+        keys[i] = key;
+        if (i >= nextHandle) nextHandle = i + 1;
+        swimUp(last);
+    }
+
+    /**
+     * Insert a key into this Priority Queue, allocating a handle for it:
+     * the most recently released handle, if any, otherwise the lowest handle which has never been used.
+     *
+     * @param key the value of the key to insert.
+     * @return the handle of the key.
+     */
+    public int add(K key) {
+        int i = freeCount > 0 ? free[freeCount - 1] : nextHandle;
+        insert(i, key);
+        return i;
+    }
+
+    /**
+     * Insert an element with the given key into this Priority Queue.
+     *
+     * @param key the value of the key to give
+     */
+    public void give(K key) {
+        add(key);
+    }
+
+    /**
+     * Remove the root element from this Priority Queue.
+     *
+     * @return If max is true, then the maximum element, otherwise the minimum element.
+     * @throws PQException if this priority queue is empty
+     */
+    public K take() throws PQException {
+        int i = takeHandle();
+        K result = keys[i];
+        keys[i] = null; // prevent loitering
+        return result;
+    }
+
+    /**
+     * Remove the root element from this Priority Queue and yield its handle.
+     *
+     * @return the handle of the maximum element (if max is true), otherwise of the minimum element.
+     * @throws PQException if this priority queue is empty
+     */
+    public int takeHandle() throws PQException {
+        int result = peekHandle();
+        remove(result);
+        return result;
+    }
+
+    /**
+     * @return the handle of the root element.
+     * @throws PQException if this priority queue is empty
+     */
+    public int peekHandle() throws PQException {
+        if (isEmpty()) throw new PQException("Priority queue is empty");
+        return pq[1];
+    }
+
+    /**
+     * @param i a handle.
+     * @return the key associated with i.
+     * @throws IllegalArgumentException if i is not in this Priority Queue.
+     */
+    public K keyOf(int i) {
+        validate(i);
+        return keys[i];
+    }
+
+    /**
+     * Change the key associated with handle i to a key which is no greater than the current key.
+     *
+     * @param i   the handle.
+     * @param key the new key.
+     * @throws IllegalArgumentException if i is not in this Priority Queue or if key is greater than the current key.
+     */
+    public void decreaseKey(int i, K key) {
+        validate(i);
+        if (comparator.compare(key, keys[i]) > 0)
+            throw new IllegalArgumentException("decreaseKey: " + key + " is greater than " + keys[i]);
+        keys[i] = key;
+        if (max) sink(qp[i]);
+        else swimUp(qp[i]);
+    }
+
+    /**
+     * Change the key associated with handle i to a key which is no less than the current key.
+     *
+     * @param i   the handle.
+     * @param key the new key.
+     * @throws IllegalArgumentException if i is not in this Priority Queue or if key is less than the current key.
+     */
+    public void increaseKey(int i, K key) {
+        validate(i);
+        if (comparator.compare(key, keys[i]) < 0)
+            throw new IllegalArgumentException("increaseKey: " + key + " is less than " + keys[i]);
+        keys[i] = key;
+        if (max) swimUp(qp[i]);
+        else sink(qp[i]);
+    }
+
+    /**
+     * Change the key associated with handle i.
+     *
+     * @param i   the handle.
+     * @param key the new key.
+     * @throws IllegalArgumentException if i is not in this Priority Queue.
+     */
+    public void changeKey(int i, K key) {
+        validate(i);
+        keys[i] = key;
+        swimUp(qp[i]);
+        sink(qp[i]);
+    }
+
+    /**
+     * Remove the key associated with handle i.
+     *
+     * @param i the handle.
+     * @return the key which was removed.
+     * @throws IllegalArgumentException if i is not in this Priority Queue.
+     */
+    public K delete(int i) {
+        validate(i);
+        K result = keys[i];
+        remove(i);
+        keys[i] = null; // prevent loitering
+        return result;
+    }
+
+    /**
+     * Method to yield an iterator over the keys of this Priority Queue in heap order (not in priority order).
+     *
+     * @return an iterator.
+     */
+    @Override
+    public Iterator<K> iterator() {
+        return new Iterator<K>() {
+            public boolean hasNext() {
+                return k <= last;
+            }
+
+            public K next() {
+                if (!hasNext()) throw new NoSuchElementException();
+                return keys[pq[k++]];
+            }
+
+            private int k = 1;
+        };
+    }
+
+    /**
+     * Remove handle i from the heap, leaving its key in place (the caller is responsible for that),
+     * and put it on the free list.
+     */
+    private void remove(int i) {
+        int k = qp[i];
+        swap(k, last--);
+        if (k <= last) {
+            swimUp(k);
+            sink(k);
+        }
+        qp[i] = FREE;
+        free[freeCount++] = i;
+        pq[last + 1] = -1;
+    }
+
+    /**
+     * Take handle i (which is on the free list) off the free list.
+     * Unless i was the most recently released handle, this is linear in the length of the free list,
+     * but it is needed only when a caller chooses (by insert) a handle which was released.
+     */
+    private void unlist(int i) {
+        int k = freeCount - 1;
+        while (free[k] != i) k--;
+        System.arraycopy(free, k + 1, free, k, freeCount - 1 - k);
+        freeCount--;
+        qp[i] = -1;
+    }
+
+    private void validate(int i) {
+        if (!contains(i)) throw new IllegalArgumentException("handle " + i + " is not in the priority queue");
+    }
+
+    private void resize(int capacity) {
+        int old = qp.length;
+        keys = Arrays.copyOf(keys, capacity);
+        pq = Arrays.copyOf(pq, capacity + 1);
+        qp = Arrays.copyOf(qp, capacity);
+        Arrays.fill(qp, old, capacity, -1);
+        free = Arrays.copyOf(free, capacity);
+    }
+
+    /**
+     * Sink the element at heap index k down
+     */
+    private void sink(int k) {
+        int i = k;
+        while (firstChild(i) <= last) {
+            int j = firstChild(i);
+            if (j < last && unordered(j, j + 1)) j++;
+            if (!unordered(i, j)) break;
+            swap(i, j);
+            i = j;
+        }
+    }
+
+    /**
+     * Swim the element at heap index k up
+     */
+    private void swimUp(int k) {
+        int i = k;
+        while (i > 1 && unordered(parent(i), i)) {
+            swap(i, parent(i));
+            i = parent(i);
+        }
+    }
+
+    /**
+     * Exchange the handles at heap indices i and j, keeping the inverse map up to date.
+     */
+    private void swap(int i, int j) {
+        int tmp = pq[i];
+        pq[i] = pq[j];
+        pq[j] = tmp;
+        qp[pq[i]] = i;
+        qp[pq[j]] = j;
+    }
+
+    /**
+     * Compare the elements at heap indices i and j (see PriorityQueue.unordered).
+     */
+    private boolean unordered(int i, int j) {
+        return (comparator.compare(keys[pq[i]], keys[pq[j]]) > 0) ^ max;
+    }
+
+    private int parent(int k) {
+        return k / 2;
+    }
+
+    private int firstChild(int k) {
+        return k * 2;
+    }
+
+    private final boolean max;
+    private final Comparator<K> comparator;
+    private K[] keys; // keys[i] is the key associated with handle i
+    private int[] pq; // pq[k] is the handle at index k of the binary heap (first element is reserved)
+    private int[] qp; // qp[i] is the heap index of handle i (or -1 or FREE if i is not in the queue): the inverse of pq
+    private int last; // number of elements in the binary heap
+    private int nextHandle; // the lowest handle which has never been used
+    private int[] free; // free[0..freeCount-1] is the stack of released handles (each of which has qp == FREE)
+    private int freeCount;
+
+    private static final int FREE = -2; // the value of qp[i] if i is on the free list
+}
@@ -0,0 +1,243 @@
+/*
+ * Copyright (c) 2017. Phasmid Software
+ */
+
+package edu.neu.coe.info6205.pq;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Concurrent (relaxed) Priority Queue which may be shared between many producer and consumer threads.
+ * <p>
+ * This is a MultiQueue: the elements are striped across several shards, each of which is a DAryHeap protected by its own lock.
+ * The method give inserts into a randomly chosen shard whose lock is free.
+ * The methods take and poll look at the roots of two randomly chosen shards and remove from the better of the two.
+ * Thus the element removed is not necessarily the most eligible element in the whole queue,
+ * but it is very likely to be among the most eligible, and no global lock is ever taken.
+ * <p>
+ * Like PriorityQueue, it can serve as a minPQ or a maxPQ (define "max" as either false or true, respectively).
+ * Keys may not be null.
+ *
+ * @param <K> the type of the keys.
+ */
+public class MultiQueue<K> implements PQ<K> {
+
+    /**
+     * Constructor.
+     *
+     * @param shards     the number of shards (typically a small multiple of the number of threads).
+     * @param max        whether or not this is a Maximum Priority Queue as opposed to a Minimum PQ.
+     * @param comparator a comparator for the type K
+     */
+    public MultiQueue(int shards, boolean max, Comparator<K> comparator) {
+        if (shards < 2) throw new IllegalArgumentException("there must be at least two shards: " + shards);
+        this.max = max;
+        this.comparator = comparator;
+        @SuppressWarnings({"unchecked", "rawtypes"}) Shard<K>[] array = (Shard<K>[]) new Shard[shards];
+        this.shards = array;
+        for (int i = 0; i < shards; i++) this.shards[i] = new Shard<>(new DAryHeap<>(16, max, comparator));
+    }
+
+    /**
+     * Constructor which uses two shards for each available processor.
+     *
+     * @param max        whether or not this is a Maximum Priority Queue as opposed to a Minimum PQ.
+     * @param comparator a comparator for the type K
+     */
+    public MultiQueue(boolean max, Comparator<K> comparator) {
+        this(2 * Runtime.getRuntime().availableProcessors(), max, comparator);
+    }
+
+    /**
+     * NOTE that, while other threads are giving or taking, this value is only a snapshot.
+     *
+     * @return true if the current size is zero.
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * NOTE that, while other threads are giving or taking, this value is only a snapshot.
+     *
+     * @return the number of elements actually stored in this Priority Queue
+     */
+    public int size() {
+        return count.get();
+    }
+
+    /**
+     * Insert an element with the given key into this Priority Queue.
+     *
+     * @param key the value of the key to give (may not be null)
+     */
+    public void give(K key) {
+        if (key == null) throw new IllegalArgumentException("key may not be null");
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Shard<K> shard;
+        do shard = shards[random.nextInt(shards.length)];
+        while (!shard.lock.tryLock());
+        try {
+            shard.heap.give(key);
+            shard.updateTop();
+            // NOTE that we count the key while holding the lock so that it cannot be taken before it has been counted.
+            count.incrementAndGet();
+        } finally {
+            shard.lock.unlock();
+        }
+    }
+
+    /**
+     * Remove a highly eligible element from this Priority Queue.
+     *
+     * @return an element which is likely to be among the maximum elements (if max is true), otherwise the minimum elements.
+     * @throws PQException if this priority queue is empty
+     */
+    public K take() throws PQException {
+        K result = poll(true);
+        if (result == null) throw new PQException("Priority queue is empty");
+        return result;
+    }
+
+    /**
+     * Non-blocking version of take.
+     * It never waits for the lock of a shard, so under heavy contention it may yield null
+     * although elements are present (in shards which remained busy throughout).
+     *
+     * @return an element which is likely to be among the maximum elements (if max is true), otherwise the minimum elements;
+     * or null if this priority queue is empty (or all of its non-empty shards are busy).
+     */
+    public K poll() {
+        return poll(false);
+    }
+
+    /**
+     * @param block whether to wait for the lock of each shard in the final scan (otherwise busy shards are skipped).
+     * @return an element, or null (see poll and take).
+     */
+    private K poll(boolean block) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int attempt = 0; attempt < shards.length; attempt++) {
+            Shard<K> a = shards[random.nextInt(shards.length)];
+            Shard<K> b = shards[random.nextInt(shards.length)];
+            K x = a.top, y = b.top;
+            if (x == null && y == null) {
+                if (count.get() == 0) return null;
+                continue;
+            }
+            Shard<K> shard = y == null || (x != null && !higher(y, x)) ? a : b;
+            if (shard.lock.tryLock()) {
+                try {
+                    K result = shard.poll();
+                    if (result != null) {
+                        count.decrementAndGet();
+                        return result;
+                    }
+                } finally {
+                    shard.lock.unlock();
+                }
+            }
+        }
+        // We have been unlucky (or the queue is nearly empty): scan all of the shards in turn.
+        for (int scan = 0; scan < SCANS; scan++) {
+            boolean busy = false;
+            for (Shard<K> shard : shards) {
+                if (block) shard.lock.lock();
+                else if (!shard.lock.tryLock()) {
+                    busy = true;
+                    continue;
+                }
+                try {
+                    K result = shard.poll();
+                    if (result != null) {
+                        count.decrementAndGet();
+                        return result;
+                    }
+                } finally {
+                    shard.lock.unlock();
+                }
+            }
+            if (!busy || count.get() == 0) break;
+        }
+        return null;
+    }
+
+    /**
+     * Method to yield an iterator over a snapshot of the elements in this Priority Queue (in no particular order).
+     * Each shard is locked only while it is being copied, so the snapshot is weakly consistent.
+     *
+     * @return an iterator.
+     */
+    @Override
+    public Iterator<K> iterator() {
+        List<K> result = new ArrayList<>(size());
+        for (Shard<K> shard : shards) {
+            shard.lock.lock();
+            try {
+                for (K k : shard.heap) result.add(k);
+            } finally {
+                shard.lock.unlock();
+            }
+        }
+        return result.iterator();
+    }
+
+    private boolean higher(K x, K y) {
+        int cf = comparator.compare(x, y);
+        return max ? cf > 0 : cf < 0;
+    }
+
+    private static class Shard<K> {
+        Shard(DAryHeap<K> heap) {
+            this.heap = heap;
+        }
+
+        /**
+         * Remove the root of the heap (the caller must hold the lock).
+         *
+         * @return the root, or null if the heap is empty.
+         */
+        K poll() {
+            if (heap.isEmpty()) return null;
+            try {
+                K result = heap.take();
+                updateTop();
+                return result;
+            } catch (PQException e) {
+                throw new RuntimeException("logic error: heap should not be empty", e);
+            }
+        }
+
+        /**
+         * Publish the root of the heap so that other threads can choose a shard without taking its lock
+         * (the caller must hold the lock).
+         */
+        void updateTop() {
+            try {
+                top = heap.isEmpty() ? null : heap.peek();
+            } catch (PQException e) {
+                throw new RuntimeException("logic error: heap should not be empty", e);
+            }
+        }
+
+        final ReentrantLock lock = new ReentrantLock();
+        final DAryHeap<K> heap;
+        volatile K top;
+    }
+
+    /**
+     * The number of times that poll scans the shards while some of them are busy, before it gives up.
+     */
+    private static final int SCANS = 4;
+
+    private final boolean max;
+    private final Comparator<K> comparator;
+    private final Shard<K>[] shards;
+    private final AtomicInteger count = new AtomicInteger();
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright (c) 2017. Phasmid Software
+ */
+
+package edu.neu.coe.info6205.pq;
+
+/**
+ * Interface which is common to the priority queues in this package.
+ * <p>
+ * As in PriorityQueue, the methods to insert and remove the max (or min) element are called "give" and "take," respectively.
+ *
+ * @param <K> the type of the keys.
+ */
+public interface PQ<K> extends Iterable<K> {
+
+    /**
+     * @return true if the current size is zero.
+     */
+    boolean isEmpty();
+
+    /**
+     * @return the number of elements actually stored in this Priority Queue
+     */
+    int size();
+
+    /**
+     * Insert an element with the given key into this Priority Queue.
+     *
+     * @param key the value of the key to give
+     */
+    void give(K key);
+
+    /**
+     * Remove the most eligible element from this Priority Queue.
+     *
+     * @return the maximum element (for a maxPQ) or the minimum element (for a minPQ).
+     * @throws PQException if this priority queue is empty
+     */
+    K take() throws PQException;
+}
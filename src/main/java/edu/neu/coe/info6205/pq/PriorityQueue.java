@@ -17,7 +17,7 @@ import java.util.*;
  *
  * @param <K>
  */
-public class PriorityQueue<K> implements Iterable<K> {
+public class PriorityQueue<K> implements PQ<K> {
 
     /**
      * Basic constructor that takes the max value, an actually array of elements, and a comparator.
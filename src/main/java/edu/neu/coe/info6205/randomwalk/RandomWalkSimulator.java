@@ -0,0 +1,310 @@
+/*
+ * Copyright (c) 2017. Phasmid Software
+ */
+
+package edu.neu.coe.info6205.randomwalk;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Parallel Monte-Carlo simulation of random walks on a 1-, 2- or 3-dimensional lattice, where each step
+ * moves one unit, in one of the 2d directions, with equal probability.
+ * <p>
+ * The walks are divided between the tasks of a ForkJoinPool, each of which has its own SplittableRandom
+ * (split from its parent's), so that the results depend only on the seed, and not on the scheduling of the tasks.
+ * A very long walk is itself divided into segments, whose displacements are simply added.
+ * <p>
+ * The random bits are used in bulk: in one dimension, one nextLong drives 64 steps, and in two dimensions 32 steps
+ * (one bit choosing the axis and one the direction), and the displacement is found by counting bits,
+ * without a loop over the steps. In three dimensions, each step takes three bits (of which two values out of eight are rejected).
+ * <p>
+ * The distance from the origin of each walk is accumulated, as it is found, into Statistics (mean and variance),
+ * so that no distances are stored.
+ */
+public class RandomWalkSimulator {
+
+    /**
+     * Constructor.
+     *
+     * @param dimensions the number of dimensions of the lattice (1, 2 or 3).
+     * @param seed       the seed of the random number generator.
+     */
+    public RandomWalkSimulator(int dimensions, long seed) {
+        this(dimensions, new SplittableRandom(seed));
+    }
+
+    /**
+     * Constructor with an arbitrary seed.
+     *
+     * @param dimensions the number of dimensions of the lattice (1, 2 or 3).
+     */
+    public RandomWalkSimulator(int dimensions) {
+        this(dimensions, new SplittableRandom());
+    }
+
+    private RandomWalkSimulator(int dimensions, SplittableRandom random) {
+        if (dimensions < 1 || dimensions > 3) throw new IllegalArgumentException("dimensions must be 1, 2 or 3: " + dimensions);
+        this.dimensions = dimensions;
+        this.random = random;
+    }
+
+    /**
+     * Simulate n walks of m steps each, using pool.
+     *
+     * @param m    the number of steps of each walk.
+     * @param n    the number of walks.
+     * @param pool the pool.
+     * @return the Statistics of the distances of the walks from the origin.
+     */
+    public Statistics simulate(long m, int n, ForkJoinPool pool) {
+        if (m < 0 || n < 0) throw new IllegalArgumentException("m and n may not be negative: " + m + ", " + n);
+        return pool.invoke(new WalksTask(m, 0, n, random.split()));
+    }
+
+    /**
+     * Simulate n walks of m steps each, using the common pool.
+     *
+     * @param m the number of steps of each walk.
+     * @param n the number of walks.
+     * @return the Statistics of the distances of the walks from the origin.
+     */
+    public Statistics simulate(long m, int n) {
+        return simulate(m, n, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Streaming accumulator of the count, mean and variance of distances (by Welford's method),
+     * and of the mean of their squares.
+     * Two accumulators are merged by the method of Chan et al.
+     */
+    public static class Statistics {
+
+        /**
+         * Accumulate a distance.
+         *
+         * @param x the distance.
+         */
+        public void accept(double x) {
+            count++;
+            double delta = x - mean;
+            mean += delta / count;
+            m2 += delta * (x - mean);
+            sumOfSquares += x * x;
+        }
+
+        /**
+         * Merge other into this.
+         *
+         * @param other the other Statistics.
+         * @return this.
+         */
+        public Statistics merge(Statistics other) {
+            if (other.count == 0) return this;
+            long total = count + other.count;
+            double delta = other.mean - mean;
+            mean += delta * other.count / total;
+            m2 += other.m2 + delta * delta * count * other.count / total;
+            sumOfSquares += other.sumOfSquares;
+            count = total;
+            return this;
+        }
+
+        public long count() {
+            return count;
+        }
+
+        /**
+         * @return the mean distance.
+         */
+        public double mean() {
+            return count == 0 ? Double.NaN : mean;
+        }
+
+        /**
+         * @return the (sample) variance of the distance.
+         */
+        public double variance() {
+            return count < 2 ? Double.NaN : m2 / (count - 1);
+        }
+
+        public double standardDeviation() {
+            return Math.sqrt(variance());
+        }
+
+        /**
+         * @return the mean of the squares of the distances (whose expectation is the number of steps).
+         */
+        public double meanSquare() {
+            return count == 0 ? Double.NaN : sumOfSquares / count;
+        }
+
+        @Override
+        public String toString() {
+            return "Statistics{count=" + count + ", mean=" + mean() + ", standardDeviation=" + standardDeviation() +
+                    ", meanSquare=" + meanSquare() + '}';
+        }
+
+        private long count = 0;
+        private double mean = 0;
+        private double m2 = 0; // the sum of squared deviations from the mean
+        private double sumOfSquares = 0;
+    }
+
+    public static void main(String[] args) {
+        if (args.length == 0)
+            throw new RuntimeException("Syntax: RandomWalkSimulator steps [experiments [dimensions]]");
+        long m = Long.parseLong(args[0]);
+        int n = args.length > 1 ? Integer.parseInt(args[1]) : 30;
+        int d = args.length > 2 ? Integer.parseInt(args[2]) : 2;
+        long start = System.nanoTime();
+        Statistics statistics = new RandomWalkSimulator(d).simulate(m, n);
+        double seconds = (System.nanoTime() - start) / 1E9;
+        System.out.println(m + " steps in " + d + "D: " + statistics + " over " + n + " experiments in " + seconds + " secs (" +
+                m * n / seconds / 1E9 + " billion steps/sec)");
+    }
+
+    /**
+     * Task which simulates the walks numbered from..to-1.
+     */
+    private class WalksTask extends RecursiveTask<Statistics> {
+        private static final long serialVersionUID = 1L;
+
+        WalksTask(long m, int from, int to, SplittableRandom random) {
+            this.m = m;
+            this.from = from;
+            this.to = to;
+            this.random = random;
+        }
+
+        @Override
+        protected Statistics compute() {
+            if (to - from > 1 && m + 1 > WORK / (to - from)) {
+                int mid = (from + to) >>> 1;
+                WalksTask left = new WalksTask(m, from, mid, random.split());
+                left.fork();
+                Statistics right = new WalksTask(m, mid, to, random).compute();
+                return left.join().merge(right);
+            }
+            Statistics result = new Statistics();
+            long[] position = new long[3];
+            for (int i = from; i < to; i++) {
+                if (m > WORK) position = new SegmentTask(m, random.split()).compute();
+                else {
+                    position[0] = position[1] = position[2] = 0;
+                    walk(m, random, position);
+                }
+                result.accept(Math.sqrt((double) position[0] * position[0] + (double) position[1] * position[1] + (double) position[2] * position[2]));
+            }
+            return result;
+        }
+
+        private final long m;
+        private final int from;
+        private final int to;
+        private final SplittableRandom random;
+    }
+
+    /**
+     * Task which yields the displacement of a walk of m steps.
+     */
+    private class SegmentTask extends RecursiveTask<long[]> {
+        private static final long serialVersionUID = 1L;
+
+        SegmentTask(long m, SplittableRandom random) {
+            this.m = m;
+            this.random = random;
+        }
+
+        @Override
+        protected long[] compute() {
+            if (m > WORK) {
+                long half = m / 2;
+                SegmentTask left = new SegmentTask(half, random.split());
+                left.fork();
+                long[] result = new SegmentTask(m - half, random).compute();
+                long[] other = left.join();
+                for (int k = 0; k < 3; k++) result[k] += other[k];
+                return result;
+            }
+            long[] result = new long[3];
+            walk(m, random, result);
+            return result;
+        }
+
+        private final long m;
+        private final SplittableRandom random;
+    }
+
+    /**
+     * Add the displacement of a walk of m steps to position.
+     */
+    private void walk(long m, SplittableRandom random, long[] position) {
+        switch (dimensions) {
+            case 1:
+                walk1(m, random, position);
+                break;
+            case 2:
+                walk2(m, random, position);
+                break;
+            default:
+                walk3(m, random, position);
+        }
+    }
+
+    private static void walk1(long m, SplittableRandom random, long[] position) {
+        long x = 0;
+        for (; m >= 64; m -= 64) x += 2L * Long.bitCount(random.nextLong()) - 64;
+        if (m > 0) x += 2L * Long.bitCount(random.nextLong() & ((1L << m) - 1)) - m;
+        position[0] += x;
+    }
+
+    /**
+     * Each step takes two bits: the even bit chooses the axis (0 for x) and the odd bit the direction (1 for positive).
+     */
+    private static void walk2(long m, SplittableRandom random, long[] position) {
+        long x = 0, y = 0;
+        for (; m > 0; m -= 32) {
+            long mask = m >= 32 ? EVEN : EVEN & ((1L << (2 * m)) - 1);
+            long bits = random.nextLong(), positive = bits >>> 1;
+            long xs = ~bits & mask, ys = bits & mask;
+            x += 2L * Long.bitCount(positive & xs) - Long.bitCount(xs);
+            y += 2L * Long.bitCount(positive & ys) - Long.bitCount(ys);
+        }
+        position[0] += x;
+        position[1] += y;
+    }
+
+    /**
+     * Each step takes three bits, v: v / 2 is the axis and v % 2 the direction (values 6 and 7 are rejected).
+     */
+    private static void walk3(long m, SplittableRandom random, long[] position) {
+        long x = 0, y = 0, z = 0;
+        while (m > 0) {
+            long bits = random.nextLong();
+            for (int k = 0; k < 21 && m > 0; k++, bits >>>= 3) {
+                int v = (int) (bits & 7);
+                if (v >= 6) continue;
+                int step = (v & 1) == 1 ? 1 : -1;
+                if (v < 2) x += step;
+                else if (v < 4) y += step;
+                else z += step;
+                m--;
+            }
+        }
+        position[0] += x;
+        position[1] += y;
+        position[2] += z;
+    }
+
+    private static final long EVEN = 0x5555555555555555L;
+
+    /**
+     * The number of steps below which a task does its work itself.
+     */
+    private static final long WORK = 1 << 22;
+
+    private final int dimensions;
+    private final SplittableRandom random;
+}
@@ -0,0 +1,431 @@
+package edu.neu.coe.info6205.symbolTable;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.BiFunction;
+
+/**
+ * Left-leaning red-black BST (see Sedgewick and Wayne, Algorithms, 4th edition, section 3.3).
+ * <p>
+ * Unlike BSTSimple, the depth of this tree is at most 2 lg n whatever the order in which the keys are inserted,
+ * so putAll does not need to shuffle the keys.
+ * Lookups (get, contains, floor, ceiling, rank, select) are iterative.
+ * A put which replaces the value of an existing key is also iterative and allocates nothing;
+ * a put of a new key allocates only its Node.
+ *
+ * @param <Key>   the key type.
+ * @param <Value> the value type.
+ */
+public class BSTRedBlack<Key extends Comparable<Key>, Value> implements BstDetail<Key, Value> {
+
+    public BSTRedBlack() {
+    }
+
+    public BSTRedBlack(Map<Key, Value> map) {
+        this();
+        putAll(map);
+    }
+
+    @Override
+    public Boolean contains(Key key) {
+        return getNode(key) != null;
+    }
+
+    /**
+     * Insert all of the key/value pairs in map, in the map's own order (which may be sorted).
+     *
+     * @param map a map of key value pairs
+     */
+    @Override
+    public void putAll(Map<Key, Value> map) {
+        for (Map.Entry<Key, Value> entry : map.entrySet()) put(entry.getKey(), entry.getValue());
+    }
+
+    @Override
+    public int size() {
+        return size(root);
+    }
+
+    @Override
+    public void inOrderTraverse(BiFunction<Key, Value, Void> f) {
+        doTraverse(root, f);
+    }
+
+    @Override
+    public Value get(Key key) {
+        Node node = getNode(key);
+        return node != null ? node.value : null;
+    }
+
+    /**
+     * Insert a key/value pair.
+     *
+     * @param key   the key.
+     * @param value the value.
+     * @return the previous value associated with key, or null.
+     */
+    @Override
+    public Value put(Key key, Value value) {
+        if (key == null) throw new IllegalArgumentException("key may not be null");
+        Node node = getNode(key);
+        if (node != null) {
+            Value result = node.value;
+            node.value = value;
+            return result;
+        }
+        root = insert(root, key, value);
+        root.red = false;
+        return null;
+    }
+
+    @Override
+    public void delete(Key key) {
+        if (getNode(key) == null) return;
+        if (!isRed(root.smaller) && !isRed(root.larger)) root.red = true;
+        root = delete(root, key);
+        if (root != null) root.red = false;
+    }
+
+    @Override
+    public void deleteMin() {
+        if (root == null) throw new NoSuchElementException("BST is empty");
+        if (!isRed(root.smaller) && !isRed(root.larger)) root.red = true;
+        root = deleteMin(root);
+        if (root != null) root.red = false;
+    }
+
+    /**
+     * @return the keys of this BST, in order.
+     */
+    @Override
+    public Set<Key> keySet() {
+        Set<Key> result = new LinkedHashSet<>();
+        inOrderTraverse((k, v) -> {
+            result.add(k);
+            return null;
+        });
+        return result;
+    }
+
+    /**
+     * @return the smallest key.
+     * @throws NoSuchElementException if this BST is empty.
+     */
+    public Key min() {
+        if (root == null) throw new NoSuchElementException("BST is empty");
+        return min(root).key;
+    }
+
+    /**
+     * @return the largest key.
+     * @throws NoSuchElementException if this BST is empty.
+     */
+    public Key max() {
+        if (root == null) throw new NoSuchElementException("BST is empty");
+        Node x = root;
+        while (x.larger != null) x = x.larger;
+        return x.key;
+    }
+
+    /**
+     * @param key a key.
+     * @return the largest key less than or equal to key, or null if there is no such key.
+     */
+    public Key floor(Key key) {
+        Key result = null;
+        Node x = root;
+        while (x != null) {
+            int cf = key.compareTo(x.key);
+            if (cf == 0) return x.key;
+            if (cf < 0) x = x.smaller;
+            else {
+                result = x.key;
+                x = x.larger;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @param key a key.
+     * @return the smallest key greater than or equal to key, or null if there is no such key.
+     */
+    public Key ceiling(Key key) {
+        Key result = null;
+        Node x = root;
+        while (x != null) {
+            int cf = key.compareTo(x.key);
+            if (cf == 0) return x.key;
+            if (cf > 0) x = x.larger;
+            else {
+                result = x.key;
+                x = x.smaller;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @param key a key (which need not be in this BST).
+     * @return the number of keys strictly less than key.
+     */
+    public int rank(Key key) {
+        int result = 0;
+        Node x = root;
+        while (x != null) {
+            int cf = key.compareTo(x.key);
+            if (cf < 0) x = x.smaller;
+            else if (cf > 0) {
+                result += 1 + size(x.smaller);
+                x = x.larger;
+            } else return result + size(x.smaller);
+        }
+        return result;
+    }
+
+    /**
+     * @param rank a rank, between 0 and size()-1.
+     * @return the key with the given rank, i.e. such that rank(select(rank)) == rank.
+     * @throws IllegalArgumentException if rank is out of range.
+     */
+    public Key select(int rank) {
+        if (rank < 0 || rank >= size()) throw new IllegalArgumentException("rank out of range: " + rank);
+        Node x = root;
+        while (true) {
+            int t = size(x.smaller);
+            if (rank < t) x = x.smaller;
+            else if (rank > t) {
+                rank -= t + 1;
+                x = x.larger;
+            } else return x.key;
+        }
+    }
+
+    /**
+     * @param lo the lower bound (inclusive).
+     * @param hi the upper bound (inclusive).
+     * @return the keys between lo and hi, in order.
+     */
+    public List<Key> keys(Key lo, Key hi) {
+        List<Key> result = new ArrayList<>();
+        keys(root, lo, hi, result);
+        return result;
+    }
+
+    /**
+     * @param lo the lower bound (inclusive).
+     * @param hi the upper bound (inclusive).
+     * @return the number of keys between lo and hi.
+     */
+    public int size(Key lo, Key hi) {
+        if (lo.compareTo(hi) > 0) return 0;
+        return rank(hi) - rank(lo) + (contains(hi) ? 1 : 0);
+    }
+
+    /**
+     * Yield the total depth of this BST. If root is null, then depth will be 0.
+     *
+     * @return the total number of levels in this BST.
+     */
+    public int depth() {
+        return depth(root);
+    }
+
+    Node root = null;
+
+    private Node getNode(Key key) {
+        if (key == null) return null;
+        Node x = root;
+        while (x != null) {
+            int cf = key.compareTo(x.key);
+            if (cf < 0) x = x.smaller;
+            else if (cf > 0) x = x.larger;
+            else return x;
+        }
+        return null;
+    }
+
+    /**
+     * Insert a key which is known not to be present in the subtree whose root is h.
+     */
+    private Node insert(Node h, Key key, Value value) {
+        if (h == null) return new Node(key, value);
+        if (key.compareTo(h.key) < 0) h.smaller = insert(h.smaller, key, value);
+        else h.larger = insert(h.larger, key, value);
+        return balance(h);
+    }
+
+    /**
+     * Delete a key which is known to be present in the subtree whose root is h.
+     */
+    private Node delete(Node h, Key key) {
+        if (key.compareTo(h.key) < 0) {
+            if (!isRed(h.smaller) && !isRed(h.smaller.smaller)) h = moveRedLeft(h);
+            h.smaller = delete(h.smaller, key);
+        } else {
+            if (isRed(h.smaller)) h = rotateRight(h);
+            if (key.compareTo(h.key) == 0 && h.larger == null) return null;
+            if (!isRed(h.larger) && !isRed(h.larger.smaller)) h = moveRedRight(h);
+            if (key.compareTo(h.key) == 0) {
+                Node x = min(h.larger);
+                x.larger = deleteMin(h.larger);
+                x.smaller = h.smaller;
+                x.red = h.red;
+                x.count = h.count;
+                h = x;
+            } else h.larger = delete(h.larger, key);
+        }
+        return balance(h);
+    }
+
+    private Node deleteMin(Node h) {
+        if (h.smaller == null) return null;
+        if (!isRed(h.smaller) && !isRed(h.smaller.smaller)) h = moveRedLeft(h);
+        h.smaller = deleteMin(h.smaller);
+        return balance(h);
+    }
+
+    private Node rotateLeft(Node h) {
+        Node x = h.larger;
+        h.larger = x.smaller;
+        x.smaller = h;
+        x.red = h.red;
+        h.red = true;
+        x.count = h.count;
+        h.count = 1 + size(h.smaller) + size(h.larger);
+        return x;
+    }
+
+    private Node rotateRight(Node h) {
+        Node x = h.smaller;
+        h.smaller = x.larger;
+        x.larger = h;
+        x.red = h.red;
+        h.red = true;
+        x.count = h.count;
+        h.count = 1 + size(h.smaller) + size(h.larger);
+        return x;
+    }
+
+    private void flipColors(Node h) {
+        h.red = !h.red;
+        h.smaller.red = !h.smaller.red;
+        h.larger.red = !h.larger.red;
+    }
+
+    private Node moveRedLeft(Node h) {
+        flipColors(h);
+        if (isRed(h.larger.smaller)) {
+            h.larger = rotateRight(h.larger);
+            h = rotateLeft(h);
+            flipColors(h);
+        }
+        return h;
+    }
+
+    private Node moveRedRight(Node h) {
+        flipColors(h);
+        if (isRed(h.smaller.smaller)) {
+            h = rotateRight(h);
+            flipColors(h);
+        }
+        return h;
+    }
+
+    /**
+     * Restore the left-leaning red-black invariants at h (and its count).
+     */
+    private Node balance(Node h) {
+        if (isRed(h.larger) && !isRed(h.smaller)) h = rotateLeft(h);
+        if (isRed(h.smaller) && isRed(h.smaller.smaller)) h = rotateRight(h);
+        if (isRed(h.smaller) && isRed(h.larger)) flipColors(h);
+        h.count = 1 + size(h.smaller) + size(h.larger);
+        return h;
+    }
+
+    private boolean isRed(Node x) {
+        return x != null && x.red;
+    }
+
+    private int size(Node x) {
+        return x == null ? 0 : x.count;
+    }
+
+    private Node min(Node x) {
+        while (x.smaller != null) x = x.smaller;
+        return x;
+    }
+
+    private void keys(Node x, Key lo, Key hi, List<Key> result) {
+        if (x == null) return;
+        int cflo = lo.compareTo(x.key);
+        int cfhi = hi.compareTo(x.key);
+        if (cflo < 0) keys(x.smaller, lo, hi, result);
+        if (cflo <= 0 && cfhi >= 0) result.add(x.key);
+        if (cfhi > 0) keys(x.larger, lo, hi, result);
+    }
+
+    private void doTraverse(Node node, BiFunction<Key, Value, Void> f) {
+        if (node == null) return;
+        doTraverse(node.smaller, f);
+        f.apply(node.key, node.value);
+        doTraverse(node.larger, f);
+    }
+
+    private int depth(Node node) {
+        if (node == null) return 0;
+        return 1 + Math.max(depth(node.smaller), depth(node.larger));
+    }
+
+    class Node {
+        Node(Key key, Value value) {
+            this.key = key;
+            this.value = value;
+        }
+
+        final Key key;
+        Value value;
+        Node smaller = null;
+        Node larger = null;
+        int count = 1;
+        boolean red = true; // the color of the link from this node's parent
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder("Node: " + key + ":" + value);
+            if (smaller != null) sb.append(", smaller: ").append(smaller.key);
+            if (larger != null) sb.append(", larger: ").append(larger.key);
+            return sb.toString();
+        }
+    }
+
+    private void show(Node node, StringBuffer sb, int indent) {
+        if (node == null) return;
+        for (int i = 0; i < indent; i++) sb.append("  ");
+        sb.append(node.key);
+        sb.append(": ");
+        sb.append(node.value);
+        if (node.red) sb.append(" (red)");
+        sb.append("\n");
+        if (node.smaller != null) {
+            for (int i = 0; i <= indent; i++) sb.append("  ");
+            sb.append("smaller: ");
+            show(node.smaller, sb, indent + 1);
+        }
+        if (node.larger != null) {
+            for (int i = 0; i <= indent; i++) sb.append("  ");
+            sb.append("larger: ");
+            show(node.larger, sb, indent + 1);
+        }
+    }
+
+    public String toString() {
+        StringBuffer sb = new StringBuffer();
+        show(root, sb, 0);
+        return sb.toString();
+    }
+}
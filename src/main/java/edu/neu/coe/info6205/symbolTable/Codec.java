@@ -0,0 +1,225 @@
+package edu.neu.coe.info6205.symbolTable;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Fixed-width binary encoding of values of type T, for use by MappedBST.
+ * <p>
+ * All methods use the absolute get/put methods of ByteBuffer, so that they neither depend on nor change
+ * the position of the buffer (which may therefore be shared, for reading, between threads).
+ *
+ * @param <T> the type of the values.
+ */
+public interface Codec<T> {
+
+    /**
+     * @return the number of bytes occupied by every encoded value.
+     */
+    int width();
+
+    /**
+     * Encode t into exactly width() bytes of buffer, starting at offset.
+     *
+     * @param buffer the buffer.
+     * @param offset the offset of the first byte.
+     * @param t      the value (may not be null).
+     */
+    void write(ByteBuffer buffer, int offset, T t);
+
+    /**
+     * Decode the value whose encoding begins at offset.
+     *
+     * @param buffer the buffer.
+     * @param offset the offset of the first byte.
+     * @return the value.
+     */
+    T read(ByteBuffer buffer, int offset);
+
+    /**
+     * Compare the encoded value at offset with t, as if by compareTo.
+     * The default implementation decodes the value: the primitive codecs compare without decoding.
+     *
+     * @param buffer the buffer.
+     * @param offset the offset of the first byte.
+     * @param t      the value to compare with.
+     * @return negative, zero or positive according as the encoded value is less than, equal to or greater than t.
+     */
+    @SuppressWarnings("unchecked")
+    default int compare(ByteBuffer buffer, int offset, T t) {
+        return ((Comparable<T>) read(buffer, offset)).compareTo(t);
+    }
+
+    Codec<Integer> INT = new Codec<Integer>() {
+        public int width() {
+            return 4;
+        }
+
+        public void write(ByteBuffer buffer, int offset, Integer x) {
+            buffer.putInt(offset, x);
+        }
+
+        public Integer read(ByteBuffer buffer, int offset) {
+            return buffer.getInt(offset);
+        }
+
+        public int compare(ByteBuffer buffer, int offset, Integer x) {
+            return Integer.compare(buffer.getInt(offset), x);
+        }
+    };
+
+    Codec<Long> LONG = new Codec<Long>() {
+        public int width() {
+            return 8;
+        }
+
+        public void write(ByteBuffer buffer, int offset, Long x) {
+            buffer.putLong(offset, x);
+        }
+
+        public Long read(ByteBuffer buffer, int offset) {
+            return buffer.getLong(offset);
+        }
+
+        public int compare(ByteBuffer buffer, int offset, Long x) {
+            return Long.compare(buffer.getLong(offset), x);
+        }
+    };
+
+    Codec<Double> DOUBLE = new Codec<Double>() {
+        public int width() {
+            return 8;
+        }
+
+        public void write(ByteBuffer buffer, int offset, Double x) {
+            buffer.putDouble(offset, x);
+        }
+
+        public Double read(ByteBuffer buffer, int offset) {
+            return buffer.getDouble(offset);
+        }
+
+        public int compare(ByteBuffer buffer, int offset, Double x) {
+            return Double.compare(buffer.getDouble(offset), x);
+        }
+    };
+
+    /**
+     * Codec for Strings of at most maxBytes bytes (when encoded as UTF-8).
+     * Each value occupies a two-byte length followed by its bytes, padded with zeroes.
+     *
+     * @param maxBytes the maximum length of an encoded String (at most 65535).
+     * @return a Codec for Strings.
+     */
+    static Codec<String> string(int maxBytes) {
+        if (maxBytes < 0 || maxBytes > 0xFFFF) throw new IllegalArgumentException("maxBytes out of range: " + maxBytes);
+        return new Codec<String>() {
+            public int width() {
+                return 2 + maxBytes;
+            }
+
+            public void write(ByteBuffer buffer, int offset, String s) {
+                byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+                if (bytes.length > maxBytes)
+                    throw new IllegalArgumentException("String is too long to encode (" + bytes.length + " bytes): " + s);
+                buffer.putShort(offset, (short) bytes.length);
+                for (int i = 0; i < maxBytes; i++) buffer.put(offset + 2 + i, i < bytes.length ? bytes[i] : 0);
+            }
+
+            public String read(ByteBuffer buffer, int offset) {
+                byte[] bytes = new byte[buffer.getShort(offset) & 0xFFFF];
+                for (int i = 0; i < bytes.length; i++) bytes[i] = buffer.get(offset + 2 + i);
+                return new String(bytes, StandardCharsets.UTF_8);
+            }
+
+            /**
+             * Compare the encoded bytes, in place, with the UTF-8 bytes of s.
+             * Unsigned byte order of UTF-8 is code-point order, which differs from the order of compareTo (UTF-16 code units)
+             * only between a supplementary character (lead byte 0xF0 or more) and a character from U+E000 to U+FFFF
+             * (lead byte 0xEE or 0xEF): at the first difference, such a pair is ordered the other way round.
+             * <p>
+             * Since a binary search compares the same key many times, the bytes of the most recent key are cached
+             * (in an immutable holder, so that concurrent readers are safe): s is encoded only once per lookup.
+             */
+            public int compare(ByteBuffer buffer, int offset, String s) {
+                Encoded encoded = last;
+                if (encoded.string != s) last = encoded = new Encoded(s);
+                byte[] bytes = encoded.bytes;
+                int length = buffer.getShort(offset) & 0xFFFF, n = Math.min(length, bytes.length);
+                for (int i = 0; i < n; i++) {
+                    int x = buffer.get(offset + 2 + i) & 0xFF, y = bytes[i] & 0xFF;
+                    if (x != y) {
+                        if (x >= 0xF0 && (y == 0xEE || y == 0xEF)) return -1;
+                        if (y >= 0xF0 && (x == 0xEE || x == 0xEF)) return 1;
+                        return x - y;
+                    }
+                }
+                return length - bytes.length;
+            }
+
+            // A String together with its UTF-8 encoding.
+            final class Encoded {
+                Encoded(String string) {
+                    this.string = string;
+                    this.bytes = string.getBytes(StandardCharsets.UTF_8);
+                }
+
+                final String string;
+                final byte[] bytes;
+            }
+
+            private volatile Encoded last = new Encoded("");
+        };
+    }
+
+    /**
+     * Codec for any Serializable type, using Java serialization.
+     * Each value occupies a four-byte length followed by its serialized form, padded with zeroes.
+     *
+     * @param width the total width of an encoded value (including the four-byte length).
+     * @param <T>   the type of the values.
+     * @return a Codec for T.
+     */
+    static <T extends Serializable> Codec<T> serialized(int width) {
+        if (width <= 4) throw new IllegalArgumentException("width must exceed 4: " + width);
+        return new Codec<T>() {
+            public int width() {
+                return width;
+            }
+
+            public void write(ByteBuffer buffer, int offset, T t) {
+                ByteArrayOutputStream baos = new ByteArrayOutputStream();
+                try (ObjectOutputStream oos = new ObjectOutputStream(baos)) {
+                    oos.writeObject(t);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                byte[] bytes = baos.toByteArray();
+                if (bytes.length > width - 4)
+                    throw new IllegalArgumentException("value is too large to encode (" + bytes.length + " bytes): " + t);
+                buffer.putInt(offset, bytes.length);
+                for (int i = 0; i < width - 4; i++) buffer.put(offset + 4 + i, i < bytes.length ? bytes[i] : 0);
+            }
+
+            public T read(ByteBuffer buffer, int offset) {
+                byte[] bytes = new byte[buffer.getInt(offset)];
+                for (int i = 0; i < bytes.length; i++) bytes[i] = buffer.get(offset + 4 + i);
+                try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+                    //noinspection unchecked
+                    return (T) ois.readObject();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                } catch (ClassNotFoundException e) {
+                    throw new IllegalStateException("cannot decode value", e);
+                }
+            }
+        };
+    }
+}
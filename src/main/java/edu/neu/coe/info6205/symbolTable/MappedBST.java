@@ -0,0 +1,489 @@
+package edu.neu.coe.info6205.symbolTable;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.zip.CRC32;
+
+/**
+ * Persistent ordered symbol table, held in a file as a B+ tree of fixed-size pages which is memory-mapped (read-only).
+ * <p>
+ * Opening an index costs only the mapping of its file (plus the replay of its log, see below):
+ * nothing is read into the heap until it is needed, and a lookup reads (typically) one page per level
+ * directly from the mapped buffer, comparing keys in place (see {@link Codec#compare}) and decoding only the value which is found.
+ * <p>
+ * The tree file is never modified in place. Each put or delete is instead appended to a write-ahead log
+ * (the file with the suffix ".wal") and applied to an in-heap BSTRedBlack (the "memtable") which overlays the tree.
+ * {@link #checkpoint} merges the tree and the memtable, in key order, into a new tree file (which is written sequentially
+ * and then atomically renamed over the old one), and then empties the log.
+ * When an index is opened, any log records since the last checkpoint are replayed; a torn record at the end of the log
+ * (from a crash while it was being written) is detected by its checksum and discarded.
+ * The log is written through to the operating system on every update; call {@link #sync} to force it to the device.
+ * <p>
+ * Keys and values are encoded by a Codec of fixed width. An instance is not thread-safe.
+ *
+ * @param <Key>   the key type.
+ * @param <Value> the value type.
+ */
+public class MappedBST<Key extends Comparable<Key>, Value> implements BST<Key, Value>, Closeable {
+
+    /**
+     * Constructor: open the index at path, creating it if it does not exist.
+     *
+     * @param path       the path of the tree file.
+     * @param keyCodec   the codec for keys.
+     * @param valueCodec the codec for values.
+     * @throws IOException              if the files cannot be read or written, or are not compatible with the codecs.
+     * @throws IllegalArgumentException if the codecs are too wide for a page.
+     */
+    public MappedBST(Path path, Codec<Key> keyCodec, Codec<Value> valueCodec) throws IOException {
+        this.path = path;
+        this.keyCodec = keyCodec;
+        this.valueCodec = valueCodec;
+        this.keyWidth = keyCodec.width();
+        this.valueWidth = valueCodec.width();
+        this.leafCapacity = (PAGE_SIZE - NODE_HEADER) / (keyWidth + valueWidth);
+        this.internalCapacity = (PAGE_SIZE - NODE_HEADER - 4) / (keyWidth + 4);
+        if (leafCapacity < 2 || internalCapacity < 2)
+            throw new IllegalArgumentException("keys and values are too wide for a page: " + keyWidth + ", " + valueWidth);
+        this.internalKeys = NODE_HEADER + 4 * (internalCapacity + 1);
+        this.record = ByteBuffer.allocate(1 + keyWidth + valueWidth + 4);
+        if (!Files.exists(path)) writeTree(path, Collections.emptyIterator());
+        map();
+        this.log = FileChannel.open(path.resolveSibling(path.getFileName() + ".wal"), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        replay();
+    }
+
+    /**
+     * @param key the key.
+     * @return the value associated with key, or null.
+     */
+    public Value get(Key key) {
+        Object pending = memtable.get(key);
+        if (pending != null) return pending == TOMBSTONE ? null : cast(pending);
+        return treeGet(key);
+    }
+
+    /**
+     * Insert a key/value pair (and append it to the log).
+     *
+     * @param key   the key (may not be null).
+     * @param value the value (may not be null).
+     * @return the previous value associated with key, or null.
+     */
+    public Value put(Key key, Value value) {
+        if (key == null || value == null) throw new IllegalArgumentException("key and value may not be null");
+        append(PUT, key, value);
+        return apply(key, value);
+    }
+
+    /**
+     * Remove a key (and append its removal to the log), if it is present.
+     *
+     * @param key the key.
+     */
+    public void delete(Key key) {
+        if (get(key) == null) return;
+        append(DELETE, key, null);
+        apply(key, TOMBSTONE);
+    }
+
+    /**
+     * @return the number of key/value pairs in this index.
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * @return the keys of this index, in order.
+     */
+    public Set<Key> keySet() {
+        Set<Key> result = new LinkedHashSet<>();
+        for (Iterator<Map.Entry<Key, Value>> iterator = new MergeIterator(); iterator.hasNext(); )
+            result.add(iterator.next().getKey());
+        return result;
+    }
+
+    /**
+     * Method to get all of the key/value pairs of this index in key order.
+     * The tree must not be modified during the iteration.
+     *
+     * @return an Iterable of key/value pairs.
+     */
+    public Iterable<Map.Entry<Key, Value>> entries() {
+        return MergeIterator::new;
+    }
+
+    /**
+     * Merge the log into a new tree file, which replaces the current one, and then empty the log.
+     *
+     * @throws IOException if the files cannot be written.
+     */
+    public void checkpoint() throws IOException {
+        if (memtable.size() == 0) return;
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        writeTree(temporary, new MergeIterator());
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        map();
+        memtable = new BSTRedBlack<>();
+        log.truncate(0);
+        log.force(true);
+    }
+
+    /**
+     * Force the log to the storage device, so that all updates so far will survive a crash of the operating system.
+     *
+     * @throws IOException if the log cannot be written.
+     */
+    public void sync() throws IOException {
+        log.force(false);
+    }
+
+    /**
+     * Close the log. Updates since the last checkpoint will be replayed when the index is next opened.
+     *
+     * @throws IOException if the log cannot be closed.
+     */
+    public void close() throws IOException {
+        log.close();
+    }
+
+    @Override
+    public String toString() {
+        return "MappedBST{path=" + path + ", size=" + size + ", height=" + height + ", pending=" + memtable.size() + "}";
+    }
+
+    /**
+     * Apply an update to the memtable (and to size).
+     *
+     * @param value the new value, or TOMBSTONE.
+     * @return the previous value.
+     */
+    private Value apply(Key key, Object value) {
+        Value result = get(key);
+        memtable.put(key, value);
+        if (result == null && value != TOMBSTONE) size++;
+        else if (result != null && value == TOMBSTONE) size--;
+        return result;
+    }
+
+    private void append(byte op, Key key, Value value) {
+        byte[] bytes = record.array();
+        Arrays.fill(bytes, (byte) 0);
+        bytes[0] = op;
+        keyCodec.write(record, 1, key);
+        if (value != null) valueCodec.write(record, 1 + keyWidth, value);
+        CRC32 crc = new CRC32();
+        crc.update(bytes, 0, bytes.length - 4);
+        record.putInt(bytes.length - 4, (int) crc.getValue());
+        ((Buffer) record).clear(); // through Buffer, since ByteBuffer.clear() (Java 9+) does not exist on Java 8
+        try {
+            while (record.hasRemaining()) log.write(record);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Replay the log into the memtable, discarding any torn record at its end.
+     */
+    private void replay() throws IOException {
+        long length = log.size();
+        long position = 0;
+        byte[] bytes = record.array();
+        while (position + bytes.length <= length) {
+            ((Buffer) record).clear();
+            while (record.hasRemaining()) if (log.read(record, position + record.position()) < 0) break;
+            CRC32 crc = new CRC32();
+            crc.update(bytes, 0, bytes.length - 4);
+            if (record.hasRemaining() || record.getInt(bytes.length - 4) != (int) crc.getValue()) break;
+            Key key = keyCodec.read(record, 1);
+            if (bytes[0] == PUT) apply(key, valueCodec.read(record, 1 + keyWidth));
+            else apply(key, TOMBSTONE);
+            position += bytes.length;
+        }
+        log.truncate(position);
+        log.position(position);
+    }
+
+    private void map() throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long length = channel.size();
+            segments = new ByteBuffer[(int) ((length + SEGMENT_SIZE - 1) / SEGMENT_SIZE)];
+            for (int i = 0; i < segments.length; i++) {
+                long position = (long) i * SEGMENT_SIZE;
+                segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(SEGMENT_SIZE, length - position));
+            }
+        }
+        ByteBuffer header = segments.length > 0 ? segments[0] : ByteBuffer.allocate(PAGE_SIZE);
+        if (header.getInt(0) != MAGIC) throw new IOException("not an index file: " + path);
+        if (header.getInt(4) != PAGE_SIZE || header.getInt(8) != keyWidth || header.getInt(12) != valueWidth)
+            throw new IOException("index file has an incompatible layout: " + path);
+        size = header.getLong(16);
+        root = header.getInt(24);
+        height = header.getInt(28);
+    }
+
+    private ByteBuffer buffer(int page) {
+        return segments[(int) ((long) page * PAGE_SIZE / SEGMENT_SIZE)];
+    }
+
+    private static int offset(int page) {
+        return (int) ((long) page * PAGE_SIZE % SEGMENT_SIZE);
+    }
+
+    private Value treeGet(Key key) {
+        if (height == 0) return null;
+        int page = descend(key);
+        ByteBuffer buffer = buffer(page);
+        int base = offset(page);
+        int i = search(buffer, base + NODE_HEADER, keyWidth + valueWidth, buffer.getInt(base + 4), key);
+        return i >= 0 ? valueCodec.read(buffer, base + NODE_HEADER + i * (keyWidth + valueWidth) + keyWidth) : null;
+    }
+
+    /**
+     * @return the page of the leaf where key belongs.
+     */
+    private int descend(Key key) {
+        int page = root;
+        for (int level = 1; level < height; level++) {
+            ByteBuffer buffer = buffer(page);
+            int base = offset(page);
+            int i = search(buffer, base + internalKeys, keyWidth, buffer.getInt(base + 4), key);
+            page = buffer.getInt(base + NODE_HEADER + 4 * (i >= 0 ? i + 1 : -i - 1));
+        }
+        return page;
+    }
+
+    /**
+     * Binary search for key among n encoded keys, the first of which begins at start.
+     *
+     * @return the index of key, if present, else (-(insertion point) - 1).
+     */
+    private int search(ByteBuffer buffer, int start, int stride, int n, Key key) {
+        int lo = 0, hi = n - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            int cf = keyCodec.compare(buffer, start + mid * stride, key);
+            if (cf < 0) lo = mid + 1;
+            else if (cf > 0) hi = mid - 1;
+            else return mid;
+        }
+        return -(lo + 1);
+    }
+
+    /**
+     * Write a new tree file containing entries (which must be in strictly ascending order of key).
+     * The leaves are filled to capacity and written first, in order; then each level of internal nodes, bottom-up.
+     * Since the tree is never modified in place, no space need be left in its nodes.
+     */
+    private void writeTree(Path target, Iterator<Map.Entry<Key, Value>> entries) throws IOException {
+        try (FileChannel channel = FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer page = ByteBuffer.allocate(PAGE_SIZE);
+            List<byte[]> lows = new ArrayList<>(); // lows.get(i) is the smallest key in the i-th node of the current level
+            int next = 1;
+            long count = 0;
+            int n = 0;
+            while (entries.hasNext()) {
+                Map.Entry<Key, Value> entry = entries.next();
+                if (n == leafCapacity) {
+                    writeNode(channel, page, next, LEAF, n, next + 1);
+                    next++;
+                    n = 0;
+                }
+                if (n == 0) {
+                    Arrays.fill(page.array(), (byte) 0);
+                    lows.add(encode(entry.getKey()));
+                }
+                int offset = NODE_HEADER + n * (keyWidth + valueWidth);
+                keyCodec.write(page, offset, entry.getKey());
+                valueCodec.write(page, offset + keyWidth, entry.getValue());
+                n++;
+                count++;
+            }
+            if (n > 0) writeNode(channel, page, next++, LEAF, n, 0);
+            int h = lows.isEmpty() ? 0 : 1;
+            int first = 1, last = next - 1; // the pages of the current level
+            while (last > first) {
+                List<byte[]> parentLows = new ArrayList<>();
+                int parentFirst = next;
+                for (int child = first; child <= last; child += internalCapacity + 1) {
+                    int children = Math.min(internalCapacity + 1, last - child + 1);
+                    Arrays.fill(page.array(), (byte) 0);
+                    for (int j = 0; j < children; j++) {
+                        page.putInt(NODE_HEADER + 4 * j, child + j);
+                        if (j > 0) {
+                            ((Buffer) page).position(internalKeys + (j - 1) * keyWidth);
+                            page.put(lows.get(child - first + j));
+                        }
+                    }
+                    parentLows.add(lows.get(child - first));
+                    writeNode(channel, page, next++, INTERNAL, children - 1, 0);
+                }
+                lows = parentLows;
+                first = parentFirst;
+                last = next - 1;
+                h++;
+            }
+            Arrays.fill(page.array(), (byte) 0);
+            page.putInt(0, MAGIC);
+            page.putInt(4, PAGE_SIZE);
+            page.putInt(8, keyWidth);
+            page.putInt(12, valueWidth);
+            page.putLong(16, count);
+            page.putInt(24, h == 0 ? 0 : first);
+            page.putInt(28, h);
+            writePage(channel, page, 0);
+            channel.force(true);
+        }
+    }
+
+    private void writeNode(FileChannel channel, ByteBuffer page, int index, byte type, int n, int next) throws IOException {
+        page.put(0, type);
+        page.putInt(4, n);
+        page.putInt(8, next);
+        writePage(channel, page, index);
+    }
+
+    private static void writePage(FileChannel channel, ByteBuffer page, int index) throws IOException {
+        ((Buffer) page).clear();
+        long position = (long) index * PAGE_SIZE;
+        while (page.hasRemaining()) channel.write(page, position + page.position());
+    }
+
+    private byte[] encode(Key key) {
+        ByteBuffer buffer = ByteBuffer.allocate(keyWidth);
+        keyCodec.write(buffer, 0, key);
+        return buffer.array();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Value cast(Object value) {
+        return (Value) value;
+    }
+
+    /**
+     * Iterator over the entries of the tree file, following the leaf links.
+     */
+    private class LeafIterator implements Iterator<Map.Entry<Key, Value>> {
+        LeafIterator() {
+            page = root;
+            for (int level = 1; level < height; level++) page = buffer(page).getInt(offset(page) + NODE_HEADER);
+        }
+
+        public boolean hasNext() {
+            return page != 0;
+        }
+
+        public Map.Entry<Key, Value> next() {
+            if (page == 0) throw new NoSuchElementException();
+            ByteBuffer buffer = buffer(page);
+            int base = offset(page);
+            int offset = base + NODE_HEADER + index * (keyWidth + valueWidth);
+            Map.Entry<Key, Value> result = new AbstractMap.SimpleImmutableEntry<>(keyCodec.read(buffer, offset), valueCodec.read(buffer, offset + keyWidth));
+            if (++index == buffer.getInt(base + 4)) {
+                page = buffer.getInt(base + 8);
+                index = 0;
+            }
+            return result;
+        }
+
+        private int page; // the current leaf (zero when there are no more)
+        private int index;
+    }
+
+    /**
+     * Iterator over the entries of the tree file as overlaid by the memtable, in key order.
+     */
+    private class MergeIterator implements Iterator<Map.Entry<Key, Value>> {
+        MergeIterator() {
+            List<Map.Entry<Key, Object>> list = new ArrayList<>(memtable.size());
+            memtable.inOrderTraverse((k, v) -> {
+                list.add(new AbstractMap.SimpleImmutableEntry<>(k, v));
+                return null;
+            });
+            this.pending = list.iterator();
+            this.tree = new LeafIterator();
+            this.t = tree.hasNext() ? tree.next() : null;
+            this.p = pending.hasNext() ? pending.next() : null;
+            advance();
+        }
+
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        public Map.Entry<Key, Value> next() {
+            if (next == null) throw new NoSuchElementException();
+            Map.Entry<Key, Value> result = next;
+            advance();
+            return result;
+        }
+
+        private void advance() {
+            next = null;
+            while (next == null && (t != null || p != null)) {
+                int cf = t == null ? -1 : p == null ? 1 : p.getKey().compareTo(t.getKey());
+                if (cf <= 0) {
+                    if (p.getValue() != TOMBSTONE)
+                        next = new AbstractMap.SimpleImmutableEntry<>(p.getKey(), cast(p.getValue()));
+                    if (cf == 0) t = tree.hasNext() ? tree.next() : null;
+                    p = pending.hasNext() ? pending.next() : null;
+                } else {
+                    next = t;
+                    t = tree.hasNext() ? tree.next() : null;
+                }
+            }
+        }
+
+        private final Iterator<Map.Entry<Key, Value>> tree;
+        private final Iterator<Map.Entry<Key, Object>> pending;
+        private Map.Entry<Key, Value> t; // the next entry from the tree
+        private Map.Entry<Key, Object> p; // the next entry from the memtable
+        private Map.Entry<Key, Value> next;
+    }
+
+    private static final int MAGIC = 0x4D425354; // "MBST"
+    private static final int PAGE_SIZE = 4096;
+    private static final long SEGMENT_SIZE = 1L << 30; // the maximum size of a mapped buffer (a multiple of PAGE_SIZE)
+    private static final int NODE_HEADER = 16; // type (byte), n (int at 4), next leaf (int at 8)
+    private static final byte LEAF = 1;
+    private static final byte INTERNAL = 2;
+    private static final byte PUT = 1;
+    private static final byte DELETE = 2;
+    private static final Object TOMBSTONE = new Object(); // the memtable value of a deleted key
+
+    private final Path path;
+    private final Codec<Key> keyCodec;
+    private final Codec<Value> valueCodec;
+    private final int keyWidth;
+    private final int valueWidth;
+    private final int leafCapacity; // the maximum number of entries in a leaf
+    private final int internalCapacity; // the maximum number of keys in an internal node
+    private final int internalKeys; // the offset of the keys in an internal node
+    private final ByteBuffer record; // a log record: op, key, value, CRC32
+    private final FileChannel log;
+    private ByteBuffer[] segments; // the mapped tree file
+    private int root; // the page of the root (zero if the tree is empty)
+    private int height; // the number of levels in the tree (zero if it is empty)
+    private long size;
+    private BSTRedBlack<Key, Object> memtable = new BSTRedBlack<>();
+}
@@ -0,0 +1,210 @@
+package edu.neu.coe.info6205.threesum;
+
+import edu.neu.coe.info6205.hashtable.LongLongMap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Engine for the k-SUM problem (k = 2..5), which generalises ThreeSum:
+ * find the combinations of k distinct elements of an array of longs whose sum is a given target.
+ * <p>
+ * Unlike the ThreeSum implementations, the array need not be sorted or distinct:
+ * a combination is a set of k distinct indices, so equal values at different indices make different combinations.
+ * The engine sorts (a permutation of) the values once, and offers three algorithms:
+ * <ul>
+ *     <li>sorted: fix all but two of the elements, in ascending order, and find the last two by scanning the
+ *     remainder of the sorted array from both ends (the two-pointer method of ThreeSumQuadratic): O(n^(k-1));</li>
+ *     <li>hashed: fix all but one of the elements, and look up the last in a hash table of runs of equal values: O(n^(k-1));</li>
+ *     <li>meet-in-the-middle (k = 4 only): count, for each pair of elements, the earlier pairs which complete the sum: O(n^2)
+ *     time, but O(n^2) space.</li>
+ * </ul>
+ * The sums of k elements must be representable as longs.
+ */
+public class KSum {
+
+    /**
+     * Constructor.
+     *
+     * @param values the values (which are not changed).
+     */
+    public KSum(long[] values) {
+        n = values.length;
+        Integer[] permutation = new Integer[n];
+        for (int i = 0; i < n; i++) permutation[i] = i;
+        Arrays.sort(permutation, Comparator.comparingLong(i -> values[i]));
+        order = new int[n];
+        a = new long[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = permutation[i];
+            a[i] = values[order[i]];
+        }
+        runs = new LongLongMap(n);
+        for (int p = 0, q; p < n; p = q) {
+            q = p + 1;
+            while (q < n && a[q] == a[p]) q++;
+            runs.put(a[p], (long) p << 32 | (q - 1));
+        }
+    }
+
+    /**
+     * Count the combinations of k elements which sum to target, using the best algorithm for k.
+     *
+     * @param k      the number of elements in a combination (2..5).
+     * @param target the sum.
+     * @return the number of combinations.
+     */
+    public long count(int k, long target) {
+        checkK(k);
+        if (k == 4 && n <= MAX_MEET_IN_THE_MIDDLE) return countMeetInTheMiddle(target);
+        return k == 2 ? countSorted(k, target) : countHashed(k, target);
+    }
+
+    /**
+     * Count the combinations of k elements which sum to target, by scanning the sorted values.
+     *
+     * @param k      the number of elements in a combination (2..5).
+     * @param target the sum.
+     * @return the number of combinations.
+     */
+    public long countSorted(int k, long target) {
+        checkK(k);
+        return countSorted(k, target, 0);
+    }
+
+    /**
+     * Count the combinations of k elements which sum to target, by hashing the last element.
+     *
+     * @param k      the number of elements in a combination (2..5).
+     * @param target the sum.
+     * @return the number of combinations.
+     */
+    public long countHashed(int k, long target) {
+        checkK(k);
+        return countHashed(k, target, 0);
+    }
+
+    /**
+     * Count the combinations of four elements which sum to target, by meeting in the middle.
+     * The combinations are counted according to their third element (in sorted order), x:
+     * each pair (x, y) with y after x is completed by any pair of elements before x whose sum is target - x - y.
+     *
+     * @param target the sum.
+     * @return the number of combinations.
+     */
+    public long countMeetInTheMiddle(long target) {
+        // pair sum -> number of pairs before x: it starts small and doubles, since there may be far fewer distinct sums than pairs
+        LongLongMap pairs = new LongLongMap(n);
+        long result = 0;
+        for (int x = 0; x < n; x++) {
+            for (int y = x + 1; y < n; y++) result += pairs.get(target - a[x] - a[y]);
+            for (int w = 0; w < x; w++) pairs.addTo(a[w] + a[x], 1);
+        }
+        return result;
+    }
+
+    /**
+     * Yield the combinations of k elements which sum to target, each as an array of the (original) indices of its
+     * elements, in ascending order of value.
+     * The combinations are generated lazily, in batches which share a first element, so that the stream may be parallel.
+     *
+     * @param k      the number of elements in a combination (2..5).
+     * @param target the sum.
+     * @return a stream of combinations.
+     */
+    public Stream<int[]> tuples(int k, long target) {
+        checkK(k);
+        return IntStream.range(0, n - k + 1).boxed().flatMap(i -> {
+            List<int[]> result = new ArrayList<>();
+            int[] positions = new int[k];
+            positions[0] = i;
+            forEach(k - 1, target - a[i], i + 1, positions, 1, result::add);
+            return result.stream();
+        });
+    }
+
+    /**
+     * @return the number of values.
+     */
+    public int size() {
+        return n;
+    }
+
+    private long countSorted(int k, long target, int start) {
+        if (k > 2) {
+            long result = 0;
+            for (int i = start; i <= n - k; i++) result += countSorted(k - 1, target - a[i], i + 1);
+            return result;
+        }
+        long result = 0;
+        int lo = start, hi = n - 1;
+        while (lo < hi) {
+            long sum = a[lo] + a[hi];
+            if (sum < target) lo++;
+            else if (sum > target) hi--;
+            else if (a[lo] == a[hi]) {
+                long m = hi - lo + 1;
+                return result + m * (m - 1) / 2;
+            } else {
+                int l = lo, h = hi;
+                while (a[lo] == a[l]) lo++;
+                while (a[hi] == a[h]) hi--;
+                result += (long) (lo - l) * (h - hi);
+            }
+        }
+        return result;
+    }
+
+    private long countHashed(int k, long target, int start) {
+        if (k == 1) {
+            long run = runs.getOrDefault(target, -1);
+            if (run < 0) return 0;
+            int first = Math.max((int) (run >>> 32), start), last = (int) run;
+            return Math.max(0, last - first + 1);
+        }
+        long result = 0;
+        for (int i = start; i <= n - k; i++) result += countHashed(k - 1, target - a[i], i + 1);
+        return result;
+    }
+
+    /**
+     * Pass to consumer each combination which consists of positions[0..depth-1] and k more positions from start onwards
+     * whose values sum to target.
+     */
+    private void forEach(int k, long target, int start, int[] positions, int depth, Consumer<int[]> consumer) {
+        if (k > 1) {
+            for (int i = start; i <= n - k; i++) {
+                positions[depth] = i;
+                forEach(k - 1, target - a[i], i + 1, positions, depth + 1, consumer);
+            }
+            return;
+        }
+        long run = runs.getOrDefault(target, -1);
+        if (run < 0) return;
+        for (int p = Math.max((int) (run >>> 32), start), last = (int) run; p <= last; p++) {
+            int[] tuple = new int[positions.length];
+            for (int j = 0; j < depth; j++) tuple[j] = order[positions[j]];
+            tuple[depth] = order[p];
+            consumer.accept(tuple);
+        }
+    }
+
+    private static void checkK(int k) {
+        if (k < 2 || k > 5) throw new IllegalArgumentException("k must be between 2 and 5: " + k);
+    }
+
+    /**
+     * The largest n for which count uses the meet-in-the-middle algorithm (whose table holds the distinct pair sums: up to n^2/2 of them).
+     */
+    private static final int MAX_MEET_IN_THE_MIDDLE = 4096;
+
+    private final int n;
+    private final long[] a; // the values, sorted
+    private final int[] order; // the original index of each sorted value
+    private final LongLongMap runs; // value -> (first position << 32 | last position) of its run in a
+}
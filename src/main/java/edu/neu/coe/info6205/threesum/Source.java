@@ -34,10 +34,27 @@ class Source {
             int[] ints = (int[]) Array.newInstance(int.class, safetyFactor * n);
             for (int i = 0; i < ints.length; i++) ints[i] = random.nextInt(safetyFactor * m) - safetyFactor * m / 2;
             Arrays.sort(ints);
-            int[] distinct = Arrays.stream(ints).distinct().toArray();
+            // Remove duplicates in place (the distinct values occupy ints[0..d-1]).
+            int d = ints.length == 0 ? 0 : 1;
+            for (int i = 1; i < ints.length; i++)
+                if (ints[i] != ints[d - 1]) ints[d++] = ints[i];
             int[] result = (int[]) Array.newInstance(int.class, n);
             for (int i = 0; i < n; i++)
-                result[i] = distinct[i * (distinct.length / n)];
+                result[i] = ints[i * (d / n)];
+            return result;
+        };
+    }
+
+    /**
+     * Method to return a Supplier of a long array where there are n longs and each long is in range -m thru m-1.
+     * Unlike intsSupplier, the longs are neither sorted nor distinct.
+     *
+     * @return a Supplier of n random longs.
+     */
+    public Supplier<long[]> longsSupplier() {
+        return () -> {
+            long[] result = new long[n];
+            for (int i = 0; i < n; i++) result[i] = random.nextInt(2 * m) - m;
             return result;
         };
     }
@@ -4,6 +4,7 @@ import edu.neu.coe.info6205.util.Benchmark_Timer;
 import edu.neu.coe.info6205.util.TimeLogger;
 import edu.neu.coe.info6205.util.Utilities;
 
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 import java.util.function.UnaryOperator;
@@ -18,6 +19,12 @@ public class ThreeSumBenchmark {
     public void runBenchmarks() {
         System.out.println("ThreeSumBenchmark: N=" + n);
         benchmarkThreeSum("ThreeSumQuadratic", (xs) -> new ThreeSumQuadratic(xs).getTriples(), n, timeLoggersQuadratic);
+        benchmarkThreeSum("ThreeSumQuadratic (forEach)", (xs) -> {
+            long[] count = new long[1];
+            new ThreeSumQuadratic(xs).forEach((x, y, z) -> count[0]++);
+        }, n, timeLoggersQuadratic);
+        benchmarkThreeSum("ThreeSumQuadratic (count)", (xs) -> new ThreeSumQuadratic(xs).count(), n, timeLoggersQuadratic);
+        benchmarkThreeSum("ThreeSumQuadratic (parallel count)", (xs) -> new ThreeSumQuadratic(xs).count(ForkJoinPool.commonPool()), n, timeLoggersQuadratic);
         benchmarkThreeSum("ThreeSumQuadrithmic", (xs) -> new ThreeSumQuadrithmic(xs).getTriples(), n, timeLoggersQuadrithmic);
         benchmarkThreeSum("ThreeSumCubic", (xs) -> new ThreeSumCubic(xs).getTriples(), n, timeLoggersCubic);
     }
@@ -30,14 +37,21 @@ public class ThreeSumBenchmark {
         new ThreeSumBenchmark(5, 4000, 4000).runBenchmarks();
         new ThreeSumBenchmark(3, 8000, 8000).runBenchmarks();
         new ThreeSumBenchmark(2, 16000, 16000).runBenchmarks();
+        new ThreeSumBenchmark(1, 32000, 32000).runBenchmarks();
+        new ThreeSumBenchmark(1, 64000, 64000).runBenchmarks();
+        new ThreeSumBenchmark(1, 100000, 100000).runBenchmarks();
     }
 
     private void benchmarkThreeSum(final String description, final Consumer<int[]> function, int n, final TimeLogger[] timeLoggers) {
         if (description.equals("ThreeSumCubic") && n > 4000) return;
-        // Create a preCheck method to ensure there are sufficient elements in the array.
-        // Then run Benchmark_Timer with the precheck and the function. Run a total of runs times, using supplier to get the ints.
-        // SOLUTION
-        // END SOLUTION
+        // NOTE the getTriples variants hold every triple (over 10^8 of them at N=100000), so they are skipped for large N.
+        if ((description.equals("ThreeSumQuadratic") || description.equals("ThreeSumQuadrithmic")) && n > MAX_COLLECTED) return;
+        UnaryOperator<int[]> preCheck = xs -> {
+            if (xs.length < n) throw new IllegalStateException("insufficient elements: " + xs.length + " < " + n);
+            return xs;
+        };
+        double time = new Benchmark_Timer<>(description, preCheck, function).runFromSupplier(supplier, runs);
+        for (TimeLogger timeLogger : timeLoggers) timeLogger.log(time, n);
     }
 
     private final static TimeLogger[] timeLoggersCubic = {
@@ -53,6 +67,11 @@ public class ThreeSumBenchmark {
             new TimeLogger("Normalized time per run (n^2): ", (time, n) -> time / n / n * 1e6)
     };
 
+    /**
+     * The largest N for which the triples are collected (about 3 million triples at N=16000).
+     */
+    private static final int MAX_COLLECTED = 16000;
+
     private final int runs;
     private final Supplier<int[]> supplier;
     private final int n;
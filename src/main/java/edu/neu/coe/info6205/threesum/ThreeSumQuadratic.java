@@ -3,6 +3,9 @@ package edu.neu.coe.info6205.threesum;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
 
 /**
  * Implementation of ThreeSum which follows the approach of dividing the solution-space into
@@ -10,7 +13,12 @@ import java.util.List;
  * Each subs-pace is then solved by expanding the scope of the other two indices outwards from the starting point.
  * Since each sub-space can be solved in O(N) time, the overall complexity is O(N^2).
  * <p>
- * The array provided in the constructor MUST be ordered.
+ * Because the sub-spaces are independent, they may be solved in parallel: the parallel methods split the range of
+ * middle indices between the tasks of a ForkJoinPool.
+ * Triples may be passed to a TripleConsumer as they are found (rather than being collected),
+ * or merely counted (in which case nothing is allocated).
+ * <p>
+ * The array provided in the constructor MUST be ordered (and distinct).
  */
 public class ThreeSumQuadratic implements ThreeSum {
     /**
@@ -22,12 +30,18 @@ public class ThreeSumQuadratic implements ThreeSum {
         length = a.length;
     }
 
+    /**
+     * Consumer of the three values of a triple, which (unlike Consumer&lt;Triple&gt;) requires no allocation.
+     */
+    public interface TripleConsumer {
+        void accept(int x, int y, int z);
+    }
+
     public Triple[] getTriples() {
         List<Triple> triples = new ArrayList<>();
-        for (int i = 0; i < length; i++)
-            triples.addAll(getTriples(i));
+        forEach((x, y, z) -> triples.add(new Triple(x, y, z)));
         Collections.sort(triples);
-        return triples.stream().distinct().toArray(Triple[]::new);
+        return triples.toArray(new Triple[0]);
     }
 
     /**
@@ -38,11 +52,124 @@ public class ThreeSumQuadratic implements ThreeSum {
      */
     public List<Triple> getTriples(int j) {
         List<Triple> triples = new ArrayList<>();
-        // SOLUTION : implement getTriples
-        // END SOLUTION
+        forEach(j, (x, y, z) -> triples.add(new Triple(x, y, z)));
         return triples;
     }
 
+    /**
+     * Pass every triple to consumer, in ascending order of its middle value.
+     *
+     * @param consumer the consumer of the triples.
+     */
+    public void forEach(TripleConsumer consumer) {
+        for (int j = 1; j < length - 1; j++) forEach(j, consumer);
+    }
+
+    /**
+     * Pass every triple to consumer, in no particular order, using the tasks of pool.
+     *
+     * @param pool     the pool.
+     * @param consumer the consumer of the triples, which must be thread-safe.
+     */
+    public void forEach(ForkJoinPool pool, TripleConsumer consumer) {
+        pool.invoke(new ForEachTask(1, length - 1, consumer));
+    }
+
+    /**
+     * @return the number of triples.
+     */
+    public long count() {
+        return count(1, length - 1);
+    }
+
+    /**
+     * @param pool the pool in which to count.
+     * @return the number of triples, counted in parallel.
+     */
+    public long count(ForkJoinPool pool) {
+        return pool.invoke(new CountTask(1, length - 1));
+    }
+
+    /**
+     * Pass each triple whose middle index is j to consumer (in descending order of its first value).
+     *
+     * @return the number of such triples.
+     */
+    private int forEach(int j, TripleConsumer consumer) {
+        int i = j - 1, k = j + 1, result = 0;
+        long target = -(long) a[j];
+        while (i >= 0 && k < length) {
+            long sum = (long) a[i] + a[k];
+            if (sum < target) k++;
+            else if (sum > target) i--;
+            else {
+                consumer.accept(a[i--], a[j], a[k++]);
+                result++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return the number of triples whose middle index is in [from, to).
+     */
+    private long count(int from, int to) {
+        long result = 0;
+        for (int j = from; j < to; j++) result += forEach(j, IGNORE);
+        return result;
+    }
+
+    private class ForEachTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        ForEachTask(int from, int to, TripleConsumer consumer) {
+            this.from = from;
+            this.to = to;
+            this.consumer = consumer;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > THRESHOLD) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new ForEachTask(from, mid, consumer), new ForEachTask(mid, to, consumer));
+            } else for (int j = from; j < to; j++) forEach(j, consumer);
+        }
+
+        private final int from;
+        private final int to;
+        private final TripleConsumer consumer;
+    }
+
+    private class CountTask extends RecursiveTask<Long> {
+        private static final long serialVersionUID = 1L;
+
+        CountTask(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Long compute() {
+            if (to - from <= THRESHOLD) return count(from, to);
+            int mid = (from + to) >>> 1;
+            CountTask left = new CountTask(from, mid);
+            left.fork();
+            return new CountTask(mid, to).compute() + left.join();
+        }
+
+        private final int from;
+        private final int to;
+    }
+
+    /**
+     * The number of middle indices below which a task solves its sub-spaces itself.
+     */
+    private static final int THRESHOLD = 64;
+
+    private static final TripleConsumer IGNORE = (x, y, z) -> {
+    };
+
     private final int[] a;
     private final int length;
 }
@@ -30,11 +30,11 @@ class Triple implements Comparable<Triple> {
 
     @Override
     public int compareTo(Triple o) {
-        int cf1 = this.x - o.x;
+        int cf1 = Integer.compare(this.x, o.x);
         if (cf1 != 0) return cf1;
-        int cf2 = this.x - o.x;
+        int cf2 = Integer.compare(this.y, o.y);
         if (cf2 != 0) return cf2;
-        return this.x - o.x;
+        return Integer.compare(this.z, o.z);
     }
 
     public Triple(int x, int y, int z) {
@@ -0,0 +1,55 @@
+package edu.neu.coe.info6205.union_find;
+
+import edu.neu.coe.info6205.SizedIterable;
+import edu.neu.coe.info6205.hashtable.ObjectIntMap;
+
+import java.util.Random;
+
+/**
+ * Typed version of UF_Concurrent.
+ * <p>
+ * The keys are interned exactly once, at construction time, so the index map is never modified afterwards
+ * and may safely be read from many threads.
+ * Callers on a hot path should resolve their keys once using {@link #id(Object)}
+ * and then use the primitive (int) methods.
+ *
+ * @param <T> the type of the elements.
+ */
+public class TypedUF_Concurrent<T> extends UF_Concurrent implements TypedUF<T> {
+
+    public TypedUF_Concurrent(SizedIterable<T> ts, Random random) {
+        super(ts.size(), random);
+        map = new ObjectIntMap<>(ts.size());
+        int count = 0;
+        for (T t : ts) map.putInt(t, count++);
+    }
+
+    public TypedUF_Concurrent(SizedIterable<T> ts) {
+        this(ts, null);
+    }
+
+    @Override
+    public boolean connected(T t1, T t2) throws UFException {
+        return isConnected(id(t1), id(t2));
+    }
+
+    @Override
+    public void union(T t1, T t2) throws UFException {
+        union(id(t1), id(t2));
+    }
+
+    /**
+     * Method to yield the site identifier corresponding to t.
+     *
+     * @param t an element.
+     * @return the site identifier of t.
+     * @throws UFException if t was not one of the elements given at construction.
+     */
+    public int id(T t) throws UFException {
+        int x = map.getOrDefault(t, -1);
+        if (x >= 0) return x;
+        else throw new UFException("Element " + t + " does not exist");
+    }
+
+    final private ObjectIntMap<T> map;
+}
@@ -1,19 +1,17 @@
 package edu.neu.coe.info6205.union_find;
 
 import edu.neu.coe.info6205.SizedIterable;
-
-import java.util.HashMap;
-import java.util.Map;
+import edu.neu.coe.info6205.hashtable.ObjectIntMap;
 
 public class TypedUF_HWQUPC<T> extends UF_HWQUPC implements TypedUF<T> {
 
-    final private Map<T, Integer> map;
+    final private ObjectIntMap<T> map;
 
     public TypedUF_HWQUPC(SizedIterable<T> ts) {
         super(ts.size());
-        map = new HashMap<>(ts.size());
+        map = new ObjectIntMap<>(ts.size());
         int count = 0;
-        for (T t : ts) map.put(t, count++);
+        for (T t : ts) map.putInt(t, count++);
     }
 
     @Override
@@ -27,8 +25,8 @@ public class TypedUF_HWQUPC<T> extends UF_HWQUPC implements TypedUF<T> {
     }
 
     private int lookup(T t) throws UFException {
-        Integer x = map.get(t);
-        if (x != null) return x;
+        int x = map.getOrDefault(t, -1);
+        if (x >= 0) return x;
         else throw new UFException("Element " + t + " does not exist");
     }
 }
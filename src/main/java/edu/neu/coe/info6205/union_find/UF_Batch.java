@@ -0,0 +1,264 @@
+/*
+ * Copyright (c) 2017. Phasmid Software
+ */
+package edu.neu.coe.info6205.union_find;
+
+import java.util.Arrays;
+
+/**
+ * Height-weighted Quick Union with path halving, designed for bulk operation.
+ * <p>
+ * Unlike UF_HWQUPC, the number of sites is not fixed at construction: the arrays grow (by doubling)
+ * whenever a site beyond the current size is connected.
+ * Sites which have never been mentioned in a union are simply singletons.
+ * <p>
+ * The batch methods take parallel arrays of sites (p[i], q[i]) and validate the whole batch once,
+ * rather than once per call of find.
+ * The offline version of the connectivity query sorts and de-duplicates the queries first
+ * so that each distinct pair is resolved only once, in an order which is friendly to the cache.
+ */
+public class UF_Batch implements UF {
+
+    /**
+     * The greatest number of sites (limited by the largest array which can be allocated).
+     */
+    public static final int MAX_SITES = Integer.MAX_VALUE - 8;
+
+    /**
+     * Initializes an empty union–find data structure with {@code n} sites
+     * {@code 0} through {@code n-1}. Each site is initially in its own
+     * component.
+     *
+     * @param n the initial number of sites
+     * @throws IllegalArgumentException if {@code n < 0} or {@code n > MAX_SITES}
+     */
+    public UF_Batch(int n) {
+        if (n < 0 || n > MAX_SITES) throw new IllegalArgumentException("n must be between 0 and " + MAX_SITES + ": " + n);
+        parent = new int[Math.max(n, 16)];
+        height = new byte[parent.length];
+        for (int i = 0; i < parent.length; i++) parent[i] = i;
+        size = n;
+        count = n;
+    }
+
+    /**
+     * Initializes an empty union–find data structure with no sites.
+     */
+    public UF_Batch() {
+        this(0);
+    }
+
+    /**
+     * Ensure that there are at least n sites. New sites are each in their own component.
+     *
+     * @param n the required number of sites.
+     * @throws IllegalArgumentException if {@code n > MAX_SITES}
+     */
+    public void grow(int n) {
+        if (n <= size) return;
+        if (n > MAX_SITES) throw new IllegalArgumentException("cannot grow beyond " + MAX_SITES + " sites: " + n);
+        if (n > parent.length) {
+            int capacity = parent.length;
+            while (capacity < n) capacity = capacity > MAX_SITES / 2 ? MAX_SITES : capacity * 2;
+            int oldCapacity = parent.length;
+            parent = Arrays.copyOf(parent, capacity);
+            height = Arrays.copyOf(height, capacity);
+            for (int i = oldCapacity; i < capacity; i++) parent[i] = i;
+        }
+        count += n - size;
+        size = n;
+    }
+
+    /**
+     * Add a new site.
+     *
+     * @return the identifier of the new site.
+     */
+    public int newSite() {
+        grow(size + 1);
+        return size - 1;
+    }
+
+    /**
+     * Returns the number of components.
+     *
+     * @return the number of components (between {@code 1} and {@code n})
+     */
+    public int components() {
+        return count;
+    }
+
+    /**
+     * Returns the component identifier for the component containing site {@code p}.
+     *
+     * @param p the integer representing one site
+     * @return the component identifier for the component containing site {@code p}
+     * @throws IllegalArgumentException unless {@code 0 <= p < n}
+     */
+    public int find(int p) {
+        validate(p);
+        return root(p);
+    }
+
+    /**
+     * Merges the component containing site {@code p} with the
+     * the component containing site {@code q}.
+     * If either site is beyond the current size, the number of sites grows to include it.
+     *
+     * @param p the integer representing one site
+     * @param q the integer representing the other site
+     * @throws IllegalArgumentException if either p or q is negative, or not less than MAX_SITES
+     */
+    public void union(int p, int q) {
+        if (p < 0 || q < 0 || p >= MAX_SITES || q >= MAX_SITES)
+            throw new IllegalArgumentException("sites must be between 0 and " + (MAX_SITES - 1) + ": " + p + ", " + q);
+        grow(Math.max(p, q) + 1);
+        link(root(p), root(q));
+    }
+
+    /**
+     * Ensure that site p is connected to site q.
+     *
+     * @param p the integer representing one site
+     * @param q the integer representing the other site
+     */
+    public void connect(int p, int q) {
+        union(p, q);
+    }
+
+    /**
+     * Merge the components of p[i] and q[i] for each i.
+     * The number of sites grows, if necessary, to include every site in the batch.
+     *
+     * @param p the sites on one side of each pair
+     * @param q the sites on the other side of each pair (must be the same length as p)
+     * @throws IllegalArgumentException if the arrays differ in length or any site is negative, or not less than MAX_SITES
+     */
+    public void union(int[] p, int[] q) {
+        grow(validateBatch(p, q) + 1);
+        for (int i = 0; i < p.length; i++) link(root(p[i]), root(q[i]));
+    }
+
+    /**
+     * Answer, for each i, whether p[i] is connected to q[i].
+     * Sites beyond the current size are singletons.
+     *
+     * @param p the sites on one side of each pair
+     * @param q the sites on the other side of each pair (must be the same length as p)
+     * @return an array of answers, the same length as p.
+     * @throws IllegalArgumentException if the arrays differ in length or any site is negative
+     */
+    public boolean[] isConnected(int[] p, int[] q) {
+        validateBatch(p, q);
+        boolean[] result = new boolean[p.length];
+        for (int i = 0; i < p.length; i++) result[i] = connectedUnchecked(p[i], q[i]);
+        return result;
+    }
+
+    /**
+     * Answer, for each i, whether p[i] is connected to q[i], but resolve the queries offline:
+     * the (unordered) pairs are sorted and de-duplicated so that each distinct pair is resolved only once,
+     * and in order of site.
+     * This is advantageous when the batch is large and contains many repeated pairs.
+     *
+     * @param p the sites on one side of each pair
+     * @param q the sites on the other side of each pair (must be the same length as p)
+     * @return an array of answers, the same length as p.
+     * @throws IllegalArgumentException if the arrays differ in length or any site is negative
+     */
+    public boolean[] isConnectedOffline(int[] p, int[] q) {
+        validateBatch(p, q);
+        int n = p.length;
+        long[] keys = new long[n];
+        for (int i = 0; i < n; i++) keys[i] = pairKey(p[i], q[i]);
+        long[] unique = keys.clone();
+        Arrays.sort(unique);
+        int m = 0;
+        for (int i = 0; i < n; i++) if (m == 0 || unique[i] != unique[m - 1]) unique[m++] = unique[i];
+        boolean[] answers = new boolean[m];
+        for (int j = 0; j < m; j++)
+            answers[j] = connectedUnchecked((int) (unique[j] >>> 32), (int) unique[j]);
+        boolean[] result = new boolean[n];
+        for (int i = 0; i < n; i++) result[i] = answers[Arrays.binarySearch(unique, 0, m, keys[i])];
+        return result;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public String toString() {
+        return "UF_Batch:" + "\n  count: " + count +
+                "\n  parents: " + Arrays.toString(Arrays.copyOf(parent, size)) +
+                "\n  heights: " + Arrays.toString(Arrays.copyOf(height, size));
+    }
+
+    private boolean connectedUnchecked(int p, int q) {
+        if (p == q) return true;
+        if (p >= size || q >= size) return false;
+        return root(p) == root(q);
+    }
+
+    /**
+     * Find the root of p, using single-pass path halving but without any validation.
+     */
+    private int root(int p) {
+        while (p != parent[p]) {
+            parent[p] = parent[parent[p]];
+            p = parent[p];
+        }
+        return p;
+    }
+
+    /**
+     * Make the shorter root point to the taller one.
+     * NOTE that height is only an upper bound (because of path halving) and
+     * is stored as a byte since it cannot exceed log2(n).
+     */
+    private void link(int i, int j) {
+        if (i == j) return;
+        if (height[i] < height[j]) parent[i] = j;
+        else if (height[i] > height[j]) parent[j] = i;
+        else {
+            parent[j] = i;
+            height[i]++;
+        }
+        count--;
+    }
+
+    // validate that p is a valid index
+    private void validate(int p) {
+        if (p < 0 || p >= size) {
+            throw new IllegalArgumentException("index " + p + " is not between 0 and " + (size - 1));
+        }
+    }
+
+    /**
+     * Validate a batch.
+     *
+     * @return the greatest site in the batch (or -1 if the batch is empty).
+     */
+    private static int validateBatch(int[] p, int[] q) {
+        if (p.length != q.length)
+            throw new IllegalArgumentException("batch arrays differ in length: " + p.length + ", " + q.length);
+        int min = 0, max = -1;
+        for (int i = 0; i < p.length; i++) {
+            min = Math.min(min, Math.min(p[i], q[i]));
+            max = Math.max(max, Math.max(p[i], q[i]));
+        }
+        if (min < 0) throw new IllegalArgumentException("batch contains a negative site: " + min);
+        if (max >= MAX_SITES) throw new IllegalArgumentException("batch contains a site beyond " + (MAX_SITES - 1) + ": " + max);
+        return max;
+    }
+
+    private static long pairKey(int p, int q) {
+        return p < q ? (long) p << 32 | q : (long) q << 32 | p;
+    }
+
+    private int[] parent;   // parent[i] = parent of i
+    private byte[] height;   // height[i] = (upper bound on) height of subtree rooted at i, minus one
+    private int size;  // number of sites
+    private int count;  // number of components
+}
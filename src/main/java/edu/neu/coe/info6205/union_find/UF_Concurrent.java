@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) 2017. Phasmid Software
+ */
+package edu.neu.coe.info6205.union_find;
+
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Lock-free Union-Find which may be shared between threads.
+ * <p>
+ * The parent links are held in an AtomicIntegerArray.
+ * The find method is wait-free and uses path halving: each step tries (once) to CAS the parent of a site
+ * to its grandparent, and simply moves on if another thread got there first.
+ * The union method links one root beneath the other by a CAS on the parent of the root,
+ * retrying only if that root has been linked by another thread in the meantime.
+ * <p>
+ * Roots are linked according to a priority: the root with the lower priority becomes the child.
+ * By default, the priority of a site is its index (link-by-index), but a random permutation of priorities
+ * may be requested, which gives expected logarithmic depth regardless of the order of the unions.
+ */
+public class UF_Concurrent implements UF {
+
+    /**
+     * Initializes an empty union–find data structure with {@code n} sites
+     * {@code 0} through {@code n-1}. Each site is initially in its own
+     * component.
+     *
+     * @param n      the number of sites
+     * @param random if not null, the source of a random permutation of priorities; otherwise link-by-index is used
+     * @throws IllegalArgumentException if {@code n < 0}
+     */
+    public UF_Concurrent(int n, Random random) {
+        if (n < 0) throw new IllegalArgumentException("n must not be negative: " + n);
+        parent = new AtomicIntegerArray(n);
+        for (int i = 0; i < n; i++) parent.set(i, i);
+        priority = random != null ? shuffled(n, random) : null;
+        count = new AtomicInteger(n);
+    }
+
+    /**
+     * Initializes an empty union–find data structure with {@code n} sites
+     * {@code 0} through {@code n-1}, using link-by-index.
+     *
+     * @param n the number of sites
+     * @throws IllegalArgumentException if {@code n < 0}
+     */
+    public UF_Concurrent(int n) {
+        this(n, null);
+    }
+
+    /**
+     * Returns the number of components.
+     * NOTE that, while other threads are performing unions, this value is only a snapshot.
+     *
+     * @return the number of components (between {@code 1} and {@code n})
+     */
+    public int components() {
+        return count.get();
+    }
+
+    /**
+     * Returns the component identifier for the component containing site {@code p}.
+     * This method is wait-free.
+     *
+     * @param p the integer representing one site
+     * @return the component identifier for the component containing site {@code p}
+     * @throws IllegalArgumentException unless {@code 0 <= p < n}
+     */
+    public int find(int p) {
+        validate(p);
+        int x = p;
+        int y = parent.get(x);
+        while (x != y) {
+            int z = parent.get(y);
+            // path halving: it doesn't matter if this fails because some other thread has already moved x.
+            if (y != z) parent.compareAndSet(x, y, z);
+            x = y;
+            y = z;
+        }
+        return x;
+    }
+
+    /**
+     * Returns true if the the two sites are in the same component.
+     * <p>
+     * The result is linearizable: if the roots differ, we check that the root of p is still a root,
+     * otherwise a concurrent union may have joined the two components while we were looking.
+     *
+     * @param p the integer representing one site
+     * @param q the integer representing the other site
+     * @return {@code true} if the two sites {@code p} and {@code q} are in the same component;
+     * {@code false} otherwise
+     * @throws IllegalArgumentException unless
+     *                                  both {@code 0 <= p < n} and {@code 0 <= q < n}
+     */
+    public boolean isConnected(int p, int q) {
+        int u = p, v = q;
+        while (true) {
+            u = find(u);
+            v = find(v);
+            if (u == v) return true;
+            if (parent.get(u) == u) return false;
+        }
+    }
+
+    /**
+     * Merges the component containing site {@code p} with the
+     * the component containing site {@code q}.
+     * If they are already in the same component, this is a no-op.
+     *
+     * @param p the integer representing one site
+     * @param q the integer representing the other site
+     * @throws IllegalArgumentException unless
+     *                                  both {@code 0 <= p < n} and {@code 0 <= q < n}
+     */
+    public void union(int p, int q) {
+        int u = p, v = q;
+        while (true) {
+            u = find(u);
+            v = find(v);
+            if (u == v) return;
+            // make the root with the lower priority point to the other one
+            if (lessThan(v, u)) {
+                int t = u;
+                u = v;
+                v = t;
+            }
+            if (parent.compareAndSet(u, u, v)) {
+                count.decrementAndGet();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Ensure that site p is connected to site q.
+     *
+     * @param p the integer representing one site
+     * @param q the integer representing the other site
+     */
+    public void connect(int p, int q) {
+        union(p, q);
+    }
+
+    @Override
+    public int size() {
+        return parent.length();
+    }
+
+    @Override
+    public String toString() {
+        return "UF_Concurrent:" + "\n  count: " + count +
+                "\n  random priority? " + (priority != null) +
+                "\n  parents: " + parent;
+    }
+
+    private boolean lessThan(int i, int j) {
+        return priority != null ? priority[i] < priority[j] : i < j;
+    }
+
+    // validate that p is a valid index
+    private void validate(int p) {
+        int n = parent.length();
+        if (p < 0 || p >= n) {
+            throw new IllegalArgumentException("index " + p + " is not between 0 and " + (n - 1));
+        }
+    }
+
+    private static int[] shuffled(int n, Random random) {
+        int[] result = new int[n];
+        for (int i = 0; i < n; i++) result[i] = i;
+        for (int i = n - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int t = result[i];
+            result[i] = result[j];
+            result[j] = t;
+        }
+        return result;
+    }
+
+    private final AtomicIntegerArray parent; // parent[i] = parent of i
+    private final int[] priority; // priority[i] = linking priority of i (null for link-by-index); never changes
+    private final AtomicInteger count; // number of components
+}
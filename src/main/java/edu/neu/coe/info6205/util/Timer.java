@@ -54,8 +54,19 @@ public class Timer {
      */
     public <T, U> double repeat(int n, Supplier<T> supplier, Function<T, U> function, UnaryOperator<T> preFunction, Consumer<U> postFunction) {
         logger.trace("repeat: with " + n + " runs");
-        // TO BE IMPLEMENTED: note that the timer is running when this method is called and should still be running when it returns.
-        throw new UnsupportedOperationException();
+        // NOTE: the timer is running when this method is called and should still be running when it returns.
+        pause();
+        for (int i = 0; i < n; i++) {
+            T t = supplier.get();
+            if (preFunction != null) t = preFunction.apply(t);
+            resume();
+            U u = function.apply(t);
+            pauseAndLap();
+            if (postFunction != null) postFunction.accept(u);
+        }
+        final double result = meanLapTime();
+        resume();
+        return result;
     }
 
     /**
@@ -173,8 +184,7 @@ public class Timer {
      * @return the number of ticks for the system clock. Currently defined as nano time.
      */
     private static long getClock() {
-        // TO BE IMPLEMENTED
-        throw new UnsupportedOperationException();
+        return System.nanoTime();
     }
 
     /**
@@ -185,8 +195,7 @@ public class Timer {
      * @return the corresponding number of milliseconds.
      */
     private static double toMillisecs(long ticks) {
-        // TO BE IMPLEMENTED
-        throw new UnsupportedOperationException();
+        return ticks / 1_000_000.0;
     }
 
     final static LazyLogger logger = new LazyLogger(Timer.class);
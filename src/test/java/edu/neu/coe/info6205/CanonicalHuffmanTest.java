@@ -0,0 +1,104 @@
+package edu.neu.coe.info6205;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class CanonicalHuffmanTest {
+
+    @Test
+    public void testCodeLengths() {
+        int[] lengths = CanonicalHuffman.codeLengths(new long[]{45, 13, 12, 16, 9, 5, 0}, 15);
+        assertArrayEquals(new int[]{1, 3, 3, 3, 4, 4, 0}, lengths);
+    }
+
+    @Test
+    public void testCodeLengthsLimited() {
+        // Fibonacci frequencies yield a maximally unbalanced tree: 20 symbols need 19 bits without a limit.
+        long[] frequencies = new long[20];
+        frequencies[0] = frequencies[1] = 1;
+        for (int i = 2; i < frequencies.length; i++) frequencies[i] = frequencies[i - 1] + frequencies[i - 2];
+        int[] lengths = CanonicalHuffman.codeLengths(frequencies, 8);
+        double kraft = 0;
+        for (int i = 0; i < lengths.length; i++) {
+            assertTrue(lengths[i] >= 1 && lengths[i] <= 8);
+            if (i > 0) assertTrue(lengths[i] <= lengths[i - 1]);
+            kraft += Math.pow(2, -lengths[i]);
+        }
+        assertEquals(1.0, kraft, 1E-12);
+    }
+
+    @Test
+    public void testCanonicalCodes() {
+        // Example from RFC 1951, section 3.2.2.
+        CanonicalHuffman codec = new CanonicalHuffman(new int[]{3, 3, 3, 3, 3, 2, 4, 4});
+        int[] expected = {0b010, 0b011, 0b100, 0b101, 0b110, 0b00, 0b1110, 0b1111};
+        for (int s = 0; s < expected.length; s++) assertEquals(expected[s], codec.code(s));
+        assertEquals(4, codec.maxLength());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNotPrefixCode() {
+        new CanonicalHuffman(new int[]{1, 1, 1});
+    }
+
+    @Test
+    public void testSymbolsRoundTrip() {
+        Random random = new Random(0L);
+        int n = 10000;
+        int[] symbols = new int[n];
+        for (int i = 0; i < n; i++) symbols[i] = Math.min(999, (int) Math.abs(random.nextGaussian() * 100));
+        long[] frequencies = new long[1000];
+        for (int symbol : symbols) frequencies[symbol]++;
+        CanonicalHuffman codec = CanonicalHuffman.create(frequencies);
+        assertTrue(codec.maxLength() <= CanonicalHuffman.DEFAULT_MAX_LENGTH);
+        long[] words = codec.encode(symbols, 0, n);
+        assertEquals((codec.bits(symbols, 0, n) + 63) / 64, words.length);
+        int[] decoded = new int[n];
+        assertEquals(codec.bits(symbols, 0, n), codec.decode(words, decoded, 0, n));
+        assertArrayEquals(symbols, decoded);
+        assertArrayEquals(codec.lengths(), new CanonicalHuffman(codec.lengths()).lengths());
+    }
+
+    @Test
+    public void testBytesRoundTripByteBuffer() {
+        byte[] data = "the quick brown fox jumps over the lazy dog; THE QUICK BROWN FOX JUMPS OVER THE LAZY DOG".getBytes();
+        CanonicalHuffman codec = CanonicalHuffman.forBytes(data);
+        for (ByteOrder order : new ByteOrder[]{ByteOrder.BIG_ENDIAN, ByteOrder.LITTLE_ENDIAN}) {
+            ByteBuffer buffer = ByteBuffer.allocate(3 + data.length).order(order);
+            buffer.put((byte) 1).put((byte) 2).put((byte) 3);
+            long bits = codec.encode(data, 0, data.length, buffer);
+            assertEquals(3 + (bits + 7) / 8, buffer.position());
+            buffer.flip().position(3);
+            byte[] decoded = new byte[data.length];
+            assertEquals(bits, codec.decode(buffer, decoded, 0, data.length));
+            assertArrayEquals(data, decoded);
+            assertFalse(buffer.hasRemaining());
+        }
+        // The long[] and ByteBuffer encodings have the same bits.
+        long[] words = codec.encode(data, 0, data.length);
+        ByteBuffer buffer = ByteBuffer.allocate(words.length * 8);
+        codec.encode(data, 0, data.length, buffer);
+        buffer.clear();
+        for (long word : words) assertEquals(word, buffer.getLong());
+    }
+
+    @Test
+    public void testSingleSymbol() {
+        CanonicalHuffman codec = CanonicalHuffman.create(new long[]{0, 7, 0});
+        int[] symbols = {1, 1, 1, 1, 1};
+        long[] words = codec.encode(symbols, 0, symbols.length);
+        int[] decoded = new int[symbols.length];
+        assertEquals(5, codec.decode(words, decoded, 0, symbols.length));
+        assertArrayEquals(symbols, decoded);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testEncodeUnknownSymbol() {
+        CanonicalHuffman.create(new long[]{1, 1, 0}).encode(new int[]{2}, 0, 1);
+    }
+}
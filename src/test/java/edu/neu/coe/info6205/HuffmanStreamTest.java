@@ -0,0 +1,91 @@
+package edu.neu.coe.info6205;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.Assert.*;
+
+public class HuffmanStreamTest {
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        byte[] data = sample(100000);
+        byte[] compressed = compress(new HuffmanStream(4096), data);
+        assertTrue(compressed.length < data.length * 3 / 4);
+        assertArrayEquals(data, decompress(compressed));
+    }
+
+    @Test
+    public void testParallelRoundTrip() throws IOException {
+        byte[] data = sample(100000);
+        byte[] compressed = compress(new HuffmanStream(1000), data);
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            long n = HuffmanStream.decompress(Channels.newChannel(new ByteArrayInputStream(compressed)), Channels.newChannel(out), executor, 3);
+            assertEquals(data.length, n);
+            assertArrayEquals(data, out.toByteArray());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testIncompressibleAndEmpty() throws IOException {
+        byte[] random = new byte[10000];
+        new Random(0L).nextBytes(random);
+        byte[] compressed = compress(new HuffmanStream(1024), random);
+        // Every block is stored: the overhead is the stream header, the frame headers and the end marker.
+        assertEquals(8 + 10 * 9 + random.length + 9, compressed.length);
+        assertArrayEquals(random, decompress(compressed));
+        byte[] empty = compress(new HuffmanStream(), new byte[0]);
+        assertEquals(17, empty.length);
+        assertEquals(0, decompress(empty).length);
+    }
+
+    @Test(expected = IOException.class)
+    public void testNotCompressed() throws IOException {
+        decompress("this is not a compressed stream".getBytes());
+    }
+
+    @Test(expected = IOException.class)
+    public void testTruncated() throws IOException {
+        byte[] compressed = compress(new HuffmanStream(4096), sample(10000));
+        byte[] truncated = new byte[compressed.length - 20];
+        System.arraycopy(compressed, 0, truncated, 0, truncated.length);
+        decompress(truncated);
+    }
+
+    /**
+     * @return text-like data, whose statistics change every so often (so that some blocks reuse a table and some do not).
+     */
+    private static byte[] sample(int n) {
+        Random random = new Random(0L);
+        byte[] result = new byte[n];
+        for (int i = 0; i < n; i++) {
+            int base = (i / 20000) % 2 == 0 ? 'a' : '0';
+            result[i] = (byte) (base + Math.min(25, (int) Math.abs(random.nextGaussian() * 4)));
+        }
+        return result;
+    }
+
+    private static byte[] compress(HuffmanStream stream, byte[] data) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long n = stream.compress(Channels.newChannel(new ByteArrayInputStream(data)), Channels.newChannel(out));
+        assertEquals(out.size(), n);
+        return out.toByteArray();
+    }
+
+    private static byte[] decompress(byte[] compressed) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        HuffmanStream.decompress(Channels.newChannel(new ByteArrayInputStream(compressed)), Channels.newChannel(out));
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2017. Phasmid Software
+ */
+
+package edu.neu.coe.info6205;
+
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class MatrixTest {
+
+    @Test
+    public void testMultiply() {
+        Matrix a = new Matrix(2, 2, new double[][]{{1, 2}, {3, 4}});
+        Matrix b = new Matrix(2, 2, new double[][]{{-1, 2}, {-1, 0}});
+        Matrix c = a.multiply(b);
+        assertEquals(2, c.rows());
+        assertEquals(2, c.columns());
+        assertArrayEquals(new double[]{-3, 2}, c.toArray()[0], 0);
+        assertArrayEquals(new double[]{-7, 6}, c.toArray()[1], 0);
+    }
+
+    @Test
+    public void testMultiplyRectangular() {
+        // the dimensions are not multiples of the tiles.
+        Random random = new Random(0L);
+        Matrix a = Matrix.random(97, 701, random), b = Matrix.random(701, 530, random);
+        Matrix expected = a.multiplyNaive(b);
+        assertClose(expected, a.multiply(b), 1E-9);
+        assertEquals(a.multiply(b), a.multiply(b, new ForkJoinPool(3)));
+    }
+
+    @Test
+    public void testMultiplyStrassen() {
+        // 2 * STRASSEN_CUTOFF + 3 must be padded to 4 * 130.
+        Random random = new Random(1L);
+        int n = 2 * Matrix.STRASSEN_CUTOFF + 3;
+        Matrix a = Matrix.random(n, n, random), b = Matrix.random(n, n, random);
+        assertClose(a.multiply(b), a.multiplyStrassen(b, new ForkJoinPool(2)), 1E-9);
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void testIncompatible() {
+        Matrix.fromRowMajor(2, 3, new double[6]).multiply(Matrix.fromRowMajor(2, 3, new double[6]));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testFromRowMajor() {
+        Matrix.fromRowMajor(2, 3, new double[5]);
+    }
+
+    private static void assertClose(Matrix expected, Matrix actual, double delta) {
+        assertEquals(expected.rows(), actual.rows());
+        assertEquals(expected.columns(), actual.columns());
+        for (int i = 0; i < expected.rows(); i++)
+            for (int j = 0; j < expected.columns(); j++)
+                assertEquals(expected.get(i, j), actual.get(i, j), delta * expected.columns());
+    }
+}
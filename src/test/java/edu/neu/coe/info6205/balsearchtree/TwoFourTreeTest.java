@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2017. Phasmid Software
+ */
+
+package edu.neu.coe.info6205.balsearchtree;
+
+import org.junit.Test;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.Assert.*;
+
+public class TwoFourTreeTest {
+
+    @Test
+    public void testPutGet() {
+        TwoFourTree<String, Integer> tree = new TwoFourTree<>();
+        assertNull(tree.get("X"));
+        assertNull(tree.put("Hello", 3));
+        assertNull(tree.put("Goodbye", 5));
+        assertNull(tree.put("Ciao", 8));
+        assertNull(tree.put("Adios", 13));
+        assertEquals(4, tree.size());
+        assertEquals(2, tree.height());
+        assertEquals(Integer.valueOf(5), tree.put("Goodbye", 6));
+        assertEquals(4, tree.size());
+        assertEquals(Integer.valueOf(6), tree.get("Goodbye"));
+        assertEquals(Integer.valueOf(13), tree.get("Adios"));
+        assertTrue(tree.contains("Ciao"));
+        assertFalse(tree.contains("Hi"));
+        assertEquals(Arrays.asList("Adios", "Ciao", "Goodbye", "Hello"), new ArrayList<>(tree.keySet()));
+    }
+
+    @Test
+    public void testRandom() {
+        for (int order : new int[]{3, 4, 5, 64}) {
+            Random random = new Random(order);
+            TwoFourTree<Integer, Integer> tree = new TwoFourTree<>(order);
+            TreeMap<Integer, Integer> expected = new TreeMap<>();
+            for (int i = 0; i < 20000; i++) {
+                int k = random.nextInt(5000);
+                if (random.nextInt(3) == 0) {
+                    tree.delete(k);
+                    expected.remove(k);
+                } else assertEquals(expected.put(k, i), tree.put(k, i));
+            }
+            assertEquals(expected.size(), tree.size());
+            assertEquals(new ArrayList<>(expected.keySet()), new ArrayList<>(tree.keySet()));
+            for (int k = 0; k < 5000; k++) assertEquals(expected.get(k), tree.get(k));
+            List<Integer> ks = new ArrayList<>(expected.keySet());
+            Collections.shuffle(ks, random);
+            for (int k : ks) tree.delete(k);
+            assertEquals(0, tree.size());
+            assertEquals(1, tree.height());
+        }
+    }
+
+    @Test
+    public void testSortedInsert() {
+        TwoFourTree<Integer, Integer> tree = new TwoFourTree<>(4);
+        for (int i = 0; i < 100000; i++) tree.put(i, i);
+        assertEquals(100000, tree.size());
+        // Each node has at least two children, so the height is at most lg n.
+        assertTrue(tree.height() <= 17);
+        for (int i = 0; i < 100000; i += 997) assertEquals(Integer.valueOf(i), tree.get(i));
+    }
+
+    @Test
+    public void testRange() {
+        TwoFourTree<Integer, String> tree = new TwoFourTree<>(5);
+        for (int i = 0; i < 100; i += 2) tree.put(i, Integer.toString(i));
+        List<Integer> ks = new ArrayList<>();
+        for (Map.Entry<Integer, String> e : tree.range(11, 21)) {
+            ks.add(e.getKey());
+            assertEquals(Integer.toString(e.getKey()), e.getValue());
+        }
+        assertEquals(Arrays.asList(12, 14, 16, 18, 20), ks);
+        ks.clear();
+        for (Map.Entry<Integer, String> e : tree.range(95, null)) ks.add(e.getKey());
+        assertEquals(Arrays.asList(96, 98), ks);
+        assertFalse(tree.range(99, null).iterator().hasNext());
+        assertFalse(tree.range(13, 13).iterator().hasNext());
+    }
+
+    @Test
+    public void testLoad() {
+        for (int n : new int[]{0, 1, 3, 4, 10, 1000, 12345}) {
+            List<Map.Entry<Integer, Integer>> entries = new ArrayList<>();
+            for (int i = 0; i < n; i++) entries.add(new AbstractMap.SimpleImmutableEntry<>(2 * i, i));
+            TwoFourTree<Integer, Integer> tree = new TwoFourTree<>(6);
+            tree.load(entries);
+            assertEquals(n, tree.size());
+            for (int i = 0; i < n; i++) assertEquals(Integer.valueOf(i), tree.get(2 * i));
+            assertNull(tree.get(1));
+            // The loaded tree must remain valid under further updates.
+            for (int i = 0; i < n; i++) tree.put(2 * i + 1, -i);
+            for (int i = 0; i < n; i += 2) tree.delete(2 * i);
+            assertEquals(n + n / 2, tree.size());
+            int count = 0;
+            Integer previous = null;
+            for (Integer k : tree.keySet()) {
+                if (previous != null) assertTrue(previous < k);
+                previous = k;
+                count++;
+            }
+            assertEquals(tree.size(), count);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testLoadUnsorted() {
+        List<Map.Entry<Integer, Integer>> entries = new ArrayList<>();
+        entries.add(new AbstractMap.SimpleImmutableEntry<>(2, 2));
+        entries.add(new AbstractMap.SimpleImmutableEntry<>(1, 1));
+        new TwoFourTree<Integer, Integer>().load(entries);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBadOrder() {
+        new TwoFourTree<Integer, Integer>(2);
+    }
+}
@@ -6,6 +6,10 @@ package edu.neu.coe.info6205.bqs;
 
 import org.junit.Test;
 
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+
 import static org.junit.Assert.*;
 
 public class BagTest {
@@ -97,4 +101,71 @@ public class BagTest {
             bag.add(i);
         assertEquals("Bag_Array{items=[0, 1, 2, 3, 4, 5, 6, 7, 8, 9], count=10}", bag.toString());
     }
+
+    @Test
+    public void addAll() {
+        Bag<Integer> bag = new Bag_Array<>();
+        bag.add(0);
+        bag.addAll(Arrays.asList(1, 2, 3, 4, 5));
+        Bag<Integer> other = new Bag_Array<>();
+        for (int i = 6; i < 40; i++) other.add(i);
+        bag.addAll(other);
+        assertEquals(40, bag.size());
+        int expected = 0;
+        for (Integer x : bag) assertEquals(expected++, (int) x);
+    }
+
+    @Test
+    public void indexedAddAllNull() {
+        Bag<String> bag = new Bag_Array<>(2, true);
+        bag.add("a");
+        try {
+            bag.addAll(Arrays.asList("b", null, "c"));
+            fail("expected IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+        assertEquals(1, bag.size());
+        assertFalse(bag.contains("b"));
+        bag.addAll(Arrays.asList("b", "a"));
+        assertEquals(3, bag.size());
+        assertEquals(2, bag.multiplicity("a"));
+        assertEquals(1, bag.multiplicity("b"));
+    }
+
+    @Test
+    public void indexed() {
+        Bag<String> bag = new Bag_Array<>(2, true);
+        bag.add("a");
+        bag.addAll(Arrays.asList("b", "a", "c"));
+        assertEquals(4, bag.size());
+        assertTrue(bag.contains("a"));
+        assertFalse(bag.contains("d"));
+        assertEquals(2, bag.multiplicity("a"));
+        assertEquals(1, bag.multiplicity("c"));
+        assertEquals(0, bag.multiplicity("d"));
+        bag.clear();
+        assertFalse(bag.contains("a"));
+        assertEquals(0, bag.multiplicity("a"));
+    }
+
+    @Test
+    public void containsIgnoresClearedItems() {
+        Bag<Integer> bag = new Bag_Array<>();
+        bag.add(1);
+        bag.clear();
+        assertFalse(bag.contains(1));
+        assertEquals(0, bag.multiplicity(1));
+    }
+
+    @Test(expected = ConcurrentModificationException.class)
+    public void failFast() {
+        Bag<Integer> bag = new Bag_Array<>();
+        bag.add(1);
+        bag.add(2);
+        Iterator<Integer> iterator = bag.iterator();
+        iterator.next();
+        bag.add(3);
+        iterator.next();
+    }
 }
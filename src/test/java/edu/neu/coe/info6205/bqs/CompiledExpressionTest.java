@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2017. Phasmid Software
+ */
+
+package edu.neu.coe.info6205.bqs;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class CompiledExpressionTest {
+
+    @Test
+    public void testEvaluateLong() throws BQSException {
+        assertEquals(101, CompiledExpression.compile("1 + ( ( 2 + 3 ) * ( 4 * 5 ) )").evaluateLong());
+        assertEquals(7, CompiledExpression.compile("1+2*3").evaluateLong());
+        assertEquals(-3, CompiledExpression.compile("1 - 2 - 2").evaluateLong());
+        assertEquals(512, CompiledExpression.compile("2^3^2").evaluateLong());
+        assertEquals(-4, CompiledExpression.compile("-2^2").evaluateLong());
+        assertEquals(2, CompiledExpression.compile("17 % 5").evaluateLong());
+        assertEquals(3, CompiledExpression.compile("7 / 2").evaluateLong());
+        assertEquals(6, CompiledExpression.compile("--6").evaluateLong());
+    }
+
+    @Test
+    public void testVariables() throws BQSException {
+        CompiledExpression expression = DijkstraTwoStack.compile("1 + (x + 3) * (4 * y) - x ^ 2", "x", "y");
+        assertEquals(2, expression.variables());
+        assertEquals(1 + 5 * 12 - 4, expression.evaluateLong(2, 3));
+        assertEquals(1 + 3 * 4 - 0, expression.evaluateLong(0, 1));
+        assertEquals(1 + 2.5 * 2 - 0.25, expression.evaluateDouble(-0.5, 0.5), 1E-12);
+    }
+
+    @Test
+    public void testConstantFolding() throws BQSException {
+        CompiledExpression expression = CompiledExpression.compile("x * (2 + 3 * 4) - -(1)", "x");
+        assertEquals("x 14 * -1 -", expression.toString());
+        assertEquals(29, expression.evaluateLong(2));
+        assertEquals("20", CompiledExpression.compile("(1 + 2 * 3 - 2) * 2 ^ 2").toString());
+    }
+
+    @Test
+    public void testDouble() throws BQSException {
+        CompiledExpression expression = CompiledExpression.compile("r * r * 3.14159", "r");
+        assertFalse(expression.isIntegral());
+        assertEquals(12.56636, expression.evaluateDouble(2), 1E-9);
+        assertEquals(3.5, CompiledExpression.compile("7 / 2").evaluateDouble(), 0);
+        assertEquals(1.5E-3, CompiledExpression.compile("1.5e-3").evaluateDouble(), 0);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testDoubleAsLong() throws BQSException {
+        CompiledExpression.compile("x * 0.5", "x").evaluateLong(2);
+    }
+
+    @Test
+    public void testBatch() throws BQSException {
+        CompiledExpression expression = CompiledExpression.compile("a * b + (a - b) % 3", "a", "b");
+        long[][] columns = {{1, 2, 3, 4, 5}, {5, 4, 3, 2, 1}};
+        long[] results = new long[5];
+        expression.evaluateLong(columns, results);
+        for (int i = 0; i < results.length; i++)
+            assertEquals(expression.evaluateLong(columns[0][i], columns[1][i]), results[i]);
+        double[][] doubles = {{1, 2, 3}, {0.5, 0.25, 0.125}};
+        double[] values = new double[3];
+        expression.evaluateDouble(doubles, values);
+        for (int i = 0; i < values.length; i++)
+            assertEquals(expression.evaluateDouble(doubles[0][i], doubles[1][i]), values[i], 0);
+    }
+
+    @Test(expected = ArithmeticException.class)
+    public void testDivideByZero() throws BQSException {
+        CompiledExpression.compile("1 / 0").evaluateLong();
+    }
+
+    @Test
+    public void testMalformed() {
+        String[] malformed = {"", "(", ")", "1 +", "1 2", "(1 + 2", "1 + 2)", "1 $ 2", "z", "2x"};
+        for (String infix : malformed)
+            try {
+                CompiledExpression.compile(infix, "x");
+                fail("expected BQSException for: " + infix);
+            } catch (BQSException e) {
+                // expected
+            }
+    }
+}
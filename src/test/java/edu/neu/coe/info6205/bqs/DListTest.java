@@ -93,4 +93,39 @@ public class DListTest {
         assertEquals(list.toString(), "1, 2, ");
         assertEquals(list.size(), 2);
     }
+
+    @Test
+    public void testHandles() {
+        DList<Integer> list = new DList<>();
+        DList<Integer>.D_Element two = list.addLast(2);
+        DList<Integer>.D_Element one = list.addFirst(1);
+        DList<Integer>.D_Element four = list.addLast(4);
+        list.addBeforeElement(3, four);
+        list.addAfterElement(5, four);
+        assertEquals("1, 2, 3, 4, 5, ", list.toString());
+        list.moveToBack(one);
+        list.moveToFront(four);
+        assertEquals("4, 2, 3, 5, 1, ", list.toString());
+        list.remove(two);
+        list.remove(four);
+        assertEquals("3, 5, 1, ", list.toString());
+        assertEquals(3, list.size());
+        assertEquals(new Integer(3), list.first().getItem());
+        assertEquals(one, list.last());
+        assertNull(list.findFirst(2));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRemoveTwice() {
+        DList<Integer> list = new DList<>();
+        DList<Integer>.D_Element one = list.addLast(1);
+        list.remove(one);
+        list.remove(one);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testForeignElement() {
+        DList<Integer> list = new DList<>(1);
+        new DList<Integer>().addAfterElement(2, list.first());
+    }
 }
@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2017. Phasmid Software
+ */
+
+package edu.neu.coe.info6205.bqs;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class LFUCacheTest {
+
+    @Test
+    public void testEviction() {
+        LFUCache<String, Integer> cache = new LFUCache<>(3);
+        cache.put("a", 1);
+        cache.put("b", 2);
+        cache.put("c", 3);
+        cache.get("a");
+        cache.get("a");
+        cache.get("b");
+        cache.get("c");
+        assertEquals(3, cache.frequency("a"));
+        assertEquals(2, cache.frequency("b"));
+        cache.put("d", 4); // evicts b, the least recently used of the least frequently used
+        assertFalse(cache.containsKey("b"));
+        assertEquals(1, cache.frequency("d"));
+        cache.put("e", 5); // evicts d, the least frequently used
+        assertFalse(cache.containsKey("d"));
+        assertTrue(cache.containsKey("a"));
+        assertTrue(cache.containsKey("c"));
+        assertEquals(2, cache.evictions());
+        assertEquals(0, cache.frequency("d"));
+    }
+
+    @Test
+    public void testChurn() {
+        LFUCache<Integer, Integer> cache = new LFUCache<>(10);
+        for (int i = 0; i < 10; i++) cache.put(i, i);
+        for (int k = 0; k < 5; k++) cache.get(0); // key 0 is hot
+        for (int i = 10; i < 1000; i++) cache.put(i, i);
+        assertTrue(cache.containsKey(0));
+        assertEquals(10, cache.size());
+        assertEquals(990, cache.evictions());
+        cache.clear();
+        assertEquals(0, cache.size());
+    }
+}
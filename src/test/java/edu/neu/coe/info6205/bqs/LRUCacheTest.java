@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2017. Phasmid Software
+ */
+
+package edu.neu.coe.info6205.bqs;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class LRUCacheTest {
+
+    @Test
+    public void testEviction() {
+        Cache<String, Integer> cache = new LRUCache<>(3);
+        cache.put("a", 1);
+        cache.put("b", 2);
+        cache.put("c", 3);
+        assertEquals(new Integer(1), cache.get("a"));
+        cache.put("d", 4); // evicts b, the least recently used
+        assertFalse(cache.containsKey("b"));
+        assertNull(cache.get("b"));
+        assertEquals(3, cache.size());
+        assertEquals(1, cache.evictions());
+        assertEquals(1, cache.hits());
+        assertEquals(1, cache.misses());
+        assertEquals(0.5, cache.hitRate(), 0);
+        cache.put("c", 30); // c is now the most recently used
+        cache.put("e", 5); // evicts a
+        assertFalse(cache.containsKey("a"));
+        assertEquals(new Integer(30), cache.get("c"));
+    }
+
+    @Test
+    public void testWeight() {
+        Cache<String, String> cache = new LRUCache<>(10, (k, v) -> v.length());
+        cache.put("x", "abcd");
+        cache.put("y", "efgh");
+        assertEquals(8, cache.weight());
+        cache.put("z", "ijk"); // evicts x
+        assertEquals(7, cache.weight());
+        assertFalse(cache.containsKey("x"));
+        assertEquals("efgh", cache.put("y", "e"));
+        assertEquals(4, cache.weight());
+        assertNull(cache.put("w", "this value is too heavy to cache"));
+        assertFalse(cache.containsKey("w"));
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void testRemoveAndClear() {
+        Cache<Integer, Integer> cache = new LRUCache<>(100);
+        for (int i = 0; i < 50; i++) cache.put(i, i * i);
+        assertEquals(new Integer(49), cache.remove(7));
+        assertNull(cache.remove(7));
+        assertEquals(49, cache.size());
+        cache.clear();
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.weight());
+        assertEquals(0, cache.evictions());
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2017. Phasmid Software
+ */
+
+package edu.neu.coe.info6205.bqs;
+
+import org.junit.Test;
+
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+
+import static org.junit.Assert.*;
+
+public class Queue_ArrayTest {
+
+    @Test
+    public void testEnqueueDequeue() {
+        Queue_Array<Integer> queue = new Queue_Array<>();
+        assertTrue(queue.isEmpty());
+        assertNull(queue.dequeue());
+        queue.enqueue(1);
+        queue.enqueue(2);
+        assertFalse(queue.isEmpty());
+        assertEquals(2, queue.size());
+        assertEquals(Integer.valueOf(1), queue.peek());
+        assertEquals(Integer.valueOf(1), queue.dequeue());
+        assertEquals(Integer.valueOf(2), queue.dequeue());
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void testWrapAndResize() {
+        Queue_Array<Integer> queue = new Queue_Array<>();
+        int next = 0, expected = 0;
+        // Interleave operations so that the ring buffer wraps, grows and shrinks.
+        for (int round = 0; round < 10; round++) {
+            for (int i = 0; i < 1000; i++) queue.enqueue(next++);
+            for (int i = 0; i < 990; i++) assertEquals(Integer.valueOf(expected++), queue.dequeue());
+            assertEquals(next - expected, queue.size());
+        }
+        int i = expected;
+        for (int x : queue) assertEquals(i++, x);
+        assertEquals(next, i);
+        while (!queue.isEmpty()) assertEquals(Integer.valueOf(expected++), queue.dequeue());
+        assertEquals(next, expected);
+    }
+
+    @Test
+    public void testClear() {
+        Queue_Array<String> queue = new Queue_Array<>(3);
+        queue.enqueue("a");
+        queue.enqueue("b");
+        queue.clear();
+        assertEquals(0, queue.size());
+        assertFalse(queue.iterator().hasNext());
+        queue.enqueue("c");
+        assertEquals("c", queue.dequeue());
+    }
+
+    @Test(expected = ConcurrentModificationException.class)
+    public void testFailFast() {
+        Queue_Array<Integer> queue = new Queue_Array<>();
+        queue.enqueue(1);
+        queue.enqueue(2);
+        Iterator<Integer> iterator = queue.iterator();
+        iterator.next();
+        queue.enqueue(3);
+        iterator.next();
+    }
+}
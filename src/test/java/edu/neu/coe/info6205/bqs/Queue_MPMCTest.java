@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2017. Phasmid Software
+ */
+
+package edu.neu.coe.info6205.bqs;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.*;
+
+public class Queue_MPMCTest {
+
+    @Test
+    public void testOfferDequeue() {
+        Queue_MPMC<String> queue = new Queue_MPMC<>(2);
+        assertTrue(queue.isEmpty());
+        assertNull(queue.dequeue());
+        assertTrue(queue.offer("a"));
+        assertTrue(queue.offer("b"));
+        assertFalse(queue.offer("c"));
+        assertEquals(2, queue.size());
+        assertEquals("a", queue.dequeue());
+        assertTrue(queue.offer("c"));
+        List<String> list = new ArrayList<>();
+        assertEquals(2, queue.drainTo(list, 5));
+        assertEquals(Arrays.asList("b", "c"), list);
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void testIterator() throws InterruptedException {
+        Queue_MPMC<Integer> queue = new Queue_MPMC<>(4);
+        assertFalse(queue.iterator().hasNext());
+        for (int i = 0; i < 4; i++) queue.offer(i);
+        queue.dequeue();
+        queue.offer(4);
+        List<Integer> list = new ArrayList<>();
+        for (Integer x : queue) list.add(x);
+        assertEquals(Arrays.asList(1, 2, 3, 4), list);
+        assertEquals(4, queue.size());
+        // A snapshot taken while the queue is in use (by one producer) yields items in ascending order.
+        int n = 20000;
+        Queue_MPMC<Integer> busy = new Queue_MPMC<>(16);
+        Thread producer = new Thread(() -> {
+            for (int i = 0; i < n; i++) busy.enqueue(i);
+        });
+        AtomicLong consumed = new AtomicLong();
+        List<Thread> consumers = new ArrayList<>();
+        for (int c = 0; c < 2; c++)
+            consumers.add(new Thread(() -> {
+                while (consumed.get() < n) {
+                    if (busy.dequeue() == null) Thread.yield();
+                    else consumed.incrementAndGet();
+                }
+            }));
+        producer.start();
+        for (Thread consumer : consumers) consumer.start();
+        for (int snapshots = 0; snapshots < 1000 && consumed.get() < n; snapshots++) {
+            int previous = -1;
+            for (Integer x : busy) {
+                assertTrue(x > previous);
+                previous = x;
+            }
+        }
+        producer.join();
+        for (Thread consumer : consumers) consumer.join();
+    }
+
+    @Test
+    public void testConcurrent() throws InterruptedException {
+        Queue_MPMC<Integer> queue = new Queue_MPMC<>(128);
+        int producers = 4, consumers = 4, n = 400000;
+        AtomicIntegerArray seen = new AtomicIntegerArray(n);
+        AtomicLong consumed = new AtomicLong();
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            int from = n * p / producers, to = n * (p + 1) / producers;
+            threads.add(new Thread(() -> {
+                for (int i = from; i < to; i++) queue.enqueue(i);
+            }));
+        }
+        for (int c = 0; c < consumers; c++)
+            threads.add(new Thread(() -> {
+                while (consumed.get() < n) {
+                    Integer x = queue.dequeue();
+                    if (x == null) Thread.yield();
+                    else {
+                        seen.incrementAndGet(x);
+                        consumed.incrementAndGet();
+                    }
+                }
+            }));
+        for (Thread thread : threads) thread.start();
+        for (Thread thread : threads) thread.join();
+        for (int i = 0; i < n; i++) assertEquals(1, seen.get(i));
+        assertTrue(queue.isEmpty());
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2017. Phasmid Software
+ */
+
+package edu.neu.coe.info6205.bqs;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class Queue_SPSCTest {
+
+    @Test
+    public void testOfferDequeue() {
+        Queue_SPSC<Integer> queue = new Queue_SPSC<>(3);
+        assertEquals(4, queue.capacity());
+        assertTrue(queue.isEmpty());
+        assertNull(queue.dequeue());
+        for (int i = 0; i < 4; i++) assertTrue(queue.offer(i));
+        assertFalse(queue.offer(4));
+        assertEquals(4, queue.size());
+        assertEquals(Integer.valueOf(0), queue.dequeue());
+        assertTrue(queue.offer(4));
+        List<Integer> list = new ArrayList<>();
+        assertEquals(3, queue.drainTo(list, 3));
+        assertEquals(Arrays.asList(1, 2, 3), list);
+        assertEquals(1, queue.drainTo(list, 10));
+        assertEquals(0, queue.drainTo(list, 10));
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void testConcurrent() throws InterruptedException {
+        Queue_SPSC<Integer> queue = new Queue_SPSC<>(64);
+        int n = 1000000;
+        Thread producer = new Thread(() -> {
+            for (int i = 0; i < n; i++) queue.enqueue(i);
+        });
+        producer.start();
+        List<Integer> batch = new ArrayList<>();
+        int expected = 0;
+        while (expected < n) {
+            if (expected % 2 == 0) {
+                Integer x = queue.dequeue();
+                if (x != null) assertEquals(expected++, (int) x);
+                else Thread.yield();
+            } else {
+                batch.clear();
+                if (queue.drainTo(batch, 100) == 0) Thread.yield();
+                for (int x : batch) assertEquals(expected++, x);
+            }
+        }
+        producer.join();
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void testIterator() throws InterruptedException {
+        Queue_SPSC<Integer> queue = new Queue_SPSC<>(4);
+        assertFalse(queue.iterator().hasNext());
+        for (int i = 0; i < 4; i++) queue.offer(i);
+        queue.dequeue();
+        queue.offer(4);
+        List<Integer> list = new ArrayList<>();
+        for (Integer x : queue) list.add(x);
+        assertEquals(Arrays.asList(1, 2, 3, 4), list);
+        assertEquals(4, queue.size());
+        // A snapshot taken while the queue is in use yields consecutive items.
+        int n = 20000;
+        Queue_SPSC<Integer> busy = new Queue_SPSC<>(16);
+        Thread producer = new Thread(() -> {
+            for (int i = 0; i < n; i++) busy.enqueue(i);
+        });
+        Thread consumer = new Thread(() -> {
+            for (int i = 0; i < n; ) {
+                if (busy.dequeue() == null) Thread.yield();
+                else i++;
+            }
+        });
+        producer.start();
+        consumer.start();
+        for (int snapshots = 0; snapshots < 1000 && consumer.isAlive(); snapshots++) {
+            Integer previous = null;
+            for (Integer x : busy) {
+                if (previous != null) assertEquals(previous + 1, x.intValue());
+                previous = x;
+            }
+        }
+        producer.join();
+        consumer.join();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNull() {
+        new Queue_SPSC<Integer>(4).offer(null);
+    }
+}
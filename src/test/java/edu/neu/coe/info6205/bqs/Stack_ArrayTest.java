@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2017. Phasmid Software
+ */
+
+package edu.neu.coe.info6205.bqs;
+
+import org.junit.Test;
+
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+
+import static org.junit.Assert.*;
+
+public class Stack_ArrayTest {
+
+    @Test
+    public void testPushPop() throws BQSException {
+        Stack_Array<Integer> stack = new Stack_Array<>();
+        assertTrue(stack.isEmpty());
+        assertNull(stack.peek());
+        stack.push(1);
+        stack.push(2);
+        assertEquals(2, stack.size());
+        assertEquals(Integer.valueOf(2), stack.peek());
+        assertEquals(Integer.valueOf(2), stack.pop());
+        assertEquals(Integer.valueOf(1), stack.pop());
+        assertTrue(stack.isEmpty());
+    }
+
+    @Test(expected = BQSException.class)
+    public void testPopEmpty() throws BQSException {
+        new Stack_Array<Integer>().pop();
+    }
+
+    @Test
+    public void testResize() throws BQSException {
+        Stack_Array<Integer> stack = new Stack_Array<>();
+        for (int i = 0; i < 10000; i++) stack.push(i);
+        int expected = 9999;
+        for (int x : stack) assertEquals(expected--, x);
+        for (int i = 9999; i >= 0; i--) assertEquals(Integer.valueOf(i), stack.pop());
+        assertTrue(stack.isEmpty());
+        stack.push(42);
+        assertEquals("Stack_Array{42}", stack.toString());
+    }
+
+    @Test(expected = ConcurrentModificationException.class)
+    public void testFailFast() throws BQSException {
+        Stack_Array<Integer> stack = new Stack_Array<>();
+        stack.push(1);
+        stack.push(2);
+        Iterator<Integer> iterator = stack.iterator();
+        iterator.next();
+        stack.pop();
+        iterator.next();
+    }
+}
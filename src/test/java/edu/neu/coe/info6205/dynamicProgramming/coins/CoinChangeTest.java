@@ -0,0 +1,76 @@
+package edu.neu.coe.info6205.dynamicProgramming.coins;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+public class CoinChangeTest {
+
+    @Test
+    public void testSolveForAmount() {
+        CoinChange coinChange = new CoinChange(new int[]{1, 11, 13, 15});
+        assertEquals(4, coinChange.solveForAmount(40));
+        assertEquals(0, coinChange.solveForAmount(0));
+        assertEquals(2, coinChange.solveForAmount(22)); // greedy would take 15 + 7 x 1
+        assertEquals(CoinChange.IMPOSSIBLE, new CoinChange(new int[]{4, 6}).solveForAmount(7));
+    }
+
+    @Test
+    public void testChange() {
+        CoinChange coinChange = new CoinChange(new int[]{9, 7, 5, 2, 1});
+        int[] change = coinChange.change(100);
+        assertEquals(12, change.length);
+        assertEquals(100, Arrays.stream(change).sum());
+        assertArrayEquals(new int[]{11, 11}, new CoinChange(new int[]{1, 11, 13, 15}).change(22));
+        assertNull(new CoinChange(new int[]{4, 6}).change(7));
+    }
+
+    @Test
+    public void testBatch() {
+        CoinChange coinChange = new CoinChange(new int[]{3, 6, 9, 2, 11});
+        int[] amounts = {82, 1, 5, 0, 1000, 17};
+        int[] expected = new int[amounts.length];
+        for (int i = 0; i < amounts.length; i++)
+            expected[i] = new CoinChange(new int[]{3, 6, 9, 2, 11}).solveForAmount(amounts[i]);
+        assertArrayEquals(expected, coinChange.solveForAmounts(amounts));
+        assertEquals(8, expected[0]);
+        assertEquals(CoinChange.IMPOSSIBLE, expected[1]);
+    }
+
+    @Test
+    public void testRolling() {
+        CoinChange coinChange = new CoinChange(new int[]{1, 5, 12, 19});
+        for (int amount = 0; amount < 200; amount++)
+            assertEquals(coinChange.solveForAmount(amount), coinChange.minimumCoinsRolling(amount));
+        assertEquals(CoinChange.IMPOSSIBLE, new CoinChange(new int[]{4, 6}).minimumCoinsRolling(1000001));
+    }
+
+    @Test
+    public void testWays() {
+        CoinChange coinChange = new CoinChange(new int[]{1, 2, 5});
+        assertEquals(4, coinChange.ways(5));
+        assertEquals(1, coinChange.ways(0));
+        assertArrayEquals(new long[]{4, 10, 1}, coinChange.ways(new int[]{5, 10, 1}));
+        assertEquals(292, new CoinChange(new int[]{1, 5, 10, 25, 50}).ways(100));
+    }
+
+    @Test
+    public void testWaysOverflow() {
+        int[] coins = new int[40];
+        for (int i = 0; i < coins.length; i++) coins[i] = i + 1;
+        long expected = new CoinChange(coins).ways(218);
+        // the table built for 217 extends (by doubling) to amounts whose ways overflow, which must not matter for 218.
+        CoinChange coinChange = new CoinChange(coins);
+        coinChange.ways(217);
+        assertEquals(expected, coinChange.ways(218));
+        try {
+            coinChange.ways(100000);
+            fail("ways(100000) should overflow");
+        } catch (ArithmeticException e) {
+            // expected
+        }
+        assertEquals(expected, coinChange.ways(218));
+    }
+}
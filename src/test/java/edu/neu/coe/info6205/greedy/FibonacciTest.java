@@ -3,6 +3,8 @@ package edu.neu.coe.info6205.greedy;
 import edu.neu.coe.info6205.util.PrivateMethodTester;
 import org.junit.Test;
 
+import java.math.BigInteger;
+
 import static org.junit.Assert.assertEquals;
 
 public class FibonacciTest {
@@ -87,4 +89,53 @@ public class FibonacciTest {
         assertEquals(5L, t.invokePrivate("getLargest", 6L));
     }
 
+    /**
+     * Test method for ensure at the limit of long
+     */
+    @Test
+    public void testEnsureLimit() {
+        Fibonacci z = new Fibonacci();
+        z.ensure(Long.MAX_VALUE);
+        assertEquals(7540113804746346429L, z.getLargest(Long.MAX_VALUE));
+        assertEquals(4660046610375530309L, z.getLargest(7540113804746346428L));
+    }
+
+    /**
+     * Test method for get and getBig
+     */
+    @Test
+    public void testGet() {
+        assertEquals(0L, Fibonacci.get(0));
+        assertEquals(1L, Fibonacci.get(1));
+        assertEquals(55L, Fibonacci.get(10));
+        assertEquals(7540113804746346429L, Fibonacci.get(Fibonacci.MAX_INDEX));
+        BigInteger a = BigInteger.ZERO, b = BigInteger.ONE;
+        for (int n = 0; n <= 1000; n++) {
+            assertEquals("F(" + n + ")", a, Fibonacci.getBig(n));
+            BigInteger c = a.add(b);
+            a = b;
+            b = c;
+        }
+        assertEquals(20899, Fibonacci.getBig(100000).toString().length());
+    }
+
+    @Test(expected = ArithmeticException.class)
+    public void testGetOverflow() {
+        Fibonacci.get(Fibonacci.MAX_INDEX + 1);
+    }
+
+    /**
+     * Test method for largestIndex
+     */
+    @Test
+    public void testLargestIndex() {
+        assertEquals(2, Fibonacci.largestIndex(1));
+        assertEquals(3, Fibonacci.largestIndex(2));
+        assertEquals(4, Fibonacci.largestIndex(4));
+        assertEquals(5, Fibonacci.largestIndex(5));
+        assertEquals(Fibonacci.MAX_INDEX, Fibonacci.largestIndex(Long.MAX_VALUE));
+        for (int n = 3; n < Fibonacci.MAX_INDEX; n++)
+            assertEquals(n - 1, Fibonacci.largestIndex(Fibonacci.get(n) - 1));
+    }
+
 }
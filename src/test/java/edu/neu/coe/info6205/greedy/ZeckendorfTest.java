@@ -3,7 +3,9 @@ package edu.neu.coe.info6205.greedy;
 import org.junit.Test;
 
 import java.util.Iterator;
+import java.util.Random;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 
@@ -61,4 +63,43 @@ public class ZeckendorfTest {
         assertFalse(fibs.hasNext());
     }
 
+    /**
+     * Test method for encode
+     */
+    @Test
+    public void testEncode() {
+        // 1 = 11, 2 = 011, 3 = 0011, 4 = 1011: packed as 1101 1001 1101 1000 ...
+        long[] codes = Zeckendorf.encode(new long[]{1, 2, 3, 4});
+        assertEquals(1, codes.length);
+        assertEquals(0xD9D8000000000000L, codes[0]);
+        assertEquals(13, Zeckendorf.bits(new long[]{1, 2, 3, 4}));
+        assertEquals(92, Zeckendorf.length(Long.MAX_VALUE));
+    }
+
+    /**
+     * Test method for encode and decode
+     */
+    @Test
+    public void testEncodeDecode() {
+        Random random = new Random(0L);
+        long[] values = new long[10000];
+        for (int i = 0; i < values.length; i++) {
+            int bits = 1 + random.nextInt(63);
+            values[i] = Math.max(1, random.nextLong() >>> (64 - bits));
+        }
+        values[0] = Long.MAX_VALUE;
+        values[1] = 1;
+        values[2] = Fibonacci.get(Fibonacci.MAX_INDEX);
+        long[] codes = Zeckendorf.encode(values);
+        long[] decoded = new long[values.length];
+        assertEquals(Zeckendorf.bits(values), Zeckendorf.decode(codes, decoded));
+        assertArrayEquals(values, decoded);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDecodeTruncated() {
+        long[] codes = Zeckendorf.encode(new long[]{100, 1000});
+        Zeckendorf.decode(codes, new long[3]);
+    }
+
 }
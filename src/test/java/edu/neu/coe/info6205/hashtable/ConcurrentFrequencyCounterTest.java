@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2017. Phasmid Software
+ */
+
+package edu.neu.coe.info6205.hashtable;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.*;
+
+public class ConcurrentFrequencyCounterTest {
+
+    @Test
+    public void testIncrement() {
+        ConcurrentFrequencyCounter<String> fc = new ConcurrentFrequencyCounter<>();
+        assertEquals(0L, fc.count("X"));
+        fc.increment("X");
+        fc.add("Y", 3);
+        assertEquals(Long.valueOf(1), fc.get("X"));
+        assertEquals(3L, fc.count("Y"));
+        assertEquals(4L, fc.total());
+        assertEquals(0.75, fc.relativeFrequency("Y"), 0.0000001);
+        assertEquals(2, fc.keys().size());
+    }
+
+    @Test
+    public void testConcurrentIncrement() {
+        ConcurrentFrequencyCounter<Integer> fc = new ConcurrentFrequencyCounter<>();
+        IntStream.range(0, 100000).parallel().forEach(i -> fc.increment(i % 10));
+        assertEquals(100000L, fc.total());
+        for (int i = 0; i < 10; i++) assertEquals(10000L, fc.count(i));
+    }
+
+    @Test
+    public void testMergeAndTopK() {
+        ConcurrentFrequencyCounter<String> fc = new ConcurrentFrequencyCounter<>();
+        ObjectIntMap<String> counts = new ObjectIntMap<>();
+        counts.addTo("a", 5);
+        counts.addTo("b", 2);
+        counts.addTo("c", 9);
+        counts.addTo("d", 1);
+        fc.merge(counts);
+        fc.increment("b");
+        List<Map.Entry<String, Long>> top = fc.topK(2);
+        assertEquals(2, top.size());
+        assertEquals("c", top.get(0).getKey());
+        assertEquals(Long.valueOf(9), top.get(0).getValue());
+        assertEquals("a", top.get(1).getKey());
+        assertEquals(4, fc.topK(10).size());
+    }
+
+    @Test
+    public void testIngest() throws IOException {
+        Path path = Files.createTempFile("corpus", ".txt");
+        try {
+            List<String> lines = new ArrayList<>();
+            for (int i = 0; i < 5000; i++) lines.add("the quick brown fox " + (i % 7 == 0 ? "jumps" : "sleeps") + "\r");
+            Files.write(path, lines, StandardCharsets.UTF_8);
+            ConcurrentFrequencyCounter<String> fc = new ConcurrentFrequencyCounter<>();
+            // NOTE a tiny chunk size so that many chunk boundaries fall in the middle of lines.
+            fc.ingest(path, line -> Arrays.asList(line.split(" ")), new ForkJoinPool(4), 1000);
+            assertEquals(5000L, fc.count("the"));
+            assertEquals(5000L, fc.count("fox"));
+            assertEquals(715L, fc.count("jumps"));
+            assertEquals(4285L, fc.count("sleeps"));
+            assertEquals(25000L, fc.total());
+            assertEquals(6, fc.keys().size());
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    @Test
+    public void testIngestLongLines() throws IOException {
+        Path path = Files.createTempFile("corpus", ".txt");
+        try {
+            // lines of multi-byte characters, some much longer than a chunk, and some empty.
+            List<String> lines = new ArrayList<>();
+            StringBuilder expected = new StringBuilder();
+            for (int i = 0; i < 300; i++) {
+                StringBuilder line = new StringBuilder();
+                int words = i % 50 == 0 ? 3000 : i % 13 == 0 ? 0 : 5;
+                for (int j = 0; j < words; j++) line.append(j == 0 ? "" : " ").append(j % 3 == 0 ? "café" : "naïve");
+                lines.add(line.toString());
+                expected.append(line).append(' ');
+            }
+            Files.write(path, lines, StandardCharsets.UTF_8);
+            ConcurrentFrequencyCounter<String> fc = new ConcurrentFrequencyCounter<>();
+            fc.ingest(path, line -> line.isEmpty() ? Collections.emptyList() : Arrays.asList(line.split(" ")), ForkJoinPool.commonPool(), 1000);
+            long cafes = Arrays.stream(expected.toString().split(" ")).filter("café"::equals).count();
+            long naives = Arrays.stream(expected.toString().split(" ")).filter("naïve"::equals).count();
+            assertEquals(cafes, fc.count("café"));
+            assertEquals(naives, fc.count("naïve"));
+            assertEquals(cafes + naives, fc.total());
+        } finally {
+            Files.delete(path);
+        }
+    }
+}
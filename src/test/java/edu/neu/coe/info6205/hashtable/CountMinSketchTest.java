@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2017. Phasmid Software
+ */
+
+package edu.neu.coe.info6205.hashtable;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class CountMinSketchTest {
+
+    @Test
+    public void testIncrement() {
+        CountMinSketch<String> sketch = new CountMinSketch<>(1024, 4, 0L);
+        assertEquals(0L, sketch.count("X"));
+        sketch.increment("X");
+        sketch.add("Y", 3);
+        assertEquals(Long.valueOf(1), sketch.get("X"));
+        assertEquals(3L, sketch.count("Y"));
+        assertEquals(4L, sketch.total());
+    }
+
+    @Test
+    public void testErrorBound() {
+        CountMinSketch<Integer> sketch = CountMinSketch.create(0.001, 0.01, 42L);
+        int[] counts = new int[10000];
+        Random random = new Random(0L);
+        for (int i = 0; i < 200000; i++) {
+            int x = (int) Math.min(counts.length - 1, Math.abs(random.nextGaussian()) * 1000);
+            counts[x]++;
+            sketch.increment(x);
+        }
+        long bound = (long) (0.001 * sketch.total());
+        int violations = 0;
+        for (int x = 0; x < counts.length; x++) {
+            long estimate = sketch.count(x);
+            assertTrue(estimate >= counts[x]);
+            if (estimate - counts[x] > bound) violations++;
+        }
+        assertTrue(violations < counts.length / 100);
+    }
+
+    @Test
+    public void testMerge() {
+        CountMinSketch<String> sketch1 = new CountMinSketch<>(256, 4, 7L);
+        CountMinSketch<String> sketch2 = new CountMinSketch<>(256, 4, 7L);
+        sketch1.add("X", 5);
+        sketch2.add("X", 2);
+        sketch2.add("Y", 3);
+        sketch1.merge(sketch2);
+        assertEquals(7L, sketch1.count("X"));
+        assertEquals(3L, sketch1.count("Y"));
+        assertEquals(10L, sketch1.total());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMergeIncompatible() {
+        new CountMinSketch<String>(256, 4, 7L).merge(new CountMinSketch<>(256, 4, 8L));
+    }
+}
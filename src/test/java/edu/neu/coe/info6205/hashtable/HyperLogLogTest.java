@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) 2017. Phasmid Software
+ */
+
+package edu.neu.coe.info6205.hashtable;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class HyperLogLogTest {
+
+    @Test
+    public void testSmall() {
+        HyperLogLog hll = new HyperLogLog();
+        assertEquals(0L, hll.cardinality());
+        for (int i = 0; i < 10; i++) hll.add("x" + (i % 5));
+        assertEquals(5L, hll.cardinality());
+    }
+
+    @Test
+    public void testLarge() {
+        HyperLogLog hll = new HyperLogLog(14);
+        for (long i = 0; i < 1000000; i++) hll.add(i);
+        // The standard error for p=14 is about 0.8%.
+        assertEquals(1000000.0, hll.cardinality(), 30000.0);
+    }
+
+    @Test
+    public void testMerge() {
+        HyperLogLog hll1 = new HyperLogLog(12);
+        HyperLogLog hll2 = new HyperLogLog(12);
+        for (long i = 0; i < 60000; i++) hll1.add(i);
+        for (long i = 40000; i < 100000; i++) hll2.add(i);
+        hll1.merge(hll2);
+        assertEquals(100000.0, hll1.cardinality(), 5000.0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBadPrecision() {
+        new HyperLogLog(3);
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2017. Phasmid Software
+ */
+
+package edu.neu.coe.info6205.hashtable;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class IntIntMapTest {
+
+    @Test
+    public void testPutGet() {
+        IntIntMap map = new IntIntMap(2);
+        assertEquals(0, map.get(42));
+        assertFalse(map.containsKey(42));
+        assertEquals(0, map.put(42, 1));
+        assertEquals(1, map.put(42, 2));
+        assertEquals(2, map.get(42));
+        assertEquals(-1, map.getOrDefault(43, -1));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    public void testZeroKey() {
+        IntIntMap map = new IntIntMap();
+        assertFalse(map.containsKey(0));
+        assertEquals(3, map.addTo(0, 3));
+        assertTrue(map.containsKey(0));
+        assertEquals(1, map.size());
+        assertArrayEquals(new int[]{0}, map.keys());
+        assertEquals(3, map.remove(0));
+        assertEquals(0, map.size());
+    }
+
+    @Test
+    public void testAgainstHashMap() {
+        IntIntMap map = new IntIntMap(2);
+        Map<Integer, Integer> expected = new HashMap<>();
+        Random random = new Random(0L);
+        for (int i = 0; i < 100000; i++) {
+            int key = random.nextInt(2000) - 1000;
+            switch (random.nextInt(3)) {
+                case 0:
+                    map.addTo(key, 1);
+                    expected.merge(key, 1, Integer::sum);
+                    break;
+                case 1:
+                    map.put(key, i);
+                    expected.put(key, i);
+                    break;
+                default:
+                    Integer x = expected.remove(key);
+                    assertEquals(x == null ? 0 : x, map.remove(key));
+            }
+        }
+        assertEquals(expected.size(), map.size());
+        for (int key = -1000; key < 1000; key++) assertEquals(expected.getOrDefault(key, 0).intValue(), map.get(key));
+    }
+}
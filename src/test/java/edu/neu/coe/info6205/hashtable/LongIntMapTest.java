@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2017. Phasmid Software
+ */
+
+package edu.neu.coe.info6205.hashtable;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class LongIntMapTest {
+
+    @Test
+    public void testAddTo() {
+        LongIntMap map = new LongIntMap();
+        long big = 1L << 40;
+        assertEquals(1, map.addTo(big, 1));
+        assertEquals(2, map.addTo(big, 1));
+        assertEquals(0, map.get(big + 1));
+        assertEquals(5, map.addTo(0L, 5));
+        assertEquals(2, map.size());
+        assertEquals(2, map.keys().length);
+    }
+
+    @Test
+    public void testAgainstHashMap() {
+        LongIntMap map = new LongIntMap(2);
+        Map<Long, Integer> expected = new HashMap<>();
+        Random random = new Random(0L);
+        for (int i = 0; i < 100000; i++) {
+            long key = (random.nextInt(2000) - 1000) * 0x100000001L;
+            if (random.nextInt(3) > 0) {
+                map.addTo(key, 1);
+                expected.merge(key, 1, Integer::sum);
+            } else {
+                Integer x = expected.remove(key);
+                assertEquals(x == null ? 0 : x, map.remove(key));
+            }
+        }
+        assertEquals(expected.size(), map.size());
+        for (Map.Entry<Long, Integer> e : expected.entrySet())
+            assertEquals(e.getValue().intValue(), map.get(e.getKey()));
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) 2017. Phasmid Software
+ */
+
+package edu.neu.coe.info6205.hashtable;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class LongLongMapTest {
+
+    @Test
+    public void testAddTo() {
+        LongLongMap map = new LongLongMap();
+        long big = 1L << 40;
+        assertEquals(1L << 40, map.addTo(big, big));
+        assertEquals((1L << 40) + 1, map.addTo(big, 1));
+        assertEquals(0, map.get(big + 1));
+        assertEquals(-1, map.getOrDefault(big + 1, -1));
+        assertEquals(5, map.addTo(0L, 5));
+        assertEquals(2, map.size());
+        assertEquals(2, map.keys().length);
+    }
+
+    @Test
+    public void testAgainstHashMap() {
+        LongLongMap map = new LongLongMap(2);
+        Map<Long, Long> expected = new HashMap<>();
+        Random random = new Random(0L);
+        for (int i = 0; i < 100000; i++) {
+            long key = (random.nextInt(2000) - 1000) * 0x100000001L;
+            if (random.nextInt(3) > 0) {
+                map.addTo(key, 1);
+                expected.merge(key, 1L, Long::sum);
+            } else {
+                Long x = expected.remove(key);
+                assertEquals(x == null ? 0 : x, map.remove(key));
+            }
+        }
+        assertEquals(expected.size(), map.size());
+        for (Map.Entry<Long, Long> e : expected.entrySet())
+            assertEquals(e.getValue().longValue(), map.get(e.getKey()));
+    }
+}
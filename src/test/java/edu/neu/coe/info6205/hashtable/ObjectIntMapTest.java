@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2017. Phasmid Software
+ */
+
+package edu.neu.coe.info6205.hashtable;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class ObjectIntMapTest {
+
+    @Test
+    public void testPutGet() {
+        ObjectIntMap<String> map = new ObjectIntMap<>(2);
+        assertNull(map.get("X"));
+        assertEquals(0, map.getInt("X"));
+        map.put("X", 3);
+        assertEquals(Integer.valueOf(3), map.get("X"));
+        assertEquals(3, map.putInt("X", 4));
+        assertEquals(5, map.addTo("X", 1));
+        assertEquals(1, map.addTo("Y", 1));
+        assertEquals(2, map.size());
+        assertEquals(2, map.keys().size());
+        assertEquals(5, map.removeKey("X"));
+        assertFalse(map.containsKey("X"));
+    }
+
+    @Test
+    public void testAgainstHashMap() {
+        ObjectIntMap<String> map = new ObjectIntMap<>();
+        Map<String, Integer> expected = new HashMap<>();
+        Random random = new Random(0L);
+        for (int i = 0; i < 100000; i++) {
+            String key = "k" + random.nextInt(1000);
+            if (random.nextInt(3) > 0) {
+                map.addTo(key, 1);
+                expected.merge(key, 1, Integer::sum);
+            } else {
+                Integer x = expected.remove(key);
+                assertEquals(x == null ? 0 : x, map.removeKey(key));
+            }
+        }
+        assertEquals(expected.size(), map.size());
+        assertEquals(expected.keySet(), map.keys());
+        for (String key : expected.keySet()) assertEquals(expected.get(key), map.get(key));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNullKey() {
+        new ObjectIntMap<String>().addTo(null, 1);
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2017. Phasmid Software
+ */
+
+package edu.neu.coe.info6205.hashtable;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class OpenHashTableTest {
+
+    @Test
+    public void testPutGet() {
+        OpenHashTable<String, String> table = new OpenHashTable<>(2);
+        assertNull(table.get("Hello"));
+        table.put("Hello", "World!");
+        assertEquals("World!", table.get("Hello"));
+        // NOTE a different String instance which is equal to "Hello"
+        assertEquals("World!", table.get(new String("Hello")));
+        table.put("Hello", "Again");
+        assertEquals("Again", table.get("Hello"));
+        assertEquals(1, table.size());
+    }
+
+    @Test
+    public void testZeroHash() {
+        OpenHashTable<Integer, String> table = new OpenHashTable<>(2);
+        table.put(0, "zero");
+        assertTrue(table.containsKey(0));
+        assertEquals("zero", table.get(0));
+    }
+
+    @Test
+    public void testResize() {
+        OpenHashTable<Integer, Integer> table = new OpenHashTable<>(2);
+        for (int i = 0; i < 10000; i++) table.put(i, i * i);
+        assertEquals(10000, table.size());
+        for (int i = 0; i < 10000; i++) assertEquals(Integer.valueOf(i * i), table.get(i));
+        assertEquals(10000, table.keys().size());
+    }
+
+    @Test
+    public void testRemove() {
+        OpenHashTable<Integer, Integer> table = new OpenHashTable<>(16);
+        Map<Integer, Integer> expected = new HashMap<>();
+        Random random = new Random(0L);
+        for (int i = 0; i < 100000; i++) {
+            int key = random.nextInt(1000);
+            if (random.nextBoolean()) {
+                table.put(key, i);
+                expected.put(key, i);
+            } else assertEquals(expected.remove(key), table.remove(key));
+        }
+        assertEquals(expected.size(), table.size());
+        for (int key = 0; key < 1000; key++) assertEquals(expected.get(key), table.get(key));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNullKey() {
+        new OpenHashTable<String, String>().put(null, "x");
+    }
+}
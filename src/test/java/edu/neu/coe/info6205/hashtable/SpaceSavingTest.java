@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2017. Phasmid Software
+ */
+
+package edu.neu.coe.info6205.hashtable;
+
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class SpaceSavingTest {
+
+    @Test
+    public void testIncrement() {
+        SpaceSaving<String> ss = new SpaceSaving<>(3);
+        ss.increment("X");
+        ss.add("Y", 3);
+        ss.add("Z", 2);
+        assertEquals(Long.valueOf(1), ss.get("X"));
+        assertEquals(3L, ss.count("Y"));
+        assertEquals(0L, ss.error("Y"));
+        assertEquals(6L, ss.total());
+        // "W" evicts "X" (the minimum) and inherits its count.
+        ss.increment("W");
+        assertEquals(0L, ss.count("X"));
+        assertEquals(2L, ss.count("W"));
+        assertEquals(1L, ss.error("W"));
+        assertEquals(3, ss.keys().size());
+        List<Map.Entry<String, Long>> top = ss.topK();
+        assertEquals("Y", top.get(0).getKey());
+        assertEquals(3L, (long) top.get(0).getValue());
+    }
+
+    @Test
+    public void testHeavyHitters() {
+        SpaceSaving<Integer> ss = new SpaceSaving<>(20);
+        int[] counts = new int[1000];
+        Random random = new Random(0L);
+        for (int i = 0; i < 100000; i++) {
+            // Keys 0..4 are heavy hitters; the rest are noise.
+            int x = random.nextInt(4) == 0 ? random.nextInt(counts.length) : random.nextInt(5);
+            counts[x]++;
+            ss.increment(x);
+        }
+        for (int x = 0; x < 5; x++) {
+            assertTrue(ss.keys().contains(x));
+            assertTrue(ss.count(x) >= counts[x]);
+            assertTrue(ss.count(x) - ss.error(x) <= counts[x]);
+        }
+        for (Map.Entry<Integer, Long> e : ss.topK().subList(0, 5)) assertTrue(e.getKey() < 5);
+    }
+
+    @Test
+    public void testMerge() {
+        SpaceSaving<String> ss1 = new SpaceSaving<>(2);
+        SpaceSaving<String> ss2 = new SpaceSaving<>(2);
+        ss1.add("X", 5);
+        ss1.add("Y", 1);
+        ss2.add("X", 2);
+        ss2.add("Z", 4);
+        ss1.merge(ss2);
+        assertEquals(12L, ss1.total());
+        assertEquals(7L, ss1.count("X"));
+        assertEquals(5L, ss1.count("Z"));
+        assertEquals(1L, ss1.error("Z"));
+        assertEquals(0L, ss1.count("Y"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBadK() {
+        new SpaceSaving<String>(0);
+    }
+
+    @Test
+    public void testBounds() {
+        // with evictions on almost every add, the heap must still yield the true minimum.
+        SpaceSaving<Integer> ss = new SpaceSaving<>(10);
+        int[] actual = new int[100];
+        Random random = new Random(3L);
+        for (int i = 0; i < 20000; i++) {
+            int x = (int) Math.abs(random.nextGaussian() * 20) % actual.length;
+            actual[x]++;
+            ss.increment(x);
+        }
+        long sum = 0;
+        for (Map.Entry<Integer, Long> e : ss.topK()) {
+            int x = e.getKey();
+            assertTrue(ss.count(x) >= actual[x]);
+            assertTrue(ss.count(x) - ss.error(x) <= actual[x]);
+            sum += e.getValue();
+        }
+        assertEquals(ss.total(), sum);
+        for (int x = 0; x < actual.length; x++)
+            if (actual[x] > ss.total() / 10) assertTrue(ss.keys().contains(x));
+    }
+}
@@ -0,0 +1,62 @@
+package edu.neu.coe.info6205.pq;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class DAryHeapTest {
+
+    @Test
+    public void testGiveTake() throws PQException {
+        PQ<String> pq = new DAryHeap<>(1, false, Comparator.comparing(String::toString));
+        pq.give("C");
+        pq.give("A");
+        pq.give("B");
+        assertEquals(3, pq.size());
+        assertEquals("A", pq.take());
+        assertEquals("B", pq.take());
+        assertEquals("C", pq.take());
+        assertTrue(pq.isEmpty());
+    }
+
+    @Test(expected = PQException.class)
+    public void testTakeEmpty() throws PQException {
+        new DAryHeap<>(10, true, Comparator.comparing(String::toString)).take();
+    }
+
+    @Test
+    public void testHeapify() throws PQException {
+        Random random = new Random(0L);
+        for (int d = 2; d <= 5; d++) {
+            Integer[] xs = new Integer[1000];
+            for (int i = 0; i < xs.length; i++) xs[i] = random.nextInt(100);
+            DAryHeap<Integer> pq = DAryHeap.heapify(d, xs, true, Integer::compare);
+            assertEquals(xs.length, pq.size());
+            Integer[] sorted = xs.clone();
+            Arrays.sort(sorted, Comparator.reverseOrder());
+            for (Integer x : sorted) assertEquals(x, pq.take());
+            assertTrue(pq.isEmpty());
+        }
+    }
+
+    @Test
+    public void testGrowAndShrink() throws PQException {
+        DAryHeap<Integer> pq = new DAryHeap<>(2, false, Integer::compare);
+        for (int i = 1000; i > 0; i--) pq.give(i);
+        assertEquals(Integer.valueOf(1), pq.peek());
+        for (int i = 1; i <= 1000; i++) assertEquals(Integer.valueOf(i), pq.take());
+        assertTrue(pq.isEmpty());
+    }
+
+    @Test
+    public void testIterator() {
+        DAryHeap<Integer> pq = DAryHeap.heapify(new Integer[]{3, 1, 2}, false, Integer::compare);
+        int sum = 0;
+        for (Integer x : pq) sum += x;
+        assertEquals(6, sum);
+    }
+}
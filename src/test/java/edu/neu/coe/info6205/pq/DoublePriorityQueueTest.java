@@ -0,0 +1,43 @@
+package edu.neu.coe.info6205.pq;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class DoublePriorityQueueTest {
+
+    @Test
+    public void testGiveTake() throws PQException {
+        DoublePriorityQueue pq = new DoublePriorityQueue(1, false);
+        pq.give(3.0, 3);
+        pq.give(1.0, 1);
+        pq.give(2.0, 2);
+        assertEquals(1.0, pq.peekPriority(), 0.0);
+        assertEquals(1, pq.take());
+        assertEquals(2, pq.take());
+        assertEquals(3, pq.take());
+        assertTrue(pq.isEmpty());
+    }
+
+    @Test
+    public void testMany() throws PQException {
+        DoublePriorityQueue pq = new DoublePriorityQueue(16, false);
+        Random random = new Random(0L);
+        for (int i = 0; i < 10000; i++) pq.give(random.nextDouble(), i);
+        assertEquals(10000, pq.size());
+        double previous = Double.NEGATIVE_INFINITY;
+        while (!pq.isEmpty()) {
+            double priority = pq.peekPriority();
+            assertTrue(priority >= previous);
+            pq.take();
+            previous = priority;
+        }
+    }
+
+    @Test(expected = PQException.class)
+    public void testTakeEmpty() throws PQException {
+        new DoublePriorityQueue(1, true).peekValue();
+    }
+}
@@ -0,0 +1,82 @@
+package edu.neu.coe.info6205.pq;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class IndexedPriorityQueueTest {
+
+    @Test
+    public void testInsertTake() throws PQException {
+        IndexedPriorityQueue<Double> pq = new IndexedPriorityQueue<>(2, false, Double::compare);
+        pq.insert(0, 3.0);
+        pq.insert(5, 1.0);
+        pq.insert(2, 2.0);
+        assertEquals(3, pq.size());
+        assertTrue(pq.contains(5));
+        assertFalse(pq.contains(1));
+        assertEquals(5, pq.takeHandle());
+        assertEquals(Double.valueOf(2.0), pq.take());
+        assertEquals(0, pq.peekHandle());
+    }
+
+    @Test
+    public void testDecreaseKey() throws PQException {
+        IndexedPriorityQueue<Double> pq = new IndexedPriorityQueue<>(4, false, Double::compare);
+        for (int i = 0; i < 4; i++) pq.insert(i, 10.0 + i);
+        pq.decreaseKey(3, 1.0);
+        assertEquals(3, pq.peekHandle());
+        pq.increaseKey(3, 20.0);
+        assertEquals(0, pq.peekHandle());
+        pq.changeKey(2, 0.5);
+        assertEquals(Double.valueOf(0.5), pq.keyOf(2));
+        assertEquals(2, pq.takeHandle());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDecreaseKeyWrongWay() {
+        IndexedPriorityQueue<Double> pq = new IndexedPriorityQueue<>(1, false, Double::compare);
+        pq.insert(0, 1.0);
+        pq.decreaseKey(0, 2.0);
+    }
+
+    @Test
+    public void testDelete() throws PQException {
+        IndexedPriorityQueue<String> pq = new IndexedPriorityQueue<>(1, true, String::compareTo);
+        int a = pq.add("A");
+        int b = pq.add("B");
+        int c = pq.add("C");
+        assertEquals(0, a);
+        assertEquals(2, c);
+        assertEquals("C", pq.delete(c));
+        assertFalse(pq.contains(c));
+        assertEquals(b, pq.takeHandle());
+        assertEquals("A", pq.take());
+        assertTrue(pq.isEmpty());
+    }
+
+    @Test
+    public void testReuseHandles() throws PQException {
+        IndexedPriorityQueue<Integer> pq = new IndexedPriorityQueue<>(1, false, Integer::compare);
+        for (int i = 0; i < 1000; i++) {
+            pq.give(i);
+            assertEquals(Integer.valueOf(i), pq.take());
+        }
+        assertEquals(0, pq.add(1));
+        assertEquals(1, pq.add(2));
+        assertEquals(Integer.valueOf(1), pq.delete(0));
+        // A released handle chosen by the caller is no longer allocated by add.
+        pq.insert(0, 3);
+        assertEquals(2, pq.add(4));
+        assertEquals(1, pq.takeHandle());
+        assertEquals(1, pq.add(5));
+        assertEquals(3, pq.size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInsertTwice() {
+        IndexedPriorityQueue<String> pq = new IndexedPriorityQueue<>(1, true, String::compareTo);
+        pq.insert(0, "A");
+        pq.insert(0, "B");
+    }
+}
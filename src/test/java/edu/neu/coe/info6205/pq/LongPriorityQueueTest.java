@@ -0,0 +1,46 @@
+package edu.neu.coe.info6205.pq;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class LongPriorityQueueTest {
+
+    @Test
+    public void testGiveTake() throws PQException {
+        LongPriorityQueue pq = new LongPriorityQueue(1, false);
+        pq.give(30L, 3);
+        pq.give(10L, 1);
+        pq.give(20L, 2);
+        assertEquals(3, pq.size());
+        assertEquals(10L, pq.peekPriority());
+        assertEquals(1, pq.take());
+        assertEquals(2, pq.take());
+        assertEquals(3, pq.take());
+        assertTrue(pq.isEmpty());
+    }
+
+    @Test
+    public void testMany() throws PQException {
+        LongPriorityQueue pq = new LongPriorityQueue(16, true);
+        Random random = new Random(0L);
+        for (int i = 0; i < 10000; i++) {
+            long x = random.nextLong();
+            pq.give(x, (int) x);
+        }
+        long previous = Long.MAX_VALUE;
+        while (!pq.isEmpty()) {
+            long priority = pq.peekPriority();
+            assertTrue(priority <= previous);
+            assertEquals((int) priority, pq.take());
+            previous = priority;
+        }
+    }
+
+    @Test(expected = PQException.class)
+    public void testTakeEmpty() throws PQException {
+        new LongPriorityQueue(1, false).take();
+    }
+}
@@ -0,0 +1,58 @@
+package edu.neu.coe.info6205.pq;
+
+import org.junit.Test;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.*;
+
+public class MultiQueueTest {
+
+    @Test
+    public void testGiveTake() throws PQException {
+        MultiQueue<Integer> pq = new MultiQueue<>(4, false, Integer::compare);
+        pq.give(3);
+        pq.give(1);
+        pq.give(2);
+        assertEquals(3, pq.size());
+        int sum = 0;
+        for (Integer x : pq) sum += x;
+        assertEquals(6, sum);
+        sum = pq.take() + pq.take() + pq.take();
+        assertEquals(6, sum);
+        assertTrue(pq.isEmpty());
+        assertNull(pq.poll());
+    }
+
+    @Test(expected = PQException.class)
+    public void testTakeEmpty() throws PQException {
+        new MultiQueue<Integer>(2, true, Integer::compare).take();
+    }
+
+    @Test
+    public void testRelaxedOrder() {
+        MultiQueue<Integer> pq = new MultiQueue<>(2, false, Integer::compare);
+        for (int i = 0; i < 1000; i++) pq.give(i);
+        // With two shards, the first element removed must be the root of one of them, and so will be very small.
+        int first = pq.poll();
+        assertTrue(first < 20);
+    }
+
+    @Test
+    public void testConcurrent() {
+        MultiQueue<Integer> pq = new MultiQueue<>(false, Integer::compare);
+        int n = 100000;
+        IntStream.range(0, n).parallel().forEach(pq::give);
+        assertEquals(n, pq.size());
+        ConcurrentHashMap<Integer, Boolean> seen = new ConcurrentHashMap<>();
+        AtomicInteger taken = new AtomicInteger();
+        IntStream.range(0, n).parallel().forEach(i -> {
+            Integer x = pq.poll();
+            if (x != null && seen.put(x, true) == null) taken.incrementAndGet();
+        });
+        assertEquals(n, taken.get());
+        assertTrue(pq.isEmpty());
+    }
+}
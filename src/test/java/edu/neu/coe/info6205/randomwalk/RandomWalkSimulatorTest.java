@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2017. Phasmid Software
+ */
+
+package edu.neu.coe.info6205.randomwalk;
+
+import org.junit.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.assertEquals;
+
+public class RandomWalkSimulatorTest {
+
+    @Test
+    public void testMeanSquare() {
+        // Whatever the number of dimensions, the expected square of the distance after m steps is m.
+        for (int d = 1; d <= 3; d++) {
+            RandomWalkSimulator.Statistics statistics = new RandomWalkSimulator(d, 0L).simulate(1000, 10000);
+            assertEquals(10000, statistics.count());
+            assertEquals("d=" + d, 1000, statistics.meanSquare(), 40);
+        }
+    }
+
+    @Test
+    public void testMean1D() {
+        // In one dimension, the expected distance after m steps is approximately sqrt(2m/pi).
+        RandomWalkSimulator.Statistics statistics = new RandomWalkSimulator(1, 1L).simulate(10000, 10000);
+        assertEquals(Math.sqrt(2 * 10000 / Math.PI), statistics.mean(), 2);
+        assertEquals(Math.sqrt(10000 - statistics.mean() * statistics.mean()), statistics.standardDeviation(), 2);
+    }
+
+    @Test
+    public void testDeterministic() {
+        RandomWalkSimulator.Statistics x = new RandomWalkSimulator(2, 42L).simulate(100, 100000, new ForkJoinPool(1));
+        RandomWalkSimulator.Statistics y = new RandomWalkSimulator(2, 42L).simulate(100, 100000, new ForkJoinPool(3));
+        assertEquals(x.mean(), y.mean(), 1E-9);
+        assertEquals(x.meanSquare(), y.meanSquare(), 1E-9);
+    }
+
+    @Test
+    public void testLongWalks() {
+        // Each walk is long enough to be divided into segments.
+        RandomWalkSimulator.Statistics statistics = new RandomWalkSimulator(2, 3L).simulate(20000000, 4);
+        assertEquals(4, statistics.count());
+        assertEquals(Math.sqrt(Math.PI * 20000000 / 4), statistics.mean(), 4000);
+    }
+
+    @Test
+    public void testMerge() {
+        RandomWalkSimulator.Statistics all = new RandomWalkSimulator.Statistics();
+        RandomWalkSimulator.Statistics left = new RandomWalkSimulator.Statistics();
+        RandomWalkSimulator.Statistics right = new RandomWalkSimulator.Statistics();
+        for (int i = 0; i < 100; i++) {
+            all.accept(i * 0.5);
+            (i < 30 ? left : right).accept(i * 0.5);
+        }
+        left.merge(right);
+        assertEquals(all.count(), left.count());
+        assertEquals(all.mean(), left.mean(), 1E-12);
+        assertEquals(all.variance(), left.variance(), 1E-9);
+        assertEquals(all.meanSquare(), left.meanSquare(), 1E-9);
+    }
+}
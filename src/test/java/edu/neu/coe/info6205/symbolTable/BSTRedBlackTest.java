@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2017. Phasmid Software
+ */
+
+package edu.neu.coe.info6205.symbolTable;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.Assert.*;
+
+public class BSTRedBlackTest {
+
+    @Test
+    public void testPut() {
+        BSTRedBlack<String, Integer> bst = new BSTRedBlack<>();
+        assertEquals(0, bst.size());
+        assertNull(bst.put("Hello", 3));
+        assertNull(bst.put("Goodbye", 5));
+        assertNull(bst.put("Ciao", 8));
+        assertEquals(3, bst.size());
+        assertEquals(Integer.valueOf(5), bst.put("Goodbye", 6));
+        assertEquals(3, bst.size());
+        assertEquals(Integer.valueOf(6), bst.get("Goodbye"));
+        assertTrue(bst.contains("Ciao"));
+        assertFalse(bst.contains("Adios"));
+        assertEquals(2, bst.depth());
+    }
+
+    @Test
+    public void testSortedInsertIsBalanced() {
+        BSTRedBlack<Integer, Integer> bst = new BSTRedBlack<>();
+        int n = 100000;
+        for (int i = 0; i < n; i++) bst.put(i, i);
+        assertEquals(n, bst.size());
+        assertTrue(bst.depth() <= 2 * (32 - Integer.numberOfLeadingZeros(n)));
+        assertEquals(Integer.valueOf(0), bst.min());
+        assertEquals(Integer.valueOf(n - 1), bst.max());
+    }
+
+    @Test
+    public void testOrderedOperations() {
+        BSTRedBlack<Integer, String> bst = new BSTRedBlack<>();
+        for (int i = 0; i < 20; i += 2) bst.put(i, Integer.toString(i));
+        assertEquals(Integer.valueOf(6), bst.floor(7));
+        assertEquals(Integer.valueOf(6), bst.floor(6));
+        assertNull(bst.floor(-1));
+        assertEquals(Integer.valueOf(8), bst.ceiling(7));
+        assertNull(bst.ceiling(19));
+        assertEquals(0, bst.rank(0));
+        assertEquals(4, bst.rank(7));
+        assertEquals(4, bst.rank(8));
+        assertEquals(10, bst.rank(100));
+        for (int r = 0; r < bst.size(); r++) assertEquals(r, bst.rank(bst.select(r)));
+        assertEquals(Arrays.asList(4, 6, 8), bst.keys(3, 9));
+        assertEquals(3, bst.size(3, 9));
+        assertEquals(3, bst.size(4, 8));
+        assertEquals(0, bst.size(9, 3));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSelectOutOfRange() {
+        new BSTRedBlack<Integer, Integer>().select(0);
+    }
+
+    @Test
+    public void testDelete() {
+        Random random = new Random(0L);
+        BSTRedBlack<Integer, Integer> bst = new BSTRedBlack<>();
+        TreeMap<Integer, Integer> expected = new TreeMap<>();
+        for (int i = 0; i < 2000; i++) {
+            int k = random.nextInt(1000);
+            bst.put(k, i);
+            expected.put(k, i);
+        }
+        List<Integer> ks = new ArrayList<>(expected.keySet());
+        Collections.shuffle(ks, random);
+        for (int k : ks.subList(0, ks.size() / 2)) {
+            bst.delete(k);
+            expected.remove(k);
+        }
+        bst.delete(-1);
+        assertEquals(expected.size(), bst.size());
+        assertEquals(expected.keySet(), bst.keySet());
+        assertEquals(new ArrayList<>(expected.keySet()), new ArrayList<>(bst.keySet()));
+        for (int k : expected.keySet()) assertEquals(expected.get(k), bst.get(k));
+        assertTrue(bst.depth() <= 2 * (32 - Integer.numberOfLeadingZeros(bst.size())));
+    }
+
+    @Test
+    public void testDeleteMin() {
+        BSTRedBlack<String, Integer> bst = new BSTRedBlack<>();
+        bst.put("Y", 1);
+        bst.put("X", 2);
+        bst.put("Z", 3);
+        bst.deleteMin();
+        assertEquals(2, bst.size());
+        assertEquals("Y", bst.min());
+        bst.deleteMin();
+        bst.deleteMin();
+        assertEquals(0, bst.size());
+        assertNull(bst.root);
+    }
+
+    @Test
+    public void testTraverse() {
+        BstDetail<String, Integer> bst = new BSTRedBlack<>();
+        bst.put("Y", 42);
+        bst.put("X", 99);
+        bst.put("Z", 37);
+        StringBuilder sb = new StringBuilder();
+        bst.inOrderTraverse((k, v) -> {
+            sb.append(k);
+            return null;
+        });
+        assertEquals("XYZ", sb.toString());
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2017. Phasmid Software
+ */
+
+package edu.neu.coe.info6205.symbolTable;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.Assert.*;
+
+public class MappedBSTTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testStringCompare() {
+        Codec<String> codec = Codec.string(16);
+        ByteBuffer buffer = ByteBuffer.allocate(codec.width());
+        String[] strings = {"", "a", "ab", "abc", "b", "caf\u00e9", "cafe", "\uE000", "\uFFFD", "\uD83D\uDE00", "x\uD83D\uDE00", "x\uFFFF", "\u00ff"};
+        for (String s : strings) {
+            codec.write(buffer, 0, s);
+            for (String t : strings)
+                assertEquals(s + " vs " + t, Integer.signum(s.compareTo(t)), Integer.signum(codec.compare(buffer, 0, t)));
+        }
+    }
+
+    @Test
+    public void testPutGet() throws IOException {
+        Path path = folder.getRoot().toPath().resolve("index");
+        try (MappedBST<String, Integer> index = new MappedBST<>(path, Codec.string(20), Codec.INT)) {
+            assertEquals(0, index.size());
+            assertNull(index.get("X"));
+            assertNull(index.put("Hello", 3));
+            assertNull(index.put("Goodbye", 5));
+            assertEquals(Integer.valueOf(5), index.put("Goodbye", 6));
+            assertEquals(2, index.size());
+            index.delete("Hello");
+            index.delete("Adios");
+            assertEquals(1, index.size());
+            assertNull(index.get("Hello"));
+            assertEquals(Integer.valueOf(6), index.get("Goodbye"));
+        }
+    }
+
+    @Test
+    public void testCheckpointAndReopen() throws IOException {
+        Path path = folder.getRoot().toPath().resolve("index");
+        Random random = new Random(0L);
+        TreeMap<Long, Long> expected = new TreeMap<>();
+        try (MappedBST<Long, Long> index = new MappedBST<>(path, Codec.LONG, Codec.LONG)) {
+            for (int i = 0; i < 50000; i++) {
+                long k = random.nextInt(20000);
+                index.put(k, (long) i);
+                expected.put(k, (long) i);
+            }
+            index.checkpoint();
+            for (int i = 0; i < 5000; i++) {
+                long k = random.nextInt(20000);
+                if (random.nextBoolean()) {
+                    index.put(k, -k);
+                    expected.put(k, -k);
+                } else {
+                    index.delete(k);
+                    expected.remove(k);
+                }
+            }
+            assertEquals(expected.size(), index.size());
+            assertEquals(new ArrayList<>(expected.keySet()), new ArrayList<>(index.keySet()));
+        }
+        // The updates since the checkpoint are replayed from the log.
+        try (MappedBST<Long, Long> index = new MappedBST<>(path, Codec.LONG, Codec.LONG)) {
+            assertEquals(expected.size(), index.size());
+            for (long k = 0; k < 20000; k++) assertEquals(expected.get(k), index.get(k));
+            index.checkpoint();
+        }
+        try (MappedBST<Long, Long> index = new MappedBST<>(path, Codec.LONG, Codec.LONG)) {
+            assertEquals(expected.size(), index.size());
+            int count = 0;
+            for (Map.Entry<Long, Long> e : index.entries()) {
+                assertEquals(expected.get(e.getKey()), e.getValue());
+                count++;
+            }
+            assertEquals(expected.size(), count);
+        }
+    }
+
+    @Test
+    public void testThreeLevels() throws IOException {
+        Path path = folder.getRoot().toPath().resolve("index");
+        int n = 300000;
+        try (MappedBST<Integer, Integer> index = new MappedBST<>(path, Codec.INT, Codec.INT)) {
+            for (int i = 0; i < n; i++) index.put(2 * i, i);
+            index.checkpoint();
+        }
+        try (MappedBST<Integer, Integer> index = new MappedBST<>(path, Codec.INT, Codec.INT)) {
+            assertEquals(n, index.size());
+            for (int i = 0; i < n; i++) {
+                assertEquals(Integer.valueOf(i), index.get(2 * i));
+                assertNull(index.get(2 * i + 1));
+            }
+            assertNull(index.get(-1));
+        }
+    }
+
+    @Test
+    public void testTornLogRecord() throws IOException {
+        Path path = folder.getRoot().toPath().resolve("index");
+        try (MappedBST<Integer, Integer> index = new MappedBST<>(path, Codec.INT, Codec.INT)) {
+            index.put(1, 10);
+            index.put(2, 20);
+        }
+        Path log = path.resolveSibling("index.wal");
+        try (FileChannel channel = FileChannel.open(log, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 3);
+        }
+        try (MappedBST<Integer, Integer> index = new MappedBST<>(path, Codec.INT, Codec.INT)) {
+            assertEquals(1, index.size());
+            assertEquals(Integer.valueOf(10), index.get(1));
+            assertNull(index.get(2));
+            index.put(3, 30);
+        }
+        try (MappedBST<Integer, Integer> index = new MappedBST<>(path, Codec.INT, Codec.INT)) {
+            assertEquals(Arrays.asList(1, 3), new ArrayList<>(index.keySet()));
+        }
+    }
+
+    @Test
+    public void testSerializedCodec() throws IOException {
+        Path path = folder.getRoot().toPath().resolve("index");
+        try (MappedBST<String, ArrayList<Integer>> index = new MappedBST<>(path, Codec.<String>serialized(64), Codec.<ArrayList<Integer>>serialized(256))) {
+            index.put("a", new ArrayList<>(Arrays.asList(1, 2, 3)));
+            index.put("b", new ArrayList<>());
+            index.checkpoint();
+            assertEquals(Arrays.asList(1, 2, 3), index.get("a"));
+            assertEquals(0, index.get("b").size());
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void testIncompatibleCodec() throws IOException {
+        Path path = folder.getRoot().toPath().resolve("index");
+        new MappedBST<>(path, Codec.INT, Codec.INT).close();
+        new MappedBST<>(path, Codec.LONG, Codec.INT).close();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testStringTooLong() {
+        Codec.string(2).write(java.nio.ByteBuffer.allocate(4), 0, "abc");
+    }
+}
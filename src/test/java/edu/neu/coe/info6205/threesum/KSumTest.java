@@ -0,0 +1,73 @@
+package edu.neu.coe.info6205.threesum;
+
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+public class KSumTest {
+
+    @Test
+    public void testCountsAgreeWithBruteForce() {
+        long[] values = new Source(40, 10, 1L).longsSupplier().get(); // many duplicates
+        KSum kSum = new KSum(values);
+        for (int k = 2; k <= 5; k++)
+            for (long target = -6; target <= 6; target += 3) {
+                long expected = bruteForce(values, k, target, 0, 0);
+                assertEquals("sorted k=" + k + " target=" + target, expected, kSum.countSorted(k, target));
+                assertEquals("hashed k=" + k + " target=" + target, expected, kSum.countHashed(k, target));
+                assertEquals("count k=" + k + " target=" + target, expected, kSum.count(k, target));
+                if (k == 4) assertEquals(expected, kSum.countMeetInTheMiddle(target));
+            }
+    }
+
+    @Test
+    public void testThreeSum() {
+        int[] ints = new Source(500, 500, 2L).intsSupplier(10).get();
+        long[] values = new long[ints.length];
+        for (int i = 0; i < ints.length; i++) values[i] = ints[i];
+        KSum kSum = new KSum(values);
+        long expected = new ThreeSumQuadratic(ints).count();
+        assertEquals(expected, kSum.count(3, 0));
+        assertEquals(expected, kSum.countSorted(3, 0));
+    }
+
+    @Test
+    public void testTuples() {
+        long[] values = {7, -3, 2, 2, 5, -1, 0, 4};
+        KSum kSum = new KSum(values);
+        List<int[]> tuples = kSum.tuples(3, 4).collect(Collectors.toList());
+        assertEquals(kSum.count(3, 4), tuples.size());
+        Set<Set<Integer>> combinations = new HashSet<>();
+        for (int[] tuple : tuples) {
+            assertEquals(3, tuple.length);
+            long sum = 0;
+            Set<Integer> indices = new HashSet<>();
+            for (int i : tuple) {
+                sum += values[i];
+                indices.add(i);
+            }
+            assertEquals(4, sum);
+            assertEquals(3, indices.size());
+            assertTrue(combinations.add(indices));
+            for (int j = 1; j < tuple.length; j++) assertTrue(values[tuple[j - 1]] <= values[tuple[j]]);
+        }
+        assertEquals(tuples.size(), kSum.tuples(3, 4).parallel().count());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBadK() {
+        new KSum(new long[]{1, 2, 3}).count(6, 0);
+    }
+
+    private static long bruteForce(long[] values, int k, long target, int start, long sum) {
+        if (k == 0) return sum == target ? 1 : 0;
+        long result = 0;
+        for (int i = start; i < values.length; i++) result += bruteForce(values, k - 1, target, i + 1, sum + values[i]);
+        return result;
+    }
+}
@@ -3,10 +3,16 @@ package edu.neu.coe.info6205.threesum;
 import org.junit.Test;
 
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Supplier;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 public class ThreeSumTest {
 
@@ -117,4 +123,29 @@ public class ThreeSumTest {
         assertEquals(expected1, triplesQuadratic.length);
     }
 
-}
\ No newline at end of file
+    @Test
+    public void testCount() {
+        Supplier<int[]> intsSupplier = new Source(1000, 1000).intsSupplier(10);
+        int[] ints = intsSupplier.get();
+        ThreeSumQuadratic target = new ThreeSumQuadratic(ints);
+        int expected = new ThreeSumCubic(ints).getTriples().length;
+        assertEquals(expected, target.count());
+        assertEquals(expected, target.count(ForkJoinPool.commonPool()));
+    }
+
+    @Test
+    public void testForEachParallel() {
+        int[] ints = new Source(2000, 2000, 4L).intsSupplier(10).get();
+        ThreeSumQuadratic target = new ThreeSumQuadratic(ints);
+        Set<Triple> triples = ConcurrentHashMap.newKeySet();
+        AtomicLong count = new AtomicLong();
+        target.forEach(ForkJoinPool.commonPool(), (x, y, z) -> {
+            count.incrementAndGet();
+            triples.add(new Triple(x, y, z));
+        });
+        Triple[] expected = target.getTriples();
+        assertEquals(expected.length, count.get());
+        assertEquals(new HashSet<>(Arrays.asList(expected)), triples);
+        for (int i = 1; i < expected.length; i++) assertTrue(expected[i - 1].compareTo(expected[i]) < 0);
+    }
+}
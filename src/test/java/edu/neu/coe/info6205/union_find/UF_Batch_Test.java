@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2017. Phasmid Software
+ */
+
+package edu.neu.coe.info6205.union_find;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class UF_Batch_Test {
+
+    @Test
+    public void testFind0() {
+        UF h = new UF_Batch(2);
+        assertEquals(0, h.find(0));
+        assertEquals(1, h.find(1));
+        assertEquals(2, h.components());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testFind1() {
+        UF h = new UF_Batch(2);
+        h.find(2);
+    }
+
+    @Test
+    public void testGrow() {
+        UF_Batch h = new UF_Batch();
+        assertEquals(0, h.size());
+        h.union(3, 40);
+        assertEquals(41, h.size());
+        assertEquals(40, h.components());
+        assertTrue(h.isConnected(40, 3));
+        assertEquals(41, h.newSite());
+        assertEquals(42, h.size());
+        assertEquals(41, h.components());
+    }
+
+    @Test
+    public void testUnionBatch() {
+        UF_Batch h = new UF_Batch(4);
+        h.union(new int[]{0, 2, 1, 5}, new int[]{1, 3, 0, 6});
+        assertEquals(7, h.size());
+        assertEquals(4, h.components());
+        assertArrayEquals(new boolean[]{true, true, false, false, true, true},
+                h.isConnected(new int[]{1, 3, 0, 4, 5, 9}, new int[]{0, 2, 2, 5, 6, 9}));
+    }
+
+    @Test
+    public void testIsConnectedOffline() {
+        UF_Batch h = new UF_Batch(6);
+        h.union(new int[]{0, 3}, new int[]{1, 4});
+        int[] p = {1, 0, 4, 3, 2, 0, 1, 100};
+        int[] q = {0, 1, 3, 4, 5, 3, 0, 1};
+        boolean[] expected = h.isConnected(p, q);
+        assertArrayEquals(new boolean[]{true, true, true, true, false, false, true, false}, expected);
+        assertArrayEquals(expected, h.isConnectedOffline(p, q));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBatchLengths() {
+        new UF_Batch(2).union(new int[]{0}, new int[]{0, 1});
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBatchNegative() {
+        new UF_Batch(2).isConnected(new int[]{0}, new int[]{-1});
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnionBeyondMaximum() {
+        new UF_Batch(2).union(Integer.MAX_VALUE - 1, 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnionMaxValue() {
+        new UF_Batch(2).union(0, Integer.MAX_VALUE);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBatchBeyondMaximum() {
+        new UF_Batch(2).union(new int[]{0}, new int[]{Integer.MAX_VALUE});
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testGrowBeyondMaximum() {
+        new UF_Batch(2).grow(UF_Batch.MAX_SITES + 1);
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2017. Phasmid Software
+ */
+
+package edu.neu.coe.info6205.union_find;
+
+import edu.neu.coe.info6205.SizedIterableImpl;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.*;
+
+public class UF_Concurrent_Test {
+
+    @Test
+    public void testFind0() {
+        UF h = new UF_Concurrent(1);
+        assertEquals(0, h.find(0));
+    }
+
+    @Test
+    public void testFind1() {
+        UF h = new UF_Concurrent(2);
+        h.connect(0, 1);
+        assertEquals(1, h.find(0));
+        assertEquals(1, h.find(1));
+        assertEquals(1, h.components());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testFind2() {
+        UF h = new UF_Concurrent(1);
+        h.find(1);
+    }
+
+    @Test
+    public void testIsConnected() {
+        UF h = new UF_Concurrent(6, new Random(0L));
+        h.connect(0, 1);
+        h.connect(0, 2);
+        h.connect(3, 4);
+        assertTrue(h.isConnected(1, 2));
+        assertFalse(h.isConnected(2, 3));
+        assertFalse(h.isConnected(5, 4));
+        h.connect(2, 4);
+        assertTrue(h.isConnected(0, 3));
+        assertEquals(2, h.components());
+    }
+
+    @Test
+    public void testConnect() {
+        UF h = new UF_Concurrent(2);
+        h.connect(0, 1);
+        h.connect(1, 0);
+        assertTrue(h.isConnected(0, 1));
+        assertEquals(1, h.components());
+    }
+
+    @Test
+    public void testParallel() {
+        int n = 100000;
+        UF h = new UF_Concurrent(n, new Random(0L));
+        // connect all the even sites together and all the odd sites together, from many threads.
+        IntStream.range(0, n - 2).parallel().forEach(i -> h.connect(i, i + 2));
+        assertEquals(2, h.components());
+        assertTrue(h.isConnected(0, n - 2));
+        assertTrue(h.isConnected(1, n - 1));
+        assertFalse(h.isConnected(0, n - 1));
+    }
+
+    @Test
+    public void testTyped() throws UFException {
+        TypedUF_Concurrent<String> h = new TypedUF_Concurrent<>(SizedIterableImpl.create(Arrays.asList("a", "b", "c")));
+        h.union("a", "c");
+        assertTrue(h.connected("c", "a"));
+        assertFalse(h.connected("a", "b"));
+        assertEquals(1, h.id("b"));
+    }
+
+    @Test(expected = UFException.class)
+    public void testTypedMissing() throws UFException {
+        TypedUF_Concurrent<String> h = new TypedUF_Concurrent<>(SizedIterableImpl.create(Arrays.asList("a", "b")));
+        h.union("a", "z");
+    }
+}